@@ -0,0 +1,184 @@
+package com.javalab.student.mapper;
+
+import com.javalab.student.config.ModelMapperConfig;
+import com.javalab.student.constant.Role;
+import com.javalab.student.dto.CommentDto;
+import com.javalab.student.dto.MemberDto;
+import com.javalab.student.dto.PetDto;
+import com.javalab.student.dto.PostDto;
+import com.javalab.student.entity.Comment;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.Pet;
+import com.javalab.student.entity.Post;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 -> DTO 변환 비용 비교(ModelMapper vs MapStruct)
+ * - 객체 1건 변환 시간(ns)과 1건당 할당 바이트(gc.alloc.rate.norm)를 측정한다.
+ * - ModelMapper는 운영 설정(ModelMapperConfig)과 기존 PostServiceImpl의 Comment -> CommentDto 매핑을 그대로 사용한다.
+ * - postList : 게시글 목록 API 한 페이지(20건) 변환
+ * - 실행 : ./gradlew jmh (결과는 build/results/jmh/results.txt)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ModelMapper modelMapper;
+    private PostMapper postMapper;
+    private CommentMapper commentMapper;
+    private PetMapper petMapper;
+    private MemberMapper memberMapper;
+
+    private Post post;
+    private List<Post> posts;
+    private Comment comment;
+    private Pet pet;
+    private Member member;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapperConfig().modelMapper();
+        modelMapper.typeMap(Comment.class, CommentDto.class).addMappings(mapper -> {
+            mapper.map(src -> src.getPost().getId(), CommentDto::setPostId);
+            mapper.map(src -> src.getParentComment() != null ? src.getParentComment().getId() : null,
+                    CommentDto::setParentCommentId);
+        });
+        postMapper = new PostMapperImpl();
+        commentMapper = new CommentMapperImpl();
+        petMapper = new PetMapperImpl();
+        memberMapper = new MemberMapperImpl();
+
+        posts = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            posts.add(newPost(id));
+        }
+        post = posts.get(0);
+
+        Comment parentComment = Comment.builder().id(1L).post(post).userId(1L).userName("부모댓글").content("부모 댓글").build();
+        comment = Comment.builder()
+                .id(2L)
+                .post(post)
+                .userId(2L)
+                .userName("댓글작성자")
+                .content("벤치마크 댓글 내용입니다.")
+                .replyCount(3)
+                .parentComment(parentComment)
+                .build();
+        comment.setRegTime(LocalDateTime.now());
+        comment.setUpdateTime(LocalDateTime.now());
+
+        pet = Pet.builder()
+                .userId(1L)
+                .name("초코")
+                .age(3)
+                .neutered(true)
+                .healthConditions("없음")
+                .breed("푸들")
+                .weight(5)
+                .gender("M")
+                .imageUrl("/api/pets/image/choco.jpg")
+                .imageName("choco.jpg")
+                .build();
+        pet.setPetId(1L);
+
+        member = new Member();
+        member.setId(1L);
+        member.setName("벤치마크회원");
+        member.setEmail("mapping-benchmark@withme.com");
+        member.setPassword("1234");
+        member.setPhone("010-0000-0000");
+        member.setAddress("서울시");
+        member.setRole(Role.USER);
+        member.setSocial(false);
+    }
+
+    // 댓글 컬렉션은 로딩되지 않은 상태(null)로 둔다.(ModelMapper가 댓글까지 변환하는 비용은 제외)
+    private Post newPost(long id) {
+        Post newPost = Post.builder()
+                .id(id)
+                .userId(1L)
+                .title("벤치마크 게시글 " + id)
+                .content("<p>벤치마크 게시글 본문입니다. " + id + "</p>")
+                .views(100)
+                .postCategory("자유게시판")
+                .imageUrl("/api/posts/image/" + id + ".jpg")
+                .thumbnailUrl("/api/posts/image/" + id + ".jpg?w=300")
+                .build();
+        newPost.setRegTime(LocalDateTime.now());
+        newPost.setUpdateTime(LocalDateTime.now());
+        return newPost;
+    }
+
+    @Benchmark
+    public PostDto postModelMapper() {
+        return modelMapper.map(post, PostDto.class);
+    }
+
+    @Benchmark
+    public PostDto postMapStruct() {
+        return postMapper.toDto(post);
+    }
+
+    @Benchmark
+    public List<PostDto> postListModelMapper() {
+        List<PostDto> dtos = new ArrayList<>(posts.size());
+        for (Post p : posts) {
+            dtos.add(modelMapper.map(p, PostDto.class));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<PostDto> postListMapStruct() {
+        List<PostDto> dtos = new ArrayList<>(posts.size());
+        for (Post p : posts) {
+            dtos.add(postMapper.toDto(p));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public CommentDto commentModelMapper() {
+        return modelMapper.map(comment, CommentDto.class);
+    }
+
+    @Benchmark
+    public CommentDto commentMapStruct() {
+        return commentMapper.toDto(comment);
+    }
+
+    @Benchmark
+    public PetDto petModelMapper() {
+        return modelMapper.map(pet, PetDto.class);
+    }
+
+    @Benchmark
+    public PetDto petMapStruct() {
+        return petMapper.toDto(pet);
+    }
+
+    @Benchmark
+    public MemberDto memberModelMapper() {
+        return modelMapper.map(member, MemberDto.class);
+    }
+
+    @Benchmark
+    public MemberDto memberMapStruct() {
+        return memberMapper.toDto(member);
+    }
+}
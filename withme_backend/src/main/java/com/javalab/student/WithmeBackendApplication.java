@@ -2,8 +2,10 @@ package com.javalab.student;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.javalab.student")
+@EnableScheduling
 public class WithmeBackendApplication {
 
     public static void main(String[] args) {
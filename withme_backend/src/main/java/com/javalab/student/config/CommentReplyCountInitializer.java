@@ -0,0 +1,65 @@
+package com.javalab.student.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 댓글 수(comments.reply_count, posts.comment_count) 초기화
+ * - 두 컬럼은 댓글 작성/삭제 시 증감되므로, 컬럼이 추가되기 전에 작성된 댓글은 0으로 시작한다.
+ *   애플리케이션 시작 시 실제 댓글 수와 다른 행만 다시 계산해 맞춘다.(여러 번 실행해도 안전하다.)
+ * - 기본으로 실행한다.(컬럼이 추가된 배포에서 기존 대댓글이 보이지 않는 일이 없도록)
+ *   댓글 테이블 전체를 집계하므로 댓글이 많아 시작 시간이 문제가 되면
+ *   컬럼이 채워진 것을 확인한 뒤 comment.reply-count.sync-on-startup=false 로 끈다.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Log4j2
+public class CommentReplyCountInitializer {
+
+    private static final String REBUILD_REPLY_COUNT_SQL =
+            "UPDATE comments c LEFT JOIN (" +
+            "SELECT parent_comment_id, COUNT(*) AS cnt FROM comments " +
+            "WHERE parent_comment_id IS NOT NULL GROUP BY parent_comment_id) r " +
+            "ON r.parent_comment_id = c.comment_id " +
+            "SET c.reply_count = COALESCE(r.cnt, 0) " +
+            "WHERE c.reply_count <> COALESCE(r.cnt, 0)";
+
+    private static final String REBUILD_COMMENT_COUNT_SQL =
+            "UPDATE posts p LEFT JOIN (" +
+            "SELECT post_id, COUNT(*) AS cnt FROM comments GROUP BY post_id) r " +
+            "ON r.post_id = p.post_id " +
+            "SET p.comment_count = COALESCE(r.cnt, 0) " +
+            "WHERE p.comment_count <> COALESCE(r.cnt, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean syncOnStartup;
+
+    public CommentReplyCountInitializer(JdbcTemplate jdbcTemplate,
+                                        @Value("${comment.reply-count.sync-on-startup:true}") boolean syncOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.syncOnStartup = syncOnStartup;
+    }
+
+    @PostConstruct
+    public void syncReplyCounts() {
+        if (!syncOnStartup) {
+            return;
+        }
+        try {
+            int updated = jdbcTemplate.update(REBUILD_REPLY_COUNT_SQL);
+            log.info("댓글 대댓글 수 확인: {}건 보정", updated);
+        } catch (RuntimeException e) {
+            log.warn("댓글 대댓글 수 초기화 실패: {}", e.getMessage());
+        }
+        try {
+            int updated = jdbcTemplate.update(REBUILD_COMMENT_COUNT_SQL);
+            log.info("게시글 댓글 수 확인: {}건 보정", updated);
+        } catch (RuntimeException e) {
+            log.warn("게시글 댓글 수 초기화 실패: {}", e.getMessage());
+        }
+    }
+}
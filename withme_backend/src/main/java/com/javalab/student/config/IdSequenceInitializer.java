@@ -0,0 +1,54 @@
+package com.javalab.student.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 엔티티 ID 시퀀스 초기화
+ * - 회원/쇼핑/메시지 엔티티(Member, Item, Order, OrderItem, Cart, Payment, Message)는 @SequenceGenerator(allocationSize = 50)로
+ *   ID를 50개 단위로 미리 할당받는다.(pooled 최적화) INSERT마다 시퀀스를 조회하지 않고,
+ *   ID를 INSERT 전에 알 수 있으므로 hibernate.jdbc.batch_size에 의해 INSERT가 batch로 묶인다.
+ * - 시퀀스는 ddl-auto로 1부터 생성되므로, 기존 데이터(초기 데이터 SQL, 이전 ID 생성 방식으로 저장된 행)의
+ *   최대 ID보다 뒤에서 시작하도록 애플리케이션 시작 시 시퀀스를 앞으로 이동시킨다.
+ *   (MariaDB SETVAL은 현재 값보다 작은 값으로는 이동하지 않으므로 여러 번 실행해도 안전하다.)
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Log4j2
+public class IdSequenceInitializer {
+
+    // {시퀀스, 테이블, ID 컬럼}
+    private static final String[][] SEQUENCES = {
+            {"member_id_seq", "member", "user_id"},
+            {"item_id_seq", "item", "item_id"},
+            {"orders_id_seq", "orders", "order_id"},
+            {"order_item_id_seq", "order_item", "order_item_id"},
+            {"cart_id_seq", "cart", "cart_id"},
+            {"payment_id_seq", "payment", "payment_id"},
+            {"message_id_seq", "message", "msg_id"},
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void syncSequences() {
+        for (String[] sequence : SEQUENCES) {
+            try {
+                Long maxId = jdbcTemplate.queryForObject(
+                        "SELECT COALESCE(MAX(" + sequence[2] + "), 0) FROM " + sequence[1], Long.class);
+                if (maxId != null && maxId > 0) {
+                    // SETVAL 인자는 상수만 허용되므로 바인딩하지 않고 값을 직접 넣는다.
+                    jdbcTemplate.queryForList("SELECT SETVAL(" + sequence[0] + ", " + maxId + ")");
+                }
+                log.info("ID 시퀀스 확인: {} (최대 ID {})", sequence[0], maxId);
+            } catch (RuntimeException e) {
+                log.warn("ID 시퀀스 초기화 실패: {}, error={}", sequence[0], e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.javalab.student.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 이미지 업로드 처리용 스레드 풀 설정
+ * - 업로드된 이미지 파일을 디스크에 쓰는 작업을 여러 스레드에서 병렬로 처리한다.
+ * - 스레드 수와 대기열 크기를 제한하여 업로드가 몰려도 스레드가 무한히 늘어나지 않도록 한다.
+ *   대기열이 가득 차면 요청 스레드가 직접 처리한다.(CallerRunsPolicy)
+ * - 이미지 크기별 변환본(ImageVariantService) 생성은 CPU를 많이 쓰므로 별도 스레드 풀에서 처리한다.
+ */
+@Configuration
+public class ImageIngestionConfig {
+
+    @Bean(name = "imageIngestionExecutor")
+    public ThreadPoolTaskExecutor imageIngestionExecutor(
+            @Value("${image.ingest.pool-size:4}") int poolSize,
+            @Value("${image.ingest.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-ingest-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 이미지 변환본 생성용 스레드 풀
+     * - 요청 스레드에서 변환하지 않도록 대기열이 가득 차면 작업을 버린다.
+     *   변환본이 없는 이미지는 원본으로 응답한다.
+     */
+    @Bean(name = "imageVariantExecutor")
+    public ThreadPoolTaskExecutor imageVariantExecutor(
+            @Value("${image.variant.pool-size:2}") int poolSize,
+            @Value("${image.variant.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-variant-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
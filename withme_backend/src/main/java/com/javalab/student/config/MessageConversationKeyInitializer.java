@@ -0,0 +1,39 @@
+package com.javalab.student.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지 대화 키(message.conversation_key) 초기화
+ * - conversation_key 컬럼이 추가되기 전에 저장된 메시지의 대화 키를 채운다.
+ *   (키가 비어 있는 메시지만 수정하므로 여러 번 실행해도 안전하다.)
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Log4j2
+public class MessageConversationKeyInitializer {
+
+    private static final String BACKFILL_SQL =
+            "UPDATE message SET conversation_key = " +
+            "CONCAT(LEAST(sender_id, receiver_id), ':', GREATEST(sender_id, receiver_id)) " +
+            "WHERE conversation_key IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void fillConversationKeys() {
+        try {
+            int updated = jdbcTemplate.update(BACKFILL_SQL);
+            if (updated > 0) {
+                log.info("메시지 대화 키 보정: {}건", updated);
+            }
+        } catch (RuntimeException e) {
+            log.warn("메시지 대화 키 초기화 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -126,6 +126,7 @@ public class SecurityConfig {
                         "/api/pets/image/**",
                         "/api/post/image/**",
                         "/api/item/list",
+                        "/api/item/catalog",
                         "/api/item/view/**"
                 ).permitAll()
 
@@ -147,7 +148,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/questions/**").hasAnyRole("USER", "ADMIN","VIP","DOCTOR","PENDING_DOCTOR")
                 .requestMatchers("/api/chat/**").hasAnyRole("USER", "ADMIN","VIP","DOCTOR","PENDING_DOCTOR") // 채팅방 생성, 채팅방 목록 조회 API는 USER, ADMIN만 접근 가능
                 // 쇼핑몰
-                .requestMatchers("/api/item/list", "/api/item/view/**").permitAll()
+                .requestMatchers("/api/item/list", "/api/item/catalog", "/api/item/view/**").permitAll()
                 .requestMatchers("/api/item/new", "/api/item/edit/**","/api/item/delete/**").hasRole("ADMIN")
                 .requestMatchers("/api/cart/**","/api/orders/**").authenticated()
                 .requestMatchers("/api/payments/**").authenticated() // 결제
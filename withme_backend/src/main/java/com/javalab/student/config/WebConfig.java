@@ -42,8 +42,7 @@ public class WebConfig implements WebMvcConfigurer {
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
 
-        registry.addResourceHandler("/images/**")   // /images/** 요청이 오면 uploadPath로 매핑
-                .addResourceLocations(uploadPath);  // 로컬 컴퓨터에 저장된 파일을 읽어올 root 경로를 설정합니다.
+        // /images/** 요청은 ImageController(ImageServingService)에서 uploadPath의 파일로 응답
 
          // 게시글 이미지
         registry.addResourceHandler("/api/posts/image/**")
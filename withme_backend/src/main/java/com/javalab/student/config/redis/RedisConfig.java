@@ -4,18 +4,25 @@ import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
-import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 
+import com.javalab.student.service.ChatPresenceService;
 import com.javalab.student.service.MessageSubscriberService;
+import com.javalab.student.service.shop.ItemCatalogCacheService;
+
+import java.time.Duration;
 
 /**
  * Redis 설정 클래스
@@ -28,8 +35,25 @@ import com.javalab.student.service.MessageSubscriberService;
 @EnableCaching // Spring의 캐싱 기능 활성화
 public class RedisConfig {
 
-    // 🔹 Pub/Sub 메시지 전송을 위한 채널 이름
-    public static final String CHAT_CHANNEL_PREFIX = "chat_channel_";
+    // 🔹 노드별 채팅 메시지 채널 이름(chat_node:{노드 ID}:{사용자 ID})
+    public static final String CHAT_NODE_CHANNEL_PREFIX = "chat_node:";
+
+    // 🔹 노드별 읽지 않은 메시지 수 채널 이름(unread_node:{노드 ID}:{사용자 ID})
+    public static final String UNREAD_NODE_CHANNEL_PREFIX = "unread_node:";
+
+    /**
+     * 🔹 사용자의 세션이 연결된 노드의 채팅 채널 이름
+     */
+    public static String chatNodeChannel(String nodeId, Long userId) {
+        return CHAT_NODE_CHANNEL_PREFIX + nodeId + ":" + userId;
+    }
+
+    /**
+     * 🔹 사용자의 세션이 연결된 노드의 읽지 않은 메시지 수 채널 이름
+     */
+    public static String unreadNodeChannel(String nodeId, Long userId) {
+        return UNREAD_NODE_CHANNEL_PREFIX + nodeId + ":" + userId;
+    }
 
     /**
      * 🔹 RedisTemplate 빈 등록 (기존 Object 타입)
@@ -61,10 +85,21 @@ public class RedisConfig {
      * - Spring의 캐싱 기능과 Redis를 연결하는 역할
      * - RedisCacheManager를 사용하여 Redis를 캐시 저장소로 활용
      * - CacheManager는 RedisConnectionFactory를 사용하여 Redis와 연결됨
+     * - 캐시 값은 JSON으로 직렬화하여 저장 (DTO에 Serializable 구현 불필요)
+     * - 상품 카탈로그 캐시(itemDetail, itemList)는 재고 수량을 포함하고 주문마다 무효화하지 않으므로 짧은 유효시간 지정
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        return RedisCacheManager.builder(redisConnectionFactory).build();
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     @Value("${catalog.cache.remote.ttl-seconds:30}") long catalogTtlSeconds) {
+        RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+
+        return RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(defaultConfig)
+                .withCacheConfiguration(ItemCatalogCacheService.ITEM_DETAIL_CACHE, defaultConfig.entryTtl(Duration.ofSeconds(catalogTtlSeconds)))
+                .withCacheConfiguration(ItemCatalogCacheService.ITEM_LIST_CACHE, defaultConfig.entryTtl(Duration.ofSeconds(catalogTtlSeconds)))
+                .build();
     }
 
     /**
@@ -81,6 +116,8 @@ public class RedisConfig {
         // String 데이터 직렬화 설정
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(new StringRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(new StringRedisSerializer());
 
         return template;
     }
@@ -89,18 +126,29 @@ public class RedisConfig {
      * 🔹 Redis Pub/Sub 메시지 수신 설정
      * - Redis에서 발행된 메시지를 MessageSubscriberService를 통해 처리
      * - RedisMessageListenerContainer를 통해 구독자 등록
+     * - 채팅 메시지는 이 노드의 채널 패턴(chat_node:{노드 ID}:*) 하나로 받는다.
+     *   발행하는 쪽에서 수신자/발신자가 접속한 노드의 채널에만 보내므로(ChatPresenceService)
+     *   다른 노드 사용자의 메시지는 이 노드로 오지 않는다.
+     * - 읽지 않은 메시지 수도 이 노드의 채널 패턴(unread_node:{노드 ID}:*)으로 받는다.
+     * - 상품 카탈로그 캐시 무효화 채널도 함께 구독
      */
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
-                                                                       MessageSubscriberService messageSubscriberService) {
+                                                                       MessageSubscriberService messageSubscriberService,
+                                                                       ChatPresenceService chatPresenceService,
+                                                                       ItemCatalogCacheService itemCatalogCacheService) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
 
-        // ✅ 사용자별 메시지 채널 구독 설정
-        for (int userId = 1; userId <= 1000; userId++) { // 최대 1000명의 사용자 채널 생성 (필요 시 변경)
-            container.addMessageListener(new MessageListenerAdapter(messageSubscriberService),
-                    new ChannelTopic(CHAT_CHANNEL_PREFIX + userId));
-        }
+        // ✅ 상품 카탈로그 캐시 무효화 채널 구독
+        container.addMessageListener(itemCatalogCacheService,
+                new ChannelTopic(ItemCatalogCacheService.INVALIDATION_CHANNEL));
+
+        // ✅ 이 노드의 채팅 메시지 채널 패턴 구독
+        container.addMessageListener(messageSubscriberService,
+                new PatternTopic(CHAT_NODE_CHANNEL_PREFIX + chatPresenceService.getNodeId() + ":*"));
+        container.addMessageListener(messageSubscriberService,
+                new PatternTopic(UNREAD_NODE_CHANNEL_PREFIX + chatPresenceService.getNodeId() + ":*"));
 
         return container;
     }
@@ -0,0 +1,102 @@
+package com.javalab.student.config.websoket;
+
+import com.javalab.student.config.jwt.TokenProvider;
+import com.javalab.student.entity.Member;
+import com.javalab.student.repository.MemberRepository;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 웹소켓(STOMP) 사용자 인증
+ * - 핸드셰이크(/ws) 요청의 액세스 토큰 쿠키(accToken)를 검증하고 토큰의 이메일로 찾은 회원 ID를 세션 속성에 저장한다.
+ *   (TokenAuthenticationFilter는 /ws 경로를 건너뛰므로 여기서 검증한다)
+ * - STOMP CONNECT 프레임에 세션 속성의 회원 ID를 이름으로 하는 Principal을 설정한다.
+ *   ChatPresenceService는 클라이언트가 보낸 헤더 대신 이 Principal로 접속한 사용자를 판단한다.
+ * - 토큰이 없거나 유효하지 않으면 연결은 허용하되 Principal을 설정하지 않는다.(접속 상태에 등록되지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthenticationInterceptor implements HandshakeInterceptor, ChannelInterceptor {
+
+    private static final String COOKIE_NAME = "accToken";
+    private static final String USER_ID_ATTRIBUTE = "authenticatedUserId";
+
+    private final TokenProvider tokenProvider;
+    private final MemberRepository memberRepository;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            Long userId = authenticate(servletRequest.getServletRequest());
+            if (userId != null) {
+                attributes.put(USER_ID_ATTRIBUTE, userId);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        Object userId = attributes != null ? attributes.get(USER_ID_ATTRIBUTE) : null;
+        if (userId != null) {
+            accessor.setUser(new UsernamePasswordAuthenticationToken(userId.toString(), null, List.of()));
+        }
+        return message;
+    }
+
+    private Long authenticate(HttpServletRequest request) {
+        String token = extractToken(request.getCookies());
+        if (token == null || !tokenProvider.validateToken(token)) {
+            return null;
+        }
+        try {
+            Member member = memberRepository.findByEmail(tokenProvider.getEmailFromToken(token));
+            return member != null ? member.getId() : null;
+        } catch (Exception e) {
+            log.warn("웹소켓 사용자 인증 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String extractToken(Cookie[] cookies) {
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -1,7 +1,9 @@
 package com.javalab.student.config.websoket;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -22,8 +24,11 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  */
 @Configuration
 @EnableWebSocketMessageBroker   // WebSocket 메시지 브로커를 사용하도록 설정
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthenticationInterceptor stompAuthenticationInterceptor;
+
     /**
      * 🔹 STOMP 웹소켓 엔드포인트 등록
      * - 프론트엔드에서 WebSocket을 연결할 엔드포인트
@@ -34,15 +39,26 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      * - /ws 로 접속하면 SockJS를 통해 WebSocket 연결을 시도합니다. 즉 웹소켓을 활성화 하기 위한 설정
      * - 웹소켓 연결을 요청하는 이유는? 웹소켓을 사용하여 실시간으로 메시지를 주고받기 위함
      * - withSockJS()는 WebSocket이 지원되지 않는 환경에서 SockJS를 사용하여 대체 방식으로 연결을 시도합니다.
+     * - 핸드셰이크 요청의 액세스 토큰 쿠키로 사용자를 인증한다.(StompAuthenticationInterceptor)
      * @param registry STOMP 엔드포인트 등록을 위한 레지스트리
      */
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
+                .addInterceptors(stompAuthenticationInterceptor)
                 .withSockJS();
     }
 
+    /**
+     * 🔹 클라이언트 STOMP 프레임 인터셉터 등록
+     * - CONNECT 프레임에 핸드셰이크 때 인증한 사용자(Principal)를 설정한다.
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthenticationInterceptor);
+    }
+
 
     /**
      * 🔹 메시지 브로커 설정, 이 설정은 WebSocket을 통해서 메시시 송수신을 할 때만 필요[미사용]
@@ -4,22 +4,26 @@ import com.javalab.student.constant.OrderStatus;
 import com.javalab.student.dto.NewRegistrationDTO;
 import com.javalab.student.dto.shop.TopSellingProductDTO;
 import com.javalab.student.entity.shop.Item;
-import com.javalab.student.repository.shop.OrderRepository;
 import com.javalab.student.service.DoctorService;
 import com.javalab.student.service.MemberService;
+import com.javalab.student.service.PostSearchService;
 import com.javalab.student.service.StatisticsService;
 import com.javalab.student.service.shop.ItemService;
+import com.javalab.student.service.shop.SalesExportService;
+import com.javalab.student.service.shop.SalesRollupService;
 import com.javalab.student.service.shop.SalesService;
+import com.javalab.student.service.shop.StockReservationService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -31,8 +35,10 @@ public class AdminController {
     private final StatisticsService statisticsService;
     private final SalesService salesService;
     private final ItemService itemService;
-    @Autowired
-    private OrderRepository orderRepository;
+    private final StockReservationService stockReservationService;
+    private final SalesRollupService salesRollupService;
+    private final SalesExportService salesExportService;
+    private final PostSearchService postSearchService;
 
 
 
@@ -79,6 +85,22 @@ public class AdminController {
         return ResponseEntity.ok(itemService.getItemList());
     }
 
+    // 핫 상품(플래시 세일) 모드 적용 : 현재 재고만큼 Redis 재고 토큰 발급
+    @PostMapping("/item/{itemId}/hot-sku")
+    public ResponseEntity<String> enableHotSku(@PathVariable("itemId") Long itemId) {
+        stockReservationService.enableHotSku(itemId);
+        log.info("핫 상품 모드 적용: 상품 ID={}", itemId);
+        return ResponseEntity.ok("핫 상품 모드가 적용되었습니다.");
+    }
+
+    // 핫 상품(플래시 세일) 모드 해제
+    @DeleteMapping("/item/{itemId}/hot-sku")
+    public ResponseEntity<String> disableHotSku(@PathVariable("itemId") Long itemId) {
+        stockReservationService.disableHotSku(itemId);
+        log.info("핫 상품 모드 해제: 상품 ID={}", itemId);
+        return ResponseEntity.ok("핫 상품 모드가 해제되었습니다.");
+    }
+
     // 일별 신규 가입자 수를 반환하는 API
     @GetMapping("/newRegistrations")
     public ResponseEntity<List<NewRegistrationDTO>> getNewRegistrationsPerDay() {
@@ -98,20 +120,12 @@ public class AdminController {
     }
 
     // 판매량 상위 5개 집계 API
+    // - 매출 집계 테이블(결제 완료 후 취소되지 않은 주문)을 조회한다. status는 기존 API 경로 호환용.
     @GetMapping("/topSellingProducts/{status}")
     public ResponseEntity<List<TopSellingProductDTO>> getTopSellingProducts(@PathVariable OrderStatus status) {
         log.info("상태 {}에 해당하는 판매량 상위 5개 상품을 가져오는 중...", status);
 
-        // ORDER_COMPLETED 상태의 주문 ID 가져오기
-        List<Long> completedOrderIds = orderRepository.findCompletedOrderIds(status);
-        log.info("상태 {}에 해당하는 완료된 주문 ID: {}", status, completedOrderIds.size());
-
-        // 판매량 집계
-        Map<Long, Integer> salesCount = salesService.getSalesCount(completedOrderIds);
-        log.info("상품별 판매량 집계 완료: {}개의 상품", salesCount.size());
-
-        // 상위 5개 아이템 가져오기
-        List<TopSellingProductDTO> topSellingProducts = salesService.getTopSellingProducts(salesCount);
+        List<TopSellingProductDTO> topSellingProducts = salesService.getTopSellingProducts();
         log.info("상위 5개 판매 상품 정보 가져옴: {}", topSellingProducts.size());
 
         return ResponseEntity.ok(topSellingProducts);
@@ -125,12 +139,7 @@ public class AdminController {
 
         log.info("상태 {}에 해당하는 {} 일 매출 금액 계산 중...", status, date);
 
-        // 해당 날짜의 주문 ID 가져오기
-        List<Long> completedOrderIds = orderRepository.findCompletedOrderIds(status);
-        log.info("일 매출 계산을 위한 완료된 주문 ID: {}", completedOrderIds.size());
-
-        // 일 매출 계산
-        double dailySalesAmount = salesService.getDailySalesAmount(completedOrderIds, date);
+        double dailySalesAmount = salesService.getDailySalesAmount(date);
         log.info("계산된 {} 일 매출 금액: {}", date, dailySalesAmount);
 
         return ResponseEntity.ok(dailySalesAmount);
@@ -143,14 +152,40 @@ public class AdminController {
                                                   @RequestParam("endDate") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
         log.info("상태 {}에 해당하는 월 매출 금액을 {}부터 {}까지 계산 중...", status, startDate, endDate);
 
-        // ORDER_COMPLETED 상태의 주문 ID 가져오기
-        List<Long> completedOrderIds = orderRepository.findCompletedOrderIds(status);
-        log.info("월 매출 계산을 위한 완료된 주문 ID: {}", completedOrderIds.size());
-
-        // 월 매출 계산
-        double monthlySalesAmount = salesService.getMonthlySalesAmount(completedOrderIds, startDate, endDate);
+        double monthlySalesAmount = salesService.getMonthlySalesAmount(startDate, endDate);
         log.info("계산된 월 매출 금액: {}", monthlySalesAmount);
 
         return ResponseEntity.ok(monthlySalesAmount);
     }
+
+    // 매출 집계 전체 재계산(백필)
+    @PostMapping("/sales/rollup/rebuild")
+    public ResponseEntity<String> rebuildSalesRollup() {
+        int orderCount = salesRollupService.rebuild();
+        log.info("매출 집계 재계산 요청 처리: 주문 {}건", orderCount);
+        return ResponseEntity.ok("매출 집계를 다시 계산했습니다. 주문 " + orderCount + "건");
+    }
+
+    // 게시글 검색 색인 전체 재생성
+    @PostMapping("/posts/search/rebuild")
+    public ResponseEntity<String> rebuildPostSearchIndex() {
+        int postCount = postSearchService.rebuild();
+        log.info("게시글 검색 색인 재생성 요청 처리: 게시글 {}건", postCount);
+        return ResponseEntity.ok("게시글 검색 색인을 다시 만들었습니다. 게시글 " + postCount + "건");
+    }
+
+    // 기간 내 주문 상품 CSV 내보내기(시작일, 종료일 포함)
+    // - DB 커서에서 읽은 행을 바로 응답으로 내보내므로 전체 목록을 메모리에 만들지 않는다.
+    @GetMapping("/sales/export")
+    public void exportSales(@RequestParam("startDate") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+                            @RequestParam("endDate") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+                            HttpServletResponse response) throws IOException {
+        log.info("주문 상품 CSV 내보내기: {}부터 {}까지", startDate, endDate);
+
+        String fileName = "order_items_" + startDate + "_" + endDate + ".csv";
+        response.setContentType("text/csv; charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        salesExportService.writeOrderItemsCsv(startDate, endDate, response.getOutputStream());
+    }
 }
\ No newline at end of file
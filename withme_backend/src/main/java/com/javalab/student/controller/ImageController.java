@@ -0,0 +1,42 @@
+package com.javalab.student.controller;
+
+import com.javalab.student.service.ImageServingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.util.ResourceUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * 상품 이미지 응답 컨트롤러
+ * - /images/** 요청을 uploadPath 아래의 파일로 응답한다.(예: /images/item/abc.jpg → {uploadPath}/item/abc.jpg)
+ * - 캐시 헤더, 조건부 요청(304), Range 요청은 ImageServingService에서 처리한다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+
+    private final ImageServingService imageServingService;
+
+    @Value("${uploadPath}")
+    private String uploadPath;  // file:///c:/shop/
+
+    /**
+     * 이미지 조회
+     * @param path 이미지 경로
+     * @param width 요청 너비(px), 가장 가까운 크기별 변환본으로 응답(변환본이 없으면 원본)
+     */
+    @GetMapping("/images/{*path}")
+    public void getImage(@PathVariable("path") String path,
+                         @RequestParam(value = "w", required = false) Integer width,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String fileName = path.startsWith("/") ? path.substring(1) : path;
+        imageServingService.serve(ResourceUtils.getFile(uploadPath).toPath(), fileName, width, request, response);
+    }
+}
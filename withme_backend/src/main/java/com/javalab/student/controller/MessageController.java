@@ -1,9 +1,10 @@
 package com.javalab.student.controller;
 
+import com.javalab.student.dto.ConversationPageDto;
+import com.javalab.student.dto.InboxPageDto;
 import com.javalab.student.dto.MessageRequestDto;
 import com.javalab.student.dto.MessageResponseDto;
 import com.javalab.student.service.MessageService;
-import com.javalab.student.service.MessagePublisherService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +24,6 @@ import java.util.Map;
 public class MessageController {
 
     private final MessageService messageService;
-    private final MessagePublisherService messagePublisherService;
 
     /**
      * ✅ 사용자가 보낸 메시지 조회 (본인만 가능)
@@ -58,6 +58,25 @@ public class MessageController {
         return ResponseEntity.ok(unreadCount);
     }
 
+    /**
+     * ✅ 메시지함 조회 (본인만 가능, 커서 기반)
+     * - 대화 상대별 마지막 메시지와 읽지 않은 메시지 수, 최근 대화부터 size개
+     * - 다음 페이지는 응답의 nextCursor를 before로 전달해서 조회
+     */
+    @PreAuthorize("#userId == authentication.principal.id") // ✅ 본인만 조회 가능
+    @GetMapping("/inbox/{userId}")
+    public ResponseEntity<?> getInbox(
+            @PathVariable("userId") Long userId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            InboxPageDto inbox = messageService.getInbox(userId, before, size);
+            return ResponseEntity.ok(inbox);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * ✅ 메시지를 읽음 처리 (본인만 가능)
      */
@@ -79,14 +98,9 @@ public class MessageController {
                 requestDto.getSenderId(), requestDto.getReceiverId(), requestDto.getContent());
 
         try {
+            // 저장 후 수신자, 발신자에게 전달(MessageService에서 커밋 후 한 번만 전달)
             MessageResponseDto savedMessage = messageService.saveMessage(requestDto);
 
-            messagePublisherService.publishMessage(
-                    requestDto.getReceiverId(),
-                    requestDto.getSenderId(),
-                    savedMessage.getContent()
-            );
-
             Map<String, Object> response = new HashMap<>();
             response.put("messageId", savedMessage.getId());
             response.put("content", savedMessage.getContent());
@@ -132,6 +146,25 @@ public class MessageController {
         return ResponseEntity.ok(conversation);
     }
 
+    /**
+     * ✅ 특정 사용자와의 대화 메시지 페이지 조회 (본인만 가능, 커서 기반)
+     * - 최근 메시지부터 size개, 이전 메시지는 응답의 nextCursor를 before로 전달해서 조회
+     */
+    @PreAuthorize("#userId == authentication.principal.id") // ✅ 본인만 조회 가능
+    @GetMapping("/conversation/history")
+    public ResponseEntity<?> getConversationHistory(
+            @RequestParam Long userId,
+            @RequestParam Long targetUserId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            ConversationPageDto page = messageService.getConversationHistory(userId, targetUserId, before, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * ✅ 메시지 편집 (본인만 가능)
      */
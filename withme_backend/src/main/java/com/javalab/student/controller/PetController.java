@@ -1,13 +1,10 @@
 package com.javalab.student.controller;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -28,9 +25,12 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.javalab.student.dto.PetDto;
 import com.javalab.student.dto.SubstanceDto;
+import com.javalab.student.service.ImageServingService;
 import com.javalab.student.service.PetService;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -40,36 +40,19 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class PetController {
     private final PetService petService;
+    private final ImageServingService imageServingService;
 
     @Value("${petImgLocation}")
     private String petUploadPath;
 
+    // 반려동물 이미지 조회
+    // w : 요청 너비(px), 가장 가까운 크기별 변환본으로 응답(변환본이 없으면 원본)
     @GetMapping("/image/{filename:.+}")
-public ResponseEntity<Resource> getPetImage(@PathVariable("filename") String filename) {
-    log.info("Image request received for filename: {}", filename);
-    
-    try {
-        Path filePath = Paths.get(petUploadPath).resolve(filename).normalize();
-        
-        if (!Files.exists(filePath)) {
-            log.error("Image file not found at path: {}", filePath);
-            return ResponseEntity.notFound().build();
-        }
-
-        Resource resource = new UrlResource(filePath.toUri());
-        String contentType = Files.probeContentType(filePath);
-        
-        return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(contentType))
-            .body(resource);
-            
-    } catch (Exception e) {
-        log.error("Error serving image: {}", e.getMessage());
-        return ResponseEntity.internalServerError().build();
+    public void getPetImage(@PathVariable("filename") String filename,
+                            @RequestParam(value = "w", required = false) Integer width,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        imageServingService.serve(Paths.get(petUploadPath), filename, width, request, response);
     }
-}
-
-    
 
     // 특정 사용자의 반려동물 목록 조회
     @GetMapping("/user/{userId}")
@@ -1,21 +1,17 @@
 package com.javalab.student.controller;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.InputStream;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -34,13 +30,22 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.javalab.student.dto.CommentDto;
 import com.javalab.student.dto.PostDto;
+import com.javalab.student.dto.PostSearchDto;
+import com.javalab.student.dto.PostSummaryDto;
+import com.javalab.student.service.BlobStore;
 import com.javalab.student.service.CommentService;
+import com.javalab.student.service.HotPostRankingService;
+import com.javalab.student.service.ImageServingService;
+import com.javalab.student.service.ImageVariantService;
+import com.javalab.student.service.PostSearchService;
 import com.javalab.student.service.PostService;
+import com.javalab.student.util.SeekCursor;
 
 import jakarta.servlet.annotation.MultipartConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
-import net.coobird.thumbnailator.Thumbnails;
 
 
 @RestController
@@ -61,43 +66,35 @@ public class PostController {
 
     private final PostService postService;
     private final CommentService commentService;
+    private final ImageVariantService imageVariantService;
+    private final ImageServingService imageServingService;
+    private final BlobStore blobStore;
+    private final PostSearchService postSearchService;
+    private final HotPostRankingService hotPostRankingService;
     
 
-    public PostController(PostService postService, CommentService commentService) {
+    public PostController(PostService postService, CommentService commentService,
+                          ImageVariantService imageVariantService, ImageServingService imageServingService,
+                          BlobStore blobStore, PostSearchService postSearchService,
+                          HotPostRankingService hotPostRankingService) {
         this.postService = postService;
         this.commentService = commentService;
+        this.imageVariantService = imageVariantService;
+        this.imageServingService = imageServingService;
+        this.blobStore = blobStore;
+        this.postSearchService = postSearchService;
+        this.hotPostRankingService = hotPostRankingService;
     }
 
      // 이미지 리소스 제공 메서드
+     // - w : 요청 너비(px), 가장 가까운 크기별 변환본으로 응답(변환본이 없으면 원본)
      @GetMapping("/image/{filename}")
-     public ResponseEntity<Resource> serveImage(@PathVariable String filename) throws IOException {
-         Path filePath = Paths.get(postUploadPath).resolve(filename);
-         Resource resource = new UrlResource(filePath.toUri());
-     
-         if (resource.exists() && resource.isReadable()) {
-             return ResponseEntity.ok()
-                 .contentType(MediaType.parseMediaType(determineContentType(filename)))
-                 .body(resource);
-         } else {
-             return ResponseEntity.notFound().build();
-         }
+     public void serveImage(@PathVariable String filename,
+                            @RequestParam(value = "w", required = false) Integer width,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+         imageServingService.serve(Paths.get(postUploadPath), filename, width, request, response);
      }
 
-     private String determineContentType(String filename) {
-        String extension = filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
-        switch (extension) {
-            case "jpg":
-            case "jpeg":
-                return "image/jpeg";
-            case "png":
-                return "image/png";
-            case "gif":
-                return "image/gif";
-            default:
-                return "application/octet-stream";
-        }
-    }
-
     // 모든 게시글 조회
     @GetMapping
     public ResponseEntity<?> getAllPosts(
@@ -110,6 +107,50 @@ public class PostController {
     }
     
 
+    // 게시글 피드 (최신순, 커서 기반 무한 스크롤, 전체 개수 조회 없음)
+    @GetMapping("/feed")
+    public ResponseEntity<?> getFeed(
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        Slice<PostSummaryDto> feed;
+        try {
+            feed = postService.getFeed(cursor, Math.min(Math.max(size, 1), 50));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        List<PostSummaryDto> posts = feed.getContent();
+        String nextCursor = null;
+        if (feed.hasNext()) {
+            PostSummaryDto last = posts.get(posts.size() - 1);
+            nextCursor = SeekCursor.encode(last.getRegTime(), last.getId());
+        }
+        Map<String, Object> body = new HashMap<>();
+        body.put("posts", posts);
+        body.put("hasNext", feed.hasNext());
+        body.put("nextCursor", nextCursor);
+        return ResponseEntity.ok(body);
+    }
+
+    // 인기 게시글 (조회/댓글/작성 시각 기반 점수 순, Redis에서 조회)
+    @GetMapping("/hot")
+    public ResponseEntity<List<PostSummaryDto>> getHotPosts(
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(hotPostRankingService.getHotPosts(Math.min(Math.max(size, 1), 50)));
+    }
+
+    // 게시글 검색 (제목, 본문, 카테고리, 점수 순)
+    @GetMapping("/search")
+    public ResponseEntity<?> searchPosts(
+        @RequestParam(name = "q") String keyword,
+        @RequestParam(name = "page", defaultValue = "0") int page,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        Page<PostSearchDto> results = postSearchService.search(keyword, Math.max(page, 0), Math.min(Math.max(size, 1), 50));
+        return ResponseEntity.ok(Map.of("total", results.getTotalElements(), "posts", results.getContent()));
+    }
+
     // 특정 게시글 조회 (조회수 증가 포함)
     @GetMapping("/{postId}")
     public ResponseEntity<PostDto> getPostById(@PathVariable("postId") Long postId) {
@@ -125,6 +166,34 @@ public ResponseEntity<List<CommentDto>> getCommentsByPostId(
     List<CommentDto> comments = commentService.getCommentsByPostId(postId);
     return ResponseEntity.ok(comments);
 }
+
+    // 특정 게시글 댓글 페이지 조회 (커서 기반, 댓글마다 대댓글 일부 포함)
+    @GetMapping("/{postId}/comments/page")
+    public ResponseEntity<?> getCommentPage(
+            @PathVariable("postId") Long postId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "replies", defaultValue = "3") int replyPreviewSize) {
+        try {
+            return ResponseEntity.ok(commentService.getCommentPage(postId, cursor, size, replyPreviewSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 특정 댓글의 대댓글 페이지 조회 (대댓글 더보기)
+    @GetMapping("/{postId}/comments/{commentId}/replies")
+    public ResponseEntity<?> getReplies(
+            @PathVariable("postId") Long postId,
+            @PathVariable("commentId") Long commentId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(commentService.getReplies(postId, commentId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
     // 게시글 생성
     @PostMapping
 public ResponseEntity<?> createPost(
@@ -291,28 +360,20 @@ public ResponseEntity<?> deleteComment(
                 .body(Map.of("error", "파일이 비어있습니다."));
         }
 
-        // 원본 이미지 저장
-        String originalFileName = file.getOriginalFilename();
-        String fileName = UUID.randomUUID().toString() + "_" + originalFileName;
-        Path targetLocation = Paths.get(postUploadPath).resolve(fileName);
-        
-        // 디렉토리 존재 확인 및 생성
-        Files.createDirectories(targetLocation.getParent());
-        
-        Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-        
-        // 썸네일 생성
-        String thumbnailName = "thumb_" + fileName;
-        Path thumbnailPath = Paths.get(postUploadPath).resolve(thumbnailName);
+        // 원본 이미지 저장(파일 저장소, 같은 내용의 이미지는 한 번만 저장)
+        // 게시글이 저장될 때 본문에서 참조를 찾아 참조 수를 늘린다.
+        BlobStore.StoredBlob blob;
+        try (InputStream inputStream = file.getInputStream()) {
+            blob = blobStore.put(inputStream, file.getOriginalFilename());
+        }
+        String fileName = blob.getKey();
         
-        // Thumbnailator 라이브러리 사용
-        Thumbnails.of(targetLocation.toFile())
-            .size(300, 300) // 썸네일 크기 조정
-            .toFile(thumbnailPath.toFile());
+        // 크기별 변환본(썸네일 포함) 생성은 백그라운드에서 처리
+        imageVariantService.generateAsync(blob.getPath());
         
             Map<String, String> response = new HashMap<>();
             response.put("imageUrl", "/api/posts/image/" + fileName);
-            response.put("thumbnailUrl", "/api/posts/image/" + thumbnailName);
+            response.put("thumbnailUrl", "/api/posts/image/" + fileName + "?w=" + ImageVariantService.THUMBNAIL_WIDTH);
         
         return ResponseEntity.ok(response);
     } catch (IOException ex) {
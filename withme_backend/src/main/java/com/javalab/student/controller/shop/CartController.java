@@ -116,9 +116,12 @@ public class CartController {
 
     /**
      * 장바구니 상품 주문처리
+     * - Idempotency-Key 헤더를 전달하면 같은 키로 재전송된 요청은 처음 생성된 주문 번호를 반환한다.
+     * - 장바구니 소유자 확인은 주문 처리 시 장바구니 상품 조회와 함께 한 번에 한다.
      */
     @PostMapping("/orders")
     public @ResponseBody ResponseEntity<?> orderCartItem(@RequestBody CartOrderRequestDto cartOrderRequestDto,
+                                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
                                                          Principal principal) {
         log.info("장바구니 주문 요청: {}, 사용자 {}", cartOrderRequestDto, principal.getName());
 
@@ -127,18 +130,18 @@ public class CartController {
         if (cartOrderItems == null || cartOrderItems.isEmpty()) {
             return new ResponseEntity<>("주문할 상품을 선택해주세요", HttpStatus.FORBIDDEN);
         }
-
-        // 로그인한 회원과 장바구니 소유자가 일치하는지 확인
-        for (CartOrderItemDto cartOrderItem : cartOrderItems) {
-            if (!cartService.validateCartItem(cartOrderItem.getCartItemId(), principal.getName())) {
-                return new ResponseEntity<>("주문 권한이 없습니다.", HttpStatus.FORBIDDEN);
-            }
+        if (idempotencyKey != null && idempotencyKey.length() > 100) {
+            return new ResponseEntity<>("Idempotency-Key는 100자 이하여야 합니다.", HttpStatus.BAD_REQUEST);
         }
-        log.info("장바구니 아이템이 유효합니다. 주문 처리 시작.");
 
-        Long orderId = cartService.orderCartItem(cartOrderItems, principal.getName());
-        log.info("장바구니 주문 완료: 주문ID {}", orderId);
-        return new ResponseEntity<>(orderId, HttpStatus.OK);
+        try {
+            Long orderId = cartService.orderCartItem(cartOrderItems, principal.getName(), idempotencyKey);
+            log.info("장바구니 주문 완료: 주문ID {}", orderId);
+            return new ResponseEntity<>(orderId, HttpStatus.OK);
+        } catch (SecurityException e) {
+            // 로그인한 회원과 장바구니 소유자가 일치하지 않음
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.FORBIDDEN);
+        }
     }
 
 
@@ -2,11 +2,14 @@ package com.javalab.student.controller.shop;
 
 
 import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.dto.shop.ItemCatalogSearchDto;
+import com.javalab.student.dto.shop.ItemCatalogSliceDto;
 import com.javalab.student.dto.shop.ItemDto;
 import com.javalab.student.dto.shop.ItemFormDto;
 import com.javalab.student.dto.shop.ItemSearchDto;
 import com.javalab.student.entity.Doctor;
 import com.javalab.student.entity.shop.Item;
+import com.javalab.student.service.shop.ItemCatalogCacheService;
 import com.javalab.student.service.shop.ItemService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
@@ -31,6 +34,7 @@ import java.util.stream.Collectors;
 /**
  * 상품 관련 컨트롤러
  * - /item/list : 판매중인 상품 목록 조회
+ * - /item/catalog : 상품 카탈로그 페이지 조회(키셋 페이징, 필터)
  * - /item/new : 상품 등록
  * - /item/view/{itemId} : 상품 상세 조회
  * - /item/edit/{itemId} : 상품 수정
@@ -43,14 +47,30 @@ import java.util.stream.Collectors;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemCatalogCacheService itemCatalogCacheService;
 
 
     /**
      * 판매중인 상품 목록 페이지
+     * - 상품 카탈로그 캐시(로컬 → Redis)에 없을 때만 DB 조회
      */
     @GetMapping("/list")
     public ResponseEntity<List<ItemFormDto>> getItemList() {
-        return ResponseEntity.ok(itemService.getItemListByItemSellStatus(ItemSellStatus.SELL));
+        return ResponseEntity.ok(itemCatalogCacheService.getItemList(ItemSellStatus.SELL,
+                () -> itemService.getItemListByItemSellStatus(ItemSellStatus.SELL)));
+    }
+
+    /**
+     * 상품 카탈로그 페이지 조회 API(키셋 페이징)
+     * - 첫 페이지 : /api/item/catalog?size=20
+     * - 다음 페이지 : 응답의 nextRegTime, nextItemId를 lastRegTime, lastItemId로 전달
+     * - 필터 : minPrice, maxPrice, excludedSubstanceIds(콤마 구분)
+     * - 비회원도 조회하는 공개 API이므로 판매 상태는 요청 값과 관계없이 판매중(SELL)으로 고정한다.
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<ItemCatalogSliceDto> getItemCatalog(@ModelAttribute ItemCatalogSearchDto searchDto) {
+        searchDto.setItemSellStatus(ItemSellStatus.SELL);
+        return ResponseEntity.ok(itemService.getItemCatalog(searchDto));
     }
 
 
@@ -85,11 +105,13 @@ public ResponseEntity<?> createItem(
 
     /**
      * 상품 상세 조회 API
+     * - 상품 카탈로그 캐시(로컬 → Redis)에 없을 때만 DB 조회
      */
     @GetMapping("/view/{itemId}")
     public ResponseEntity<?> getItemDetail(@PathVariable("itemId") Long itemId) {
         try {
-            ItemFormDto itemFormDto = itemService.getItemDetail(itemId);
+            ItemFormDto itemFormDto = itemCatalogCacheService.getItemDetail(itemId,
+                    () -> itemService.getItemDetail(itemId));
             return ResponseEntity.ok(itemFormDto);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("존재하지 않는 상품입니다.");
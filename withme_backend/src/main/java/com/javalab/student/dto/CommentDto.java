@@ -37,4 +37,8 @@ public class CommentDto {
     private Long parentCommentId; // 부모 댓글 ID (대댓글인 경우 부모 댓글의 ID, 일반 댓글인 경우 null)
 
     private List<CommentDto> replies; // 대댓글 리스트 (해당 댓글에 달린 대댓글)
+
+    private Integer replyCount; // 대댓글 수 (replies에 모두 포함되지 않았을 수 있음)
+
+    private String nextReplyCursor; // 다음 대댓글 조회 커서 (페이지 조회에서 replies에 포함되지 않은 대댓글이 있을 때)
 }
@@ -0,0 +1,21 @@
+package com.javalab.student.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 댓글 페이지 조회 결과 (커서 기반)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentPageDto {
+
+    private List<CommentDto> comments; // 댓글 목록
+
+    private String nextCursor; // 다음 페이지 조회 커서 (마지막 페이지이면 null)
+
+    private Long totalCount; // 게시글 전체 댓글 수 (첫 페이지 조회에서만 포함)
+}
@@ -0,0 +1,19 @@
+package com.javalab.student.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 대화 메시지 페이지 조회 결과 (커서 기반, 최근 메시지부터 이전 방향으로)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConversationPageDto {
+
+    private List<MessageResponseDto> messages; // 메시지 목록 (오래된 메시지부터 순서대로)
+
+    private Long nextCursor; // 이전 메시지 조회 커서 (이 메시지보다 이전(작성 시각, ID 순) 메시지, 더 없으면 null)
+}
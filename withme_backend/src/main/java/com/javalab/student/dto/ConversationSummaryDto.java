@@ -0,0 +1,29 @@
+package com.javalab.student.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메시지함의 대화 한 건 (대화 상대, 마지막 메시지, 읽지 않은 메시지 수)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConversationSummaryDto {
+
+    private Long peerId; // 대화 상대 ID
+
+    private String peerName; // 대화 상대 이름
+
+    private Long lastMessageId; // 마지막 메시지 ID
+
+    private Long lastSenderId; // 마지막 메시지 발신자 ID
+
+    private String lastContent; // 마지막 메시지 내용
+
+    private LocalDateTime lastTime; // 마지막 메시지 시각
+
+    private long unreadCount; // 이 대화에서 읽지 않은 메시지 수
+}
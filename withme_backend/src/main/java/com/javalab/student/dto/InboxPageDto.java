@@ -0,0 +1,21 @@
+package com.javalab.student.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 메시지함 페이지 조회 결과 (커서 기반, 최근 대화부터)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InboxPageDto {
+
+    private List<ConversationSummaryDto> conversations; // 대화 목록 (마지막 메시지가 최근인 대화부터)
+
+    private Long nextCursor; // 다음 페이지 커서 (이 마지막 메시지보다 이전(작성 시각, ID 순) 대화, 더 없으면 null)
+
+    private long unreadCount; // 전체 읽지 않은 메시지 수
+}
@@ -0,0 +1,42 @@
+package com.javalab.student.dto;
+
+import lombok.*;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 검색 결과
+ * - titleHighlight, contentHighlight : 검색어를 <em>으로 감싼 제목/본문 일부(그 외 문자는 HTML 이스케이프됨)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSearchDto {
+
+    private Long id;
+
+    private Long userId;
+
+    private String title;
+
+    private String titleHighlight;
+
+    private String contentHighlight;
+
+    private String postCategory;
+
+    private String thumbnailUrl;
+
+    private int views;
+
+    private float score; // 검색 점수
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime regTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,36 @@
+package com.javalab.student.dto;
+
+import lombok.*;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 목록(피드)용 요약 정보
+ * - 목록에 필요한 컬럼만 조회하며 본문(content)은 포함하지 않는다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSummaryDto {
+
+    private Long id;
+
+    private Long userId;
+
+    private String title;
+
+    private String postCategory;
+
+    private String thumbnailUrl;
+
+    private int views;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime regTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,59 @@
+package com.javalab.student.dto.shop;
+
+import com.javalab.student.constant.ItemSellStatus;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 상품 카탈로그(키셋 페이징) 조회 조건을 담는 DTO 클래스
+ * - lastRegTime, lastItemId : 이전 페이지 마지막 상품의 등록시간, 상품 ID (첫 페이지는 null)
+ * - size : 한 페이지에 조회할 상품 수
+ * - minPrice, maxPrice : 가격 범위 조건
+ * - itemSellStatus : 판매 상태 조건 (기본값 SELL, 공개 API인 /api/item/catalog는 항상 SELL)
+ * - excludedSubstanceIds : 제외할 알러지 성분 ID 목록, 해당 성분이 등록된 상품은 조회하지 않는다.
+ */
+@Getter@Setter
+@ToString
+public class ItemCatalogSearchDto {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime lastRegTime;
+
+    private Long lastItemId;
+
+    private Integer size = DEFAULT_SIZE;
+
+    private Long minPrice;
+
+    private Long maxPrice;
+
+    private ItemSellStatus itemSellStatus = ItemSellStatus.SELL;
+
+    private List<Long> excludedSubstanceIds;
+
+    /**
+     * 페이지 크기 보정
+     * - 1 미만이거나 값이 없으면 기본값, MAX_SIZE를 넘으면 MAX_SIZE로 제한
+     */
+    public int getPageSize() {
+        if (size == null || size < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * 첫 페이지 여부, 커서 값이 하나라도 없으면 첫 페이지로 본다.
+     */
+    public boolean isFirstPage() {
+        return lastRegTime == null || lastItemId == null;
+    }
+}
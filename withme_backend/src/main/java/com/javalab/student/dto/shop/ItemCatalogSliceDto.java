@@ -0,0 +1,33 @@
+package com.javalab.student.dto.shop;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상품 카탈로그(키셋 페이징) 조회 결과 DTO 클래스
+ * - 전체 건수(count 쿼리) 없이 다음 페이지 존재 여부와 다음 페이지 커서만 전달한다.
+ * - 클라이언트는 nextRegTime, nextItemId를 다음 요청의 lastRegTime, lastItemId로 전달한다.
+ */
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemCatalogSliceDto {
+
+    @Builder.Default
+    private List<ItemFormDto> content = new ArrayList<>();
+
+    private boolean hasNext;
+
+    private LocalDateTime nextRegTime;
+
+    private Long nextItemId;
+}
@@ -0,0 +1,48 @@
+package com.javalab.student.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장 파일(blob) 엔티티
+ * - 업로드 파일은 내용의 SHA-256 해시로 한 번만 저장되고(BlobStore), 이 테이블에 참조 수와 Content-Type을 기록한다.
+ * - 상품 이미지(ItemImg), 반려동물(Pet), 게시글(Post)이 파일을 참조하면 ref_count가 늘고, 참조를 끊으면 줄어든다.
+ * - ref_count가 0인 채로 일정 시간이 지난 파일은 BlobOrphanSweeper가 삭제한다.
+ */
+@Entity
+@Table(name = "blob_file", indexes = {
+        @Index(name = "idx_blob_file_ref_count_updated_at", columnList = "ref_count, updated_at")
+})
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BlobFile {
+
+    // 파일 키(SHA-256 해시, 이전에 저장된 파일은 해시 + 확장자)
+    @Id
+    @Column(name = "blob_key", length = 80)
+    private String blobKey;
+
+    // 파일 크기(byte)
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    // 처음 업로드된 파일명의 확장자로 정한 Content-Type(키에 확장자가 없으므로 여기에 보관)
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    // 참조 수
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    // 최초 저장 시각
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // 마지막으로 업로드/참조/참조 해제된 시각(고아 파일 판단 기준)
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -6,7 +6,10 @@ import jakarta.persistence.*;
 import java.util.List;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_parent_reg_time", columnList = "post_id, parent_comment_id, reg_time"),
+        @Index(name = "idx_comments_parent_reg_time", columnList = "parent_comment_id, reg_time")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,6 +35,10 @@ public class Comment extends BaseTimeEntity{
     @Column(name = "content", nullable = false, columnDefinition = "TEXT") // 댓글 내용
     private String content;
 
+    // 대댓글(바로 아래 단계 답글) 수, 댓글 작성/삭제 시 CommentRepository.addReplyCount()로만 변경
+    @Column(name = "reply_count", nullable = false, updatable = false)
+    private int replyCount;
+
     // BaseTimeEntity의 regTime, updateTime을 상속받음
     // 기존의 createdAt, updatedAt메서드는 제거
 
@@ -28,7 +28,8 @@ import java.util.Collections;
 public class Member extends BaseEntity{
     @Id
     @Column(name = "user_id")
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_id_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -12,15 +12,20 @@ import lombok.*;
  */
 @Entity
 @Getter @Setter
-@Table(name = "message")
+@Table(name = "message", indexes = {
+        @Index(name = "idx_message_conversation_time", columnList = "conversation_key, reg_time, msg_id")
+})
 @Builder
 @NoArgsConstructor  // @Builder 사용 시 @AllArgsConstructor 필수
 @AllArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Message extends BaseEntity {
 
+    // ID는 ChatIngestionService가 시퀀스에서 50개 단위로 미리 할당받아 INSERT 전에 정한다.
+    // (노드마다 다른 범위를 쓰므로 ID 순서가 작성 순서와 다를 수 있다. 정렬은 reg_time, msg_id 순)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "message_seq_generator")
+    @SequenceGenerator(name = "message_seq_generator", sequenceName = "message_id_seq", allocationSize = 50)
     @Column(name = "msg_id")
     private Long id;
 
@@ -34,6 +39,10 @@ public class Message extends BaseEntity {
     @JoinColumn(name = "receiver_id", nullable = false)
     private Member receiver;
 
+    // 대화 키 : 두 사용자 ID를 작은 값:큰 값 순서로 이은 값(보낸 쪽과 관계없이 같은 대화는 같은 키)
+    @Column(name = "conversation_key", length = 41, updatable = false)
+    private String conversationKey;
+
     @NotBlank(message = "메시지 내용은 비워둘 수 없습니다.")
     @Size(min = 1, max = 255, message = "메시지 내용은 1자 이상 255자 이하여야 합니다.")
     @Column(nullable = false)
@@ -59,6 +68,20 @@ public class Message extends BaseEntity {
     @Column(name = "edited_content")
     private String editedContent;
 
+    @PrePersist
+    public void prePersist() {
+        if (conversationKey == null && sender != null && receiver != null) {
+            conversationKey = conversationKey(sender.getId(), receiver.getId());
+        }
+    }
+
+    /**
+     * 두 사용자의 대화 키
+     */
+    public static String conversationKey(Long userId, Long otherUserId) {
+        return Math.min(userId, otherUserId) + ":" + Math.max(userId, otherUserId);
+    }
+
 //    public Message() {}
 //
 //    // 생성자 추가
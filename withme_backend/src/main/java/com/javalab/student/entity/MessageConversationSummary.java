@@ -0,0 +1,67 @@
+package com.javalab.student.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 대화 요약 엔티티(사용자별 메시지함)
+ * - 사용자와 대화 상대마다 한 행 : 그 사용자에게 보이는 마지막 메시지, 마지막 시각, 읽지 않은 메시지 수
+ *   (같은 대화라도 삭제 여부와 읽지 않은 수가 사용자마다 다르므로 양쪽에 한 행씩 둔다)
+ * - 메시지 저장/읽음/삭제 시 MessageInboxService가 갱신하고, 백필 작업이 메시지 테이블로부터 다시 계산한다.
+ * - 메시지함 조회는 메시지 테이블이 아닌 이 테이블을 마지막 메시지 시각(같으면 ID) 역순으로 읽는다.
+ */
+@Entity
+@Table(name = "message_conversation_summary",
+        indexes = @Index(name = "idx_message_conversation_summary_user_time", columnList = "user_id, last_time, last_msg_id"))
+@IdClass(MessageConversationSummary.MessageConversationSummaryId.class)
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class MessageConversationSummary {
+
+    // 메시지함 주인(사용자 ID)
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // 대화 상대 ID
+    @Id
+    @Column(name = "peer_id")
+    private Long peerId;
+
+    // 마지막 메시지 ID
+    @Column(name = "last_msg_id", nullable = false)
+    private Long lastMessageId;
+
+    // 마지막 메시지 발신자 ID
+    @Column(name = "last_sender_id", nullable = false)
+    private Long lastSenderId;
+
+    // 마지막 메시지 내용
+    @Column(name = "last_content", nullable = false)
+    private String lastContent;
+
+    // 마지막 메시지 시각
+    @Column(name = "last_time", nullable = false)
+    private LocalDateTime lastTime;
+
+    // 이 대화에서 읽지 않은 메시지 수
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount;
+
+    /**
+     * 복합키(사용자 ID + 대화 상대 ID)
+     */
+    @Getter @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class MessageConversationSummaryId implements Serializable {
+        private Long userId;
+        private Long peerId;
+    }
+}
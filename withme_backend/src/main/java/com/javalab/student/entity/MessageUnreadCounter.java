@@ -0,0 +1,32 @@
+package com.javalab.student.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 사용자별 읽지 않은 메시지 수 엔티티
+ * - 받은 메시지 중 읽지 않았고 삭제하지 않은 메시지 수를 미리 집계해 둔 테이블
+ * - 메시지 저장/읽음/삭제 시 MessageInboxService가 증감하고, 백필 작업이 메시지 테이블로부터 다시 계산한다.
+ * - 배지 조회는 메시지 테이블을 세지 않고 이 테이블(또는 Redis 캐시)의 한 행만 읽는다.
+ */
+@Entity
+@Table(name = "message_unread_counter")
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class MessageUnreadCounter {
+
+    // 사용자 ID, 회원이 삭제되어도 집계 작업이 막히지 않도록 연관관계를 맺지 않는다.
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // 읽지 않은 메시지 수
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount;
+
+    // 행이 바뀔 때마다 1씩 증가(Redis 캐시가 이전 값으로 덮어써지지 않도록 비교하는 용도)
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -6,7 +6,9 @@ import jakarta.persistence.*;
 import java.util.List;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_reg_time_id", columnList = "reg_time, post_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,9 +30,14 @@ public class Post extends BaseTimeEntity {
     @Column(name = "content", nullable = false, columnDefinition = "TEXT")
     private String content;
 
-    @Column(name = "views", nullable = false)
+    // 조회수는 PostViewCounter가 UPDATE views = views + ? 로만 변경한다.(엔티티 수정 시 덮어쓰지 않음)
+    @Column(name = "views", nullable = false, updatable = false)
     private int views;
 
+    // 댓글 수(대댓글 포함), 댓글 작성/삭제 시 PostRepository.addCommentCount()로만 변경
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private int commentCount;
+
     @Column(name = "post_category")
     private String postCategory;
 
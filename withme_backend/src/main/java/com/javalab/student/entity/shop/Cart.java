@@ -19,7 +19,8 @@ public class Cart extends BaseEntity {
     // 카트 번호(ID)
     @Id
     @Column(name = "cart_id")
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_seq_generator")
+    @SequenceGenerator(name = "cart_seq_generator", sequenceName = "cart_id_seq", allocationSize = 50)
     private Long id;
 
     /*
@@ -4,12 +4,15 @@ package com.javalab.student.entity.shop;
 import com.javalab.student.constant.ItemSellStatus;
 import com.javalab.student.dto.shop.ItemFormDto;
 import com.javalab.student.entity.BaseEntity;
-import com.javalab.student.exception.OutOfStockException;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name="item")
+@Table(name="item", indexes = {
+        // 상품 카탈로그 키셋 페이징용 인덱스 (reg_time, item_id)
+        @Index(name = "idx_item_reg_time_id", columnList = "reg_time, item_id"),
+        @Index(name = "idx_item_status_reg_time_id", columnList = "item_sell_status, reg_time, item_id")
+})
 @Getter
 @Setter
 @ToString
@@ -21,7 +24,8 @@ public class Item extends BaseEntity {
 
     @Id
     @Column(name="item_id") // 컬럼명 지정
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq_generator")
+    @SequenceGenerator(name = "item_seq_generator", sequenceName = "item_id_seq", allocationSize = 50)
     private Long id;       //상품 코드
 
     @Column(nullable = false, length = 50)  // 길이 50, null 불가
@@ -60,28 +64,5 @@ public class Item extends BaseEntity {
         this.itemSellStatus = itemFormDto.getItemSellStatus();
     }
 
-
-/**
- * 상품의 재고를 감소시킨다.
- * @param stockNumber
- */
-
-    public void removeStock(int stockNumber){
-        int restStock = this.stockNumber - stockNumber;
-        if(restStock<0){
-            throw new OutOfStockException("상품의 재고가 부족 합니다. (현재 재고 수량: " + this.stockNumber + ")");
-        }
-        this.stockNumber = restStock;
-    }
-
-
-/**
- * 상품의 재고를 증가시킨다.
- * @param stockNumber
- */
-
-    public void addStock(int stockNumber){
-        this.stockNumber += stockNumber;
-    }
-
+    // 주문/취소에 의한 재고 변경은 엔티티(더티체킹)로 하지 않고 StockReservationService의 조건부 UPDATE로만 처리한다.
 }
@@ -16,7 +16,10 @@ import java.util.List;
  * 주문 엔티티
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+        indexes = @Index(name = "idx_orders_order_date", columnList = "order_date"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_orders_user_idempotency_key",
+                columnNames = {"user_id", "idempotency_key"}))
 @Getter @Setter
 @Builder
 @NoArgsConstructor
@@ -27,7 +30,8 @@ public class Order extends BaseEntity {
     // Order key
     @Id
     @Column(name = "order_id")
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
+    @SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
 
     // 주문회원
@@ -55,6 +59,10 @@ public class Order extends BaseEntity {
     @Column(name = "parcel_cd")
     private String parcelCd;
 
+    // 주문 요청 멱등성 키(클라이언트가 전달), 같은 회원의 같은 키로는 주문이 하나만 생성된다.
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
     /**
      * 주문Items(연관관계매핑 - OrderItem)
      *  Order 엔티티를 영속화할 때 OrderItem 엔티티도 자동으로
@@ -128,13 +136,6 @@ public class Order extends BaseEntity {
         return totalPrice;
     }
 
-    public void cancelOrder() {
-        this.orderStatus = OrderStatus.CANCELED;
-        for (OrderItem orderItem : orderItems) {
-            orderItem.cancel();
-        }
-    }
-
     public OrderDto entityToDto(){
         return OrderDto.builder()
                 .id(this.id)
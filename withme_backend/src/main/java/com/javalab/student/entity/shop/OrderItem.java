@@ -19,7 +19,8 @@ import lombok.*;
 public class OrderItem extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq_generator")
+    @SequenceGenerator(name = "order_item_seq_generator", sequenceName = "order_item_id_seq", allocationSize = 50)
     @Column(name = "order_item_id")
     private Long id;
 
@@ -36,18 +37,16 @@ public class OrderItem extends BaseEntity {
     private Integer count; //수량
 
     /**
-     * OrderItem 생성
-     *  - 파라미터로 전달된 Item을 자신의 item 속성에 세팅함.
-     *    이렇게 되면 상위 객체와 연결되는 통로가 만들어짐.
+     * 재고가 이미 차감된 상품으로 OrderItem 생성
+     *  - 재고 차감은 StockReservationService가 DB 조건부 UPDATE로 처리하므로
+     *    여기서는 Item 엔티티의 재고를 변경하지 않는다.
      */
-    public static OrderItem createOrderItem(Item item, int count){
-        OrderItem orderItem = OrderItem.builder()
-                .item(item)    // 자신의 item 변수에 상위객체(Item) 주소 할당. 상위객체와 매핑
+    public static OrderItem createReservedOrderItem(Item item, int count){
+        return OrderItem.builder()
+                .item(item)
                 .count(count)
                 .orderPrice(item.getPrice())
                 .build();
-        item.removeStock(count);
-        return orderItem;
     }
 
     // 주문금액(수량 * 가격)
@@ -55,11 +54,6 @@ public class OrderItem extends BaseEntity {
         return orderPrice * count;
     }
 
-    // 주문취소(재고 증가)
-    public void cancel() {
-        this.getItem().addStock(count);
-    }
-
     // Entity -> Dto
     public OrderItemDto entityToDto(){
         OrderItemDto orderItemDto = OrderItemDto.builder()
@@ -22,7 +22,8 @@ import java.math.BigDecimal;
 public class Payment extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq_generator")
+    @SequenceGenerator(name = "payment_seq_generator", sequenceName = "payment_id_seq", allocationSize = 50)
     @Column(name = "payment_id")
     private Long id;
 
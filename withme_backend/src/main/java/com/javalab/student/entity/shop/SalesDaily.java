@@ -0,0 +1,38 @@
+package com.javalab.student.entity.shop;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 매출 집계 엔티티
+ * - 결제 완료된 주문의 일별 주문 수, 판매 수량, 매출 금액을 미리 집계해 둔 테이블
+ * - 결제 완료/주문 취소 시 SalesRollupService가 증감하고, 백필 작업이 주문 테이블로부터 다시 계산한다.
+ * - 일/월 매출 조회는 주문 테이블이 아닌 이 테이블의 기간 내 행(일 수)만 합산한다.
+ */
+@Entity
+@Table(name = "sales_daily")
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class SalesDaily {
+
+    // 매출 일자(주문일)
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    // 주문 수
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    // 판매 수량
+    @Column(nullable = false)
+    private Long quantity;
+
+    // 매출 금액(주문 당시 가격 * 수량)
+    @Column(nullable = false)
+    private Long amount;
+}
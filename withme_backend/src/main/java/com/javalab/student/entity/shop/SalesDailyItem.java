@@ -0,0 +1,53 @@
+package com.javalab.student.entity.shop;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 일별 상품별 매출 집계 엔티티
+ * - 결제 완료된 주문의 상품별 판매 수량, 매출 금액을 일 단위로 미리 집계해 둔 테이블
+ * - 판매량 상위 상품 조회는 주문 상품 테이블이 아닌 이 테이블을 집계한다.
+ */
+@Entity
+@Table(name = "sales_daily_item",
+        indexes = @Index(name = "idx_sales_daily_item_item_id", columnList = "item_id"))
+@IdClass(SalesDailyItem.SalesDailyItemId.class)
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class SalesDailyItem {
+
+    // 매출 일자(주문일)
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    // 상품 ID, 상품이 삭제되어도 집계는 유지되도록 연관관계를 맺지 않는다.
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    // 판매 수량
+    @Column(nullable = false)
+    private Long quantity;
+
+    // 매출 금액(주문 당시 가격 * 수량)
+    @Column(nullable = false)
+    private Long amount;
+
+    /**
+     * 복합키(매출 일자 + 상품 ID)
+     */
+    @Getter @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class SalesDailyItemId implements Serializable {
+        private LocalDate salesDate;
+        private Long itemId;
+    }
+}
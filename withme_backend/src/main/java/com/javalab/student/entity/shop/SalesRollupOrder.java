@@ -0,0 +1,34 @@
+package com.javalab.student.entity.shop;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 매출 집계 반영 주문 엔티티
+ * - 매출 집계(sales_daily, sales_daily_item)에 반영된 주문을 기록한다.
+ * - 같은 주문이 두 번 더해지거나(결제 재처리), 반영되지 않은 주문이 빼지는(미결제 주문 취소) 것을 막는다.
+ */
+@Entity
+@Table(name = "sales_rollup_order")
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class SalesRollupOrder {
+
+    // 주문 ID
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    // 집계된 매출 일자(주문일)
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    // 집계 반영 시각
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
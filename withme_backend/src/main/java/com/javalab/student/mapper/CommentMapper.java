@@ -0,0 +1,21 @@
+package com.javalab.student.mapper;
+
+import com.javalab.student.dto.CommentDto;
+import com.javalab.student.entity.Comment;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * 댓글 엔티티 -> DTO 변환(MapStruct)
+ * - 게시글/부모 댓글은 ID만 꺼낸다.(지연 로딩 프록시의 ID 조회는 쿼리를 실행하지 않는다)
+ * - 대댓글 목록은 변환하지 않는다. 대댓글은 replyCount와 대댓글 조회 API로 제공한다.
+ */
+@Mapper(componentModel = "spring")
+public interface CommentMapper {
+
+    @Mapping(target = "postId", source = "post.id")
+    @Mapping(target = "parentCommentId", source = "parentComment.id")
+    @Mapping(target = "replies", ignore = true)
+    @Mapping(target = "nextReplyCursor", ignore = true)
+    CommentDto toDto(Comment comment);
+}
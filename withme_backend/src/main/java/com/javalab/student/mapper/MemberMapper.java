@@ -0,0 +1,15 @@
+package com.javalab.student.mapper;
+
+import com.javalab.student.dto.MemberDto;
+import com.javalab.student.entity.Member;
+import org.mapstruct.Mapper;
+
+/**
+ * 회원 엔티티 -> DTO 변환(MapStruct)
+ * - 비밀번호, 포인트 등 MemberDto에 없는 값은 내보내지 않는다.
+ */
+@Mapper(componentModel = "spring")
+public interface MemberMapper {
+
+    MemberDto toDto(Member member);
+}
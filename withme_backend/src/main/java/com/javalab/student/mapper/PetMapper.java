@@ -0,0 +1,20 @@
+package com.javalab.student.mapper;
+
+import com.javalab.student.dto.PetDto;
+import com.javalab.student.entity.Pet;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * 반려동물 엔티티 <-> DTO 변환(MapStruct)
+ * - 알러지 ID 목록은 pet_allergy 테이블에 따로 저장/조회한다.
+ */
+@Mapper(componentModel = "spring")
+public interface PetMapper {
+
+    @Mapping(target = "allergyIds", ignore = true)
+    PetDto toDto(Pet pet);
+
+    // Pet.builder()로 생성(petId는 DB가 정한다)
+    Pet toEntity(PetDto petDto);
+}
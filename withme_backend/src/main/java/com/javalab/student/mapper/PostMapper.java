@@ -0,0 +1,25 @@
+package com.javalab.student.mapper;
+
+import com.javalab.student.dto.PostDto;
+import com.javalab.student.entity.Post;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * 게시글 엔티티 <-> DTO 변환(MapStruct, 컴파일 시 구현 클래스 생성)
+ * - 댓글 목록은 댓글 API(CommentTreeLoader, CommentPageLoader)로 따로 조회하므로 변환하지 않는다.
+ *   (변환하면 게시글마다 댓글/대댓글 컬렉션 지연 로딩이 일어난다)
+ */
+@Mapper(componentModel = "spring")
+public interface PostMapper {
+
+    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "rewardPoints", ignore = true)
+    PostDto toDto(Post post);
+
+    // 새 게시글 생성용, ID/조회수/등록 시간은 DB와 JPA Auditing이 정한다.
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "views", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    Post toEntity(PostDto postDto);
+}
@@ -6,6 +6,9 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.javalab.student.entity.Comment;
 
@@ -22,4 +25,10 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     // 사용자별 댓글 조회
     Page<Comment> findByUserId(Long userId, Pageable pageable);
 
+    // 대댓글 수 증감(댓글 작성 시 +1, 삭제 시 -1)
+    @Modifying
+    @Query(value = "UPDATE comments SET reply_count = GREATEST(reply_count + :delta, 0) WHERE comment_id = :commentId",
+            nativeQuery = true)
+    int addReplyCount(@Param("commentId") Long commentId, @Param("delta") int delta);
+
 }
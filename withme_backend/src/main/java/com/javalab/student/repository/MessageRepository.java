@@ -20,6 +20,14 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     // ✅ 보낸 메시지를 최신순으로 조회
     List<Message> findBySenderOrderByRegTimeDesc(Member sender);
 
+    // ✅ 받은 메시지를 최신순으로 조회 (회원 엔티티 조회 없이 ID로, 발신자 이름 표시를 위해 발신자 함께 조회)
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.receiver.id = :userId ORDER BY m.regTime DESC")
+    List<Message> findReceivedByUserId(@Param("userId") Long userId);
+
+    // ✅ 보낸 메시지를 최신순으로 조회 (회원 엔티티 조회 없이 ID로)
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.sender.id = :userId ORDER BY m.regTime DESC")
+    List<Message> findSentByUserId(@Param("userId") Long userId);
+
     // ✅ 로그인 시 읽지 않은 메시지 개수를 조회하여 배지(알람) 표시
     // 아래처럼 @Query를 명시적으로 사용하면 @Param("receiver") 이 필요함
     @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver = :receiver AND m.read = false")
@@ -1,11 +1,46 @@
 package com.javalab.student.repository;
 
+import com.javalab.student.dto.PostSummaryDto;
 import com.javalab.student.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 
 public interface PostRepository extends JpaRepository<Post, Long> {
     Page<Post> findByUserId(Long userId, Pageable pageable);
+
+    // 게시글 피드 첫 페이지(최신순, 본문 제외, COUNT 쿼리 없음)
+    @Query("SELECT new com.javalab.student.dto.PostSummaryDto(p.id, p.userId, p.title, p.postCategory, " +
+            "p.thumbnailUrl, p.views, p.regTime, p.updateTime) " +
+            "FROM Post p ORDER BY p.regTime DESC, p.id DESC")
+    Slice<PostSummaryDto> findFeed(Pageable pageable);
+
+    // 게시글 피드 다음 페이지((regTime, id)가 커서보다 이전인 게시글)
+    @Query("SELECT new com.javalab.student.dto.PostSummaryDto(p.id, p.userId, p.title, p.postCategory, " +
+            "p.thumbnailUrl, p.views, p.regTime, p.updateTime) " +
+            "FROM Post p WHERE p.regTime < :regTime OR (p.regTime = :regTime AND p.id < :id) " +
+            "ORDER BY p.regTime DESC, p.id DESC")
+    Slice<PostSummaryDto> findFeedBefore(@Param("regTime") LocalDateTime regTime, @Param("id") Long id,
+                                         Pageable pageable);
+
+    // 게시글 요약 정보(본문 제외) 조회
+    @Query("SELECT new com.javalab.student.dto.PostSummaryDto(p.id, p.userId, p.title, p.postCategory, " +
+            "p.thumbnailUrl, p.views, p.regTime, p.updateTime) " +
+            "FROM Post p WHERE p.id IN :ids")
+    List<PostSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 댓글 수 증감(댓글 작성 시 +1, 삭제 시 삭제된 댓글과 답글 수만큼 감소)
+    @Modifying
+    @Query(value = "UPDATE posts SET comment_count = GREATEST(comment_count + :delta, 0) WHERE post_id = :postId",
+            nativeQuery = true)
+    int addCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -47,4 +48,16 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
 
     List<CartItem> findByItemIdIn(List<Long> itemIds);
+
+    /**
+     * 장바구니 상품 + 상품 + 장바구니 + 회원을 한 번에 조회(IN 절, fetch join)
+     * - 주문 시 장바구니 상품마다 조회하지 않고 한 번의 쿼리로 상품 정보와 소유자를 확인한다.
+     * @param cartItemIds
+     */
+    @Query("select ci from CartItem ci " +
+            "join fetch ci.item " +
+            "join fetch ci.cart c " +
+            "join fetch c.member " +
+            "where ci.id in :cartItemIds")
+    List<CartItem> findWithItemAndMemberByIdIn(@Param("cartItemIds") Collection<Long> cartItemIds);
 }
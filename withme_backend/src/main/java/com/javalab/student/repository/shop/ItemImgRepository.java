@@ -3,7 +3,10 @@ package com.javalab.student.repository.shop;
 import com.javalab.student.entity.shop.ItemImg;
 import io.lettuce.core.Value;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -34,5 +37,16 @@ public interface ItemImgRepository extends JpaRepository<ItemImg, Long> {
 
     List<ItemImg> findByItemId(Long id);
 
+    /**
+     * 여러 상품의 대표 이미지를 한 번에 조회(IN 절)
+     * - 상품마다 대표 이미지를 따로 조회하지 않도록 주문 내역 등 목록 화면에서 사용한다.
+     * - 반환값 : [상품 ID, 이미지 경로] 배열 목록
+     * @param itemIds
+     */
+    @Query("select im.item.id, im.imgUrl from ItemImg im " +
+            "where im.item.id in :itemIds and im.repimgYn = 'Y' " +
+            "order by im.id")
+    List<Object[]> findRepImgUrlsByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
 
 }
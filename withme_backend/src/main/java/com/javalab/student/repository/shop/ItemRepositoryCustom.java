@@ -1,11 +1,34 @@
 package com.javalab.student.repository.shop;
 
 
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.dto.shop.ItemCatalogSearchDto;
+import com.javalab.student.dto.shop.ItemCatalogSliceDto;
+import com.javalab.student.dto.shop.ItemFormDto;
+
+import java.util.List;
+
 /**
  * ItemRepositoryCustom 인터페이스
  * - querydsl을 사용한 동적 쿼리를 위한 ItemRepositoryCustom 인터페이스
  */
 public interface ItemRepositoryCustom {
 
+    /**
+     * 판매 상태별 상품 목록 조회(대표 이미지, 알러지 성분 ID 포함)
+     * - 상품 수와 관계없이 고정된 횟수(2회)의 쿼리로 상품, 대표 이미지, 알러지 성분 ID를 조회한다.
+     * - 조회 결과는 메모리에서 ItemFormDto로 조립하여 반환한다.
+     * @param itemSellStatus 판매 상태
+     */
+    List<ItemFormDto> findItemFormDtoListBySellStatus(ItemSellStatus itemSellStatus);
+
+    /**
+     * 상품 카탈로그 키셋(seek) 페이징 조회
+     * - (reg_time, item_id) 내림차순으로 정렬하고 이전 페이지의 마지막 값 이후부터 조회한다.
+     * - OFFSET을 사용하지 않으므로 N번째 페이지도 첫 페이지와 같은 비용으로 조회된다.
+     * - 가격 범위, 판매 상태, 제외할 알러지 성분 조건을 선택적으로 적용한다.
+     * @param searchDto 커서 및 검색 조건
+     */
+    ItemCatalogSliceDto findCatalogSlice(ItemCatalogSearchDto searchDto);
 
 }
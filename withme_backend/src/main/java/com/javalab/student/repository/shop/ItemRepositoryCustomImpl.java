@@ -1,6 +1,26 @@
 package com.javalab.student.repository.shop;
 
 
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.dto.shop.ItemCatalogSearchDto;
+import com.javalab.student.dto.shop.ItemCatalogSliceDto;
+import com.javalab.student.dto.shop.ItemFormDto;
+import com.javalab.student.dto.shop.ItemImgDto;
+import com.javalab.student.entity.QSubstance;
+import com.javalab.student.entity.shop.QItem;
+import com.javalab.student.entity.shop.QItemImg;
+import com.javalab.student.entity.shop.QItemSubstance;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * ItemRepositoryCustom 인터페이스를 구현하는 클래스
@@ -9,6 +29,241 @@ package com.javalab.student.repository.shop;
  */
 public class ItemRepositoryCustomImpl implements ItemRepositoryCustom{
 
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * 생성자
+     * - EntityManager를 전달받아 JPAQueryFactory를 생성한다.
+     * - JPAQueryFactory : querydsl을 사용하여 쿼리를 생성하기 위한 클래스
+     */
+    public ItemRepositoryCustomImpl(EntityManager em) {
+        this.queryFactory = new JPAQueryFactory(em);
+    }
+
+    /**
+     * 판매 상태별 상품 목록 조회(대표 이미지, 알러지 성분 ID 포함)
+     * - 1번 쿼리 : 상품 + 대표 이미지(left join, repimgYn = 'Y')
+     * - 2번 쿼리 : 같은 판매 상태의 상품에 등록된 (상품 ID, 알러지 성분 ID) 목록
+     * - 엔티티를 영속화하지 않고 필요한 컬럼만 Tuple로 조회하므로 지연로딩이 발생하지 않는다.
+     */
+    @Override
+    public List<ItemFormDto> findItemFormDtoListBySellStatus(ItemSellStatus itemSellStatus) {
+        QItem item = QItem.item;
+        QItemImg itemImg = QItemImg.itemImg;
+        QItemSubstance itemSubstance = QItemSubstance.itemSubstance;
+        QSubstance substance = QSubstance.substance;
+
+        // 1. 상품과 대표 이미지를 한 번에 조회
+        List<Tuple> rows = queryFactory
+                .select(item.id, item.itemNm, item.price, item.stockNumber, item.itemDetail, item.itemSellStatus,
+                        itemImg.id, itemImg.imgName, itemImg.oriImgName, itemImg.imgUrl, itemImg.repimgYn)
+                .from(item)
+                .leftJoin(itemImg).on(itemImg.item.eq(item), itemImg.repimgYn.eq("Y"))
+                .where(item.itemSellStatus.eq(itemSellStatus))
+                .orderBy(item.id.asc(), itemImg.id.asc())
+                .fetch();
+
+        // 상품 ID 순서를 유지하기 위해 LinkedHashMap 사용
+        Map<Long, ItemFormDto> itemMap = new LinkedHashMap<>();
+        for (Tuple row : rows) {
+            Long itemId = row.get(item.id);
+            ItemFormDto itemFormDto = itemMap.get(itemId);
+            if (itemFormDto == null) {
+                itemFormDto = ItemFormDto.builder()
+                        .id(itemId)
+                        .itemNm(row.get(item.itemNm))
+                        .price(row.get(item.price))
+                        .stockNumber(row.get(item.stockNumber))
+                        .itemDetail(row.get(item.itemDetail))
+                        .itemSellStatus(row.get(item.itemSellStatus))
+                        .substanceIds(new ArrayList<>())
+                        .build();
+                itemMap.put(itemId, itemFormDto);
+            }
+
+            // 대표 이미지는 상품당 하나만 사용 (중복 등록된 경우 첫 번째 이미지)
+            Long itemImgId = row.get(itemImg.id);
+            if (itemImgId != null && itemFormDto.getItemImgDtoList().isEmpty()) {
+                itemFormDto.getItemImgDtoList().add(ItemImgDto.builder()
+                        .id(itemImgId)
+                        .imgName(row.get(itemImg.imgName))
+                        .oriImgName(row.get(itemImg.oriImgName))
+                        .imgUrl(row.get(itemImg.imgUrl))
+                        .repImgYn(row.get(itemImg.repimgYn))
+                        .build());
+            }
+        }
+
+        if (itemMap.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 2. 같은 판매 상태 상품들의 알러지 성분 ID를 한 번에 조회
+        // - 상품 ID를 IN 절로 넘기지 않고 판매 상태로 조인하므로 상품 수가 많아도 쿼리 길이가 늘어나지 않는다.
+        List<Tuple> substanceRows = queryFactory
+                .select(item.id, substance.substanceId)
+                .from(itemSubstance)
+                .join(itemSubstance.item, item)
+                .join(itemSubstance.substance, substance)
+                .where(item.itemSellStatus.eq(itemSellStatus))
+                .orderBy(itemSubstance.id.asc())
+                .fetch();
+
+        for (Tuple row : substanceRows) {
+            ItemFormDto itemFormDto = itemMap.get(row.get(item.id));
+            if (itemFormDto != null) {
+                itemFormDto.getSubstanceIds().add(row.get(substance.substanceId));
+            }
+        }
+
+        return new ArrayList<>(itemMap.values());
+    }
+
+    /**
+     * 상품 카탈로그 키셋(seek) 페이징 조회
+     * - 1번 쿼리 : 조건에 맞는 상품을 (reg_time, item_id) 내림차순으로 size + 1건 조회
+     *   size + 1번째 상품이 있으면 다음 페이지가 있는 것으로 판단한다.(count 쿼리 없음)
+     * - 2번 쿼리 : 조회된 상품들의 대표 이미지(IN 절, 최대 size건)
+     * - 3번 쿼리 : 조회된 상품들의 알러지 성분 ID(IN 절, 최대 size건)
+     */
+    @Override
+    public ItemCatalogSliceDto findCatalogSlice(ItemCatalogSearchDto searchDto) {
+        QItem item = QItem.item;
+        int pageSize = searchDto.getPageSize();
+
+        // 1. 조회 조건 생성
+        BooleanBuilder builder = new BooleanBuilder();
+
+        // 1.1. 커서 조건 : (reg_time, item_id) < (lastRegTime, lastItemId)
+        if (!searchDto.isFirstPage()) {
+            builder.and(item.regTime.lt(searchDto.getLastRegTime())
+                    .or(item.regTime.eq(searchDto.getLastRegTime())
+                            .and(item.id.lt(searchDto.getLastItemId()))));
+        }
+
+        // 1.2. 판매 상태 조건
+        if (searchDto.getItemSellStatus() != null) {
+            builder.and(item.itemSellStatus.eq(searchDto.getItemSellStatus()));
+        }
+
+        // 1.3. 가격 범위 조건
+        if (searchDto.getMinPrice() != null) {
+            builder.and(item.price.goe(searchDto.getMinPrice()));
+        }
+        if (searchDto.getMaxPrice() != null) {
+            builder.and(item.price.loe(searchDto.getMaxPrice()));
+        }
+
+        // 1.4. 제외할 알러지 성분이 등록된 상품 제외 (not exists 서브쿼리)
+        if (searchDto.getExcludedSubstanceIds() != null && !searchDto.getExcludedSubstanceIds().isEmpty()) {
+            QItemSubstance excluded = new QItemSubstance("excludedItemSubstance");
+            builder.and(JPAExpressions.selectOne()
+                    .from(excluded)
+                    .where(excluded.item.id.eq(item.id),
+                            excluded.substance.substanceId.in(searchDto.getExcludedSubstanceIds()))
+                    .notExists());
+        }
+
+        // 2. 상품 조회 (size + 1건)
+        List<Tuple> rows = queryFactory
+                .select(item.id, item.itemNm, item.price, item.stockNumber, item.itemDetail,
+                        item.itemSellStatus, item.regTime)
+                .from(item)
+                .where(builder)
+                .orderBy(item.regTime.desc(), item.id.desc())
+                .limit(pageSize + 1L)
+                .fetch();
+
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        Map<Long, ItemFormDto> itemMap = new LinkedHashMap<>();
+        for (Tuple row : rows) {
+            Long itemId = row.get(item.id);
+            itemMap.put(itemId, ItemFormDto.builder()
+                    .id(itemId)
+                    .itemNm(row.get(item.itemNm))
+                    .price(row.get(item.price))
+                    .stockNumber(row.get(item.stockNumber))
+                    .itemDetail(row.get(item.itemDetail))
+                    .itemSellStatus(row.get(item.itemSellStatus))
+                    .substanceIds(new ArrayList<>())
+                    .build());
+        }
+
+        // 3. 대표 이미지, 알러지 성분 ID 채우기
+        if (!itemMap.isEmpty()) {
+            fillRepItemImg(itemMap);
+            fillSubstanceIds(itemMap);
+        }
+
+        // 4. 다음 페이지 커서 : 이번 페이지의 마지막 상품
+        LocalDateTime nextRegTime = null;
+        Long nextItemId = null;
+        if (hasNext) {
+            Tuple last = rows.get(rows.size() - 1);
+            nextRegTime = last.get(item.regTime);
+            nextItemId = last.get(item.id);
+        }
+
+        return ItemCatalogSliceDto.builder()
+                .content(new ArrayList<>(itemMap.values()))
+                .hasNext(hasNext)
+                .nextRegTime(nextRegTime)
+                .nextItemId(nextItemId)
+                .build();
+    }
+
+    /**
+     * 상품 ID 목록(IN 절)으로 대표 이미지를 한 번에 조회하여 ItemFormDto에 설정한다.
+     */
+    private void fillRepItemImg(Map<Long, ItemFormDto> itemMap) {
+        QItemImg itemImg = QItemImg.itemImg;
+
+        List<Tuple> imgRows = queryFactory
+                .select(itemImg.item.id, itemImg.id, itemImg.imgName, itemImg.oriImgName,
+                        itemImg.imgUrl, itemImg.repimgYn)
+                .from(itemImg)
+                .where(itemImg.item.id.in(itemMap.keySet()), itemImg.repimgYn.eq("Y"))
+                .orderBy(itemImg.id.asc())
+                .fetch();
+
+        for (Tuple row : imgRows) {
+            ItemFormDto itemFormDto = itemMap.get(row.get(itemImg.item.id));
+            // 대표 이미지는 상품당 하나만 사용 (중복 등록된 경우 첫 번째 이미지)
+            if (itemFormDto != null && itemFormDto.getItemImgDtoList().isEmpty()) {
+                itemFormDto.getItemImgDtoList().add(ItemImgDto.builder()
+                        .id(row.get(itemImg.id))
+                        .imgName(row.get(itemImg.imgName))
+                        .oriImgName(row.get(itemImg.oriImgName))
+                        .imgUrl(row.get(itemImg.imgUrl))
+                        .repImgYn(row.get(itemImg.repimgYn))
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * 상품 ID 목록(IN 절)으로 알러지 성분 ID를 한 번에 조회하여 ItemFormDto에 설정한다.
+     */
+    private void fillSubstanceIds(Map<Long, ItemFormDto> itemMap) {
+        QItemSubstance itemSubstance = QItemSubstance.itemSubstance;
+
+        List<Tuple> substanceRows = queryFactory
+                .select(itemSubstance.item.id, itemSubstance.substance.substanceId)
+                .from(itemSubstance)
+                .where(itemSubstance.item.id.in(itemMap.keySet()))
+                .orderBy(itemSubstance.id.asc())
+                .fetch();
 
+        for (Tuple row : substanceRows) {
+            ItemFormDto itemFormDto = itemMap.get(row.get(itemSubstance.item.id));
+            if (itemFormDto != null) {
+                itemFormDto.getSubstanceIds().add(row.get(itemSubstance.substance.substanceId));
+            }
+        }
+    }
 
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.javalab.student.repository.shop;
 
 import com.javalab.student.entity.shop.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
@@ -12,6 +14,14 @@ import java.util.List;
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
 
+    /**
+     * 주문 ID로 주문 상품 + 상품을 한 번에 조회(fetch join)
+     * - 주문 상품마다 상품을 지연로딩하지 않도록 상품까지 함께 조회한다.
+     * @param orderId
+     */
+    @Query("select oi from OrderItem oi join fetch oi.item where oi.order.id = :orderId order by oi.id")
+    List<OrderItem> findWithItemByOrderId(@Param("orderId") Long orderId);
+
 
     List<OrderItem> findByOrderIdIn(List<Long> orderIds);
 }
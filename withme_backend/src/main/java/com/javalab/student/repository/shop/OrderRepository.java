@@ -4,6 +4,7 @@ import com.javalab.student.constant.OrderStatus;
 import com.javalab.student.entity.shop.Order;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -26,6 +27,32 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     )
     List<Order> findOrders(@Param("email") String email, Pageable pageable);
 
+    /**
+     * 회원 이메일로 주문 ID 페이지 조회, 주문은 최신순으로 정렬
+     * - 컬렉션 fetch join과 페이징을 함께 쓰면 메모리에서 페이징되므로
+     *   ID만 먼저 페이징 조회하고 findWithItemsByIdIn으로 상세를 가져온다.
+     * @param email
+     * @param pageable
+     */
+    @Query("select o.id from Order o " +
+            "where o.member.email = :email " +
+            "order by o.orderDate desc, o.id desc"
+    )
+    List<Long> findOrderIds(@Param("email") String email, Pageable pageable);
+
+    /**
+     * 주문 ID 목록으로 주문 + 주문 상품 + 상품을 한 번에 조회(fetch join)
+     * - 주문 상품이 없는 주문도 목록에서 빠지지 않도록 left join, 주문당 한 건은 distinct로 보장
+     * - 페이징은 findOrderIds에서 끝났으므로 이 쿼리에는 Pageable을 쓰지 않는다.
+     * @param orderIds
+     */
+    @Query("select distinct o from Order o " +
+            "left join fetch o.orderItems oi " +
+            "left join fetch oi.item " +
+            "where o.id in :orderIds"
+    )
+    List<Order> findWithItemsByIdIn(@Param("orderIds") List<Long> orderIds);
+
     /**
      * 회원 이메일로 주문 수 조회
      * - 페이징 처리를 위해 count 쿼리를 별도로 작성
@@ -37,6 +64,17 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     )
     Long countOrder(@Param("email") String email);
 
+    /**
+     * 주문 상태 조건부 변경
+     * - 이미 같은 상태인 주문은 변경하지 않는다.(동시에 들어온 취소 요청 중 하나만 1을 반환)
+     * @return 변경된 행 수(0 또는 1)
+     */
+    @Modifying
+    @Query("update Order o set o.orderStatus = :status, o.updateTime = CURRENT_TIMESTAMP " +
+            "where o.id = :orderId and o.orderStatus <> :status"
+    )
+    int updateOrderStatusIfChanged(@Param("orderId") Long orderId, @Param("status") OrderStatus status);
+
     // 주문 완료 상태인 주문 ID 조회 (ORDER_COMPLETED 상태의 주문만 가져오기)
     @Query("SELECT o.id FROM Order o WHERE o.orderStatus = :status")
     List<Long> findCompletedOrderIds(@Param("status") OrderStatus status);
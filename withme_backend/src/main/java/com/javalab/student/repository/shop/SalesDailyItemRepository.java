@@ -0,0 +1,27 @@
+package com.javalab.student.repository.shop;
+
+import com.javalab.student.dto.shop.TopSellingProductDTO;
+import com.javalab.student.entity.shop.SalesDailyItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * 일별 상품별 매출 집계 Repository
+ */
+public interface SalesDailyItemRepository extends JpaRepository<SalesDailyItem, SalesDailyItem.SalesDailyItemId> {
+
+    /**
+     * 판매량 상위 상품 조회(상품명 포함)
+     * - 상품별 판매 수량 합계 내림차순, 조회 개수는 pageable로 지정한다.
+     * @param pageable 조회 개수
+     */
+    @Query("select new com.javalab.student.dto.shop.TopSellingProductDTO(i.itemNm, cast(sum(s.quantity) as integer)) " +
+            "from SalesDailyItem s, Item i " +
+            "where i.id = s.itemId " +
+            "group by s.itemId, i.itemNm " +
+            "order by sum(s.quantity) desc")
+    List<TopSellingProductDTO> findTopSellingProducts(Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package com.javalab.student.repository.shop;
+
+import com.javalab.student.entity.shop.SalesDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 매출 집계 Repository
+ */
+public interface SalesDailyRepository extends JpaRepository<SalesDaily, LocalDate> {
+
+    /**
+     * 기간 내 매출 금액 합계(시작일, 종료일 포함)
+     * - 기간 내 일 수만큼의 행만 읽는다.
+     * @param startDate 시작일
+     * @param endDate 종료일
+     */
+    @Query("select coalesce(sum(s.amount), 0) from SalesDaily s " +
+            "where s.salesDate between :startDate and :endDate")
+    Long sumAmountBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
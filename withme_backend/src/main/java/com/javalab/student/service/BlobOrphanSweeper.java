@@ -0,0 +1,52 @@
+package com.javalab.student.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 참조가 없는 파일(고아 파일) 정리 작업
+ * - 참조 수가 0인 채로 blob.sweep.grace-hours 이상 지난 파일과 그 크기별 변환본을 삭제한다.
+ * - 업로드 직후 아직 엔티티에 연결되지 않은 파일, 저장이 롤백된 파일, 교체/삭제된 이미지가 대상이다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlobOrphanSweeper {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final BlobStore blobStore;
+    private final ImageVariantService imageVariantService;
+
+    @Value("${blob.sweep.grace-hours:24}")
+    private long graceHours;
+
+    @Scheduled(fixedDelayString = "${blob.sweep.interval-ms:3600000}", initialDelayString = "${blob.sweep.initial-delay-ms:600000}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(graceHours);
+        int deletedCount = 0;
+        try {
+            List<String> orphans;
+            do {
+                orphans = blobStore.findOrphans(cutoff, BATCH_SIZE);
+                for (String key : orphans) {
+                    if (blobStore.deleteIfOrphan(key, cutoff)) {
+                        imageVariantService.deleteVariants(blobStore.resolve(key));
+                        deletedCount++;
+                    }
+                }
+            } while (orphans.size() == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.error("고아 파일 정리 실패: {}", e.getMessage(), e);
+        }
+        if (deletedCount > 0) {
+            log.info("고아 파일 정리 완료: {}건 삭제", deletedCount);
+        }
+    }
+}
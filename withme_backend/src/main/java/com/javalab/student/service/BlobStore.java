@@ -0,0 +1,81 @@
+package com.javalab.student.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 파일 저장소(blob store)
+ * - 파일을 내용의 SHA-256 해시를 키로 저장한다. 같은 내용의 파일은 확장자(파일명)가 달라도 한 번만 저장된다.
+ * - Content-Type은 키가 아니라 저장 기록(blob_file)에 보관한다.
+ * - 파일을 참조하는 쪽(상품 이미지, 반려동물, 게시글)은 retain()/release()로 참조 수를 관리하고,
+ *   참조가 없는 파일은 정리 작업(BlobOrphanSweeper)이 삭제한다.
+ */
+public interface BlobStore {
+
+    /**
+     * 파일 저장
+     * - 같은 내용의 파일이 이미 있으면 새로 쓰지 않고 기존 키를 반환한다.
+     * - 저장 직후 참조 수는 0이므로, 참조하는 엔티티를 저장할 때 retain()을 호출해야 한다.
+     * @param inputStream 파일 내용
+     * @param originalFileName 원본 파일명(확장자로 Content-Type을 정할 때만 사용)
+     */
+    StoredBlob put(InputStream inputStream, String originalFileName) throws IOException;
+
+    /**
+     * 파일 키의 저장 위치
+     */
+    Path resolve(String key);
+
+    /**
+     * 파일의 Content-Type(저장 기록이 없으면 application/octet-stream)
+     */
+    String getContentType(String key);
+
+    /**
+     * 파일 저장소 키 형식인지 확인(이전 방식으로 저장된 파일명과 구분)
+     */
+    boolean isKey(String name);
+
+    /**
+     * 참조 수 증가(호출한 트랜잭션에 참여)
+     * - 파일 저장소 키가 아니면 아무것도 하지 않는다.
+     */
+    void retain(String key);
+
+    /**
+     * 참조 수 감소(호출한 트랜잭션에 참여)
+     * - 파일 저장소 키가 아니면 아무것도 하지 않는다.
+     */
+    void release(String key);
+
+    /**
+     * cutoff 이전부터 참조가 없는 파일 키 조회
+     */
+    List<String> findOrphans(LocalDateTime cutoff, int limit);
+
+    /**
+     * 여전히 참조가 없는 파일이면 삭제
+     * @return 삭제 여부
+     */
+    boolean deleteIfOrphan(String key, LocalDateTime cutoff);
+
+    /**
+     * 저장된 파일 정보
+     */
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    class StoredBlob {
+        private final String key;       // 파일 키(SHA-256 해시)
+        private final Path path;        // 저장 위치
+        private final long size;        // 파일 크기(byte)
+        private final boolean created;  // 새로 저장했으면 true, 같은 내용의 파일이 이미 있었으면 false
+    }
+}
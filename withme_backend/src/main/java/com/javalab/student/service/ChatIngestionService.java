@@ -0,0 +1,563 @@
+package com.javalab.student.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javalab.student.dto.MessageRequestDto;
+import com.javalab.student.dto.MessageResponseDto;
+import com.javalab.student.entity.Message;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅 메시지 수집(ingestion) 서비스
+ * - 메시지를 보낼 때 DB 커밋을 기다리지 않는다.
+ *   1) 발신자/수신자를 회원 캐시(ChatMemberDirectory)로 확인
+ *   2) 메시지 ID를 message_id_seq에서 50개 단위로 미리 받아 둔 범위에서 할당
+ *      (노드마다 다른 범위를 쓰므로 ID 순서가 작성 순서와 다를 수 있다. 정렬/커서는 (reg_time, msg_id)를 사용)
+ *   3) 크기 제한 대기열에 넣고(선택적으로 로컬 저널 파일에 기록) 바로 수신자/발신자에게 전달
+ *   4) 기록 스레드(chat-message-writer)가 대기열을 모아 여러 행 INSERT 한 번으로 message 테이블에 저장하고,
+ *      같은 트랜잭션에서 메시지함 집계(MessageInboxService)에 반영
+ * - 대기열이 가득 차면 메시지를 받지 않는다.(IllegalStateException)
+ * - 저널(chat.ingest.journal-path)을 지정하면 대기열에 넣은 메시지를 파일에 먼저 기록하고,
+ *   대기열이 모두 저장되면 비운다. 대기열이 계속 차 있어 비울 수 없을 때는 저널이 chat.ingest.journal-compact-bytes보다
+ *   커지면 아직 저장되지 않은 메시지만 남겨 새로 쓴다. 서버가 비정상 종료되면 다음 시작 시 저널의 메시지를 저장한다.
+ *   이미 저장된 메시지는 복구할 때 제외하므로 중복 저장되거나 메시지함 집계에 두 번 반영되지 않는다.
+ *   fsync는 보낼 때마다 하지 않고 기록 스레드가 한 번에 모은 메시지를 저장하기 전에 한 번 한다.(group commit)
+ *   프로세스가 비정상 종료되어도 기록한 내용은 남지만, OS/전원 장애 시에는 마지막 fsync 이후
+ *   한 번의 저장 주기 동안 받은 메시지가 유실될 수 있다.
+ * - 저장하지 못하고 대기열에서 빠진 메시지(DB 오류 등)는 저널에 남겨 두고 기록 스레드가 다시 저장한다.
+ *   (종료 중이면 다음 시작 때 저널에서 복구한다)
+ * - 저장되기 전(보통 수 ms) 잠깐 동안은 메시지 조회 API에 보이지 않을 수 있다.
+ *   읽음/삭제 처리는 트랜잭션을 시작하기 전에 awaitPersisted()로 메시지가 저장될 때까지 기다린다.
+ */
+@Service
+@DependsOn({"entityManagerFactory", "messageInboxBackfillJob"})
+@Slf4j
+public class ChatIngestionService {
+
+    // Message 엔티티 @SequenceGenerator의 allocationSize와 같아야 한다.
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final int MAX_CONTENT_LENGTH = 255;
+    private static final long MAX_RETRY_DELAY_MS = 5000;
+
+    private static final String INSERT_PREFIX =
+            "INSERT IGNORE INTO message (msg_id, sender_id, receiver_id, conversation_key, content, is_read, deleted_by_sender, " +
+            "deleted_by_receiver, edited, reg_time, update_time, created_by, modified_by) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, false, false, false, false, ?, ?, ?, ?)";
+
+    /**
+     * 저장 대기 중인 메시지(저널 파일의 한 줄)
+     */
+    record PendingMessage(long id, long senderId, long receiverId, String content,
+                          LocalDateTime regTime, String auditor) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatMemberDirectory chatMemberDirectory;
+    private final MessagePublisherService messagePublisherService;
+    private final MessageInboxService messageInboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<PendingMessage> queue;
+    private final int batchSize;
+    private final Path journalPath;
+
+    private final long pendingWaitMillis;
+    private final long journalCompactBytes;
+
+    private final Object journalLock = new Object();
+    private FileChannel journal;
+
+    // 저장하지 못하고 대기열에서 빠진 메시지(저널에만 남아 있음), 기록 스레드에서만 사용
+    private final List<PendingMessage> unsaved = new ArrayList<>();
+
+    // 대기열에 있는(아직 저장 처리되지 않은) 메시지 ID -> 저장 처리가 끝나면 완료
+    private final Map<Long, CompletableFuture<Void>> queuedIds = new ConcurrentHashMap<>();
+
+    // 미리 할당받은 ID 범위 [nextId, maxId]
+    private long nextId = 1;
+    private long maxId = 0;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ChatIngestionService(JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                ChatMemberDirectory chatMemberDirectory,
+                                MessagePublisherService messagePublisherService,
+                                MessageInboxService messageInboxService,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${chat.ingest.queue-capacity:10000}") int queueCapacity,
+                                @Value("${chat.ingest.batch-size:500}") int batchSize,
+                                @Value("${chat.ingest.journal-path:}") String journalPath,
+                                @Value("${chat.ingest.pending-wait-ms:3000}") long pendingWaitMillis,
+                                @Value("${chat.ingest.journal-compact-bytes:16777216}") long journalCompactBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.chatMemberDirectory = chatMemberDirectory;
+        this.messagePublisherService = messagePublisherService;
+        this.messageInboxService = messageInboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.journalPath = journalPath.isBlank() ? null : Paths.get(journalPath);
+        this.pendingWaitMillis = pendingWaitMillis;
+        this.journalCompactBytes = journalCompactBytes;
+    }
+
+    /**
+     * 저널에 남은 메시지 저장(이전 실행이 비정상 종료된 경우) 후 기록 스레드 시작
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (journalPath != null) {
+            recoverJournal();
+            journal = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "chat-message-writer");
+        writer.start();
+    }
+
+    /**
+     * 메시지 접수
+     * - 발신자/수신자/내용을 확인하고 대기열에 넣은 뒤 수신자, 발신자에게 바로 전달한다.
+     * @return 전달한 메시지(ID 포함, 저장은 기록 스레드에서 처리)
+     * @throws IllegalArgumentException 발신자/수신자가 없거나 내용이 잘못된 경우
+     * @throws IllegalStateException 대기열이 가득 찬 경우
+     */
+    public MessageResponseDto submit(MessageRequestDto requestDto) {
+        // 1. 필수 파라미터 검증
+        if (requestDto.getSenderId() == null || requestDto.getReceiverId() == null) {
+            throw new IllegalArgumentException("발신자 또는 수신자 ID가 누락되었습니다.");
+        }
+        String content = requestDto.getContent() != null ? requestDto.getContent().trim() : "";
+        if (content.isEmpty()) {
+            throw new IllegalArgumentException("메시지 내용이 비어있습니다.");
+        }
+        if (content.length() > MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("메시지 내용은 1자 이상 255자 이하여야 합니다.");
+        }
+
+        // 2. 발신자와 수신자 확인(회원 캐시)
+        String senderName = chatMemberDirectory.findName(requestDto.getSenderId());
+        if (senderName == null) {
+            throw new IllegalArgumentException("발신자를 찾을 수 없습니다.");
+        }
+        if (chatMemberDirectory.findName(requestDto.getReceiverId()) == null) {
+            throw new IllegalArgumentException("수신자를 찾을 수 없습니다.");
+        }
+
+        // 3. 대기열(+저널)에 추가
+        LocalDateTime now = LocalDateTime.now();
+        PendingMessage message = new PendingMessage(nextId(), requestDto.getSenderId(), requestDto.getReceiverId(),
+                content, now, currentAuditor());
+        enqueue(message);
+
+        // 4. 수신자, 발신자에게 바로 전달
+        MessageResponseDto responseDto = new MessageResponseDto(message.id(), message.senderId(), senderName,
+                message.receiverId(), content, false, now, now);
+        messagePublisherService.publishMessage(responseDto);
+        return responseDto;
+    }
+
+    /**
+     * 메시지가 저장될 때까지 기다린다.
+     * - 메시지는 저장 전에 전달되므로 받은 메시지를 바로 읽음/삭제 처리하면 아직 DB에 없을 수 있다.
+     * - 이 서버의 대기열에 있으면 저장 처리가 끝날 때까지 기다린다.
+     * - 대기열에 없으면(다른 서버에서 접수된 메시지 등) DB에 저장되었는지 간격을 늘려 가며 다시 확인한다.
+     * - DB 연결을 붙잡고 기다리지 않도록 트랜잭션 밖에서 호출한다.
+     * @return 저장 처리가 끝났으면 true(이 서버에서 저장에서 제외된 경우 포함),
+     *         chat.ingest.pending-wait-ms 안에 저장되지 않으면 false(잠시 후 다시 시도)
+     */
+    public boolean awaitPersisted(Long messageId) {
+        if (messageId == null) {
+            return true;
+        }
+        CompletableFuture<Void> done = queuedIds.get(messageId);
+        if (done != null) {
+            try {
+                done.get(pendingWaitMillis, TimeUnit.MILLISECONDS);
+                return true;
+            } catch (TimeoutException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                return true;
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pendingWaitMillis);
+        long delay = 20;
+        while (!isSaved(messageId)) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(Math.min(delay, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            delay = Math.min(delay * 2, 500);
+        }
+        return true;
+    }
+
+    /**
+     * 종료 시 대기열에 남은 메시지를 모두 저장
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private boolean isSaved(Long messageId) {
+        return !jdbcTemplate.queryForList("SELECT msg_id FROM message WHERE msg_id = ?", Long.class, messageId).isEmpty();
+    }
+
+    private void enqueue(PendingMessage message) {
+        // 대기열 추가와 저널 기록을 함께 잠가서, 저널을 비울 때 대기열에 없는 메시지가 저널에만 남거나 지워지지 않게 한다.
+        synchronized (journalLock) {
+            // 기록 스레드가 저장을 마치기 전에 등록되도록 대기열보다 먼저 넣는다.
+            queuedIds.put(message.id(), new CompletableFuture<>());
+            if (!running || !queue.offer(message)) {
+                queuedIds.remove(message.id());
+                throw new IllegalStateException("메시지 저장 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+            }
+            if (journal != null) {
+                try {
+                    // fsync는 기록 스레드가 저장 주기마다 한 번 한다.(syncJournal)
+                    writeJournalLine(journal, message);
+                } catch (IOException e) {
+                    // 대기열에는 들어갔으므로 정상 종료되면 저장된다.
+                    log.error("채팅 메시지 저널 기록 실패: 메시지 ID={}", message.id(), e);
+                }
+            }
+        }
+    }
+
+    // message_id_seq에서 ID를 50개 단위로 할당(Hibernate pooled 최적화와 같은 방식 : NEXTVAL이 범위의 마지막 ID)
+    private synchronized long nextId() {
+        if (nextId > maxId) {
+            Long hi = jdbcTemplate.queryForObject("SELECT NEXTVAL(message_id_seq)", Long.class);
+            maxId = hi;
+            nextId = Math.max(1, hi - ID_ALLOCATION_SIZE + 1);
+        }
+        return nextId++;
+    }
+
+    private String currentAuditor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+
+    private void runWriter() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                retryUnsaved();
+                PendingMessage first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    compactJournal();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                syncJournal();
+                try {
+                    writeWithRetry(batch);
+                } catch (RuntimeException e) {
+                    // 저장하지 못한 메시지는 저널에 남겨 두고 다시 저장한다.
+                    unsaved.addAll(batch);
+                    log.error("채팅 메시지 저장 스레드 오류: {}건 저장 실패", batch.size(), e);
+                } finally {
+                    settle(batch);
+                }
+                compactJournal();
+            } catch (InterruptedException e) {
+                // 저장하지 못한 메시지는 저널에 남으므로 다음 시작 때 복구한다.
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("채팅 메시지 저장 스레드 오류", e);
+            } finally {
+                batch.clear();
+            }
+        }
+        log.info("채팅 메시지 저장 스레드 종료");
+    }
+
+    // 저장하지 못했던 메시지를 다시 저장(이미 저장된 메시지는 제외, 종료 중이면 다음 시작 때 저널에서 복구)
+    private void retryUnsaved() {
+        if (unsaved.isEmpty() || !running) {
+            return;
+        }
+        try {
+            persistChunks(unsaved);
+            log.info("저장하지 못했던 채팅 메시지 {}건 저장", unsaved.size());
+            unsaved.clear();
+        } catch (RuntimeException e) {
+            log.warn("저장하지 못했던 채팅 메시지 {}건 다시 저장 실패: {}", unsaved.size(), e.getMessage());
+        }
+    }
+
+    // 저널에 기록한 메시지를 디스크에 반영(저장 주기마다 한 번, 이 배치까지 기록된 내용을 모두 포함)
+    private void syncJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.force(false);
+        } catch (IOException e) {
+            log.error("채팅 메시지 저널 fsync 실패: {}", e.getMessage());
+        }
+    }
+
+    // 저장 처리가 끝난 메시지를 대기 목록에서 빼고 기다리는 읽음/삭제 처리를 깨운다.
+    private void settle(List<PendingMessage> batch) {
+        for (PendingMessage message : batch) {
+            CompletableFuture<Void> done = queuedIds.remove(message.id());
+            if (done != null) {
+                done.complete(null);
+            }
+        }
+    }
+
+    /**
+     * 메시지 저장(실패 시 재시도)
+     * - INSERT IGNORE이므로 제약 조건에 맞지 않는 행(탈퇴한 회원 등)은 저장되지 않는다.(persist에서 제외된 메시지를 로그로 남김)
+     *   그 밖의 제약 조건 위반이면 한 건씩 저장해서 해당 메시지만 제외한다.
+     * - DB 연결 오류 등은 저장될 때까지 재시도한다.(종료 중이면 포기하고 저널에 남긴다)
+     */
+    private void writeWithRetry(List<PendingMessage> batch) throws InterruptedException {
+        long delay = 100;
+        while (true) {
+            try {
+                persist(batch, false);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                insertOneByOne(batch, false);
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.error("채팅 메시지 {}건 저장 실패(저널에서 복구 필요): {}", batch.size(), e.getMessage());
+                    throw e;
+                }
+                log.warn("채팅 메시지 {}건 저장 실패, {}ms 후 재시도: {}", batch.size(), delay, e.getMessage());
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private void insertOneByOne(List<PendingMessage> batch, boolean skipSaved) {
+        for (PendingMessage message : batch) {
+            try {
+                persist(List.of(message), skipSaved);
+            } catch (DataIntegrityViolationException e) {
+                log.error("채팅 메시지 저장 제외: 메시지 ID={}, 발신자 ID={}, 수신자 ID={}, error={}",
+                        message.id(), message.senderId(), message.receiverId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 메시지 저장과 메시지함 집계 반영을 한 트랜잭션으로 처리
+     * - 실제로 저장된 메시지만 집계에 반영한다.(INSERT IGNORE로 제외된 행은 반영하지 않음)
+     * @param skipSaved true면 이미 저장된 메시지를 먼저 제외(저널 복구)
+     * @return 저장된 행 수
+     */
+    private int persist(List<PendingMessage> messages, boolean skipSaved) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            List<PendingMessage> batch = messages;
+            if (skipSaved) {
+                Set<Long> savedIds = savedIds(messages);
+                batch = messages.stream().filter(message -> !savedIds.contains(message.id())).toList();
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+            }
+            int count = insert(batch);
+            List<PendingMessage> saved = batch;
+            if (count < batch.size()) {
+                Set<Long> savedIds = savedIds(batch);
+                saved = batch.stream().filter(message -> savedIds.contains(message.id())).toList();
+                // 이미 수신자/발신자에게 전달된 메시지이므로 어떤 메시지가 빠졌는지 남긴다.
+                batch.stream().filter(message -> !savedIds.contains(message.id())).forEach(message ->
+                        log.warn("전달된 채팅 메시지 저장 제외(중복 또는 없는 회원): 메시지 ID={}, 발신자 ID={}, 수신자 ID={}",
+                                message.id(), message.senderId(), message.receiverId()));
+            }
+            messageInboxService.applyNewMessages(saved);
+            return count;
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    private Set<Long> savedIds(List<PendingMessage> messages) {
+        String placeholders = messages.stream().map(message -> "?").collect(Collectors.joining(", "));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT msg_id FROM message WHERE msg_id IN (" + placeholders + ")", Long.class,
+                messages.stream().map(PendingMessage::id).toArray()));
+    }
+
+    // 여러 행 INSERT 한 번으로 저장
+    private int insert(List<PendingMessage> messages) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + messages.size() * (ROW_PLACEHOLDER.length() + 2))
+                .append(INSERT_PREFIX);
+        List<Object> params = new ArrayList<>(messages.size() * 9);
+        for (int i = 0; i < messages.size(); i++) {
+            PendingMessage message = messages.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            Timestamp regTime = Timestamp.valueOf(message.regTime());
+            params.add(message.id());
+            params.add(message.senderId());
+            params.add(message.receiverId());
+            params.add(Message.conversationKey(message.senderId(), message.receiverId()));
+            params.add(message.content());
+            params.add(regTime);
+            params.add(regTime);
+            params.add(message.auditor());
+            params.add(message.auditor());
+        }
+        return jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+
+    /**
+     * 저장이 끝난 메시지를 저널에서 제거
+     * - 대기열과 저장하지 못한 메시지가 모두 없으면 저널을 비운다.
+     * - 그렇지 않으면 저널이 chat.ingest.journal-compact-bytes보다 커졌을 때만
+     *   저장하지 못한 메시지와 대기열의 메시지로 새 저널을 만들어 교체한다.
+     *   (교체하는 동안 메시지 접수는 잠시 기다린다)
+     */
+    private void compactJournal() {
+        if (journal == null) {
+            return;
+        }
+        synchronized (journalLock) {
+            try {
+                if (queue.isEmpty() && unsaved.isEmpty()) {
+                    if (journal.size() > 0) {
+                        journal.truncate(0);
+                    }
+                    return;
+                }
+                if (journal.size() < journalCompactBytes) {
+                    return;
+                }
+                Path compacted = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+                try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    for (PendingMessage message : unsaved) {
+                        writeJournalLine(out, message);
+                    }
+                    for (PendingMessage message : queue) {
+                        writeJournalLine(out, message);
+                    }
+                    out.force(false);
+                }
+                journal.close();
+                try {
+                    Files.move(compacted, journalPath,
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    journal = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                }
+            } catch (IOException e) {
+                log.warn("채팅 메시지 저널 정리 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void writeJournalLine(FileChannel channel, PendingMessage message) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(message) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // 저널 복구, 저장하지 못했던 메시지 재저장(이미 저장된 메시지는 제외하고 batchSize씩 저장)
+    private void persistChunks(List<PendingMessage> messages) {
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            List<PendingMessage> chunk = messages.subList(from, Math.min(from + batchSize, messages.size()));
+            try {
+                persist(chunk, true);
+            } catch (DataIntegrityViolationException e) {
+                insertOneByOne(chunk, true);
+            }
+        }
+    }
+
+    // 이전 실행에서 저장하지 못한 메시지 저장(마지막 줄이 잘린 경우 그 줄은 무시)
+    private void recoverJournal() throws IOException {
+        if (!Files.exists(journalPath)) {
+            Files.createDirectories(journalPath.toAbsolutePath().getParent());
+            return;
+        }
+        List<PendingMessage> messages = new ArrayList<>();
+        for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                messages.add(objectMapper.readValue(line, PendingMessage.class));
+            } catch (IOException e) {
+                log.warn("채팅 메시지 저널의 잘못된 줄 무시: {}", line);
+            }
+        }
+        persistChunks(messages);
+        if (!messages.isEmpty()) {
+            log.info("채팅 메시지 저널 복구: {}건", messages.size());
+        }
+        Files.write(journalPath, new byte[0]);
+    }
+}
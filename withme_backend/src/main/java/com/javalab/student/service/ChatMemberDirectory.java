@@ -0,0 +1,51 @@
+package com.javalab.student.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 채팅 발신자/수신자 확인용 회원 캐시(회원 ID -> 이름)
+ * - 메시지를 보낼 때마다 회원 엔티티를 조회하지 않고 로컬 Caffeine 캐시에서 확인한다.
+ * - 없는 회원 ID는 캐시하지 않는다.(가입 직후에도 바로 확인되도록)
+ * - 이름 변경은 chat.member-cache.expire-minutes 이후에 반영된다.
+ */
+@Service
+public class ChatMemberDirectory {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Long, String> names;
+
+    public ChatMemberDirectory(JdbcTemplate jdbcTemplate,
+                               @Value("${chat.member-cache.max-size:100000}") long maxSize,
+                               @Value("${chat.member-cache.expire-minutes:10}") long expireMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.names = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                .build();
+    }
+
+    /**
+     * 회원 이름 조회
+     * @return 회원 이름, 없는 회원이면 null
+     */
+    public String findName(Long memberId) {
+        if (memberId == null) {
+            return null;
+        }
+        return names.get(memberId, this::loadName);
+    }
+
+    private String loadName(Long memberId) {
+        List<String> result = jdbcTemplate.queryForList(
+                "SELECT name FROM member WHERE user_id = ?", String.class, memberId);
+        // 이름이 비어 있는 회원도 존재하는 회원으로 캐시한다.
+        return result.isEmpty() ? null : (result.get(0) != null ? result.get(0) : "");
+    }
+}
@@ -0,0 +1,221 @@
+package com.javalab.student.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅 접속 상태(presence) 서비스
+ * - 사용자별로 STOMP 세션이 연결된 노드를 Redis hash(chat:presence:{사용자 ID})에 기록한다.
+ *   필드 : 노드 ID, 값 : 만료 시각(epoch ms)
+ * - 사용자 ID는 핸드셰이크 때 액세스 토큰으로 인증한 Principal(이름 = 회원 ID)에서 꺼낸다.(StompAuthenticationInterceptor)
+ *   클라이언트가 보낸 헤더는 신뢰하지 않으며, 인증되지 않은 세션은 등록하지 않는다.
+ *   SessionConnectedEvent에서 등록하고, 그 노드의 마지막 세션이 끊기면(SessionDisconnectEvent) 삭제한다.
+ * - chat.presence.heartbeat-interval-ms 마다 이 노드에 연결된 사용자의 만료 시각을 늘린다.
+ *   노드가 비정상 종료되면 만료 시각이 지난 필드는 조회할 때 무시하고 지운다.
+ * - Redis 오류는 로그만 남긴다.(접속 상태를 알 수 없으면 메시지는 DB에만 저장된다)
+ */
+@Service
+@Slf4j
+public class ChatPresenceService {
+
+    private static final String PRESENCE_KEY_PREFIX = "chat:presence:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String nodeId;
+    private final long ttlMillis;
+
+    // 이 노드에 연결된 세션 ID -> 사용자 ID
+    private final Map<String, Long> userIdBySession = new ConcurrentHashMap<>();
+
+    // 사용자 ID -> 이 노드에 연결된 세션 수
+    private final Map<Long, Integer> sessionCounts = new ConcurrentHashMap<>();
+
+    public ChatPresenceService(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisTemplate,
+                               @Value("${chat.node-id:}") String nodeId,
+                               @Value("${chat.presence.ttl-seconds:90}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+        log.info("채팅 노드 ID: {}", this.nodeId);
+    }
+
+    /**
+     * 이 노드의 ID(노드별 Redis 채널 이름에 사용)
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 이 노드에 해당 사용자의 세션이 연결되어 있는지 확인
+     */
+    public boolean isConnected(Long userId) {
+        return userId != null && sessionCounts.containsKey(userId);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Long userId = authenticatedUserId(event.getUser());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (userId == null || sessionId == null) {
+            return;
+        }
+        userIdBySession.put(sessionId, userId);
+        if (sessionCounts.merge(userId, 1, Integer::sum) == 1) {
+            try {
+                register(List.of(userId));
+            } catch (Exception e) {
+                log.warn("채팅 접속 상태 등록 실패: 사용자 ID={}, {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Long userId = userIdBySession.remove(event.getSessionId());
+        if (userId == null) {
+            return;
+        }
+        Integer remaining = sessionCounts.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            try {
+                redisTemplate.opsForHash().delete(presenceKey(userId), nodeId);
+            } catch (Exception e) {
+                log.warn("채팅 접속 상태 삭제 실패: 사용자 ID={}, {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 이 노드에 연결된 사용자의 접속 상태 만료 시각 연장(파이프라인으로 한 번에 전송)
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (sessionCounts.isEmpty()) {
+            return;
+        }
+        try {
+            register(sessionCounts.keySet());
+        } catch (Exception e) {
+            log.warn("채팅 접속 상태 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 사용자별 세션이 연결된 노드 ID 조회(접속하지 않은 사용자는 결과에 없음)
+     * - 만료된 필드(비정상 종료된 노드)는 결과에서 빼고 지운다.
+     */
+    public Map<Long, Set<String>> findNodes(Collection<Long> userIds) {
+        List<Long> ids = userIds.stream().filter(id -> id != null).distinct().toList();
+        // 파이프라인 결과는 템플릿의 해시 직렬화 설정(문자열)으로 변환된다.
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long userId : ids) {
+                connection.hashCommands().hGetAll(bytes(presenceKey(userId)));
+            }
+            return null;
+        });
+
+        long now = System.currentTimeMillis();
+        Map<Long, Set<String>> nodesByUser = new HashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> entries = (Map<String, String>) results.get(i);
+            if (entries == null) {
+                continue;
+            }
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                if (parseExpiry(entry.getValue()) > now) {
+                    nodesByUser.computeIfAbsent(ids.get(i), id -> new HashSet<>()).add(entry.getKey());
+                } else {
+                    redisTemplate.opsForHash().delete(presenceKey(ids.get(i)), entry.getKey());
+                }
+            }
+        }
+        return nodesByUser;
+    }
+
+    /**
+     * 종료 시 이 노드의 접속 상태 삭제
+     */
+    @PreDestroy
+    public void unregisterAll() {
+        if (sessionCounts.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long userId : sessionCounts.keySet()) {
+                    connection.hashCommands().hDel(bytes(presenceKey(userId)), bytes(nodeId));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("채팅 접속 상태 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    // 만료 시각 기록 + 키 유효시간 설정(다른 노드의 필드가 남아 있어도 모든 노드가 갱신을 멈추면 키가 삭제된다)
+    private void register(Collection<Long> userIds) {
+        byte[] field = bytes(nodeId);
+        byte[] expiresAt = bytes(String.valueOf(System.currentTimeMillis() + ttlMillis));
+        long ttlSeconds = ttlMillis / 1000;
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long userId : userIds) {
+                byte[] key = bytes(presenceKey(userId));
+                connection.hashCommands().hSet(key, field, expiresAt);
+                connection.keyCommands().expire(key, ttlSeconds);
+            }
+            return null;
+        });
+    }
+
+    // CONNECT 때 설정한 Principal의 이름(회원 ID)
+    private Long authenticatedUserId(Principal user) {
+        if (user == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(user.getName());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private long parseExpiry(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private String presenceKey(Long userId) {
+        return PRESENCE_KEY_PREFIX + userId;
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,97 @@
+package com.javalab.student.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 서버(노드)에 연결된 STOMP 채팅 구독 목록(로컬 라우팅 테이블)
+ * - 클라이언트가 "/topic/chat/{사용자 ID}"를 구독/구독 해제하거나 연결을 끊을 때 갱신한다.
+ * - Redis로 받은 채팅 메시지는 채널의 사용자가 이 노드에 구독 중일 때만 WebSocket으로 전달한다.
+ *   (MessageSubscriberService)
+ */
+@Component
+@Slf4j
+public class ChatSessionRegistry {
+
+    public static final String CHAT_TOPIC_PREFIX = "/topic/chat/";
+
+    // 사용자 ID -> 이 노드의 구독 수
+    private final Map<Long, Integer> subscriptionCounts = new ConcurrentHashMap<>();
+
+    // 세션 ID -> (구독 ID -> 사용자 ID), 구독 해제/연결 종료 시 사용자 ID를 찾기 위해 사용
+    private final Map<String, Map<String, Long>> subscriptionsBySession = new ConcurrentHashMap<>();
+
+    /**
+     * 이 노드에 해당 사용자의 채팅 구독이 있는지 확인
+     */
+    public boolean isSubscribed(Long userId) {
+        return userId != null && subscriptionCounts.containsKey(userId);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long userId = parseUserId(accessor.getDestination());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        if (userId == null || sessionId == null || subscriptionId == null) {
+            return;
+        }
+
+        Long previous = subscriptionsBySession
+                .computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, userId);
+        if (previous != null) {
+            removeSubscription(previous);
+        }
+        subscriptionCounts.merge(userId, 1, Integer::sum);
+        log.debug("채팅 구독 등록: 사용자 ID={}, 세션={}", userId, sessionId);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Long> subscriptions = subscriptionsBySession.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Long userId = subscriptions.remove(accessor.getSubscriptionId());
+        if (userId != null) {
+            removeSubscription(userId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> subscriptions = subscriptionsBySession.remove(event.getSessionId());
+        if (subscriptions == null) {
+            return;
+        }
+        subscriptions.values().forEach(this::removeSubscription);
+        log.debug("채팅 세션 종료: 세션={}, 구독 {}건 해제", event.getSessionId(), subscriptions.size());
+    }
+
+    private void removeSubscription(Long userId) {
+        subscriptionCounts.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    // "/topic/chat/{사용자 ID}" 에서 사용자 ID 추출(채팅 구독이 아니면 null)
+    private Long parseUserId(String destination) {
+        if (destination == null || !destination.startsWith(CHAT_TOPIC_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(CHAT_TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.CommentDto;
+import com.javalab.student.dto.CommentPageDto;
+import com.javalab.student.util.SeekCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.javalab.student.service.CommentTreeLoader.COMMENT_COLUMNS;
+import static com.javalab.student.service.CommentTreeLoader.COMMENT_ROW_MAPPER;
+
+/**
+ * 게시글 댓글 페이지 조회 (커서 기반)
+ * - 최상위 댓글은 (reg_time, comment_id) 순서로 커서 이후의 댓글만 조회한다.(OFFSET 없이 인덱스 범위 조회)
+ * - 각 댓글의 대댓글은 앞에서부터 replyPreviewSize개만 포함하고(페이지당 쿼리 한 번),
+ *   나머지는 loadReplies()로 대댓글 목록마다 따로 이어서 조회한다.
+ * - 대댓글 수는 comments.reply_count 컬럼 값을 그대로 사용한다.(스레드마다 COUNT(*)를 실행하지 않음)
+ * - 전체 댓글 수는 posts.comment_count 컬럼 값을 사용한다.(게시글의 댓글 전체를 COUNT(*)하지 않음)
+ * - 커서는 마지막으로 받은 댓글의 (reg_time, comment_id)로 만든다.(SeekCursor)
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentPageLoader {
+
+    private static final String SEEK_CONDITION = " AND (reg_time > ? OR (reg_time = ? AND comment_id > ?))";
+
+    private static final String ORDER_AND_LIMIT = " ORDER BY reg_time, comment_id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 최상위 댓글 한 페이지 조회
+     * @param postId 게시글 ID
+     * @param cursor 이전 페이지의 nextCursor(첫 페이지는 null)
+     * @param size 페이지 크기
+     * @param replyPreviewSize 댓글마다 함께 조회할 대댓글 수
+     */
+    public CommentPageDto loadPage(Long postId, String cursor, int size, int replyPreviewSize) {
+        List<Object> args = new ArrayList<>();
+        args.add(postId);
+        StringBuilder sql = new StringBuilder("SELECT ").append(COMMENT_COLUMNS)
+                .append(" FROM comments WHERE post_id = ? AND parent_comment_id IS NULL");
+        appendSeek(sql, args, cursor, size);
+
+        List<CommentDto> comments = jdbcTemplate.query(sql.toString(), COMMENT_ROW_MAPPER, args.toArray());
+        String nextCursor = trimToPage(comments, size);
+        attachReplyPreviews(comments, replyPreviewSize);
+
+        Long totalCount = null;
+        if (cursor == null) {
+            totalCount = jdbcTemplate.query(
+                    "SELECT comment_count FROM posts WHERE post_id = ?",
+                    rs -> rs.next() ? rs.getLong(1) : 0L, postId);
+        }
+        return new CommentPageDto(comments, nextCursor, totalCount);
+    }
+
+    /**
+     * 대댓글 한 페이지 조회
+     * - 조회한 대댓글의 대댓글은 포함하지 않는다.(replyCount로 개수만 전달)
+     * @param postId 게시글 ID
+     * @param parentCommentId 부모 댓글 ID
+     * @param cursor 부모 댓글의 nextReplyCursor 또는 이전 페이지의 nextCursor(처음부터 조회하면 null)
+     * @param size 페이지 크기
+     */
+    public CommentPageDto loadReplies(Long postId, Long parentCommentId, String cursor, int size) {
+        List<Object> args = new ArrayList<>();
+        args.add(parentCommentId);
+        args.add(postId);
+        StringBuilder sql = new StringBuilder("SELECT ").append(COMMENT_COLUMNS)
+                .append(" FROM comments WHERE parent_comment_id = ? AND post_id = ?");
+        appendSeek(sql, args, cursor, size);
+
+        List<CommentDto> replies = jdbcTemplate.query(sql.toString(), COMMENT_ROW_MAPPER, args.toArray());
+        String nextCursor = trimToPage(replies, size);
+        return new CommentPageDto(replies, nextCursor, null);
+    }
+
+    // 페이지의 댓글 중 대댓글이 있는 댓글의 앞쪽 대댓글을 한 번에 조회해 연결
+    private void attachReplyPreviews(List<CommentDto> comments, int replyPreviewSize) {
+        Map<Long, CommentDto> parents = new LinkedHashMap<>();
+        for (CommentDto comment : comments) {
+            if (comment.getReplyCount() > 0) {
+                parents.put(comment.getId(), comment);
+            }
+        }
+        // 대댓글을 포함하지 않으면 nextReplyCursor 없이(처음부터) loadReplies()로 조회한다.
+        if (parents.isEmpty() || replyPreviewSize <= 0) {
+            return;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(parents.size(), "?"));
+        String sql = "SELECT " + COMMENT_COLUMNS + " FROM (" +
+                "SELECT " + COMMENT_COLUMNS + ", " +
+                "ROW_NUMBER() OVER (PARTITION BY parent_comment_id ORDER BY reg_time, comment_id) AS rn " +
+                "FROM comments WHERE parent_comment_id IN (" + placeholders + ")) r " +
+                "WHERE r.rn <= ? ORDER BY r.parent_comment_id, r.rn";
+        List<Object> args = new ArrayList<>(parents.keySet());
+        args.add(replyPreviewSize);
+
+        for (CommentDto reply : jdbcTemplate.query(sql, COMMENT_ROW_MAPPER, args.toArray())) {
+            parents.get(reply.getParentCommentId()).getReplies().add(reply);
+        }
+        for (CommentDto parent : parents.values()) {
+            List<CommentDto> replies = parent.getReplies();
+            if (parent.getReplyCount() > replies.size() && !replies.isEmpty()) {
+                parent.setNextReplyCursor(encodeCursor(replies.get(replies.size() - 1)));
+            }
+        }
+    }
+
+    private void appendSeek(StringBuilder sql, List<Object> args, String cursor, int size) {
+        if (cursor != null) {
+            SeekCursor decoded = SeekCursor.decode(cursor);
+            Timestamp regTime = Timestamp.valueOf(decoded.regTime());
+            sql.append(SEEK_CONDITION);
+            args.add(regTime);
+            args.add(regTime);
+            args.add(decoded.id());
+        }
+        sql.append(ORDER_AND_LIMIT);
+        // 다음 페이지가 있는지 확인하기 위해 한 건 더 조회
+        args.add(size + 1);
+    }
+
+    // 한 건 더 조회된 경우 잘라내고 다음 페이지 커서 반환
+    private String trimToPage(List<CommentDto> comments, int size) {
+        if (comments.size() <= size) {
+            return null;
+        }
+        comments.subList(size, comments.size()).clear();
+        return encodeCursor(comments.get(size - 1));
+    }
+
+    private String encodeCursor(CommentDto comment) {
+        return SeekCursor.encode(comment.getRegTime(), comment.getId());
+    }
+}
@@ -4,9 +4,12 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import com.javalab.student.dto.CommentDto;
+import com.javalab.student.dto.CommentPageDto;
 
 public interface CommentService {
     List<CommentDto> getCommentsByPostId(Long postId);
+    CommentPageDto getCommentPage(Long postId, String cursor, int size, int replyPreviewSize);
+    CommentPageDto getReplies(Long postId, Long commentId, String cursor, int size);
     CommentDto createComment(CommentDto commentDto);
     CommentDto updateComment(CommentDto commentDto, Long userId);
     void deleteComment(Long commentId, Long userId);
@@ -3,7 +3,6 @@ package com.javalab.student.service;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -11,9 +10,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.javalab.student.dto.CommentDto;
+import com.javalab.student.dto.CommentPageDto;
 import com.javalab.student.entity.Comment;
 import com.javalab.student.entity.Member;
 import com.javalab.student.entity.Post;
+import com.javalab.student.mapper.CommentMapper;
 import com.javalab.student.repository.CommentRepository;
 import com.javalab.student.repository.MemberRepository;
 import com.javalab.student.repository.PostRepository;
@@ -28,17 +29,30 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final MemberRepository memberRepository;
-    private final ModelMapper modelMapper;
+    private final CommentMapper commentMapper;
+    private final CommentTreeLoader commentTreeLoader;
+    private final CommentPageLoader commentPageLoader;
+    private final HotPostRankingService hotPostRankingService;
+
+    // 페이지 조회 크기 제한
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_REPLY_PREVIEW_SIZE = 10;
 
     // 생성자 추가
     public CommentServiceImpl(CommentRepository commentRepository,
                             PostRepository postRepository,
                             MemberRepository memberRepository,
-                            ModelMapper modelMapper) {
+                            CommentMapper commentMapper,
+                            CommentTreeLoader commentTreeLoader,
+                            CommentPageLoader commentPageLoader,
+                            HotPostRankingService hotPostRankingService) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.memberRepository = memberRepository;
-        this.modelMapper = modelMapper;
+        this.commentMapper = commentMapper;
+        this.commentTreeLoader = commentTreeLoader;
+        this.commentPageLoader = commentPageLoader;
+        this.hotPostRankingService = hotPostRankingService;
     }
 
     // 사용자별 댓글 조회 구현 추가
@@ -48,30 +62,33 @@ public class CommentServiceImpl implements CommentService {
         try {
             Page<Comment> comments = commentRepository.findByUserId(userId, pageable);
             log.info("Found {} comments for user {}", comments.getContent().size(), userId);
-            return comments.map(comment -> modelMapper.map(comment, CommentDto.class));
+            return comments.map(commentMapper::toDto);
         } catch (Exception e) {
             log.error("Error fetching comments for user {}: {}", userId, e.getMessage());
             throw new RuntimeException("Failed to fetch comments for user", e);
         }
     }
 
+    // 게시글 댓글 조회(대댓글 포함 전체 트리를 쿼리 한 번으로 조회)
     @Override
     public List<CommentDto> getCommentsByPostId(Long postId) {
-        List<Comment> comments = commentRepository.findByPost_IdAndParentCommentIsNull(postId);
-        return comments.stream()
-            .map(comment -> {
-                CommentDto dto = modelMapper.map(comment, CommentDto.class);
-                dto.setReplies(getChildComments(comment));
-                return dto;
-            })
-            .collect(Collectors.toList());
+        return commentTreeLoader.load(postId);
+    }
+
+    // 게시글 댓글 페이지 조회(최상위 댓글 + 앞쪽 대댓글 일부)
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageDto getCommentPage(Long postId, String cursor, int size, int replyPreviewSize) {
+        return commentPageLoader.loadPage(postId, cursor,
+                Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Math.min(Math.max(replyPreviewSize, 0), MAX_REPLY_PREVIEW_SIZE));
     }
 
-    private List<CommentDto> getChildComments(Comment parentComment) {
-        List<Comment> childComments = commentRepository.findByParentComment(parentComment);
-        return childComments.stream()
-            .map(comment -> modelMapper.map(comment, CommentDto.class))
-            .collect(Collectors.toList());
+    // 대댓글 페이지 조회(페이지 조회에 포함되지 않은 나머지 대댓글)
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageDto getReplies(Long postId, Long commentId, String cursor, int size) {
+        return commentPageLoader.loadReplies(postId, commentId, cursor, Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
     }
     
     private CommentDto convertToDto(Comment comment) {
@@ -88,6 +105,7 @@ public class CommentServiceImpl implements CommentService {
                 .content(comment.getContent())
                 .parentCommentId(comment.getParentComment() != null ? comment.getParentComment().getId() : null)
                 .replies(replies)
+                .replyCount(comment.getReplyCount())
                 .regTime(comment.getRegTime())
                 .updateTime(comment.getUpdateTime())
                 .build();
@@ -117,6 +135,11 @@ public CommentDto createComment(CommentDto commentDto) {
         }
 
         Comment savedComment = commentRepository.save(comment);
+        if (savedComment.getParentComment() != null) {
+            commentRepository.addReplyCount(savedComment.getParentComment().getId(), 1);
+        }
+        postRepository.addCommentCount(post.getId(), 1);
+        hotPostRankingService.recordCommentAfterCommit(post.getId());
         return convertToDto(savedComment);
     } catch (Exception e) {
         log.error("댓글 생성 중 오류 발생: {}", e.getMessage(), e);
@@ -155,11 +178,11 @@ public CommentDto createComment(CommentDto commentDto) {
                 throw new AccessDeniedException("댓글 삭제 권한이 없습니다.");
             }
 
-            if (!comment.getReplies().isEmpty()) {
-                commentRepository.delete(comment);
-            } else {
-                commentRepository.delete(comment);
+            if (comment.getParentComment() != null) {
+                commentRepository.addReplyCount(comment.getParentComment().getId(), -1);
             }
+            postRepository.addCommentCount(comment.getPost().getId(), -countWithReplies(comment));
+            commentRepository.delete(comment);
         } catch (EntityNotFoundException | AccessDeniedException e) {
             log.error("댓글 삭제 중 오류 발생: {}", e.getMessage());
             throw e;
@@ -168,4 +191,15 @@ public CommentDto createComment(CommentDto commentDto) {
             throw new RuntimeException("댓글 삭제에 실패했습니다.", e);
         }
     }
+
+    // 삭제되는 댓글 수(답글은 cascade로 함께 삭제되므로 아래 단계 답글까지 모두 센다)
+    private int countWithReplies(Comment comment) {
+        int count = 1;
+        if (comment.getReplies() != null) {
+            for (Comment reply : comment.getReplies()) {
+                count += countWithReplies(reply);
+            }
+        }
+        return count;
+    }
 }
\ No newline at end of file
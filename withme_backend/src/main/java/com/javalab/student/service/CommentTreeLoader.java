@@ -0,0 +1,86 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.CommentDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 게시글 댓글 트리 조회
+ * - 게시글의 댓글 전체를 (parent_comment_id, reg_time) 순서로 쿼리 한 번에 조회하고
+ *   메모리에서 부모-자식 관계를 연결해 트리로 만든다.(댓글 수 n에 대해 O(n), 깊이 제한 없음)
+ * - 엔티티/ModelMapper를 거치지 않고 조회 결과를 바로 CommentDto로 만든다.
+ * - 같은 부모의 댓글(대댓글)은 작성 시간 순서로 정렬된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentTreeLoader {
+
+    static final String COMMENT_COLUMNS =
+            "comment_id, post_id, user_id, user_name, content, parent_comment_id, reply_count, reg_time, update_time";
+
+    private static final String SELECT_COMMENTS_SQL =
+            "SELECT " + COMMENT_COLUMNS + " FROM comments WHERE post_id = ? " +
+            "ORDER BY parent_comment_id, reg_time, comment_id";
+
+    static final RowMapper<CommentDto> COMMENT_ROW_MAPPER = CommentTreeLoader::mapRow;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 게시글의 댓글 트리 조회
+     * @param postId 게시글 ID
+     * @return 최상위 댓글 목록(대댓글은 replies에 포함)
+     */
+    public List<CommentDto> load(Long postId) {
+        List<CommentDto> comments = jdbcTemplate.query(SELECT_COMMENTS_SQL, COMMENT_ROW_MAPPER, postId);
+
+        // 부모 댓글이 자식보다 뒤에 조회될 수 있으므로 먼저 ID로 색인한 뒤 연결한다.
+        Map<Long, CommentDto> commentMap = new HashMap<>(comments.size() * 2);
+        for (CommentDto comment : comments) {
+            commentMap.put(comment.getId(), comment);
+        }
+
+        List<CommentDto> roots = new ArrayList<>();
+        for (CommentDto comment : comments) {
+            CommentDto parent = comment.getParentCommentId() != null
+                    ? commentMap.get(comment.getParentCommentId()) : null;
+            if (parent != null) {
+                parent.getReplies().add(comment);
+            } else {
+                roots.add(comment);
+            }
+        }
+        return roots;
+    }
+
+    private static CommentDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Long parentCommentId = rs.getObject("parent_comment_id", Long.class);
+        return CommentDto.builder()
+                .id(rs.getLong("comment_id"))
+                .postId(rs.getLong("post_id"))
+                .userId(rs.getLong("user_id"))
+                .userName(rs.getString("user_name"))
+                .content(rs.getString("content"))
+                .parentCommentId(parentCommentId)
+                .replyCount(rs.getInt("reply_count"))
+                .regTime(toLocalDateTime(rs.getTimestamp("reg_time")))
+                .updateTime(toLocalDateTime(rs.getTimestamp("update_time")))
+                .replies(new ArrayList<>())
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.ConversationPageDto;
+import com.javalab.student.dto.MessageResponseDto;
+import com.javalab.student.entity.Message;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 두 사용자의 대화 메시지 페이지 조회 (커서 기반)
+ * - 대화 키(conversation_key), reg_time, msg_id 복합 인덱스로 최근 메시지부터 이전 방향으로 조회한다.
+ *   (발신자/수신자 OR 조건 없이 인덱스 범위 한 번, OFFSET 없음)
+ * - 메시지 ID는 노드마다 다른 범위에서 할당되어 작성 순서와 다를 수 있으므로(ChatIngestionService)
+ *   작성 시각 순으로 정렬하고, 같은 시각이면 ID 순으로 정렬한다.
+ * - 조회하는 사용자가 삭제한 메시지(보낸 메시지는 deleted_by_sender, 받은 메시지는 deleted_by_receiver)는
+ *   쿼리에서 제외한다.
+ * - 커서는 마지막으로 받은(가장 오래된) 메시지의 ID이다.(그 메시지의 작성 시각을 PK로 찾아 이어서 조회)
+ * - 발신자 이름은 회원 캐시(ChatMemberDirectory)에서 가져온다.(대화 상대는 두 명뿐이므로 JOIN하지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+public class ConversationHistoryLoader {
+
+    private static final String SELECT_SQL =
+            "SELECT msg_id, sender_id, receiver_id, content, is_read, reg_time, update_time " +
+            "FROM message WHERE conversation_key = ?";
+
+    // 조회하는 사용자가 삭제하지 않은 메시지(파라미터 : 사용자 ID, 사용자 ID), MessageInboxService에서도 사용
+    static final String VISIBLE_CONDITION =
+            " AND NOT (sender_id = ? AND deleted_by_sender) AND NOT (receiver_id = ? AND deleted_by_receiver)";
+
+    // 커서 메시지보다 이전(작성 시각, ID 순) 메시지(파라미터 : 작성 시각, 작성 시각, 메시지 ID), MessageInboxService에서도 사용
+    static final String BEFORE_CONDITION = " AND (reg_time < ? OR (reg_time = ? AND msg_id < ?))";
+
+    // 커서 메시지의 작성 시각
+    static final String CURSOR_TIME_SQL = "SELECT reg_time FROM message WHERE msg_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatMemberDirectory chatMemberDirectory;
+
+    /**
+     * 대화 메시지 한 페이지 조회
+     * @param userId 조회하는 사용자 ID
+     * @param targetUserId 대화 상대 ID
+     * @param before 이전 페이지의 nextCursor(최근 메시지부터 조회하면 null)
+     * @param size 페이지 크기
+     */
+    public ConversationPageDto loadPage(Long userId, Long targetUserId, Long before, int size) {
+        List<Object> args = new ArrayList<>();
+        args.add(Message.conversationKey(userId, targetUserId));
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        if (before != null) {
+            List<Timestamp> cursorTime = jdbcTemplate.queryForList(CURSOR_TIME_SQL, Timestamp.class, before);
+            if (cursorTime.isEmpty()) {
+                return new ConversationPageDto(List.of(), null);
+            }
+            sql.append(BEFORE_CONDITION);
+            args.add(cursorTime.get(0));
+            args.add(cursorTime.get(0));
+            args.add(before);
+        }
+        sql.append(VISIBLE_CONDITION).append(" ORDER BY reg_time DESC, msg_id DESC LIMIT ?");
+        args.add(userId);
+        args.add(userId);
+        // 다음 페이지가 있는지 확인하기 위해 한 건 더 조회
+        args.add(size + 1);
+
+        List<MessageResponseDto> messages = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            long senderId = rs.getLong("sender_id");
+            Timestamp regTime = rs.getTimestamp("reg_time");
+            Timestamp updateTime = rs.getTimestamp("update_time");
+            return new MessageResponseDto(
+                    rs.getLong("msg_id"),
+                    senderId,
+                    chatMemberDirectory.findName(senderId),
+                    rs.getLong("receiver_id"),
+                    rs.getString("content"),
+                    rs.getBoolean("is_read"),
+                    regTime != null ? regTime.toLocalDateTime() : null,
+                    updateTime != null ? updateTime.toLocalDateTime() : null);
+        }, args.toArray());
+
+        Long nextCursor = null;
+        if (messages.size() > size) {
+            messages = new ArrayList<>(messages.subList(0, size));
+            nextCursor = messages.get(size - 1).getId();
+        }
+        Collections.reverse(messages);
+        return new ConversationPageDto(messages, nextCursor);
+    }
+}
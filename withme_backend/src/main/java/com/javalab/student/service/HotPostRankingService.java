@@ -0,0 +1,408 @@
+package com.javalab.student.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javalab.student.dto.PostSummaryDto;
+import com.javalab.student.entity.Post;
+import com.javalab.student.repository.PostRepository;
+import com.javalab.student.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 인기 게시글 순위 서비스
+ * - 게시글별 점수를 Redis sorted set(post:hot)에 저장하고 상위 N개를 O(log n + N)으로 조회한다.
+ * - 점수 = 작성 가중치 + 조회 수 * 조회 가중치 + 댓글 수 * 댓글 가중치이며, 각 이벤트는 발생 시각에 따라
+ *   2^((발생 시각 - 기준 시각) / 반감기) 배로 더한다. 최근 이벤트일수록 크게 반영되므로
+ *   반감기(post.hot.half-life-hours)가 지날 때마다 이전 점수의 비중이 절반이 되는 것과 같다.
+ * - 조회(increaseViewsAndGet), 댓글 작성, 게시글 작성 시 점수를 바로 더하고(ZINCRBY),
+ *   post.hot.rebuild-interval-ms 마다 다시 계산한다.(기준 시각을 현재로 옮겨 점수가 커지는 것도 막는다)
+ *   1) 작성/댓글 점수 : DB의 작성 시각으로 다시 계산
+ *   2) 조회 점수 : DB에는 조회 시각이 없으므로 조회할 때 별도 sorted set(post:hot:views)에도 발생 시각 기준으로 더해 두고,
+ *      다시 계산할 때 기준 시각 변경분만큼 배율을 곱해 합친다.(순위가 처음 만들어질 때만 DB 조회 수를 작성 시각 기준으로 반영)
+ * - 다시 계산하는 동안(post:hot:rebuilding) 들어온 작성/댓글 점수는 post:hot:delta에도 더해 두었다가 교체할 때 합치므로
+ *   DB를 읽은 뒤 교체하기 전까지의 증가분이 사라지지 않는다.
+ *   (커밋과 점수 반영 사이에 재계산이 시작되면 한 번 더 반영될 수 있다. 유실 대신 중복을 택한다)
+ * - 목록 표시용 요약 정보는 Redis hash(post:hot:summary)에 함께 저장하므로 인기글 조회는 DB에 접근하지 않는다.
+ * - Redis 오류는 로그만 남기고 게시글 조회/댓글 작성은 그대로 진행한다.
+ */
+@Service
+@Slf4j
+public class HotPostRankingService {
+
+    private static final String HOT_KEY = "post:hot";
+    private static final String EPOCH_KEY = "post:hot:epoch";
+    private static final String SUMMARY_KEY = "post:hot:summary";
+    private static final String VIEWS_KEY = "post:hot:views";
+    private static final String DELTA_KEY = "post:hot:delta";
+    private static final String REBUILDING_KEY = "post:hot:rebuilding";
+    private static final String REBUILD_SUFFIX = ":rebuild";
+
+    private static final double POST_WEIGHT = 10;
+    private static final double VIEW_WEIGHT = 1;
+    private static final double COMMENT_WEIGHT = 5;
+
+    /**
+     * 점수 증가 Lua 스크립트(기준 시각 조회 + 가중치 계산 + ZINCRBY + 크기 제한을 원자적으로 실행)
+     * - KEYS : 순위, 기준 시각, 함께 더할 키(조회 점수 또는 재계산 중 증가분), 재계산 중 표시
+     * - ARGV : 이벤트 시각(초), 반감기(초), 가중치, 게시글 ID, 최대 개수, 함께 더할 키에 항상 더할지(1) 재계산 중에만 더할지(0)
+     * - 반환값 0 : 아직 순위가 만들어지지 않음(기준 시각 없음)
+     */
+    private static final DefaultRedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local epoch = redis.call('GET', KEYS[2]) " +
+            "if not epoch then return 0 end " +
+            "local score = tonumber(ARGV[3]) * 2 ^ ((tonumber(ARGV[1]) - tonumber(epoch)) / tonumber(ARGV[2])) " +
+            "local limit = tonumber(ARGV[5]) " +
+            "local keys = {KEYS[1]} " +
+            "if ARGV[6] == '1' or redis.call('EXISTS', KEYS[4]) == 1 then keys[2] = KEYS[3] end " +
+            "for _, key in ipairs(keys) do " +
+            "  redis.call('ZINCRBY', key, score, ARGV[4]) " +
+            "  if redis.call('ZCARD', key) > limit then " +
+            "    redis.call('ZREMRANGEBYRANK', key, 0, -(limit + 1)) " +
+            "  end " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    /**
+     * 다시 계산한 순위/요약 정보로 교체하고 기준 시각 변경(원자적 실행)
+     * - 조회 점수와 재계산 중 증가분은 이전 기준 시각으로 더해진 값이므로 기준 시각 변경분만큼 배율을 곱한 뒤
+     *   다시 계산한 작성/댓글 점수와 합친다. 기준 시각이 없으면(처음 만들 때) DB 조회 수로 만든 조회 점수를 사용한다.
+     * - KEYS : 새 순위, 순위, 기준 시각, 새 요약, 요약, 조회 점수, 새 조회 점수, 재계산 중 증가분, 재계산 중 표시
+     * - ARGV : 기준 시각(초), 반감기(초), 최대 개수
+     */
+    private static final DefaultRedisScript<Long> SWAP_SCRIPT = new DefaultRedisScript<>(
+            "local previous = redis.call('GET', KEYS[3]) " +
+            "if previous then " +
+            "  local factor = 2 ^ ((tonumber(previous) - tonumber(ARGV[1])) / tonumber(ARGV[2])) " +
+            "  redis.call('ZUNIONSTORE', KEYS[6], 1, KEYS[6], 'WEIGHTS', factor) " +
+            "  redis.call('ZUNIONSTORE', KEYS[8], 1, KEYS[8], 'WEIGHTS', factor) " +
+            "elseif redis.call('EXISTS', KEYS[7]) == 1 then " +
+            "  redis.call('RENAME', KEYS[7], KEYS[6]) " +
+            "end " +
+            "redis.call('ZUNIONSTORE', KEYS[2], 3, KEYS[1], KEYS[6], KEYS[8]) " +
+            "local limit = tonumber(ARGV[3]) " +
+            "redis.call('ZREMRANGEBYRANK', KEYS[2], 0, -(limit + 1)) " +
+            "redis.call('ZREMRANGEBYRANK', KEYS[6], 0, -(limit + 1)) " +
+            "redis.call('DEL', KEYS[1], KEYS[7], KEYS[8], KEYS[9]) " +
+            "redis.call('SET', KEYS[3], ARGV[1]) " +
+            "if redis.call('EXISTS', KEYS[4]) == 1 then redis.call('RENAME', KEYS[4], KEYS[5]) " +
+            "else redis.call('DEL', KEYS[5]) end " +
+            "return 1",
+            Long.class);
+
+    // 재계산 중 표시 유효시간(재계산하던 노드가 비정상 종료되어도 다음 재계산이 막히지 않도록)
+    private static final Duration REBUILDING_TTL = Duration.ofMinutes(10);
+
+    // 작성 기간 내 게시글과 기간 내 댓글이 달린 게시글의 요약 정보와 댓글 점수(발생 시각 반영)
+    private static final String REBUILD_SQL =
+            "SELECT p.post_id, p.user_id, p.title, p.post_category, p.thumbnail_url, p.views, p.reg_time, p.update_time, " +
+            "COALESCE(c.comment_weight, 0) AS comment_weight " +
+            "FROM posts p LEFT JOIN (" +
+            "SELECT post_id, SUM(POW(2, TIMESTAMPDIFF(SECOND, ?, reg_time) / ?)) AS comment_weight " +
+            "FROM comments WHERE reg_time >= ? GROUP BY post_id) c ON c.post_id = p.post_id " +
+            "WHERE p.reg_time >= ? OR c.post_id IS NOT NULL";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final PostRepository postRepository;
+    private final PostViewCounter postViewCounter;
+    private final ObjectMapper objectMapper;
+
+    private final long halfLifeSeconds;
+    private final int maxSize;
+    private final int windowDays;
+
+    public HotPostRankingService(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisTemplate,
+                                 JdbcTemplate jdbcTemplate,
+                                 PostRepository postRepository,
+                                 PostViewCounter postViewCounter,
+                                 ObjectMapper objectMapper,
+                                 @Value("${post.hot.half-life-hours:24}") long halfLifeHours,
+                                 @Value("${post.hot.max-size:1000}") int maxSize,
+                                 @Value("${post.hot.window-days:14}") int windowDays) {
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.postRepository = postRepository;
+        this.postViewCounter = postViewCounter;
+        this.objectMapper = objectMapper;
+        this.halfLifeSeconds = halfLifeHours * 3600;
+        this.maxSize = maxSize;
+        this.windowDays = windowDays;
+    }
+
+    /**
+     * 조회 1회 반영
+     */
+    public void recordView(Long postId) {
+        increment(postId, VIEW_WEIGHT, epochSecond(LocalDateTime.now()), VIEWS_KEY, true);
+    }
+
+    /**
+     * 댓글 작성 반영(커밋 후)
+     */
+    public void recordCommentAfterCommit(Long postId) {
+        TransactionUtil.afterCommit(() -> increment(postId, COMMENT_WEIGHT, epochSecond(LocalDateTime.now()), DELTA_KEY, false));
+    }
+
+    /**
+     * 게시글 작성 반영(커밋 후), 요약 정보 저장
+     */
+    public void recordPostAfterCommit(Post post) {
+        PostSummaryDto summary = toSummary(post);
+        TransactionUtil.afterCommit(() -> {
+            increment(summary.getId(), POST_WEIGHT, epochSecond(LocalDateTime.now()), DELTA_KEY, false);
+            putSummary(summary);
+        });
+    }
+
+    /**
+     * 게시글 수정 반영(커밋 후), 순위에 있는 게시글이면 요약 정보 교체
+     */
+    public void refreshSummaryAfterCommit(Post post) {
+        PostSummaryDto summary = toSummary(post);
+        TransactionUtil.afterCommit(() -> {
+            try {
+                if (redisTemplate.opsForZSet().score(HOT_KEY, String.valueOf(summary.getId())) != null) {
+                    putSummary(summary);
+                }
+            } catch (RuntimeException e) {
+                log.warn("인기 게시글 요약 갱신 실패: 게시글 ID={}, error={}", summary.getId(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 게시글 삭제 반영(커밋 후)
+     */
+    public void removeAfterCommit(Long postId) {
+        TransactionUtil.afterCommit(() -> {
+            try {
+                for (String key : List.of(HOT_KEY, VIEWS_KEY, DELTA_KEY)) {
+                    redisTemplate.opsForZSet().remove(key, String.valueOf(postId));
+                }
+                redisTemplate.opsForHash().delete(SUMMARY_KEY, String.valueOf(postId));
+            } catch (RuntimeException e) {
+                log.warn("인기 게시글 삭제 실패: 게시글 ID={}, error={}", postId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 인기 게시글 상위 N개(점수 높은 순)
+     * - 요약 정보가 Redis에 없는 게시글만 DB에서 조회해 채운다.
+     */
+    public List<PostSummaryDto> getHotPosts(int size) {
+        Set<String> ids = redisTemplate.opsForZSet().reverseRange(HOT_KEY, 0, size - 1);
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<String> idList = new ArrayList<>(ids);
+        List<Object> cached = redisTemplate.opsForHash().multiGet(SUMMARY_KEY, new ArrayList<Object>(idList));
+
+        Map<Long, PostSummaryDto> summaries = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < idList.size(); i++) {
+            Long postId = Long.valueOf(idList.get(i));
+            PostSummaryDto summary = readSummary(cached.get(i));
+            if (summary != null) {
+                summaries.put(postId, summary);
+            } else {
+                missingIds.add(postId);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            for (PostSummaryDto summary : postRepository.findSummariesByIdIn(missingIds)) {
+                summaries.put(summary.getId(), summary);
+                putSummary(summary);
+            }
+        }
+
+        List<PostSummaryDto> hotPosts = new ArrayList<>(idList.size());
+        for (String id : idList) {
+            PostSummaryDto summary = summaries.get(Long.valueOf(id));
+            if (summary != null) {
+                summary.setViews(postViewCounter.currentViews(summary.getId(), summary.getViews()));
+                hotPosts.add(summary);
+            }
+        }
+        return hotPosts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * 순위 다시 계산
+     * - 최근 post.hot.window-days 일 동안 작성되었거나 댓글이 달린 게시글의 작성/댓글 점수를 DB로부터 계산해
+     *   새 키에 저장한 뒤 조회 점수, 재계산 중 증가분과 합쳐 기존 순위와 한 번에 교체한다.
+     * - 여러 노드가 동시에 다시 계산하지 않도록 재계산 중 표시(SET NX)를 먼저 잡는다.
+     */
+    @Scheduled(fixedDelayString = "${post.hot.rebuild-interval-ms:3600000}",
+            initialDelayString = "${post.hot.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        String rebuildKey = HOT_KEY + REBUILD_SUFFIX;
+        String summaryRebuildKey = SUMMARY_KEY + REBUILD_SUFFIX;
+        String viewsRebuildKey = VIEWS_KEY + REBUILD_SUFFIX;
+        try {
+            Boolean acquired = redisTemplate.opsForValue()
+                    .setIfAbsent(REBUILDING_KEY, UUID.randomUUID().toString(), REBUILDING_TTL);
+            if (!Boolean.TRUE.equals(acquired)) {
+                log.info("인기 게시글 순위 재계산 생략: 다른 노드에서 재계산 중");
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.error("인기 게시글 순위 재계산 실패: {}", e.getMessage(), e);
+            return;
+        }
+
+        try {
+            // 표시를 잡기 전에 남은 증가분은 아래 DB 조회에 이미 포함되어 있다.
+            redisTemplate.delete(List.of(DELTA_KEY, rebuildKey, summaryRebuildKey, viewsRebuildKey));
+            // 기준 시각이 없으면(처음 만들 때) 쌓인 조회 점수가 없으므로 DB 조회 수를 작성 시각 기준으로 반영
+            boolean seedViews = redisTemplate.opsForValue().get(EPOCH_KEY) == null;
+
+            LocalDateTime epoch = LocalDateTime.now();
+            Timestamp windowStart = Timestamp.valueOf(epoch.minusDays(windowDays));
+            List<ScoredPost> ranked = new ArrayList<>();
+            Set<ZSetOperations.TypedTuple<String>> seededViews = new HashSet<>();
+            jdbcTemplate.query(REBUILD_SQL, rs -> {
+                PostSummaryDto summary = PostSummaryDto.builder()
+                        .id(rs.getLong("post_id"))
+                        .userId(rs.getLong("user_id"))
+                        .title(rs.getString("title"))
+                        .postCategory(rs.getString("post_category"))
+                        .thumbnailUrl(rs.getString("thumbnail_url"))
+                        .views(rs.getInt("views"))
+                        .regTime(toLocalDateTime(rs.getTimestamp("reg_time")))
+                        .updateTime(toLocalDateTime(rs.getTimestamp("update_time")))
+                        .build();
+                double factor = summary.getRegTime() != null
+                        ? decayFactor(epochSecond(summary.getRegTime()), epochSecond(epoch)) : 0;
+                double score = POST_WEIGHT * factor + COMMENT_WEIGHT * rs.getDouble("comment_weight");
+                ranked.add(new ScoredPost(summary, score));
+                if (seedViews && summary.getViews() > 0) {
+                    seededViews.add(ZSetOperations.TypedTuple.of(
+                            String.valueOf(summary.getId()), VIEW_WEIGHT * summary.getViews() * factor));
+                }
+            }, Timestamp.valueOf(epoch), halfLifeSeconds, windowStart, windowStart);
+
+            ranked.sort(Comparator.comparingDouble(ScoredPost::score).reversed());
+            List<ScoredPost> top = ranked.size() > maxSize ? ranked.subList(0, maxSize) : ranked;
+
+            if (!top.isEmpty()) {
+                Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+                Map<String, String> summaryJson = new LinkedHashMap<>();
+                for (ScoredPost scoredPost : top) {
+                    String id = String.valueOf(scoredPost.summary().getId());
+                    tuples.add(ZSetOperations.TypedTuple.of(id, scoredPost.score()));
+                    summaryJson.put(id, objectMapper.writeValueAsString(scoredPost.summary()));
+                }
+                redisTemplate.opsForZSet().add(rebuildKey, tuples);
+                redisTemplate.opsForHash().putAll(summaryRebuildKey, summaryJson);
+            }
+            if (!seededViews.isEmpty()) {
+                redisTemplate.opsForZSet().add(viewsRebuildKey, seededViews);
+            }
+            redisTemplate.execute(SWAP_SCRIPT,
+                    List.of(rebuildKey, HOT_KEY, EPOCH_KEY, summaryRebuildKey, SUMMARY_KEY,
+                            VIEWS_KEY, viewsRebuildKey, DELTA_KEY, REBUILDING_KEY),
+                    String.valueOf(epochSecond(epoch)), String.valueOf(halfLifeSeconds), String.valueOf(maxSize));
+
+            log.info("인기 게시글 순위 재계산 완료: {}건, 소요 {}ms", top.size(), System.currentTimeMillis() - startedAt);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("인기 게시글 순위 재계산 실패: {}", e.getMessage(), e);
+            try {
+                // 교체하지 못한 증가분은 이미 순위(post:hot)에도 더해져 있으므로 버려도 된다.
+                redisTemplate.delete(List.of(REBUILDING_KEY, DELTA_KEY, rebuildKey, summaryRebuildKey, viewsRebuildKey));
+            } catch (RuntimeException ignored) {
+                // 재계산 중 표시는 유효시간이 지나면 사라진다.
+            }
+        }
+    }
+
+    private void increment(Long postId, double weight, long eventSecond, String sideKey, boolean alwaysSide) {
+        try {
+            redisTemplate.execute(INCREMENT_SCRIPT, List.of(HOT_KEY, EPOCH_KEY, sideKey, REBUILDING_KEY),
+                    String.valueOf(eventSecond), String.valueOf(halfLifeSeconds),
+                    String.valueOf(weight), String.valueOf(postId), String.valueOf(maxSize),
+                    alwaysSide ? "1" : "0");
+        } catch (RuntimeException e) {
+            log.warn("인기 게시글 점수 반영 실패: 게시글 ID={}, error={}", postId, e.getMessage());
+        }
+    }
+
+    private void putSummary(PostSummaryDto summary) {
+        try {
+            redisTemplate.opsForHash().put(SUMMARY_KEY, String.valueOf(summary.getId()),
+                    objectMapper.writeValueAsString(summary));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("인기 게시글 요약 저장 실패: 게시글 ID={}, error={}", summary.getId(), e.getMessage());
+        }
+    }
+
+    private PostSummaryDto readSummary(Object json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json.toString(), PostSummaryDto.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private PostSummaryDto toSummary(Post post) {
+        return PostSummaryDto.builder()
+                .id(post.getId())
+                .userId(post.getUserId())
+                .title(post.getTitle())
+                .postCategory(post.getPostCategory())
+                .thumbnailUrl(post.getThumbnailUrl())
+                .views(post.getViews())
+                .regTime(post.getRegTime())
+                .updateTime(post.getUpdateTime())
+                .build();
+    }
+
+    private double decayFactor(long eventSecond, long epochSecond) {
+        return Math.pow(2, (double) (eventSecond - epochSecond) / halfLifeSeconds);
+    }
+
+    private long epochSecond(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record ScoredPost(PostSummaryDto summary, double score) {
+    }
+}
@@ -0,0 +1,360 @@
+package com.javalab.student.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+
+/**
+ * 이미지 파일 응답 서비스
+ * - 상품(/images/**), 게시글(/api/posts/image/**), 반려동물(/api/pets/image/**) 이미지 응답을 모두 처리한다.
+ * - 파일별 Content-Type, 크기, 수정 시각, ETag를 로컬 캐시에 보관한다.
+ *   요청마다 파일 속성만 한 번 조회(stat)하여 캐시가 최신인지 확인하고, Content-Type 추측은 다시 하지 않는다.
+ *   ETag는 파일 저장소 원본이면 파일 키(내용의 SHA-256 해시), 그 외에는 크기 + 수정 시각으로 만들기 때문에
+ *   요청 스레드에서 파일 내용을 읽지 않는다.
+ * - 요청한 너비(?w=)에 해당하는 변환본 경로도 로컬 캐시에 보관하여 요청마다 변환본 후보를 하나씩 조회(stat)하지 않는다.
+ *   변환본이 아직 없어 원본을 사용한 결과는 변환본이 곧 생성될 수 있으므로 짧게(image.serve.variant-miss-ttl-seconds)만 보관한다.
+ * - If-None-Match / If-Modified-Since 조건부 요청에는 본문 없이 304로 응답한다.
+ * - Range 요청(단일 구간)에는 206으로 해당 구간만 응답한다.
+ * - 업로드 이미지는 파일명이 바뀌지 않는 한 내용이 바뀌지 않으므로(파일 저장소 키는 내용의 해시) 1년간 캐시하도록(immutable) 응답한다.
+ *   단, 요청한 너비(?w=)의 변환본이 아직 없어 원본으로 응답할 때는 짧게만 캐시한다.
+ *   (같은 URL이 변환본 생성 후에는 다른 내용이 되므로 원본이 1년간 캐시되면 안 된다)
+ * - 본문은 Tomcat sendfile(지원되는 경우) 또는 FileChannel.transferTo로 힙에 복사하지 않고 전송한다.
+ */
+@Service
+@Slf4j
+public class ImageServingService {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    // 변환본 대신 원본으로 응답할 때(변환본 생성 전)
+    private static final String FALLBACK_CACHE_CONTROL = "public, max-age=60";
+
+    // Tomcat sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final ImageVariantService imageVariantService;
+    private final BlobStore blobStore;
+    private final Cache<Path, ImageMetadata> metadataCache;
+    // (원본 경로, 요청 너비) → 응답할 파일 경로(변환본 또는 원본)
+    private final Cache<VariantKey, Path> variantPathCache;
+
+    public ImageServingService(ImageVariantService imageVariantService,
+                               BlobStore blobStore,
+                               @Value("${image.serve.metadata-cache-size:20000}") long metadataCacheSize,
+                               @Value("${image.serve.variant-miss-ttl-seconds:10}") long variantMissTtlSeconds) {
+        this.imageVariantService = imageVariantService;
+        this.blobStore = blobStore;
+        this.metadataCache = Caffeine.newBuilder()
+                .maximumSize(metadataCacheSize)
+                .build();
+        this.variantPathCache = Caffeine.newBuilder()
+                .maximumSize(metadataCacheSize)
+                .expireAfter(new VariantPathExpiry(Duration.ofSeconds(variantMissTtlSeconds).toNanos()))
+                .build();
+    }
+
+    /**
+     * 이미지 파일 응답
+     * @param root 이미지 저장 디렉토리(파일 저장소 도입 전에 저장된 파일의 위치)
+     * @param fileName 요청한 파일 경로(파일 저장소 키 또는 root 기준 상대 경로)
+     * @param width 요청 너비(px), 지정하면 가장 가까운 크기별 변환본으로 응답
+     */
+    public void serve(Path root, String fileName, Integer width,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // 파일 저장소 키이면 파일 저장소에서, 아니면(이전 방식으로 저장된 파일) root 디렉토리에서 찾는다.
+        String name = fileName.substring(fileName.lastIndexOf('/') + 1);
+        String blobKey = blobStore.isKey(name) ? name : null;
+        Path original;
+        if (blobKey != null) {
+            original = blobStore.resolve(name);
+        } else {
+            Path normalizedRoot = root.toAbsolutePath().normalize();
+            original = normalizedRoot.resolve(fileName).normalize();
+            if (!original.startsWith(normalizedRoot)) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+        }
+
+        Path path = resolveVariant(original, width);
+        ImageMetadata metadata = getMetadataIfExists(path, path.equals(original) ? blobKey : null);
+        if (metadata == null && !path.equals(original)) {
+            // 캐시된 변환본이 삭제되었으면(이미지 삭제 등) 다시 찾는다.
+            variantPathCache.invalidate(new VariantKey(original, width));
+            path = resolveVariant(original, width);
+            metadata = getMetadataIfExists(path, path.equals(original) ? blobKey : null);
+        }
+        if (metadata == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, metadata.etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, metadata.lastModified);
+        boolean variantFallback = width != null && width > 0 && path.equals(original);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, variantFallback ? FALLBACK_CACHE_CONTROL : CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // 1. 조건부 요청(브라우저 캐시가 최신이면 304)
+        if (isNotModified(request, metadata)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        // 2. Range 요청
+        long start = 0;
+        long length = metadata.size;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && isRangeApplicable(request, metadata)) {
+            long[] byteRange = parseRange(range, metadata.size);
+            if (byteRange == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + metadata.size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (byteRange.length == 2) {
+                start = byteRange[0];
+                length = byteRange[1] - byteRange[0] + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + byteRange[0] + "-" + byteRange[1] + "/" + metadata.size);
+            }
+        }
+
+        response.setContentType(metadata.contentType);
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        // 3. 본문 전송
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, start + length);
+            return;
+        }
+        transfer(path, start, length, response.getOutputStream());
+    }
+
+    /**
+     * 요청 너비에 맞는 변환본 경로 조회(캐시에 없으면 변환본 후보를 조회)
+     * @return 변환본 경로, 너비를 지정하지 않았거나 변환본이 없으면 원본 경로
+     */
+    private Path resolveVariant(Path original, Integer width) {
+        if (width == null || width <= 0) {
+            return original;
+        }
+        return variantPathCache.get(new VariantKey(original, width),
+                key -> imageVariantService.resolve(key.original(), key.width()));
+    }
+
+    // 파일이 없으면 null
+    private ImageMetadata getMetadataIfExists(Path path, String blobKey) throws IOException {
+        try {
+            return getMetadata(path, blobKey);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 캐시된 파일 정보 조회
+     * - 파일 크기나 수정 시각이 바뀌었으면(같은 이름으로 다시 저장된 경우) 새로 만든다.
+     * - 파일 저장소 원본은 파일명에 확장자가 없으므로 Content-Type을 파일 저장소 기록에서 가져온다.
+     * @param blobKey 파일 저장소 원본이면 파일 키, 아니면(변환본, 이전 방식 파일) null
+     * @return 파일 정보, 일반 파일이 아니면 null
+     */
+    private ImageMetadata getMetadata(Path path, String blobKey) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (!attributes.isRegularFile()) {
+            return null;
+        }
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        ImageMetadata cached = metadataCache.getIfPresent(path);
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            return cached;
+        }
+
+        String contentType = blobKey != null
+                ? blobStore.getContentType(blobKey)
+                : MediaTypeFactory.getMediaType(path.getFileName().toString())
+                        .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        // 파일 저장소 원본은 파일 키가 내용의 해시이므로 강한 ETag로 사용한다.
+        String etag = blobKey != null
+                ? "\"" + blobKey + "\""
+                : "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(size) + "\"";
+        ImageMetadata metadata = new ImageMetadata(contentType, size, lastModified, etag);
+        metadataCache.put(path, metadata);
+        return metadata;
+    }
+
+    private boolean isNotModified(HttpServletRequest request, ImageMetadata metadata) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if ("*".equals(candidate) || metadata.etag.equals(candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = getDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && metadata.lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    // If-Range가 있으면 ETag(또는 수정 시각)가 같을 때만 Range를 적용하고, 다르면 전체를 보낸다.
+    private boolean isRangeApplicable(HttpServletRequest request, ImageMetadata metadata) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return metadata.etag.equals(ifRange);
+        }
+        long ifRangeDate = getDateHeader(request, HttpHeaders.IF_RANGE);
+        return ifRangeDate >= 0 && metadata.lastModified / 1000 <= ifRangeDate / 1000;
+    }
+
+    /**
+     * Range 헤더 해석(단일 구간만 지원)
+     * @return {시작, 끝(포함)}, 여러 구간이거나 형식이 잘못되었으면 빈 배열(전체 응답), 만족할 수 없는 구간이면 null
+     */
+    private long[] parseRange(String range, long size) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dashIndex = spec.indexOf('-');
+        if (dashIndex < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dashIndex).trim();
+            String last = spec.substring(dashIndex + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // bytes=-500 : 마지막 500바이트
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffixLength);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            }
+            if (start >= size || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private long getDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    // 파일 구간을 응답으로 전송(FileChannel.transferTo, 힙 버퍼를 거치지 않음)
+    private void transfer(Path path, long start, long length, OutputStream outputStream) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    /**
+     * 변환본 경로 캐시 키
+     */
+    private record VariantKey(Path original, int width) {
+    }
+
+    /**
+     * 변환본 경로 캐시 유효시간
+     * - 변환본을 찾았으면 크기 제한으로만 제거하고, 원본을 사용한 결과(변환본 없음)는 짧게만 보관한다.
+     */
+    private static class VariantPathExpiry implements Expiry<VariantKey, Path> {
+        private final long missTtlNanos;
+
+        VariantPathExpiry(long missTtlNanos) {
+            this.missTtlNanos = missTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(VariantKey key, Path value, long currentTime) {
+            return value.equals(key.original()) ? missTtlNanos : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(VariantKey key, Path value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(VariantKey key, Path value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * 이미지 파일 정보(캐시 항목)
+     */
+    private static class ImageMetadata {
+        private final String contentType;
+        private final long size;
+        private final long lastModified;
+        private final String etag;
+
+        ImageMetadata(String contentType, long size, long lastModified, String etag) {
+            this.contentType = contentType;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.etag = etag;
+        }
+    }
+}
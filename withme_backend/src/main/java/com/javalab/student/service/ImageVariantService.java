@@ -0,0 +1,190 @@
+package com.javalab.student.service;
+
+import com.javalab.student.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * 이미지 크기별 변환본(variant) 서비스
+ * - 상품, 반려동물, 게시글 이미지가 업로드되면 원본과 같은 디렉토리에 너비 160/320/640/1280px 변환본을 만든다.
+ *   파일명은 "원본 파일명(확장자 제외)_w{너비}.{webp|jpg|png}" 이다.
+ * - 변환본은 WebP로 저장하고, WebP ImageIO 플러그인이 없는 환경에서는 JPEG(투명 이미지는 PNG)로 저장한다.
+ * - 원본보다 큰 변환본은 만들지 않는다.(확대하지 않음)
+ * - 변환은 imageVariantExecutor 스레드에서 실행되므로 요청 스레드는 변환을 기다리지 않는다.
+ *   변환본이 아직 없으면 resolve()는 원본을 반환한다.
+ */
+@Service
+@Slf4j
+public class ImageVariantService {
+
+    /**
+     * 미리 만들어 두는 변환본 너비(px), 오름차순
+     */
+    public static final List<Integer> VARIANT_WIDTHS = List.of(160, 320, 640, 1280);
+
+    /**
+     * 목록(카드, 게시글 목록) 썸네일로 사용하는 너비(px)
+     */
+    public static final int THUMBNAIL_WIDTH = 320;
+
+    private static final List<String> VARIANT_FORMATS = List.of("webp", "jpg", "png");
+
+    private final ThreadPoolTaskExecutor executor;
+    private final boolean webpSupported;
+
+    public ImageVariantService(@Qualifier("imageVariantExecutor") ThreadPoolTaskExecutor executor) {
+        this.executor = executor;
+        this.webpSupported = ImageIO.getImageWritersByFormatName("webp").hasNext();
+        if (!webpSupported) {
+            log.warn("WebP ImageIO 플러그인이 없어 이미지 변환본을 JPEG/PNG로 저장합니다.");
+        }
+    }
+
+    /**
+     * 원본 이미지의 변환본 생성 요청
+     * - 트랜잭션 안에서 호출하면 커밋된 후에 생성한다.(롤백되어 삭제될 원본은 변환하지 않음)
+     * @param original 원본 이미지 파일 경로
+     */
+    public void generateAfterCommit(Path original) {
+        if (original == null) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> generateAsync(original));
+    }
+
+    /**
+     * 원본 이미지의 변환본을 백그라운드 스레드에서 생성
+     */
+    public void generateAsync(Path original) {
+        executor.execute(() -> {
+            try {
+                generate(original);
+            } catch (Exception e) {
+                log.warn("이미지 변환본 생성 실패: {}, error={}", original, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 원본 이미지의 변환본 생성
+     * - 큰 변환본부터 만들고, 다음 변환본은 직전 변환본을 줄여서 만든다.(매번 원본을 줄이는 것보다 빠르다)
+     * - 이미 변환본이 있으면 만들지 않는다.
+     */
+    public void generate(Path original) throws IOException {
+        // 같은 내용의 파일(중복 업로드)은 이미 변환본이 있으므로 다시 만들지 않는다.
+        if (!resolve(original, VARIANT_WIDTHS.get(0)).equals(original)) {
+            return;
+        }
+        BufferedImage source = ImageIO.read(original.toFile());
+        if (source == null) {
+            log.info("이미지 형식이 아니어서 변환본을 만들지 않습니다: {}", original);
+            return;
+        }
+
+        String format = webpSupported ? "webp" : (source.getColorModel().hasAlpha() ? "png" : "jpg");
+        long startedAt = System.currentTimeMillis();
+        BufferedImage current = source;
+        for (int i = VARIANT_WIDTHS.size() - 1; i >= 0; i--) {
+            int width = VARIANT_WIDTHS.get(i);
+            if (width >= source.getWidth()) {
+                continue;
+            }
+            current = Thumbnails.of(current).width(width).asBufferedImage();
+            write(current, format, variantPath(original, width, format));
+        }
+        log.info("이미지 변환본 생성 완료: {}, 원본 너비={}px, 형식={}, 소요 {}ms",
+                original.getFileName(), source.getWidth(), format, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 요청한 너비에 가장 가까운 변환본 조회
+     * - 요청한 너비 이상인 변환본 중 가장 작은 것을 반환한다.
+     * - 알맞은 변환본이 없거나 아직 만들어지지 않았으면 원본을 반환한다.
+     * @param original 원본 이미지 파일 경로
+     * @param width 요청한 너비(px), null이면 원본
+     */
+    public Path resolve(Path original, Integer width) {
+        if (width == null || width <= 0) {
+            return original;
+        }
+        for (int variantWidth : VARIANT_WIDTHS) {
+            if (variantWidth < width) {
+                continue;
+            }
+            for (String format : VARIANT_FORMATS) {
+                Path variant = variantPath(original, variantWidth, format);
+                if (Files.isRegularFile(variant)) {
+                    return variant;
+                }
+            }
+        }
+        return original;
+    }
+
+    /**
+     * 원본 이미지의 변환본 삭제
+     */
+    public void deleteVariants(Path original) {
+        if (original == null) {
+            return;
+        }
+        for (int width : VARIANT_WIDTHS) {
+            for (String format : VARIANT_FORMATS) {
+                try {
+                    Files.deleteIfExists(variantPath(original, width, format));
+                } catch (IOException e) {
+                    log.warn("이미지 변환본 삭제 실패: {}, error={}", original, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 후 원본 이미지의 변환본 삭제(트랜잭션이 없으면 바로 삭제)
+     */
+    public void deleteVariantsAfterCommit(Path original) {
+        if (original == null) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> deleteVariants(original));
+    }
+
+    private Path variantPath(Path original, int width, String format) {
+        String fileName = original.getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        String baseName = extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+        return original.resolveSibling(baseName + "_w" + width + "." + format);
+    }
+
+    // 임시 파일에 쓴 뒤 이동하여 쓰는 중인 변환본이 조회되지 않도록 한다.
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        BufferedImage output = image;
+        if ("jpg".equals(format) && image.getType() != BufferedImage.TYPE_INT_RGB) {
+            output = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = output.createGraphics();
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            if (!ImageIO.write(output, format, temp.toFile())) {
+                throw new IOException("이미지 writer가 없습니다: " + format);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
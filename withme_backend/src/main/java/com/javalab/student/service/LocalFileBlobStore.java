@@ -0,0 +1,198 @@
+package com.javalab.student.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 파일 시스템 파일 저장소
+ * - 파일은 {blobLocation}/{해시 앞 2자리}/{해시 3~4번째 자리}/{해시} 에 저장한다.
+ *   키에 확장자를 붙이지 않으므로 같은 내용이면 파일명(확장자)이 달라도 같은 파일이다.
+ *   Content-Type은 처음 업로드된 파일명의 확장자로 정해 blob_file.content_type에 기록한다.
+ *   (이전에 "{해시}.{확장자}" 키로 저장된 파일도 그대로 조회된다)
+ *   디렉토리당 파일 수가 (전체 파일 수 / 65536) 정도로 유지되므로 파일이 수백만 개로 늘어도 한 폴더에 몰리지 않는다.
+ * - 업로드 스트림을 임시 파일에 쓰면서 해시를 계산하고, 같은 해시의 파일이 없을 때만 최종 위치로 옮긴다.
+ * - 참조 수는 blob_file 테이블에 기록한다.
+ * - 같은 키에 대한 저장(put)과 고아 파일 삭제(deleteIfOrphan)는 키별 잠금으로 직렬화하여,
+ *   삭제 중인 파일을 중복 업로드가 재사용하지 않도록 한다.(단일 서버 기준)
+ */
+@Service
+@Slf4j
+public class LocalFileBlobStore implements BlobStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+    private static final int LOCK_STRIPES = 64;
+
+    private static final String TOUCH_SQL =
+            "INSERT INTO blob_file (blob_key, size, content_type, ref_count, created_at, updated_at) VALUES (?, ?, ?, 0, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE updated_at = VALUES(updated_at), content_type = COALESCE(content_type, VALUES(content_type))";
+
+    private final Path root;
+    private final Path tempDirectory;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNewTransaction;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public LocalFileBlobStore(@Value("${blobLocation}") String blobLocation,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.root = Paths.get(blobLocation).toAbsolutePath().normalize();
+        this.tempDirectory = root.resolve("tmp");
+        this.jdbcTemplate = jdbcTemplate;
+        // 파일 저장 기록은 호출한 트랜잭션이 롤백되어도 남아야 정리 작업이 파일을 찾을 수 있다.
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public StoredBlob put(InputStream inputStream, String originalFileName) throws IOException {
+        Files.createDirectories(tempDirectory);
+        Path temp = Files.createTempFile(tempDirectory, "upload-", ".part");
+        try {
+            // 1. 임시 파일에 쓰면서 SHA-256 계산
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream digestInputStream = new DigestInputStream(inputStream, digest)) {
+                size = Files.copy(digestInputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String key = HexFormat.of().formatHex(digest.digest());
+            String contentType = contentTypeOf(originalFileName);
+            Path target = resolve(key);
+
+            // 2. 저장 기록 갱신, 같은 내용의 파일이 없을 때만 최종 위치로 이동
+            boolean created;
+            synchronized (lockFor(key)) {
+                LocalDateTime now = LocalDateTime.now();
+                requiresNewTransaction.executeWithoutResult(status -> jdbcTemplate.update(TOUCH_SQL,
+                        key, size, contentType, Timestamp.valueOf(now), Timestamp.valueOf(now)));
+                created = !Files.exists(target);
+                if (created) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            log.info("파일 저장: key={}, size={}, {}", key, size, created ? "신규" : "중복(기존 파일 사용)");
+            return new StoredBlob(key, target, size, created);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Path resolve(String key) {
+        if (!isKey(key)) {
+            throw new IllegalArgumentException("잘못된 파일 키입니다: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    @Override
+    public String getContentType(String key) {
+        // 이전 방식의 키(해시 + 확장자)는 확장자로 정한다.
+        if (key.indexOf('.') >= 0) {
+            return contentTypeOf(key);
+        }
+        List<String> contentTypes = jdbcTemplate.queryForList(
+                "SELECT content_type FROM blob_file WHERE blob_key = ?", String.class, key);
+        if (contentTypes.isEmpty() || contentTypes.get(0) == null) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        return contentTypes.get(0);
+    }
+
+    @Override
+    public boolean isKey(String name) {
+        return name != null && KEY_PATTERN.matcher(name).matches();
+    }
+
+    @Override
+    public void retain(String key) {
+        if (!isKey(key)) {
+            return;
+        }
+        jdbcTemplate.update(
+                "UPDATE blob_file SET ref_count = ref_count + 1, updated_at = ? WHERE blob_key = ?",
+                Timestamp.valueOf(LocalDateTime.now()), key);
+    }
+
+    @Override
+    public void release(String key) {
+        if (!isKey(key)) {
+            return;
+        }
+        jdbcTemplate.update(
+                "UPDATE blob_file SET ref_count = GREATEST(ref_count - 1, 0), updated_at = ? WHERE blob_key = ?",
+                Timestamp.valueOf(LocalDateTime.now()), key);
+    }
+
+    @Override
+    public List<String> findOrphans(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT blob_key FROM blob_file WHERE ref_count = 0 AND updated_at < ? LIMIT ?",
+                String.class, Timestamp.valueOf(cutoff), limit);
+    }
+
+    @Override
+    public boolean deleteIfOrphan(String key, LocalDateTime cutoff) {
+        synchronized (lockFor(key)) {
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM blob_file WHERE blob_key = ? AND ref_count = 0 AND updated_at < ?",
+                    key, Timestamp.valueOf(cutoff));
+            if (deleted == 0) {
+                return false;
+            }
+            try {
+                Files.deleteIfExists(resolve(key));
+            } catch (IOException e) {
+                log.warn("파일 삭제 실패: key={}, error={}", key, e.getMessage());
+            }
+            return true;
+        }
+    }
+
+    private Object lockFor(String key) {
+        return locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+
+    // 파일명의 확장자로 Content-Type 결정(대소문자 구분 없음), 알 수 없으면 application/octet-stream
+    private String contentTypeOf(String fileName) {
+        if (fileName == null) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        return MediaTypeFactory.getMediaType(fileName.toLowerCase(Locale.ROOT))
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.javalab.student.service;
 import com.javalab.student.constant.Role;
 import com.javalab.student.dto.*;
 import com.javalab.student.entity.Member;
+import com.javalab.student.mapper.MemberMapper;
 import com.javalab.student.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -25,6 +26,7 @@ public class MemberService {
 
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MemberMapper memberMapper;
 
     /**
      * 회원가입 처리
@@ -141,16 +143,7 @@ public class MemberService {
 
 
     private MemberDto convertEntityToDto(Member member) {
-        return MemberDto.builder()
-                .id(member.getId())
-                .name(member.getName())
-                .email(member.getEmail())
-                .phone(member.getPhone())
-                .address(member.getAddress())
-                .role(member.getRole())
-                .social(member.isSocial())
-                .provider(member.getProvider())
-                .build();
+        return memberMapper.toDto(member);
     }
 
      /**
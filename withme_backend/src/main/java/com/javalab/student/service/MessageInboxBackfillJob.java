@@ -0,0 +1,45 @@
+package com.javalab.student.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지함 집계 백필 작업
+ * - 애플리케이션 시작 시 메시지함 집계가 비어 있으면(집계 테이블 최초 생성) 기존 메시지로 집계를 만든다.
+ *   ChatIngestionService가 저널을 복구하기 전에 실행되어야 하므로(복구한 메시지가 먼저 집계되면 비어 있지 않게 됨)
+ *   ApplicationReadyEvent가 아닌 초기화 시점에 실행하고, ChatIngestionService가 이 빈에 의존한다.
+ * - chat.inbox.rebuild-cron을 지정하면 그 시각에 집계를 다시 계산하여 증분 집계와의 차이를 보정한다.(기본 : 사용 안 함)
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Log4j2
+public class MessageInboxBackfillJob {
+
+    private final MessageInboxService messageInboxService;
+
+    @PostConstruct
+    public void backfillIfEmpty() {
+        try {
+            if (messageInboxService.needsBackfill()) {
+                log.info("메시지함 집계가 비어 있어 백필을 실행합니다.");
+                messageInboxService.rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("메시지함 집계 백필 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${chat.inbox.rebuild-cron:-}")
+    public void rebuildScheduled() {
+        try {
+            messageInboxService.rebuild();
+        } catch (RuntimeException e) {
+            log.error("메시지함 집계 정기 재계산 실패: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.ConversationSummaryDto;
+import com.javalab.student.dto.InboxPageDto;
+import com.javalab.student.entity.Message;
+import com.javalab.student.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 메시지함(inbox) 집계 서비스
+ * - 사용자별 읽지 않은 메시지 수(message_unread_counter)와 사용자/대화 상대별 요약(message_conversation_summary)을
+ *   메시지 저장/읽음/삭제 시점에 증분으로 갱신한다.
+ *   1) 저장 : ChatIngestionService 기록 스레드가 INSERT와 같은 트랜잭션에서 applyNewMessages()를 호출
+ *   2) 읽음/삭제 : 메시지 행을 조건부 UPDATE(아직 읽지 않은/삭제하지 않은 경우만)하고 바뀐 경우에만 감소
+ *      (같은 메시지를 동시에 읽음/삭제해도 메시지 행 잠금으로 한 번만 감소한다)
+ * - 읽지 않은 메시지 수는 Redis(chat:unread:{사용자 ID})에 "수:버전"으로 캐시한다.
+ *   버전은 message_unread_counter 행이 바뀔 때마다 1씩 늘어난다.(행 잠금 순서대로 증가)
+ *   커밋 후 트랜잭션에서 읽은 수를 유효시간과 함께 저장하고, 캐시가 없으면 조회할 때 DB에서 읽어 저장한다.
+ *   어느 쪽이든 캐시의 버전보다 새 값일 때만 저장하므로, 커밋 전에 DB를 읽은 조회나 늦게 실행된 커밋 후 처리가
+ *   더 최근 값을 덮어쓰지 않는다.
+ * - 커밋 후 바뀐 읽지 않은 메시지 수를 WebSocket(/topic/unread/{사용자 ID})으로 전달한다.
+ * - Redis/WebSocket 오류는 로그만 남긴다.(DB 집계가 기준)
+ * - rebuild()는 메시지 테이블로부터 집계 전체를 다시 계산한다.(백필/정합성 보정용)
+ */
+@Service
+@Slf4j
+public class MessageInboxService {
+
+    private static final String UNREAD_KEY_PREFIX = "chat:unread:";
+
+    // 새 메시지를 대화 요약에 반영
+    // 마지막 메시지는 더 최근(작성 시각, 같으면 ID가 큰) 메시지일 때만 바꾼다.
+    // (메시지 ID는 노드마다 다른 범위에서 할당되므로 ID만으로 비교하지 않는다.
+    //  last_msg_id, last_time은 마지막에 바꿔야 앞의 비교가 이전 값으로 된다)
+    private static final String NEWER_CONDITION = "(VALUES(last_time), VALUES(last_msg_id)) > (last_time, last_msg_id)";
+    private static final String UPSERT_SUMMARY_SQL =
+            "INSERT INTO message_conversation_summary " +
+            "(user_id, peer_id, last_msg_id, last_sender_id, last_content, last_time, unread_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "last_sender_id = IF(" + NEWER_CONDITION + ", VALUES(last_sender_id), last_sender_id), " +
+            "last_content = IF(" + NEWER_CONDITION + ", VALUES(last_content), last_content), " +
+            "last_msg_id = IF(" + NEWER_CONDITION + ", VALUES(last_msg_id), last_msg_id), " +
+            "last_time = GREATEST(last_time, VALUES(last_time)), " +
+            "unread_count = unread_count + VALUES(unread_count)";
+
+    // 더 최근 메시지(작성 시각, 같으면 ID 순)
+    private static final Comparator<ChatIngestionService.PendingMessage> MESSAGE_ORDER =
+            Comparator.comparing(ChatIngestionService.PendingMessage::regTime)
+                    .thenComparingLong(ChatIngestionService.PendingMessage::id);
+
+    private static final String UPSERT_COUNTER_SQL =
+            "INSERT INTO message_unread_counter (user_id, unread_count, version) VALUES (?, ?, 1) " +
+            "ON DUPLICATE KEY UPDATE unread_count = unread_count + VALUES(unread_count), version = version + 1";
+
+    // 캐시의 버전보다 새 값일 때만 "수:버전"을 유효시간(ms)과 함께 저장(버전이 없는 이전 형식의 값은 덮어쓴다)
+    // KEYS : 캐시 키 / ARGV : 읽지 않은 수, 버전, 유효시간(ms)
+    private static final byte[] SET_IF_NEWER_SCRIPT = (
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current then " +
+            "  local version = tonumber(string.match(current, ':(%d+)$')) " +
+            "  if version and version >= tonumber(ARGV[2]) then return 0 end " +
+            "end " +
+            "redis.call('SET', KEYS[1], ARGV[1] .. ':' .. ARGV[2], 'PX', ARGV[3]) " +
+            "return 1").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 트랜잭션에서 읽은 사용자의 읽지 않은 메시지 수와 그 행의 버전
+     */
+    private record UnreadCount(long count, long version) {
+    }
+
+    /**
+     * 대화 요약 키(사용자 ID + 대화 상대 ID), 잠금 순서를 일정하게 하기 위해 정렬해서 갱신한다.
+     */
+    private record SummaryKey(long userId, long peerId) {
+    }
+
+    private static final Comparator<SummaryKey> SUMMARY_KEY_ORDER =
+            Comparator.comparingLong(SummaryKey::userId).thenComparingLong(SummaryKey::peerId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ChatMemberDirectory chatMemberDirectory;
+    private final MessagePublisherService messagePublisherService;
+    private final Duration cacheTtl;
+
+    public MessageInboxService(JdbcTemplate jdbcTemplate,
+                               @Qualifier("redisStringTemplate") RedisTemplate<String, String> redisTemplate,
+                               ChatMemberDirectory chatMemberDirectory,
+                               MessagePublisherService messagePublisherService,
+                               @Value("${chat.inbox.unread-cache-ttl-seconds:3600}") long cacheTtlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.chatMemberDirectory = chatMemberDirectory;
+        this.messagePublisherService = messagePublisherService;
+        this.cacheTtl = Duration.ofSeconds(cacheTtlSeconds);
+    }
+
+    /**
+     * 저장된 새 메시지를 메시지함 집계에 반영
+     * - 메시지 INSERT와 같은 트랜잭션에서 호출한다.(실제로 저장된 메시지만 전달)
+     * - 발신자 쪽 요약은 마지막 메시지만, 수신자 쪽 요약은 마지막 메시지와 읽지 않은 수를 갱신한다.
+     */
+    @Transactional
+    public void applyNewMessages(Collection<ChatIngestionService.PendingMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Map<SummaryKey, ChatIngestionService.PendingMessage> lastMessages = new TreeMap<>(SUMMARY_KEY_ORDER);
+        Map<SummaryKey, Long> summaryUnread = new HashMap<>();
+        Map<Long, Long> unreadDeltas = new TreeMap<>();
+        for (ChatIngestionService.PendingMessage message : messages) {
+            SummaryKey senderSide = new SummaryKey(message.senderId(), message.receiverId());
+            SummaryKey receiverSide = new SummaryKey(message.receiverId(), message.senderId());
+            lastMessages.merge(senderSide, message, (a, b) -> MESSAGE_ORDER.compare(a, b) >= 0 ? a : b);
+            lastMessages.merge(receiverSide, message, (a, b) -> MESSAGE_ORDER.compare(a, b) >= 0 ? a : b);
+            summaryUnread.merge(receiverSide, 1L, Long::sum);
+            unreadDeltas.merge(message.receiverId(), 1L, Long::sum);
+        }
+
+        List<Object[]> summaryRows = new ArrayList<>(lastMessages.size());
+        lastMessages.forEach((key, last) -> summaryRows.add(new Object[]{
+                key.userId(), key.peerId(), last.id(), last.senderId(), last.content(),
+                Timestamp.valueOf(last.regTime()), summaryUnread.getOrDefault(key, 0L)}));
+        jdbcTemplate.batchUpdate(UPSERT_SUMMARY_SQL, summaryRows);
+
+        List<Object[]> counterRows = unreadDeltas.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_COUNTER_SQL, counterRows);
+
+        Map<Long, UnreadCount> counts = loadUnreadCounts(unreadDeltas.keySet());
+        TransactionUtil.afterCommit(() -> applyToCacheAndPush(counts));
+    }
+
+    /**
+     * 메시지 읽음 처리
+     * - 아직 읽지 않은 메시지만 읽음으로 바꾸고, 수신자가 삭제하지 않은 메시지면 읽지 않은 수를 줄인다.
+     * @return 읽음으로 바뀌었으면 true(이미 읽었거나 없는 메시지면 false)
+     */
+    @Transactional
+    public boolean markRead(Long messageId) {
+        int updated = jdbcTemplate.update(
+                "UPDATE message SET is_read = true, update_time = ? WHERE msg_id = ? AND is_read = false",
+                Timestamp.valueOf(LocalDateTime.now()), messageId);
+        if (updated == 0) {
+            return false;
+        }
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT sender_id, receiver_id, deleted_by_receiver FROM message WHERE msg_id = ?", messageId);
+        if (!toBoolean(row.get("deleted_by_receiver"))) {
+            decrementUnread(toLong(row.get("receiver_id")), toLong(row.get("sender_id")));
+        }
+        return true;
+    }
+
+    /**
+     * 메시지 삭제(발신자 또는 수신자 쪽에서만 숨김)
+     * - 삭제한 사용자의 대화 요약이 이 메시지를 마지막 메시지로 가리키면 그 이전의 보이는 메시지로 바꾼다.
+     * - 수신자가 읽지 않은 메시지를 삭제하면 읽지 않은 수를 줄인다.
+     * @param userId 삭제하는 사용자 ID(발신자/수신자와 다르면 삭제하지 않는다)
+     * @return 삭제로 바뀌었으면 true(이미 삭제했거나, 없는 메시지이거나, 본인 메시지가 아니면 false)
+     */
+    @Transactional
+    public boolean deleteMessage(Long messageId, Long userId, boolean isSender) {
+        String column = isSender ? "deleted_by_sender" : "deleted_by_receiver";
+        String owner = isSender ? "sender_id" : "receiver_id";
+        int updated = jdbcTemplate.update(
+                "UPDATE message SET " + column + " = true, update_time = ? " +
+                "WHERE msg_id = ? AND " + owner + " = ? AND " + column + " = false",
+                Timestamp.valueOf(LocalDateTime.now()), messageId, userId);
+        if (updated == 0) {
+            return false;
+        }
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT sender_id, receiver_id, is_read FROM message WHERE msg_id = ?", messageId);
+        Long peerId = toLong(row.get(isSender ? "receiver_id" : "sender_id"));
+        if (!isSender && !toBoolean(row.get("is_read"))) {
+            decrementUnread(userId, peerId);
+        }
+        refreshLastMessage(userId, peerId, messageId);
+        return true;
+    }
+
+    /**
+     * 읽지 않은 메시지 수 조회(Redis 캐시, 없으면 DB의 한 행)
+     */
+    public long getUnreadCount(Long userId) {
+        String key = unreadKey(userId);
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                int separator = cached.indexOf(':');
+                return Long.parseLong(separator >= 0 ? cached.substring(0, separator) : cached);
+            }
+        } catch (Exception e) {
+            log.warn("읽지 않은 메시지 수 캐시 조회 실패: 사용자 ID={}, {}", userId, e.getMessage());
+        }
+
+        UnreadCount count = loadUnreadCounts(List.of(userId)).getOrDefault(userId, new UnreadCount(0, 0));
+        try {
+            // 그 사이 커밋 후 처리가 더 최근 값을 저장했으면 버전 비교로 덮어쓰지 않는다.
+            redisTemplate.execute((RedisCallback<Object>) connection -> setIfNewer(connection, userId, count));
+        } catch (Exception e) {
+            log.warn("읽지 않은 메시지 수 캐시 저장 실패: 사용자 ID={}, {}", userId, e.getMessage());
+        }
+        return count.count();
+    }
+
+    /**
+     * 메시지함 한 페이지 조회(마지막 메시지가 최근인 대화부터)
+     * @param before 이전 페이지의 nextCursor(첫 페이지면 null)
+     * @param size 페이지 크기
+     */
+    @Transactional(readOnly = true)
+    public InboxPageDto getInbox(Long userId, Long before, int size) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+                "SELECT peer_id, last_msg_id, last_sender_id, last_content, last_time, unread_count " +
+                "FROM message_conversation_summary WHERE user_id = ?");
+        args.add(userId);
+        if (before != null) {
+            List<Timestamp> cursorTime = jdbcTemplate.queryForList(
+                    ConversationHistoryLoader.CURSOR_TIME_SQL, Timestamp.class, before);
+            if (cursorTime.isEmpty()) {
+                return new InboxPageDto(List.of(), null, getUnreadCount(userId));
+            }
+            sql.append(" AND (last_time < ? OR (last_time = ? AND last_msg_id < ?))");
+            args.add(cursorTime.get(0));
+            args.add(cursorTime.get(0));
+            args.add(before);
+        }
+        sql.append(" ORDER BY last_time DESC, last_msg_id DESC LIMIT ?");
+        // 다음 페이지가 있는지 확인하기 위해 한 건 더 조회
+        args.add(size + 1);
+
+        List<ConversationSummaryDto> conversations = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            long peerId = rs.getLong("peer_id");
+            Timestamp lastTime = rs.getTimestamp("last_time");
+            return new ConversationSummaryDto(
+                    peerId,
+                    chatMemberDirectory.findName(peerId),
+                    rs.getLong("last_msg_id"),
+                    rs.getLong("last_sender_id"),
+                    rs.getString("last_content"),
+                    lastTime != null ? lastTime.toLocalDateTime() : null,
+                    rs.getLong("unread_count"));
+        }, args.toArray());
+
+        Long nextCursor = null;
+        if (conversations.size() > size) {
+            conversations = new ArrayList<>(conversations.subList(0, size));
+            nextCursor = conversations.get(size - 1).getLastMessageId();
+        }
+        return new InboxPageDto(conversations, nextCursor, getUnreadCount(userId));
+    }
+
+    /**
+     * 메시지함 집계 전체 재계산(백필)
+     * - 집계 테이블을 비우고 메시지 테이블로부터 다시 계산한 뒤, 커밋 후 Redis 캐시를 비운다.
+     * @return 대화 요약 행 수
+     */
+    @Transactional
+    public int rebuild() {
+        long startedAt = System.currentTimeMillis();
+        jdbcTemplate.update("DELETE FROM message_conversation_summary");
+
+        // 캐시 버전이 줄어들지 않도록 읽지 않은 수 행은 지우지 않고 0으로 만든 뒤 다시 계산한 값으로 바꾼다.
+        jdbcTemplate.update("UPDATE message_unread_counter SET unread_count = 0, version = version + 1");
+        jdbcTemplate.update(
+                "INSERT INTO message_unread_counter (user_id, unread_count, version) " +
+                "SELECT receiver_id, COUNT(*), 1 FROM message " +
+                "WHERE is_read = false AND deleted_by_receiver = false GROUP BY receiver_id " +
+                "ON DUPLICATE KEY UPDATE unread_count = VALUES(unread_count), version = version + 1");
+
+        // 사용자마다 보이는 메시지(보낸 메시지 중 삭제하지 않은 것 + 받은 메시지 중 삭제하지 않은 것)를 대화 상대별로 집계
+        // 마지막 메시지는 작성 시각(같으면 ID)이 가장 큰 메시지
+        int summaryCount = jdbcTemplate.update(
+                "INSERT INTO message_conversation_summary " +
+                "(user_id, peer_id, last_msg_id, last_sender_id, last_content, last_time, unread_count) " +
+                "SELECT v.user_id, v.peer_id, v.msg_id, v.sender_id, v.content, v.reg_time, v.unread_count " +
+                "FROM (SELECT t.user_id, t.peer_id, t.msg_id, t.sender_id, t.content, t.reg_time, " +
+                "             SUM(t.unread) OVER (PARTITION BY t.user_id, t.peer_id) AS unread_count, " +
+                "             ROW_NUMBER() OVER (PARTITION BY t.user_id, t.peer_id ORDER BY t.reg_time DESC, t.msg_id DESC) AS rn " +
+                "      FROM (SELECT sender_id AS user_id, receiver_id AS peer_id, msg_id, sender_id, content, reg_time, 0 AS unread " +
+                "            FROM message WHERE deleted_by_sender = false " +
+                "            UNION ALL " +
+                "            SELECT receiver_id, sender_id, msg_id, sender_id, content, reg_time, IF(is_read, 0, 1) " +
+                "            FROM message WHERE deleted_by_receiver = false) t) v " +
+                "WHERE v.rn = 1");
+
+        TransactionUtil.afterCommit(this::clearCache);
+        log.info("메시지함 집계 재계산 완료: 대화 {}건, 소요 {}ms", summaryCount, System.currentTimeMillis() - startedAt);
+        return summaryCount;
+    }
+
+    /**
+     * 메시지함 집계가 한 번도 만들어지지 않았는지 확인
+     * - 메시지는 있는데 대화 요약이 하나도 없으면 백필이 필요하다.
+     */
+    @Transactional(readOnly = true)
+    public boolean needsBackfill() {
+        Integer summaries = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT 1 FROM message_conversation_summary LIMIT 1) t", Integer.class);
+        Integer messages = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT 1 FROM message LIMIT 1) t", Integer.class);
+        return (summaries == null || summaries == 0) && messages != null && messages > 0;
+    }
+
+    // 대화 요약과 사용자의 읽지 않은 수를 1 줄이고 커밋 후 캐시/WebSocket에 반영
+    private void decrementUnread(Long userId, Long peerId) {
+        jdbcTemplate.update(
+                "UPDATE message_conversation_summary SET unread_count = GREATEST(unread_count - 1, 0) " +
+                "WHERE user_id = ? AND peer_id = ?", userId, peerId);
+        jdbcTemplate.update(
+                "UPDATE message_unread_counter SET unread_count = GREATEST(unread_count - 1, 0), version = version + 1 " +
+                "WHERE user_id = ?", userId);
+        Map<Long, UnreadCount> counts = loadUnreadCounts(List.of(userId));
+        TransactionUtil.afterCommit(() -> applyToCacheAndPush(counts));
+    }
+
+    // 삭제한 메시지가 대화 요약의 마지막 메시지면 그 이전(작성 시각, ID 순)의 보이는 메시지로 바꾸고,
+    // 남은 메시지가 없으면 요약을 지운다.(그 사이 더 최근 메시지가 반영되었으면 last_msg_id 조건에 걸려 바꾸지 않는다)
+    private void refreshLastMessage(Long userId, Long peerId, Long deletedMessageId) {
+        Timestamp deletedTime = jdbcTemplate.queryForObject(
+                ConversationHistoryLoader.CURSOR_TIME_SQL, Timestamp.class, deletedMessageId);
+        List<Map<String, Object>> latest = jdbcTemplate.queryForList(
+                "SELECT msg_id, sender_id, content, reg_time FROM message WHERE conversation_key = ?" +
+                ConversationHistoryLoader.BEFORE_CONDITION + ConversationHistoryLoader.VISIBLE_CONDITION +
+                " ORDER BY reg_time DESC, msg_id DESC LIMIT 1",
+                Message.conversationKey(userId, peerId), deletedTime, deletedTime, deletedMessageId, userId, userId);
+        if (latest.isEmpty()) {
+            jdbcTemplate.update(
+                    "DELETE FROM message_conversation_summary WHERE user_id = ? AND peer_id = ? AND last_msg_id = ?",
+                    userId, peerId, deletedMessageId);
+            return;
+        }
+        Map<String, Object> row = latest.get(0);
+        jdbcTemplate.update(
+                "UPDATE message_conversation_summary SET last_msg_id = ?, last_sender_id = ?, last_content = ?, " +
+                "last_time = ? WHERE user_id = ? AND peer_id = ? AND last_msg_id = ?",
+                row.get("msg_id"), row.get("sender_id"), row.get("content"), row.get("reg_time"),
+                userId, peerId, deletedMessageId);
+    }
+
+    private Map<Long, UnreadCount> loadUnreadCounts(Collection<Long> userIds) {
+        String placeholders = userIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        Map<Long, UnreadCount> counts = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT user_id, unread_count, version FROM message_unread_counter WHERE user_id IN (" + placeholders + ")",
+                rs -> {
+                    counts.put(rs.getLong("user_id"), new UnreadCount(rs.getLong("unread_count"), rs.getLong("version")));
+                }, userIds.toArray());
+        return counts;
+    }
+
+    // 커밋 후 트랜잭션에서 읽은 읽지 않은 수를 캐시에 저장(파이프라인, 더 새 값이 있으면 건너뜀) + 바뀐 읽지 않은 수 전달
+    private void applyToCacheAndPush(Map<Long, UnreadCount> counts) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                counts.forEach((userId, count) -> setIfNewer(connection, userId, count));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("읽지 않은 메시지 수 캐시 갱신 실패: 사용자 {}명, {}", counts.size(), e.getMessage());
+        }
+        Map<Long, Long> unreadCounts = new HashMap<>();
+        counts.forEach((userId, count) -> unreadCounts.put(userId, count.count()));
+        messagePublisherService.publishUnreadCounts(unreadCounts);
+    }
+
+    private Object setIfNewer(RedisConnection connection, Long userId, UnreadCount count) {
+        return connection.scriptingCommands().eval(SET_IF_NEWER_SCRIPT, ReturnType.INTEGER, 1,
+                unreadKey(userId).getBytes(StandardCharsets.UTF_8),
+                String.valueOf(count.count()).getBytes(StandardCharsets.UTF_8),
+                String.valueOf(count.version()).getBytes(StandardCharsets.UTF_8),
+                String.valueOf(cacheTtl.toMillis()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void clearCache() {
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions().match(UNREAD_KEY_PREFIX + "*").count(1000).build())) {
+            List<String> batch = new ArrayList<>();
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == 1000) {
+                    redisTemplate.delete(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                redisTemplate.delete(batch);
+            }
+        } catch (Exception e) {
+            log.warn("읽지 않은 메시지 수 캐시 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    private String unreadKey(Long userId) {
+        return UNREAD_KEY_PREFIX + userId;
+    }
+
+    private static Long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        return value instanceof Number number && number.intValue() != 0;
+    }
+}
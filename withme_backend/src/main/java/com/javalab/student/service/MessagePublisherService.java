@@ -1,86 +1,102 @@
 package com.javalab.student.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.javalab.student.dto.MessageRequestDto;
+import com.javalab.student.config.redis.RedisConfig;
+import com.javalab.student.dto.MessageResponseDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * 채팅 메시지 발행 서비스
+ * - 수신자, 발신자의 세션이 연결된 노드를 ChatPresenceService로 조회해서 사용자마다 그 노드로만 전달한다.
+ *   이 노드면 Redis를 거치지 않고 바로 전달하고, 다른 노드면 그 노드의 사용자 채널(chat_node:{노드 ID}:{사용자 ID})로 발행한다.
+ * - 두 사용자 모두 접속하지 않았으면 발행하지 않는다.(메시지는 DB에 저장되어 있으므로 다음 조회 때 보인다)
+ * - 읽지 않은 메시지 수도 같은 방식으로 노드의 읽지 않은 수 채널(unread_node:{노드 ID}:{사용자 ID})로 전달한다.
+ */
 @Slf4j
 @Service
 public class MessagePublisherService {
 
     private final RedisTemplate<String, String> redisTemplate;
     private final ObjectMapper objectMapper;
-
-    // ✅ 사용자별 채널명을 생성할 때 사용
-    private static final String CHANNEL_PREFIX = "chat_channel_";
+    private final ChatPresenceService chatPresenceService;
+    private final MessageSubscriberService messageSubscriberService;
 
     /**
      * ✅ 생성자 주입 시 @Qualifier 적용 (redisStringTemplate 사용)
      */
     public MessagePublisherService(
             @Qualifier("redisStringTemplate") RedisTemplate<String, String> redisTemplate,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            ChatPresenceService chatPresenceService,
+            MessageSubscriberService messageSubscriberService) {
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
+        this.chatPresenceService = chatPresenceService;
+        this.messageSubscriberService = messageSubscriberService;
     }
 
     /**
-     * ✅ 메시지를 Redis Pub/Sub으로 발행하는 메서드 (DB 저장 X)
-     * - 수신자별로 채널 생성
+     * ✅ 메시지를 수신자, 발신자의 세션이 연결된 노드로 전달
+     * - 전달 실패는 로그만 남긴다.(메시지는 ChatIngestionService가 저장한다)
      */
-    public void publishMessage(Long receiverId, Long senderId, String messageContent) {
-        log.info("📨 Redis 메시지 발행 요청 - receiverId={}, senderId={}, content={}", receiverId, senderId, messageContent);
-
-        if (receiverId == null || senderId == null) {
-            log.error("❌ 메시지 발행 실패: 수신자 ID 또는 발신자 ID가 누락되었습니다.");
-            throw new IllegalArgumentException("수신자 ID 또는 발신자 ID가 누락되었습니다.");
-        }
-
+    public void publishMessage(MessageResponseDto message) {
+        Long receiverId = message.getReceiverId();
+        Long senderId = message.getSenderId();
         try {
-            // ✅ 수신자별 채널명 생성
-            String channelName = CHANNEL_PREFIX + receiverId;
-
-            // ✅ 메시지를 JSON 형식으로 변환
-            String jsonMessage = objectMapper.writeValueAsString(
-                    MessageRequestDto.builder()
-                            .receiverId(receiverId)
-                            .senderId(senderId)
-                            .content(messageContent)
-                            .build()
-            );
-
-            // ✅ Redis Pub/Sub으로 발행
-            redisTemplate.convertAndSend(channelName, jsonMessage);
-
-            log.info("📩 Redis 메시지 발행 완료! receiverId={}, senderId={}, content={}", receiverId, senderId, messageContent);
+            Map<Long, Set<String>> nodesByUser = chatPresenceService.findNodes(List.of(receiverId, senderId));
+            if (nodesByUser.isEmpty()) {
+                log.debug("📭 수신자/발신자 미접속, 메시지 전달 생략 - receiverId={}, senderId={}", receiverId, senderId);
+                return;
+            }
 
+            String jsonMessage = objectMapper.writeValueAsString(message);
+            nodesByUser.forEach((userId, nodes) -> {
+                for (String node : nodes) {
+                    if (node.equals(chatPresenceService.getNodeId())) {
+                        messageSubscriberService.deliverLocally(userId, jsonMessage);
+                    } else {
+                        redisTemplate.convertAndSend(RedisConfig.chatNodeChannel(node, userId), jsonMessage);
+                    }
+                }
+            });
+            log.info("📩 메시지 전달 완료! messageId={}, receiverId={}, senderId={}",
+                    message.getId(), receiverId, senderId);
         } catch (Exception e) {
-            log.error("❌ 메시지 발행 중 오류 발생", e);
-            throw new RuntimeException("메시지 발행 실패", e);
+            log.error("❌ 메시지 전달 중 오류 발생 - messageId={}", message.getId(), e);
         }
     }
 
     /**
-     * ✅ 메시지 업데이트 정보를 Redis Pub/Sub으로 발행하는 메서드
+     * ✅ 바뀐 읽지 않은 메시지 수를 사용자의 세션이 연결된 노드로 전달
+     * - 전달 실패는 로그만 남긴다.(다음 조회 때 최신 값을 받는다)
+     * @param unreadCounts 사용자 ID -> 읽지 않은 메시지 수
      */
-    public void publishMessageUpdate(Long messageId, String action) {
-        log.info("📨 Redis 메시지 업데이트 발행 요청 - messageId={}, action={}", messageId, action);
-
+    public void publishUnreadCounts(Map<Long, Long> unreadCounts) {
+        if (unreadCounts.isEmpty()) {
+            return;
+        }
         try {
-            String channel = CHANNEL_PREFIX + messageId;
-            String jsonMessage = objectMapper.writeValueAsString(
-                    Map.of("messageId", messageId, "action", action)
-            );
-            redisTemplate.convertAndSend(channel, jsonMessage);
-            log.info("📩 Redis 메시지 업데이트 발행 완료! messageId={}, action={}", messageId, action);
+            Map<Long, Set<String>> nodesByUser = chatPresenceService.findNodes(unreadCounts.keySet());
+            for (Map.Entry<Long, Set<String>> entry : nodesByUser.entrySet()) {
+                Long userId = entry.getKey();
+                String jsonMessage = objectMapper.writeValueAsString(Map.of("unreadCount", unreadCounts.get(userId)));
+                for (String node : entry.getValue()) {
+                    if (node.equals(chatPresenceService.getNodeId())) {
+                        messageSubscriberService.deliverUnreadCount(userId, jsonMessage);
+                    } else {
+                        redisTemplate.convertAndSend(RedisConfig.unreadNodeChannel(node, userId), jsonMessage);
+                    }
+                }
+            }
         } catch (Exception e) {
-            log.error("❌ 메시지 업데이트 발행 중 오류 발생", e);
-            throw new RuntimeException("메시지 업데이트 발행 실패", e);
+            log.warn("⚠️ 읽지 않은 메시지 수 전달 실패 - 사용자 {}명: {}", unreadCounts.size(), e.getMessage());
         }
     }
 }
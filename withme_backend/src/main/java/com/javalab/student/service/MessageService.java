@@ -1,5 +1,7 @@
 package com.javalab.student.service;
 
+import com.javalab.student.dto.ConversationPageDto;
+import com.javalab.student.dto.InboxPageDto;
 import com.javalab.student.dto.MessageRequestDto;
 import com.javalab.student.dto.MessageResponseDto;
 import com.javalab.student.entity.Member;
@@ -12,9 +14,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,76 +27,45 @@ public class MessageService {
 
     private final MessageRepository messageRepository;
     private final MemberRepository memberRepository;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final MessagePublisherService messagePublisherService;
+    private final ChatIngestionService chatIngestionService;
+    private final ConversationHistoryLoader conversationHistoryLoader;
+    private final MessageInboxService messageInboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    // 대화 메시지 페이지 크기 제한
+    private static final int MAX_CONVERSATION_PAGE_SIZE = 100;
+
+    // 메시지함 페이지 크기 제한
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
 
     /**
      * 메시지를 DB에 저장하고 WebSocket으로 발행
+     * - ChatIngestionService가 발신자/수신자를 확인하고 바로 전달하며, DB 저장은 기록 스레드가 batch로 처리한다.
      */
-    @Transactional
     public MessageResponseDto saveMessage(MessageRequestDto requestDto) {
         try {
-            // 1. 필수 파라미터 검증
-            if (requestDto.getSenderId() == null || requestDto.getReceiverId() == null) {
-                throw new IllegalArgumentException("발신자 또는 수신자 ID가 누락되었습니다.");
-            }
-
-            // 2. 발신자와 수신자 조회
-            Member sender = memberRepository.findById(requestDto.getSenderId())
-                    .orElseThrow(() -> new IllegalArgumentException("발신자를 찾을 수 없습니다."));
-            Member receiver = memberRepository.findById(requestDto.getReceiverId())
-                    .orElseThrow(() -> new IllegalArgumentException("수신자를 찾을 수 없습니다."));
-
-            // 3. 메시지 내용 검증
-            if (requestDto.getContent() == null || requestDto.getContent().trim().isEmpty()) {
-                throw new IllegalArgumentException("메시지 내용이 비어있습니다.");
-            }
-
-            // 4. 메시지 엔티티 생성
-            Message savedMessage = Message.builder()
-                    .sender(sender)
-                    .receiver(receiver)
-                    .content(requestDto.getContent().trim())
-                    .read(false)
-                    .build();
-
-            // 5. 메시지 저장
-            savedMessage = messageRepository.save(savedMessage);
-
-            // 6. DTO 변환
-            MessageResponseDto responseDto = new MessageResponseDto(savedMessage);
-
-            // 7. WebSocket으로 메시지 전송
-            String destination = "/topic/chat/" + receiver.getId();
-            messagingTemplate.convertAndSend(destination, responseDto);
-            log.info("📡 WebSocket 메시지 전송: {} → {}", savedMessage.getContent(), destination);
-
-            return responseDto;
-
+            return chatIngestionService.submit(requestDto);
         } catch (IllegalArgumentException e) {
             log.error("❌ 메시지 저장 실패: {}", e.getMessage());
             throw e;
-        } catch (Exception e) {
-            log.error("❌ 예상치 못한 오류 발생", e);
-            throw new RuntimeException("메시지 저장 중 오류 발생", e);
         }
     }
 
     /**
      * 메시지를 읽음 처리
+     * - 읽지 않은 메시지 수(메시지함 집계)도 같은 트랜잭션에서 줄인다.
+     * - 전달은 되었지만 아직 저장되지 않은 메시지면 저장될 때까지 기다린다.(트랜잭션 시작 전, DB 연결을 잡지 않고 대기)
      */
-    @Transactional
     public void markMessageAsRead(Long messageId) {
         try {
-            Message message = messageRepository.findById(messageId)
-                    .orElseThrow(() -> new IllegalArgumentException("메시지를 찾을 수 없습니다."));
-
-            if (!message.isRead()) {
-                message.setRead(true);
-                messageRepository.save(message);
-                messagePublisherService.publishMessageUpdate(messageId, "READ");
-                log.info("✅ 메시지 읽음 처리: {}", messageId);
-            }
+            awaitPersisted(messageId);
+            transactionTemplate.executeWithoutResult(status -> {
+                if (messageInboxService.markRead(messageId)) {
+                    log.info("✅ 메시지 읽음 처리: {}", messageId);
+                } else if (!messageRepository.existsById(messageId)) {
+                    throw new IllegalArgumentException("메시지를 찾을 수 없습니다.");
+                }
+            });
         } catch (Exception e) {
             log.error("❌ 메시지 읽음 처리 중 오류", e);
             throw new RuntimeException("메시지 읽음 처리 실패", e);
@@ -105,32 +75,8 @@ public class MessageService {
     /**
      * ✅ 메시지를 DB에 저장하고 WebSocket으로 발행
      */
-    @Transactional
     public MessageResponseDto saveMessageAndConvert(MessageRequestDto requestDto) {
-        // 기존 saveMessage 메서드의 로직을 약간 수정
-        Member sender = memberRepository.findById(requestDto.getSenderId())
-                .orElseThrow(() -> new IllegalArgumentException("발신자를 찾을 수 없습니다."));
-        Member receiver = memberRepository.findById(requestDto.getReceiverId())
-                .orElseThrow(() -> new IllegalArgumentException("수신자를 찾을 수 없습니다."));
-
-        Message savedMessage = Message.builder()
-                .sender(sender)
-                .receiver(receiver)
-                .content(requestDto.getContent())
-                .read(false)
-                .build();
-
-        savedMessage = messageRepository.save(savedMessage);
-
-        // DTO로 변환
-        MessageResponseDto responseDto = new MessageResponseDto(savedMessage);
-
-        // WebSocket 전송
-        String destination = "/topic/chat/" + receiver.getId();
-        messagingTemplate.convertAndSend(destination, responseDto);
-        log.info("📡 WebSocket 메시지 전송: {} → {}", savedMessage.getContent(), destination);
-
-        return responseDto;
+        return chatIngestionService.submit(requestDto);
     }
 
     /**
@@ -146,38 +92,40 @@ public class MessageService {
 
     /**
      * ✅ 메시지 편집
+     * - 아직 저장되지 않은 메시지면 트랜잭션 시작 전에 저장될 때까지 기다린다.
      */
-    @Transactional
     public MessageResponseDto editMessage(Long messageId) {
-        Message message = messageRepository.findById(messageId)
-                .orElseThrow(() -> new IllegalArgumentException("메시지를 찾을 수 없습니다."));
+        awaitPersisted(messageId);
+        return transactionTemplate.execute(status -> {
+            Message message = messageRepository.findById(messageId)
+                    .orElseThrow(() -> new IllegalArgumentException("메시지를 찾을 수 없습니다."));
 
-        // 필요한 경우 편집 로직 추가
-        message.setEdited(true);
+            // 필요한 경우 편집 로직 추가
+            message.setEdited(true);
 
-        Message savedMessage = messageRepository.save(message);
-        messagePublisherService.publishMessageUpdate(messageId, "EDIT");
+            Message savedMessage = messageRepository.save(message);
 
-        return new MessageResponseDto(savedMessage);
+            return new MessageResponseDto(savedMessage);
+        });
     }
 
     /**
      * ✅ 메시지 삭제
+     * - 삭제한 사용자의 메시지함 집계(마지막 메시지, 읽지 않은 메시지 수)도 같은 트랜잭션에서 갱신한다.
+     * - 전달은 되었지만 아직 저장되지 않은 메시지면 저장될 때까지 기다린다.(트랜잭션 시작 전, DB 연결을 잡지 않고 대기)
      */
-    @Transactional
     public void deleteMessage(Long messageId, Long userId, boolean isSender) {
-        Message message = messageRepository.findById(messageId)
-                .orElseThrow(() -> new IllegalArgumentException("메시지를 찾을 수 없습니다."));
-        Member user = memberRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        if (isSender) {
-            message.setDeletedBySender(true);
-        } else {
-            message.setDeletedByReceiver(true);
-        }
-        messageRepository.save(message);
-        messagePublisherService.publishMessageUpdate(messageId, "DELETE");
+        awaitPersisted(messageId);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (messageInboxService.deleteMessage(messageId, userId, isSender)) {
+                return;
+            }
+            if (!messageRepository.existsById(messageId)) {
+                throw new IllegalArgumentException("메시지를 찾을 수 없습니다.");
+            }
+            log.info("🗑️ 이미 삭제했거나 본인 메시지가 아니어서 삭제하지 않음 - messageId={}, userId={}, isSender={}",
+                    messageId, userId, isSender);
+        });
     }
 
     /**
@@ -195,15 +143,35 @@ public class MessageService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * ✅ 특정 사용자와의 대화 메시지 페이지 조회(최근 메시지부터 이전 방향으로)
+     * @param before 이전 페이지의 nextCursor(최근 메시지부터 조회하면 null)
+     */
+    public ConversationPageDto getConversationHistory(Long userId, Long targetUserId, Long before, int size) {
+        if (userId == null || targetUserId == null) {
+            throw new IllegalArgumentException("사용자 또는 대화 상대 ID가 누락되었습니다.");
+        }
+        return conversationHistoryLoader.loadPage(userId, targetUserId, before,
+                Math.min(Math.max(size, 1), MAX_CONVERSATION_PAGE_SIZE));
+    }
+
+    /**
+     * ✅ 메시지함 페이지 조회(대화 상대별 마지막 메시지, 읽지 않은 메시지 수)
+     * @param before 이전 페이지의 nextCursor(첫 페이지면 null)
+     */
+    public InboxPageDto getInbox(Long userId, Long before, int size) {
+        if (userId == null) {
+            throw new IllegalArgumentException("사용자 ID가 누락되었습니다.");
+        }
+        return messageInboxService.getInbox(userId, before, Math.min(Math.max(size, 1), MAX_INBOX_PAGE_SIZE));
+    }
+
     /**
      * 사용자가 보낸 메시지 조회
      */
     public List<MessageResponseDto> getSentMessages(Long userId) {
         try {
-            Member sender = memberRepository.findById(userId)
-                    .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-            return messageRepository.findBySenderOrderByRegTimeDesc(sender)
+            return messageRepository.findSentByUserId(userId)
                     .stream()
                     .map(MessageResponseDto::new)
                     .collect(Collectors.toList());
@@ -218,10 +186,7 @@ public class MessageService {
      */
     public List<MessageResponseDto> getReceivedMessages(Long userId) {
         try {
-            Member receiver = memberRepository.findById(userId)
-                    .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-            return messageRepository.findByReceiverOrderByRegTimeDesc(receiver)
+            return messageRepository.findReceivedByUserId(userId)
                     .stream()
                     .map(MessageResponseDto::new)
                     .collect(Collectors.toList());
@@ -233,16 +198,21 @@ public class MessageService {
 
     /**
      * 사용자의 읽지 않은 메시지 개수 조회
+     * - 메시지 테이블을 세지 않고 메시지함 집계(Redis 캐시, 없으면 DB의 한 행)에서 읽는다.
      */
     public int getUnreadMessageCount(Long userId) {
         try {
-            Member receiver = memberRepository.findById(userId)
-                    .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-            return messageRepository.countUnreadMessages(receiver);
+            return (int) Math.min(Integer.MAX_VALUE, messageInboxService.getUnreadCount(userId));
         } catch (Exception e) {
             log.error("읽지 않은 메시지 개수 조회 중 오류 발생", e);
             throw new RuntimeException("읽지 않은 메시지 개수 조회 실패", e);
         }
     }
+
+    // 메시지가 제한 시간 안에 저장되지 않으면(다른 서버에서 저장 중인 경우 포함) 처리하지 않고 다시 시도하게 한다.
+    private void awaitPersisted(Long messageId) {
+        if (!chatIngestionService.awaitPersisted(messageId)) {
+            throw new IllegalStateException("메시지를 저장하는 중입니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
 }
@@ -1,47 +1,83 @@
 package com.javalab.student.service;
 
+import com.javalab.student.config.redis.RedisConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.Message; // ✅ Redis 메시지
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.javalab.student.dto.MessageRequestDto;
 
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis 채팅 메시지 구독자
+ * - RedisConfig에서 이 노드의 채널 패턴(chat_node:{노드 ID}:*) 하나로 등록된다.(사용자 수와 관계없이 구독 1개)
+ * - 메시지는 받는 사용자마다 그 사용자의 세션이 연결된 노드의 채널(chat_node:{노드 ID}:{사용자 ID})로 발행된다.
+ *   채널 이름의 사용자 ID가 이 노드에 구독 중인지(ChatSessionRegistry) 먼저 확인하고,
+ *   구독 중이 아니면 본문을 읽지 않고 버린다.(해시 조회 한 번)
+ * - 읽지 않은 메시지 수(unread_node:{노드 ID}:{사용자 ID})는 이 노드에 연결된 사용자에게
+ *   "/topic/unread/{사용자 ID}"로 전달한다.(채팅 메시지 토픽과 분리해서 새 메시지 알림으로 처리되지 않게 함)
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MessageSubscriberService implements org.springframework.data.redis.connection.MessageListener {
 
+    public static final String UNREAD_TOPIC_PREFIX = "/topic/unread/";
+
     private final SimpMessagingTemplate messagingTemplate; // ✅ WebSocket을 통해 클라이언트에게 메시지를 전송하는 역할
-    private final ObjectMapper objectMapper;
+    private final ChatSessionRegistry chatSessionRegistry;
+    private final ChatPresenceService chatPresenceService;
 
     /**
      *  Redis 메시지 수신
-     *  - Redis에서 메시지를 수신하는 역할.
-     *  - redisMessage : Redis Publiser가 발행한 메시지
-     *  - 이 역할을 수행한 후, 구독 중인 WebSocket 클라이언트에게 메시지를 전송하면 된다.
-     *    메시지를 수신하고 WebSocket을 통해 클라이언트에게 보냅니다.
+     *  - redisMessage : Redis Publiser가 발행한 메시지(채널 : 접두어 + 사용자 ID, 본문 : 메시지 JSON)
      */
     @Override
-    public void onMessage(Message redisMessage, byte[] pattern) { // ✅ RedisMessage는 변수로 사용
-        try {
-            // 1. Redis 메시지 수신
-            String jsonMessage = new String(redisMessage.getBody()); // Redis Publiser가 발행한 메시지 getBody()로 가져와서 String으로 변환
-            log.info("🔹 Redis Subscriber 에서 수신한 경로 : {}, 메시지 내용: {}", new String(pattern), jsonMessage);
-
-            // 2. 전달받은 메시지 내용을 MessageRequestDto로 변환
-            MessageRequestDto messageDto = objectMapper.readValue(jsonMessage, MessageRequestDto.class);
-            log.info("✅ WebSocket으로 메시지 전송: /topic/chat/{}", messageDto.getReceiverId());
+    public void onMessage(Message redisMessage, byte[] pattern) {
+        String channel = new String(redisMessage.getChannel(), StandardCharsets.UTF_8);
+        Long userId = channelUserId(channel);
+        if (channel.startsWith(RedisConfig.UNREAD_NODE_CHANNEL_PREFIX)) {
+            deliverUnreadCount(userId, new String(redisMessage.getBody(), StandardCharsets.UTF_8));
+            return;
+        }
+        if (!chatSessionRegistry.isSubscribed(userId)) {
+            return;
+        }
+        deliverLocally(userId, new String(redisMessage.getBody(), StandardCharsets.UTF_8));
+    }
 
-            // 3. Redis에서 보낸 메시지를 전달받고 이를 WebSocket을 통해 클라이언트에게 전달
-            messagingTemplate.convertAndSend("/topic/chat/" + messageDto.getReceiverId(), objectMapper.writeValueAsString(messageDto));
+    /**
+     * 이 노드에 구독 중인 사용자에게 WebSocket으로 전달
+     * @param jsonMessage 전달할 메시지(JSON, 변환하지 않고 그대로 전달)
+     */
+    public void deliverLocally(Long userId, String jsonMessage) {
+        if (chatSessionRegistry.isSubscribed(userId)) {
+            messagingTemplate.convertAndSend(ChatSessionRegistry.CHAT_TOPIC_PREFIX + userId, jsonMessage);
+            log.debug("✅ WebSocket으로 메시지 전송: {}{}", ChatSessionRegistry.CHAT_TOPIC_PREFIX, userId);
+        }
+    }
 
-            // 4. 발신자에게도 동일한 메시지 전송
-            messagingTemplate.convertAndSend("/topic/chat/" + messageDto.getSenderId(), objectMapper.writeValueAsString(messageDto));
+    /**
+     * 이 노드에 연결된 사용자에게 읽지 않은 메시지 수를 WebSocket으로 전달
+     * @param jsonMessage {"unreadCount": 읽지 않은 메시지 수}
+     */
+    public void deliverUnreadCount(Long userId, String jsonMessage) {
+        if (chatPresenceService.isConnected(userId)) {
+            messagingTemplate.convertAndSend(UNREAD_TOPIC_PREFIX + userId, jsonMessage);
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("❌ 메시지 처리 중 오류 발생", e);
+    // 채널 이름 끝의 숫자(사용자 ID), 없으면 null
+    private Long channelUserId(String channel) {
+        int end = channel.length();
+        int start = end;
+        while (start > 0 && Character.isDigit(channel.charAt(start - 1))) {
+            start--;
+        }
+        if (start == end || end - start > 18) {
+            return null;
         }
+        return Long.valueOf(channel.substring(start));
     }
 }
@@ -5,12 +5,14 @@ import com.javalab.student.dto.SubstanceDto;
 import com.javalab.student.entity.Member;
 import com.javalab.student.entity.Pet;
 import com.javalab.student.entity.PetAllergy;
+import com.javalab.student.mapper.PetMapper;
 import com.javalab.student.repository.MemberRepository;
 import com.javalab.student.repository.PetRepository;
 import com.javalab.student.service.PetService;
 import com.javalab.student.entity.Substance;
 import com.javalab.student.repository.PetAllergyRepository;
 import com.javalab.student.repository.SubstanceRepository;
+import com.javalab.student.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -23,15 +25,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 import jakarta.persistence.EntityNotFoundException;
-import org.modelmapper.ModelMapper;
 
 @Service
 @RequiredArgsConstructor
@@ -42,7 +43,9 @@ public class PetServiceImpl implements PetService {
     private final MemberRepository memberRepository;
     private final PetAllergyRepository petAllergyRepository;
     private final SubstanceRepository substanceRepository;
-    private final ModelMapper modelMapper;
+    private final PetMapper petMapper;
+    private final ImageVariantService imageVariantService;
+    private final BlobStore blobStore;
 
     @Value("${petImgLocation}")
     private String petUploadPath;
@@ -54,15 +57,7 @@ public String uploadPetImage(MultipartFile file) {
             throw new IllegalArgumentException("파일이 비어 있습니다.");
         }
 
-        // 파일 저장 경로 생성
-        String originalFilename = file.getOriginalFilename();
-        String fileName = System.currentTimeMillis() + "_" + originalFilename;
-        Path filePath = Paths.get(petUploadPath, fileName);
-
-        // 파일 저장
-        Files.copy(file.getInputStream(), filePath);
-
-        return fileName; // 저장된 파일 이름 반환
+        return storePetImage(file); // 저장된 파일 키 반환
     } catch (IOException e) {
         log.error("이미지 업로드 중 오류 발생: {}", e.getMessage());
         throw new RuntimeException("이미지 업로드 중 오류 발생", e);
@@ -72,15 +67,19 @@ public String uploadPetImage(MultipartFile file) {
     
 
     @Override
+    @Transactional
     public void updatePetImage(Long petId, MultipartFile image) {
         if (image != null && !image.isEmpty()) {
-            // 이미지 업로드 및 경로 반환
+            // 이미지 업로드 및 파일 키 반환
             String uploadedFileName = uploadPetImage(image);
 
             // 반려동물 엔티티 조회 및 업데이트
             Pet pet = petRepository.findById(petId)
                     .orElseThrow(() -> new IllegalArgumentException("해당 ID의 반려동물이 존재하지 않습니다."));
-            pet.setImageUrl(uploadedFileName); // 이미지 URL 업데이트
+            releasePetImage(pet);
+            pet.setImageUrl("/api/pets/image/" + uploadedFileName); // 이미지 URL 업데이트
+            pet.setImageName(uploadedFileName);
+            blobStore.retain(uploadedFileName);
             petRepository.save(pet);
         }
     }
@@ -91,7 +90,7 @@ public String uploadPetImage(MultipartFile file) {
         try {
             Page<Pet> pets = petRepository.findByUserId(userId, pageable);
             log.info("Found {} pets for user {}", pets.getContent().size(), userId);
-            return pets.map(pet -> modelMapper.map(pet, PetDto.class));
+            return pets.map(petMapper::toDto);
         } catch (Exception e) {
             log.error("Error fetching pets for user {}: {}", userId, e.getMessage());
             throw new RuntimeException("Failed to fetch pets for user", e);
@@ -104,7 +103,7 @@ public String uploadPetImage(MultipartFile file) {
         Pet pet = petRepository.findById(petId)
                 .orElseThrow(() -> new EntityNotFoundException("Pet not found with id: " + petId));
         
-        PetDto petDto = modelMapper.map(pet, PetDto.class);
+        PetDto petDto = petMapper.toDto(pet);
         
         // 이미지 URL이 있는 경우 로그로 확인
         if (petDto.getImageUrl() != null) {
@@ -161,21 +160,15 @@ public String uploadPetImage(MultipartFile file) {
 @Transactional
 public PetDto registerPet(PetDto petDto, MultipartFile image) {
     try {
-        Pet pet = modelMapper.map(petDto, Pet.class);
+        Pet pet = petMapper.toEntity(petDto);
 
         // 이미지 업로드 처리
         if (image != null && !image.isEmpty()) {
-            String originalFilename = image.getOriginalFilename();
-            String fileName = System.currentTimeMillis() + "_" + originalFilename;
-
-            Path filePath = Paths.get(petUploadPath, fileName);
-
-            // 파일 저장
-            Files.copy(image.getInputStream(), filePath);
+            String fileName = storePetImage(image);
 
-            // 이미지 URL 생성 (중복 방지)
             pet.setImageUrl("/api/pets/image/" + fileName); // API 경로 설정
-            pet.setImageName(fileName); // 실제 파일 이름 저장
+            pet.setImageName(fileName); // 파일 저장소 키 저장
+            blobStore.retain(fileName);
         }
 
         Pet savedPet = petRepository.save(pet);
@@ -185,7 +178,7 @@ public PetDto registerPet(PetDto petDto, MultipartFile image) {
             savePetAllergies(savedPet.getPetId(), petDto.getAllergyIds());
         }
         
-        return modelMapper.map(savedPet, PetDto.class);
+        return petMapper.toDto(savedPet);
     } catch (IOException e) {
         log.error("이미지 업로드 중 오류 발생: {}", e.getMessage());
         throw new RuntimeException("이미지 업로드 중 오류 발생", e);
@@ -211,34 +204,25 @@ public PetDto updatePet(Long petId, PetDto petDto, MultipartFile image) {
 
     // 이미지 업데이트 처리
     if (image != null && !image.isEmpty()) {
-        // 기존 이미지 삭제
-        if (pet.getImageUrl() != null) {
-            Path oldImagePath = Paths.get(petUploadPath, pet.getImageName());
-            try {
-                Files.deleteIfExists(oldImagePath);
-            } catch (IOException e) {
-                log.warn("기존 이미지를 삭제하지 못했습니다: {}", e.getMessage());
-            }
-        }
+        // 기존 이미지 참조 해제
+        releasePetImage(pet);
 
         // 새 이미지 업로드 및 설정
-        String originalFilename = image.getOriginalFilename();
-        String fileName = System.currentTimeMillis() + "_" + originalFilename;
-
-        Path filePath = Paths.get(petUploadPath, fileName);
+        String fileName;
         try {
-            image.transferTo(filePath.toFile());
+            fileName = storePetImage(image);
         } catch (IOException e) {
             log.error("이미지 업로드 중 오류 발생: {}", e.getMessage(), e);
             throw new RuntimeException("이미지 업로드 중 오류 발생", e);
         }
 
         pet.setImageUrl("/api/pets/image/" + fileName); // API 경로 설정
-        pet.setImageName(fileName); // 실제 파일 이름 저장
+        pet.setImageName(fileName); // 파일 저장소 키 저장
+        blobStore.retain(fileName);
     }
 
     Pet updatedPet = petRepository.save(pet);
-    return modelMapper.map(updatedPet, PetDto.class);
+    return petMapper.toDto(updatedPet);
 }
 
     
@@ -260,10 +244,8 @@ public void deletePet(Long petId, String userEmail) {
         throw new AccessDeniedException("사용자가 해당 반려동물을 삭제할 권한이 없습니다.");
     }
     
-    // 이미지 삭제
-    if (pet.getImageUrl() != null) {
-        deleteExistingImage(pet.getImageUrl());
-    }
+    // 이미지 참조 해제
+    releasePetImage(pet);
     
     // Pet 삭제
     petRepository.delete(pet);
@@ -271,23 +253,36 @@ public void deletePet(Long petId, String userEmail) {
 
 
 
-    private String saveImage(MultipartFile image) {
-        try {
-            String fileName = UUID.randomUUID().toString() + "_" + image.getOriginalFilename();
-            Path targetLocation = Paths.get(petUploadPath).resolve(fileName);
-            Files.copy(image.getInputStream(), targetLocation);
-            return fileName;
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not store image " + image.getOriginalFilename(), ex);
+    // 이미지 파일을 파일 저장소에 저장하고 크기별 변환본 생성 요청(커밋 후 백그라운드)
+    private String storePetImage(MultipartFile image) throws IOException {
+        BlobStore.StoredBlob blob;
+        try (InputStream inputStream = image.getInputStream()) {
+            blob = blobStore.put(inputStream, image.getOriginalFilename());
         }
+        imageVariantService.generateAfterCommit(blob.getPath());
+        return blob.getKey();
     }
 
-    private void deleteExistingImage(String imageUrl) {
-        try {
-            Path imagePath = Paths.get(petUploadPath).resolve(imageUrl);
-            Files.deleteIfExists(imagePath);
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not delete image " + imageUrl, ex);
+    // 반려동물 이미지 참조 해제
+    // - 파일 저장소 도입 전 방식(petImgLocation에 "시각_원본파일명")으로 저장된 파일은 커밋 후 삭제
+    //   (롤백되면 DB에는 이전 이미지 이름이 남으므로 파일도 남겨 둔다)
+    private void releasePetImage(Pet pet) {
+        String imageName = pet.getImageName();
+        if (imageName == null || imageName.isEmpty()) {
+            return;
+        }
+        if (blobStore.isKey(imageName)) {
+            blobStore.release(imageName);
+            return;
         }
+        Path imagePath = Paths.get(petUploadPath, imageName);
+        TransactionUtil.afterCommit(() -> {
+            try {
+                Files.deleteIfExists(imagePath);
+            } catch (IOException e) {
+                log.warn("기존 이미지를 삭제하지 못했습니다: {}", e.getMessage());
+            }
+            imageVariantService.deleteVariants(imagePath);
+        });
     }
 }
\ No newline at end of file
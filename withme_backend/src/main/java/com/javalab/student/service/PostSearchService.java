@@ -0,0 +1,539 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.PostSearchDto;
+import com.javalab.student.entity.Post;
+import com.javalab.student.repository.PostRepository;
+import com.javalab.student.util.TransactionUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.charfilter.HTMLStripCharFilter;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.NullFragmenter;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 게시글 검색 서비스(Lucene 색인)
+ * - 게시글 제목, 본문, 카테고리를 postIndexLocation 디렉토리의 Lucene 색인에 저장하고 검색한다.
+ *   별도 검색 서버 없이 애플리케이션 안에서 색인/검색하며, 한국어는 nori 형태소 분석기로 분석한다.
+ * - 본문은 HTML 태그를 제거하고 엔티티(&amp; 등)를 변환한 텍스트로 색인한다.
+ * - 게시글 생성/수정/삭제 시 트랜잭션 커밋 후 색인에 반영하고(롤백된 변경은 반영하지 않음),
+ *   색인 변경은 post.search.commit-interval-ms 마다 디스크에 커밋한다.
+ * - 검색 결과는 점수(제목 > 카테고리 > 본문 가중치) 순으로 정렬하고 검색어를 <em>으로 강조한다.
+ * - 색인은 rebuild()로 게시글 테이블에서 다시 만들 수 있다.(애플리케이션 시작 시 색인이 비어 있으면 자동 실행)
+ *   재생성은 새 하위 디렉토리(postIndexLocation/gen-{시각})에 따로 만든 뒤 현재 색인과 교체하므로,
+ *   재생성하는 동안에도 검색, 색인 반영, 주기적 커밋은 기존 색인으로 계속 처리된다.
+ *   현재 사용하는 하위 디렉토리 이름은 postIndexLocation/current 파일에 기록한다.
+ * - 색인 디렉토리는 서버마다 따로 두어야 한다.(IndexWriter는 디렉토리 잠금을 하나의 프로세스만 가질 수 있다)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostSearchService {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_CATEGORY = "postCategory";
+
+    private static final String[] SEARCH_FIELDS = {FIELD_TITLE, FIELD_CATEGORY, FIELD_CONTENT};
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(FIELD_TITLE, 3f, FIELD_CATEGORY, 2f, FIELD_CONTENT, 1f);
+
+    // 본문 강조 구간 길이(글자 수)
+    private static final int FRAGMENT_SIZE = 120;
+
+    private static final String SELECT_POSTS_SQL = "SELECT post_id, title, content, post_category FROM posts";
+
+    // 현재 색인 하위 디렉토리 이름을 기록하는 파일, 색인 하위 디렉토리 이름 접두어
+    private static final String CURRENT_FILE = "current";
+    private static final String GENERATION_PREFIX = "gen-";
+
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${postIndexLocation}")
+    private String indexLocation;
+
+    private final Analyzer analyzer = new KoreanAnalyzer();
+
+    // 검색, 색인 반영에 사용하는 현재 색인
+    private volatile SearchIndex index;
+
+    // 색인 교체 잠금 : 색인 반영/커밋은 읽기 잠금(동시 실행), 교체는 쓰기 잠금
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    // 재생성 중인 색인과 재생성 중에 색인 반영된 게시글 ID(rebuildLock으로 보호)
+    private final Object rebuildLock = new Object();
+    private SearchIndex rebuilding;
+    private Set<Long> changedDuringRebuild;
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path root = Paths.get(indexLocation);
+        Files.createDirectories(root);
+        Path currentFile = root.resolve(CURRENT_FILE);
+        Path indexPath = Files.exists(currentFile)
+                ? root.resolve(Files.readString(currentFile).trim())
+                : root.resolve(GENERATION_PREFIX + System.currentTimeMillis());
+        index = SearchIndex.open(indexPath, analyzer, IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writeCurrent(indexPath);
+        deleteOtherGenerations(indexPath);
+        log.info("게시글 검색 색인 열기: {} (문서 {}건)", indexPath, index.writer.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        index.close();
+        analyzer.close();
+    }
+
+    /**
+     * 색인이 비어 있으면 게시글 테이블로부터 색인 생성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            if (index.writer.getDocStats().numDocs == 0 && postRepository.count() > 0) {
+                log.info("게시글 검색 색인이 비어 있어 색인을 생성합니다.");
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("게시글 검색 색인 생성 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 트랜잭션 커밋 후 게시글 색인(추가 또는 교체)
+     */
+    public void indexAfterCommit(Post post) {
+        Long postId = post.getId();
+        String title = post.getTitle();
+        String content = post.getContent();
+        String category = post.getPostCategory();
+        TransactionUtil.afterCommit(() -> {
+            try {
+                Document document = toDocument(postId, title, content, category);
+                applyChange(postId, writer -> writer.updateDocument(idTerm(postId), document));
+            } catch (IOException | RuntimeException e) {
+                log.error("게시글 색인 실패: 게시글 ID={}, error={}", postId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 트랜잭션 커밋 후 게시글 색인 삭제
+     */
+    public void deleteAfterCommit(Long postId) {
+        TransactionUtil.afterCommit(() -> {
+            try {
+                applyChange(postId, writer -> writer.deleteDocuments(idTerm(postId)));
+            } catch (IOException | RuntimeException e) {
+                log.error("게시글 색인 삭제 실패: 게시글 ID={}, error={}", postId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 게시글 검색
+     * @param keyword 검색어(Lucene 쿼리 문법은 사용하지 않고 일반 문자열로 취급)
+     * @param page 페이지 번호(0부터)
+     * @param size 페이지 크기
+     * @return 점수 순 검색 결과(검색어 강조 포함)
+     */
+    public Page<PostSearchDto> search(String keyword, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        Query query = parseQuery(keyword);
+        if (query instanceof MatchNoDocsQuery) {
+            return Page.empty(pageRequest);
+        }
+
+        SearcherManager searcherManager;
+        IndexSearcher searcher;
+        try {
+            while (true) {
+                searcherManager = index.searcherManager;
+                try {
+                    searcherManager.maybeRefresh();
+                    searcher = searcherManager.acquire();
+                    break;
+                } catch (AlreadyClosedException e) {
+                    // 조회하는 사이에 재생성된 색인으로 교체되어 닫힌 경우 새 색인으로 다시 조회
+                    if (searcherManager == index.searcherManager) {
+                        throw e;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            int totalHits = searcher.count(query);
+            TopDocs topDocs = searcher.search(query, (int) Math.min(pageRequest.getOffset() + size, Integer.MAX_VALUE));
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+
+            List<PostSearchDto> results = new ArrayList<>();
+            StoredFields storedFields = searcher.storedFields();
+            for (int i = (int) pageRequest.getOffset(); i < scoreDocs.length; i++) {
+                Document document = storedFields.document(scoreDocs[i].doc);
+                results.add(PostSearchDto.builder()
+                        .id(Long.valueOf(document.get(FIELD_ID)))
+                        .title(document.get(FIELD_TITLE))
+                        .titleHighlight(highlight(query, FIELD_TITLE, document.get(FIELD_TITLE), false))
+                        .contentHighlight(highlight(query, FIELD_CONTENT, document.get(FIELD_CONTENT), true))
+                        .postCategory(document.get(FIELD_CATEGORY))
+                        .score(scoreDocs[i].score)
+                        .build());
+            }
+            fillPostDetails(results);
+            return new PageImpl<>(results, pageRequest, totalHits);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                searcherManager.release(searcher);
+            } catch (IOException e) {
+                log.warn("검색 색인 반환 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 게시글 테이블로부터 색인 전체 재생성
+     * - 새 하위 디렉토리에 색인을 만들고 커밋한 뒤 현재 색인과 교체한다.
+     *   교체 전까지 검색, 색인 반영, 커밋은 기존 색인으로 처리되고, 실패하면 새 색인만 버린다.
+     * - 재생성 중에 반영된 게시글 변경은 기존 색인과 새 색인에 모두 반영하고,
+     *   테이블을 읽는 중에 이전 값으로 덮어쓰지 않도록 그 게시글은 재생성 대상에서 제외한다.
+     * - 교체된 기존 색인은 닫고 삭제한다.(검색 중인 요청은 이미 가져온 색인 읽기 객체로 끝까지 처리된다)
+     * @return 색인한 게시글 수
+     */
+    public synchronized int rebuild() {
+        long startedAt = System.currentTimeMillis();
+        Path indexPath = Paths.get(indexLocation).resolve(GENERATION_PREFIX + startedAt);
+        SearchIndex fresh;
+        try {
+            fresh = SearchIndex.open(indexPath, analyzer, IndexWriterConfig.OpenMode.CREATE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        synchronized (rebuildLock) {
+            rebuilding = fresh;
+            changedDuringRebuild = new HashSet<>();
+        }
+
+        int[] count = {0};
+        SearchIndex old;
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_POSTS_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(500);
+                return ps;
+            }, (ResultSet rs) -> {
+                long postId = rs.getLong("post_id");
+                try {
+                    Document document = toDocument(postId, rs.getString("title"),
+                            rs.getString("content"), rs.getString("post_category"));
+                    synchronized (rebuildLock) {
+                        if (!changedDuringRebuild.contains(postId)) {
+                            fresh.writer.updateDocument(idTerm(postId), document);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+            fresh.writer.commit();
+            fresh.searcherManager.maybeRefresh();
+            writeCurrent(indexPath);
+
+            swapLock.writeLock().lock();
+            try {
+                synchronized (rebuildLock) {
+                    rebuilding = null;
+                    changedDuringRebuild = null;
+                }
+                old = index;
+                index = fresh;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        } catch (IOException | RuntimeException e) {
+            synchronized (rebuildLock) {
+                rebuilding = null;
+                changedDuringRebuild = null;
+            }
+            discard(fresh);
+            if (e instanceof IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+            throw (RuntimeException) e;
+        }
+
+        try {
+            old.close();
+        } catch (IOException | RuntimeException e) {
+            log.warn("이전 게시글 검색 색인 닫기 실패: {}", e.getMessage());
+        }
+        deleteOtherGenerations(indexPath);
+        log.info("게시글 검색 색인 재생성 완료: {}건, 소요 {}ms", count[0], System.currentTimeMillis() - startedAt);
+        return count[0];
+    }
+
+    /**
+     * 색인 변경 사항을 디스크에 커밋(커밋 전에도 검색에는 반영되어 있다)
+     * - 재생성 중인 색인은 재생성이 끝날 때 한 번에 커밋하므로 여기서 커밋하지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${post.search.commit-interval-ms:10000}")
+    public void commit() {
+        swapLock.readLock().lock();
+        try {
+            if (index.writer.hasUncommittedChanges()) {
+                index.writer.commit();
+            }
+        } catch (IOException e) {
+            log.error("게시글 검색 색인 커밋 실패: {}", e.getMessage());
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // 현재 색인에 변경을 반영하고, 재생성 중이면 재생성 중인 색인에도 반영
+    private void applyChange(Long postId, IndexChange change) throws IOException {
+        swapLock.readLock().lock();
+        try {
+            change.apply(index.writer);
+            index.searcherManager.maybeRefresh();
+            synchronized (rebuildLock) {
+                if (rebuilding != null) {
+                    changedDuringRebuild.add(postId);
+                    change.apply(rebuilding.writer);
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // 재생성에 실패한 색인을 버린다.(커밋되지 않은 변경을 되돌리고 디렉토리 삭제)
+    private void discard(SearchIndex failed) {
+        try {
+            failed.searcherManager.close();
+            failed.writer.rollback();
+            failed.directory.close();
+            deleteRecursively(failed.path);
+        } catch (IOException e) {
+            log.warn("게시글 검색 색인 정리 실패: {}, error={}", failed.path, e.getMessage());
+        }
+    }
+
+    // 현재 색인 하위 디렉토리 이름 기록(임시 파일에 쓴 뒤 이동)
+    private void writeCurrent(Path indexPath) throws IOException {
+        Path root = Paths.get(indexLocation);
+        Path temp = root.resolve(CURRENT_FILE + ".tmp");
+        Files.writeString(temp, indexPath.getFileName().toString());
+        Files.move(temp, root.resolve(CURRENT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 현재 색인이 아닌 색인 하위 디렉토리 삭제(교체된 색인, 실패한 재생성)
+    private void deleteOtherGenerations(Path current) {
+        try (Stream<Path> generations = Files.list(Paths.get(indexLocation))) {
+            generations.filter(path -> path.getFileName().toString().startsWith(GENERATION_PREFIX))
+                    .filter(path -> !path.equals(current))
+                    .forEach(this::deleteRecursively);
+        } catch (IOException e) {
+            log.warn("이전 게시글 검색 색인 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    private void deleteRecursively(Path path) {
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.debug("색인 파일 삭제 실패(다음 시작 시 다시 삭제): {}", file);
+                }
+            });
+        } catch (IOException e) {
+            log.debug("색인 디렉토리 삭제 실패: {}", path);
+        }
+    }
+
+    private Query parseQuery(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return new MatchNoDocsQuery();
+        }
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer, FIELD_BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            Query query = parser.parse(QueryParser.escape(keyword.trim()));
+            // 검색어가 모두 불용어(조사 등)로 제거된 경우
+            return query != null ? query : new MatchNoDocsQuery();
+        } catch (ParseException e) {
+            return new MatchNoDocsQuery();
+        }
+    }
+
+    // 검색어를 <em>으로 감싼 문자열(fragment : 본문은 검색어 주변 일부만, 제목은 전체)
+    private String highlight(Query query, String field, String text, boolean fragment) throws IOException {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        QueryScorer scorer = new QueryScorer(query, field);
+        Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"), new SimpleHTMLEncoder(), scorer);
+        highlighter.setTextFragmenter(fragment ? new SimpleSpanFragmenter(scorer, FRAGMENT_SIZE) : new NullFragmenter());
+        try {
+            String highlighted = highlighter.getBestFragment(analyzer, field, text);
+            if (highlighted != null) {
+                return highlighted;
+            }
+        } catch (InvalidTokenOffsetsException e) {
+            log.debug("검색어 강조 실패: {}", e.getMessage());
+        }
+        String plain = fragment && text.length() > FRAGMENT_SIZE ? text.substring(0, FRAGMENT_SIZE) : text;
+        return SimpleHTMLEncoder.htmlEncode(plain);
+    }
+
+    // 목록 표시용 정보(썸네일, 조회수, 작성일 등)는 DB에서 조회
+    private void fillPostDetails(List<PostSearchDto> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        Map<Long, Post> posts = postRepository.findAllById(results.stream().map(PostSearchDto::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        for (PostSearchDto result : results) {
+            Post post = posts.get(result.getId());
+            if (post == null) {
+                continue;
+            }
+            result.setUserId(post.getUserId());
+            result.setThumbnailUrl(post.getThumbnailUrl());
+            result.setViews(post.getViews());
+            result.setRegTime(post.getRegTime());
+            result.setUpdateTime(post.getUpdateTime());
+        }
+    }
+
+    private Document toDocument(long postId, String title, String content, String category) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, String.valueOf(postId), Field.Store.YES));
+        document.add(new TextField(FIELD_TITLE, title != null ? title : "", Field.Store.YES));
+        document.add(new TextField(FIELD_CONTENT, stripHtml(content), Field.Store.YES));
+        document.add(new TextField(FIELD_CATEGORY, category != null ? category : "", Field.Store.YES));
+        return document;
+    }
+
+    // HTML 태그 제거, 엔티티 변환, 연속 공백 정리
+    private String stripHtml(String html) throws IOException {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder(html.length());
+        try (Reader reader = new HTMLStripCharFilter(new StringReader(html))) {
+            char[] buffer = new char[4096];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                text.append(buffer, 0, read);
+            }
+        }
+        return text.toString().replaceAll("\\s+", " ").trim();
+    }
+
+    private Term idTerm(Long postId) {
+        return new Term(FIELD_ID, String.valueOf(postId));
+    }
+
+    @FunctionalInterface
+    private interface IndexChange {
+        void apply(IndexWriter writer) throws IOException;
+    }
+
+    /**
+     * 색인 디렉토리 하나의 IndexWriter, SearcherManager
+     */
+    private static final class SearchIndex {
+        private final Path path;
+        private final FSDirectory directory;
+        private final IndexWriter writer;
+        private final SearcherManager searcherManager;
+
+        private SearchIndex(Path path, FSDirectory directory, IndexWriter writer, SearcherManager searcherManager) {
+            this.path = path;
+            this.directory = directory;
+            this.writer = writer;
+            this.searcherManager = searcherManager;
+        }
+
+        static SearchIndex open(Path path, Analyzer analyzer, IndexWriterConfig.OpenMode openMode) throws IOException {
+            Files.createDirectories(path);
+            FSDirectory directory = FSDirectory.open(path);
+            IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(openMode));
+            return new SearchIndex(path, directory, writer, new SearcherManager(writer, null));
+        }
+
+        void close() throws IOException {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+    }
+}
@@ -2,15 +2,20 @@ package com.javalab.student.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.javalab.student.dto.PostDto;
+import com.javalab.student.dto.PostSummaryDto;
 
 public interface PostService {
     PostDto createPost(PostDto postDto);
     PostDto createPost(PostDto postDto, MultipartFile image);
     
     Page<PostDto> getAllPosts(Pageable pageable);
+
+    // 게시글 피드(최신순, 커서 기반), cursor가 null이면 첫 페이지
+    Slice<PostSummaryDto> getFeed(String cursor, int size);
     PostDto getPostById(Long id);
 
     PostDto updatePost(Long id, PostDto postDto, Long userId);
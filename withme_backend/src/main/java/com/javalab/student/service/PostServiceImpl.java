@@ -2,29 +2,34 @@ package com.javalab.student.service;
 
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.javalab.student.dto.CommentDto;
 import com.javalab.student.dto.PostDto;
-import com.javalab.student.entity.Comment;
+import com.javalab.student.dto.PostSummaryDto;
 import com.javalab.student.entity.Member;
 import com.javalab.student.entity.Post;
+import com.javalab.student.mapper.PostMapper;
 import com.javalab.student.repository.MemberRepository;
 import com.javalab.student.repository.PostRepository;
+import com.javalab.student.util.SeekCursor;
 
 import lombok.extern.slf4j.Slf4j;
-import net.coobird.thumbnailator.Thumbnails;
 
 @Service
 @Slf4j
@@ -32,35 +37,47 @@ public class PostServiceImpl implements PostService {
     // 의존성 주입을 위한 필드
     private final PostRepository postRepository;
     private final MemberRepository memberRepository;
-    private final ModelMapper modelMapper;
+    private final PostMapper postMapper;
+    private final ImageVariantService imageVariantService;
+    private final BlobStore blobStore;
+    private final PostViewCounter postViewCounter;
+    private final PostSearchService postSearchService;
+    private final HotPostRankingService hotPostRankingService;
+
+    // 본문, 이미지 URL에서 파일 저장소 키를 찾는 패턴(/api/posts/image/{키})
+    private static final Pattern POST_IMAGE_KEY_PATTERN =
+            Pattern.compile("/api/posts/image/([0-9a-f]{64}(?:\\.[a-z0-9]{1,10})?)");
 
     @Value("${postImgLocation}")
     private String postUploadPath;
     
 
     @Override
+    @Transactional
     public PostDto createPost(PostDto postDto) {
-        Post post = modelMapper.map(postDto, Post.class);
+        Post post = postMapper.toEntity(postDto);
         post.setViews(0);
         Post savedPost = postRepository.save(post);
-        return modelMapper.map(savedPost, PostDto.class);
+        // 본문(에디터)에 포함된 이미지 파일 참조
+        updateImageReferences(Set.of(), referencedImageKeys(savedPost));
+        postSearchService.indexAfterCommit(savedPost);
+        hotPostRankingService.recordPostAfterCommit(savedPost);
+        return postMapper.toDto(savedPost);
     }
 
     // 생성자 주입
-    public PostServiceImpl(PostRepository postRepository, MemberRepository memberRepository, ModelMapper modelMapper) {
+    public PostServiceImpl(PostRepository postRepository, MemberRepository memberRepository, PostMapper postMapper,
+                           ImageVariantService imageVariantService, BlobStore blobStore,
+                           PostViewCounter postViewCounter, PostSearchService postSearchService,
+                           HotPostRankingService hotPostRankingService) {
         this.postRepository = postRepository;
         this.memberRepository = memberRepository;
-        this.modelMapper = modelMapper;
-        configureModelMapper();
-    }
-
-    // ModelMapper 설정
-    private void configureModelMapper() {
-        modelMapper.typeMap(Comment.class, CommentDto.class).addMappings(mapper -> {
-            mapper.map(src -> src.getPost().getId(), CommentDto::setPostId);
-            mapper.map(src -> src.getParentComment() != null ? src.getParentComment().getId() : null,
-                    CommentDto::setParentCommentId);
-        });
+        this.postMapper = postMapper;
+        this.imageVariantService = imageVariantService;
+        this.blobStore = blobStore;
+        this.postViewCounter = postViewCounter;
+        this.postSearchService = postSearchService;
+        this.hotPostRankingService = hotPostRankingService;
     }
 
     // 게시글 목록 조회 (페이징, 정렬 적용)
@@ -69,55 +86,67 @@ public class PostServiceImpl implements PostService {
         return postRepository.findAll(pageable).map(this::entityToDto);
     }
 
+    // 게시글 피드 조회(최신순, 마지막으로 받은 게시글의 (등록 시간, ID) 다음부터)
+    // - OFFSET, COUNT 쿼리 없이 인덱스(reg_time, post_id) 범위로 조회하고 본문은 조회하지 않는다.
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<PostSummaryDto> getFeed(String cursor, int size) {
+        PageRequest pageRequest = PageRequest.of(0, size);
+        Slice<PostSummaryDto> feed;
+        if (cursor == null || cursor.isEmpty()) {
+            feed = postRepository.findFeed(pageRequest);
+        } else {
+            SeekCursor seekCursor = SeekCursor.decode(cursor);
+            feed = postRepository.findFeedBefore(seekCursor.regTime(), seekCursor.id(), pageRequest);
+        }
+        for (PostSummaryDto post : feed) {
+            post.setViews(postViewCounter.currentViews(post.getId(), post.getViews()));
+        }
+        return feed;
+    }
+
     // 게시글 상세 조회
     @Override
     @Transactional(readOnly = true)
     public PostDto getPostById(Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. ID: " + id));
-        return modelMapper.map(post, PostDto.class);
+        PostDto postDto = postMapper.toDto(post);
+        postDto.setViews(postViewCounter.currentViews(post.getId(), post.getViews()));
+        return postDto;
     }
 
-    // 게시글 조회수 증가 및 조회
+    // 게시글 조회수 증가 및 조회(조회수는 PostViewCounter가 모아서 DB에 반영)
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public PostDto increaseViewsAndGet(Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. ID: " + id));
-        
-        post.setViews(post.getViews() + 1);
-        Post savedPost = postRepository.save(post);
-        
-        return modelMapper.map(savedPost, PostDto.class);
+
+        postViewCounter.increment(post.getId());
+        hotPostRankingService.recordView(post.getId());
+
+        PostDto postDto = postMapper.toDto(post);
+        postDto.setViews(postViewCounter.currentViews(post.getId(), post.getViews()));
+        return postDto;
     }
 
     // 게시글 생성
     @Override
     @Transactional
     public PostDto createPost(PostDto postDto, MultipartFile image) {
-        Post post = modelMapper.map(postDto, Post.class);
+        Post post = postMapper.toEntity(postDto);
         post.setViews(0);
     
         // 이미지 처리
         if (image != null && !image.isEmpty()) {
             try {
-                // 원본 이미지 저장
-                String originalFilename = image.getOriginalFilename();
-                String fileName = System.currentTimeMillis() + "_" + originalFilename;
-                Path targetLocation = Paths.get(postUploadPath).resolve(fileName);
-                Files.copy(image.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-                
-                // 썸네일 생성
-                String thumbnailName = "thumb_" + fileName;
-                Path thumbnailPath = Paths.get(postUploadPath).resolve(thumbnailName);
-                
-                Thumbnails.of(targetLocation.toFile())
-                    .size(300, 300) // 썸네일 크기 조정
-                    .toFile(thumbnailPath.toFile());
+                // 원본 이미지 저장(파일 저장소), 크기별 변환본(썸네일 포함)은 커밋 후 백그라운드에서 생성
+                String fileName = storePostImage(image);
                 
                 // 이미지 정보 저장
                 post.setImageUrl("/api/posts/image/" + fileName);
-                post.setThumbnailUrl("/api/posts/image/" + thumbnailName); // 썸네일 URL 설정
+                post.setThumbnailUrl(thumbnailUrl(fileName)); // 썸네일 URL 설정
             } catch (IOException e) {
                 log.error("이미지 업로드 중 오류 발생: {}", e.getMessage());
                 throw new RuntimeException("이미지 업로드 중 오류 발생", e);
@@ -125,7 +154,10 @@ public class PostServiceImpl implements PostService {
         }
     
         Post savedPost = postRepository.save(post);
-        return modelMapper.map(savedPost, PostDto.class);
+        updateImageReferences(Set.of(), referencedImageKeys(savedPost));
+        postSearchService.indexAfterCommit(savedPost);
+        hotPostRankingService.recordPostAfterCommit(savedPost);
+        return postMapper.toDto(savedPost);
     }
 
     // 게시글 수정
@@ -138,6 +170,7 @@ public class PostServiceImpl implements PostService {
         if (!existingPost.getUserId().equals(userId)) {
             throw new SecurityException("작성자만 수정할 수 있습니다.");
         }
+        Set<String> previousImageKeys = referencedImageKeys(existingPost);
     
         // content null 체크 및 기본값 설정
         if (postDto.getContent() == null || postDto.getContent().trim().isEmpty()) {
@@ -167,7 +200,10 @@ public class PostServiceImpl implements PostService {
     
         try {
             Post savedPost = postRepository.save(existingPost);
-            return modelMapper.map(savedPost, PostDto.class);
+            updateImageReferences(previousImageKeys, referencedImageKeys(savedPost));
+            postSearchService.indexAfterCommit(savedPost);
+            hotPostRankingService.refreshSummaryAfterCommit(savedPost);
+            return postMapper.toDto(savedPost);
         } catch (Exception e) {
             log.error("게시글 수정 중 오류 발생: {}", e.getMessage());
             throw new RuntimeException("게시글 수정 중 오류가 발생했습니다.", e);
@@ -184,6 +220,8 @@ public class PostServiceImpl implements PostService {
             throw new SecurityException("작성자만 수정할 수 있습니다.");
         }
 
+        Set<String> previousImageKeys = referencedImageKeys(existingPost);
+
         existingPost.setTitle(postDto.getTitle());
         existingPost.setContent(postDto.getContent());
         existingPost.setPostCategory(postDto.getPostCategory());
@@ -191,31 +229,16 @@ public class PostServiceImpl implements PostService {
         // 이미지 업데이트 처리
         if (image != null && !image.isEmpty()) {
             try {
-                // 기존 이미지 삭제
-                if (existingPost.getImageUrl() != null) {
-                    Path oldImagePath = Paths.get(postUploadPath).resolve(extractFileName(existingPost.getImageUrl()));
-                    Path oldThumbnailPath = Paths.get(postUploadPath).resolve(extractFileName(existingPost.getThumbnailUrl()));
-                    Files.deleteIfExists(oldImagePath);
-                    Files.deleteIfExists(oldThumbnailPath);
-                }
-
-                // 새 이미지 저장
-                String originalFilename = image.getOriginalFilename();
-                String fileName = System.currentTimeMillis() + "_" + originalFilename;
-                Path targetLocation = Paths.get(postUploadPath).resolve(fileName);
-                Files.copy(image.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-                
-                // 썸네일 생성
-                String thumbnailName = "thumb_" + fileName;
-                Path thumbnailPath = Paths.get(postUploadPath).resolve(thumbnailName);
-                
-                Thumbnails.of(targetLocation.toFile())
-                    .size(300, 300) // 썸네일 크기 조정
-                    .toFile(thumbnailPath.toFile());
+                // 파일 저장소 도입 전 방식으로 저장된 기존 이미지, 썸네일, 변환본 삭제
+                // (파일 저장소의 이미지는 아래에서 참조 수만 줄인다)
+                deleteLegacyImages(existingPost);
+
+                // 새 이미지 저장(파일 저장소), 크기별 변환본(썸네일 포함)은 커밋 후 백그라운드에서 생성
+                String fileName = storePostImage(image);
                 
                 // 이미지 정보 업데이트
                 existingPost.setImageUrl("/api/posts/image/" + fileName);
-                existingPost.setThumbnailUrl("/api/posts/image/" + thumbnailName);
+                existingPost.setThumbnailUrl(thumbnailUrl(fileName));
             } catch (IOException e) {
                 log.error("이미지 업로드 중 오류 발생: {}", e.getMessage());
                 throw new RuntimeException("이미지 업로드 중 오류 발생", e);
@@ -223,19 +246,81 @@ public class PostServiceImpl implements PostService {
         }
 
         Post savedPost = postRepository.save(existingPost);
-        return modelMapper.map(savedPost, PostDto.class);
+        updateImageReferences(previousImageKeys, referencedImageKeys(savedPost));
+        postSearchService.indexAfterCommit(savedPost);
+        hotPostRankingService.refreshSummaryAfterCommit(savedPost);
+        return postMapper.toDto(savedPost);
     }
 
 
 
 
-     // 파일 이름 추출 유틸리티 메서드
+     // 게시글 이미지를 파일 저장소에 저장하고 크기별 변환본 생성 요청(커밋 후 백그라운드)
+     private String storePostImage(MultipartFile image) throws IOException {
+        BlobStore.StoredBlob blob;
+        try (InputStream inputStream = image.getInputStream()) {
+            blob = blobStore.put(inputStream, image.getOriginalFilename());
+        }
+        imageVariantService.generateAfterCommit(blob.getPath());
+        return blob.getKey();
+     }
+
+     // 게시글이 참조하는 파일 저장소 키(대표 이미지, 썸네일, 본문에 포함된 이미지)
+     private Set<String> referencedImageKeys(Post post) {
+        Set<String> keys = new HashSet<>();
+        for (String text : new String[]{post.getContent(), post.getImageUrl(), post.getThumbnailUrl()}) {
+            if (text == null) {
+                continue;
+            }
+            Matcher matcher = POST_IMAGE_KEY_PATTERN.matcher(text);
+            while (matcher.find()) {
+                keys.add(matcher.group(1));
+            }
+        }
+        return keys;
+     }
+
+     // 게시글 수정 전후로 새로 참조한 파일은 참조 수 증가, 더 이상 참조하지 않는 파일은 감소
+     private void updateImageReferences(Set<String> previousKeys, Set<String> currentKeys) {
+        for (String key : currentKeys) {
+            if (!previousKeys.contains(key)) {
+                blobStore.retain(key);
+            }
+        }
+        for (String key : previousKeys) {
+            if (!currentKeys.contains(key)) {
+                blobStore.release(key);
+            }
+        }
+     }
+
+     // 파일 저장소 도입 전 방식(postImgLocation에 "시각_원본파일명", "thumb_" 썸네일)으로 저장된 이미지 삭제
+     private void deleteLegacyImages(Post post) throws IOException {
+        for (String url : new String[]{post.getImageUrl(), post.getThumbnailUrl()}) {
+            String fileName = extractFileName(url);
+            if (fileName == null || fileName.isEmpty() || blobStore.isKey(fileName)) {
+                continue;
+            }
+            Path imagePath = Paths.get(postUploadPath).resolve(fileName);
+            Files.deleteIfExists(imagePath);
+            imageVariantService.deleteVariants(imagePath);
+        }
+     }
+
+     // 썸네일 URL(목록용 크기 변환본)
+     private String thumbnailUrl(String fileName) {
+        return "/api/posts/image/" + fileName + "?w=" + ImageVariantService.THUMBNAIL_WIDTH;
+     }
+
+     // 파일 이름 추출 유틸리티 메서드(?w= 등 쿼리 문자열 제외)
      private String extractFileName(String url) {
         if (url == null || url.isEmpty()) {
             return null;
         }
         try {
-            return url.substring(url.lastIndexOf("/") + 1);
+            int queryIndex = url.indexOf('?');
+            String path = queryIndex >= 0 ? url.substring(0, queryIndex) : url;
+            return path.substring(path.lastIndexOf("/") + 1);
         } catch (StringIndexOutOfBoundsException e) {
             log.warn("잘못된 파일 URL 형식: {}", url);
             return null;
@@ -254,25 +339,13 @@ public void deletePost(Long id, Long userId) {
             throw new SecurityException("작성자만 삭제할 수 있습니다.");
         }
 
-        // 이미지 삭제 로직
-        if (existingPost.getImageUrl() != null) {
-            try {
-                String imageFileName = extractFileName(existingPost.getImageUrl());
-                String thumbnailFileName = extractFileName(existingPost.getThumbnailUrl());
-                
-                if (imageFileName != null && !imageFileName.isEmpty()) {
-                    Path imagePath = Paths.get(postUploadPath).resolve(imageFileName);
-                    Files.deleteIfExists(imagePath);
-                }
-                
-                if (thumbnailFileName != null && !thumbnailFileName.isEmpty()) {
-                    Path thumbnailPath = Paths.get(postUploadPath).resolve(thumbnailFileName);
-                    Files.deleteIfExists(thumbnailPath);
-                }
-            } catch (IOException e) {
-                log.error("이미지 파일 삭제 중 오류 발생: {}", e.getMessage());
-                // 이미지 삭제 실패해도 게시글은 삭제 진행
-            }
+        // 이미지 참조 해제(파일 저장소), 이전 방식으로 저장된 이미지 파일은 삭제
+        updateImageReferences(referencedImageKeys(existingPost), Set.of());
+        try {
+            deleteLegacyImages(existingPost);
+        } catch (IOException e) {
+            log.error("이미지 파일 삭제 중 오류 발생: {}", e.getMessage());
+            // 이미지 삭제 실패해도 게시글은 삭제 진행
         }
 
         // 연관된 댓글이 있는 경우 (cascading이 설정되어 있지만 명시적으로 처리)
@@ -281,6 +354,8 @@ public void deletePost(Long id, Long userId) {
         }
 
         postRepository.delete(existingPost);
+        postSearchService.deleteAfterCommit(id);
+        hotPostRankingService.removeAfterCommit(id);
         log.info("게시글 {} 이 성공적으로 삭제되었습니다.", id);
         
     } catch (Exception e) {
@@ -310,17 +385,8 @@ public Page<PostDto> getPostsByUserId(Long userId, Pageable pageable) {
 
     // Entity를 DTO로 변환하는 유틸리티 메서드
     private PostDto entityToDto(Post post) {
-        return PostDto.builder()
-            .id(post.getId())
-            .userId(post.getUserId())
-            .title(post.getTitle())
-            .content(post.getContent())
-            .postCategory(post.getPostCategory())
-            .views(post.getViews())
-            .regTime(post.getRegTime())
-            .updateTime(post.getUpdateTime())
-            .thumbnailUrl(post.getThumbnailUrl()) 
-            .imageUrl(post.getImageUrl()) 
-            .build();
+        PostDto postDto = postMapper.toDto(post);
+        postDto.setViews(postViewCounter.currentViews(post.getId(), post.getViews()));
+        return postDto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.javalab.student.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 게시글 조회수 카운터(write-behind)
+ * - 조회할 때마다 게시글 행을 수정하지 않고 게시글별 증가분을 메모리에 더해 두었다가,
+ *   post.views.flush-interval-ms 마다 UPDATE posts SET views = views + ? 를 batch로 실행해 DB에 반영한다.
+ *   인기 게시글도 조회 1회당 메모리 증가 연산 한 번이며, 행 잠금 경합과 본문(TEXT) 컬럼 재기록이 없다.
+ * - 반영할 때는 게시글의 증가분을 맵에서 먼저 꺼낸다(remove). 증가(merge)와 꺼내기는 같은 키에 대해 원자적이므로
+ *   꺼낸 뒤에 들어온 조회는 새 증가분으로 쌓이고 유실되지 않는다.
+ * - 꺼낸 증가분은 DB에 커밋될 때까지 반영 중(flushing)으로 보관하고,
+ *   조회수를 보여줄 때는 DB 값에 반영 대기 + 반영 중인 증가분을 더한다.(반영하는 동안 조회수가 줄어 보이지 않음)
+ * - 증가분을 더하는 방식이므로 서버가 여러 대여도 각 서버의 증가분이 모두 반영된다.
+ *   (서버가 비정상 종료되면 마지막 반영 이후의 증가분은 유실될 수 있다)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostViewCounter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE_VIEWS_SQL = "UPDATE posts SET views = views + ? WHERE post_id = ?";
+
+    // 반영 대기 중인 증가분
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    // DB에 반영 중인(커밋 전) 증가분
+    private final ConcurrentHashMap<Long, Long> flushing = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 조회수 1 증가(DB에는 다음 반영 주기에 기록)
+     */
+    public void increment(Long postId) {
+        pending.merge(postId, 1L, Long::sum);
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 조회수 증가분(반영 대기 + 반영 중)
+     */
+    public long pendingViews(Long postId) {
+        return flushing.getOrDefault(postId, 0L) + pending.getOrDefault(postId, 0L);
+    }
+
+    /**
+     * DB 조회수 + 반영 대기 중인 증가분
+     */
+    public int currentViews(Long postId, int persistedViews) {
+        return (int) Math.min(Integer.MAX_VALUE, persistedViews + pendingViews(postId));
+    }
+
+    /**
+     * 반영 대기 중인 증가분을 DB에 batch로 반영
+     * - 반영에 실패한 batch의 증가분은 다시 반영 대기에 더해 두고 다음 주기에 재시도한다.
+     */
+    @Scheduled(fixedDelayString = "${post.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long postId : pending.keySet()) {
+            Long delta = take(postId);
+            if (delta == null) {
+                continue;
+            }
+            rows.add(new Object[]{delta, postId});
+            if (rows.size() == BATCH_SIZE) {
+                writeBatch(rows);
+                rows = new ArrayList<>();
+            }
+        }
+        if (!rows.isEmpty()) {
+            writeBatch(rows);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // 증가분을 반영 대기에서 꺼내 반영 중으로 옮긴다.
+    private Long take(Long postId) {
+        Long[] taken = new Long[1];
+        pending.computeIfPresent(postId, (id, delta) -> {
+            flushing.merge(id, delta, Long::sum);
+            taken[0] = delta;
+            return null;
+        });
+        return taken[0];
+    }
+
+    private void writeBatch(List<Object[]> rows) {
+        boolean written = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_VIEWS_SQL, rows));
+            written = true;
+            log.debug("게시글 조회수 반영: {}건", rows.size());
+        } catch (RuntimeException e) {
+            log.error("게시글 조회수 반영 실패({}건), 다음 주기에 재시도: {}", rows.size(), e.getMessage());
+        } finally {
+            for (Object[] row : rows) {
+                Long postId = (Long) row[1];
+                Long delta = (Long) row[0];
+                if (!written) {
+                    pending.merge(postId, delta, Long::sum);
+                }
+                flushing.computeIfPresent(postId, (id, value) -> value - delta == 0 ? null : value - delta);
+            }
+        }
+    }
+}
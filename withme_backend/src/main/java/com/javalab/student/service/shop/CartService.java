@@ -32,7 +32,7 @@ public class CartService {
     private final CartItemRepository cartItemRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
-    private final OrderService orderService;
+    private final CheckoutService checkoutService;
 
     /**
      * 장바구니에 상품 추가
@@ -147,46 +147,17 @@ public class CartService {
     /**
      * 장바구니 상품 주문
      * - 컨트롤러 레이어에서 전달받은 장바구니 상품 리스트를 이용해서 주문을 생성한다.
-     * - 주문 생성 후 장바구니 상품을 삭제한다.
-     * @return
+     * - 장바구니 상품/상품 조회, 재고 차감, 주문 저장은 CheckoutService에서 상품 수와 관계없이 한 번씩 처리한다.
+     * - 같은 멱등성 키로 다시 요청하면 새 주문을 만들지 않고 처음 생성된 주문 번호를 반환한다.
+     * - 장바구니 상품은 결제 완료 후 삭제한다.(PaymentService)
+     * @param cartOrderItems 주문할 장바구니 상품 리스트
+     * @param email 주문자 이메일
+     * @param idempotencyKey 멱등성 키(Idempotency-Key 헤더, 없으면 null)
+     * @return 주문 번호
      */
-
-    public Long orderCartItem(List<CartOrderItemDto> cartOrderItems, String email) {
-        log.info("orderCartItem 서비스 시작",cartOrderItems, email );
-        // 1. 주문할 상품 리스트를 담을 리스트 생성
-        List<OrderItemDto> orderItemDtoList = new ArrayList<>();
-
-        // 2. CartOrderRequestDto 내부의 cartOrderItems를 순회하며 OrderDto 리스트 생성
-        for (CartOrderItemDto cartOrderItemDto : cartOrderItems) {
-            // 2.1. 장바구니 상품 조회
-            CartItem cartItem = cartItemRepository
-                    .findById(cartOrderItemDto.getCartItemId())
-                    .orElseThrow(EntityNotFoundException::new);
-
-            // 2.2. OrderItemDto 객체 생성 및 값 설정
-            OrderItemDto orderItemDto = new OrderItemDto();
-            orderItemDto.setItemId(cartItem.getItem().getId());
-            orderItemDto.setItemNm(cartItem.getItem().getItemNm());
-            orderItemDto.setCount(cartOrderItemDto.getCount()); // 요청받은 수량 사용
-
-            orderItemDtoList.add(orderItemDto);
-        }
-
-        // 3. 주문 서비스 호출하여 주문 생성
-        Long orderId = orderService.orders(orderItemDtoList, email);
-
-        // 4. 주문 완료 후 장바구니 항목 삭제
-        /*for (CartOrderItemDto cartOrderItemDto : cartOrderItems) {
-            CartItem cartItem = cartItemRepository
-                    .findById(cartOrderItemDto.getCartItemId())
-                    .orElseThrow(EntityNotFoundException::new);
-            // 장바구니에서 해당 상품 삭제
-            cartItemRepository.delete(cartItem);
-            log.info("삭제된 장바구니 상품 ID: " + cartOrderItemDto.getCartItemId());
-        }*/
-
-        // 5. 주문 ID 반환
-        return orderId;
+    public Long orderCartItem(List<CartOrderItemDto> cartOrderItems, String email, String idempotencyKey) {
+        log.info("orderCartItem 서비스 시작: 상품 {}건, 사용자 {}, 멱등성 키 {}", cartOrderItems.size(), email, idempotencyKey);
+        return checkoutService.checkout(cartOrderItems, email, idempotencyKey);
     }
 
     /**
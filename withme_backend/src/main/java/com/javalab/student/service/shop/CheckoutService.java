@@ -0,0 +1,172 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.constant.OrderStatus;
+import com.javalab.student.dto.shop.CartOrderItemDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.shop.CartItem;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.entity.shop.Order;
+import com.javalab.student.entity.shop.OrderItem;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.shop.CartItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장바구니 주문(체크아웃) 서비스
+ * - 장바구니 상품 수와 관계없이 고정된 횟수의 쿼리로 주문을 생성한다.
+ *   1) 장바구니 상품 + 상품 + 소유자를 IN 절 한 번으로 조회
+ *   2) 모든 상품의 재고를 StockReservationService로 한 번에 차감
+ *   3) 주문, 주문 상품을 JDBC batch insert로 저장
+ * - 멱등성 키(Idempotency-Key)를 전달하면 같은 회원의 같은 키로는 주문이 하나만 생성되고,
+ *   네트워크 재시도 등으로 같은 요청이 다시 들어오면 처음 생성된 주문 번호를 그대로 반환한다.
+ *   (orders 테이블의 (user_id, idempotency_key) 유니크 제약으로 동시에 들어온 중복 요청도 막는다.)
+ * - 주문/주문 상품 ID는 Hibernate의 ID 생성기에서 받아오므로 JPA로 저장하는 주문과 ID가 겹치지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class CheckoutService {
+
+    private static final String INSERT_ORDER_SQL =
+            "INSERT INTO orders (order_id, user_id, order_date, order_status, order_amount, idempotency_key, " +
+            "reg_time, update_time, created_by, modified_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ORDER_ITEM_SQL =
+            "INSERT INTO order_item (order_item_id, order_id, item_id, order_price, count, " +
+            "reg_time, update_time, created_by, modified_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final CartItemRepository cartItemRepository;
+    private final MemberRepository memberRepository;
+    private final StockReservationService stockReservationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * 장바구니 상품 주문
+     * @param cartOrderItems 주문할 장바구니 상품 ID, 수량 목록
+     * @param email 주문자 이메일
+     * @param idempotencyKey 멱등성 키(없으면 중복 요청 검사를 하지 않는다)
+     * @return 주문 번호(같은 멱등성 키로 이미 생성된 주문이 있으면 그 주문 번호)
+     */
+    @Transactional
+    public Long checkout(List<CartOrderItemDto> cartOrderItems, String email, String idempotencyKey) {
+        // 1. 주문자 조회 및 이미 처리된 요청인지 확인
+        Member member = memberRepository.findByEmail(email);
+        if (member == null) {
+            throw new EntityNotFoundException("회원 정보를 찾을 수 없습니다: " + email);
+        }
+        if (idempotencyKey != null) {
+            Long existingOrderId = findOrderIdByIdempotencyKey(member.getId(), idempotencyKey, false);
+            if (existingOrderId != null) {
+                log.info("이미 처리된 주문 요청입니다. 멱등성 키={}, 주문 ID={}", idempotencyKey, existingOrderId);
+                return existingOrderId;
+            }
+        }
+
+        // 2. 장바구니 상품 ID별 주문 수량
+        Map<Long, Integer> countByCartItemId = new LinkedHashMap<>();
+        for (CartOrderItemDto cartOrderItemDto : cartOrderItems) {
+            if (cartOrderItemDto.getCount() <= 0) {
+                throw new IllegalArgumentException("주문 수량은 1개 이상이어야 합니다.");
+            }
+            countByCartItemId.merge(cartOrderItemDto.getCartItemId(), cartOrderItemDto.getCount(), Integer::sum);
+        }
+
+        // 3. 장바구니 상품 + 상품 + 소유자를 한 번에 조회하고 소유자 확인
+        Map<Long, CartItem> cartItemMap = new LinkedHashMap<>();
+        for (CartItem cartItem : cartItemRepository.findWithItemAndMemberByIdIn(countByCartItemId.keySet())) {
+            if (!cartItem.getCart().getMember().getId().equals(member.getId())) {
+                throw new SecurityException("주문 권한이 없습니다.");
+            }
+            cartItemMap.put(cartItem.getId(), cartItem);
+        }
+        if (cartItemMap.size() != countByCartItemId.size()) {
+            throw new EntityNotFoundException("장바구니 상품을 찾을 수 없습니다.");
+        }
+
+        // 4. 주문 상품(상품, 수량, 주문 당시 가격) 및 총 주문금액 계산
+        List<OrderItem> orderItems = new ArrayList<>();
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        long totalAmount = 0L;
+        for (Map.Entry<Long, Integer> entry : countByCartItemId.entrySet()) {
+            Item item = cartItemMap.get(entry.getKey()).getItem();
+            OrderItem orderItem = OrderItem.createReservedOrderItem(item, entry.getValue());
+            orderItems.add(orderItem);
+            quantities.merge(item.getId(), entry.getValue(), Integer::sum);
+            totalAmount += orderItem.getTotalPrice();
+        }
+
+        // 5. 주문 저장, 같은 멱등성 키의 주문이 동시에 저장되었으면 그 주문 번호 반환
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTimestamp = Timestamp.valueOf(now);
+        Long orderId = nextId(Order.class);
+        try {
+            jdbcTemplate.update(INSERT_ORDER_SQL,
+                    orderId, member.getId(), nowTimestamp, OrderStatus.ORDERED.name(), totalAmount, idempotencyKey,
+                    nowTimestamp, nowTimestamp, email, email);
+        } catch (DuplicateKeyException e) {
+            Long existingOrderId = findOrderIdByIdempotencyKey(member.getId(), idempotencyKey, true);
+            log.info("동시에 처리된 주문 요청입니다. 멱등성 키={}, 주문 ID={}", idempotencyKey, existingOrderId);
+            return existingOrderId;
+        }
+
+        // 6. 모든 상품의 재고를 한 번에 차감(재고 부족 시 OutOfStockException, 주문 저장도 롤백)
+        stockReservationService.reserve(quantities);
+
+        // 7. 주문 상품 batch insert
+        List<Object[]> orderItemRows = new ArrayList<>(orderItems.size());
+        for (OrderItem orderItem : orderItems) {
+            orderItemRows.add(new Object[]{
+                    nextId(OrderItem.class), orderId, orderItem.getItem().getId(),
+                    orderItem.getOrderPrice(), orderItem.getCount(),
+                    nowTimestamp, nowTimestamp, email, email});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM_SQL, orderItemRows);
+
+        log.info("장바구니 주문 완료: 주문 ID={}, 주문 상품 {}건, 주문금액={}", orderId, orderItems.size(), totalAmount);
+        return orderId;
+    }
+
+    /**
+     * 멱등성 키로 생성된 주문 번호 조회
+     * - lockingRead : 중복 키 오류 후에는 공유 잠금 읽기(LOCK IN SHARE MODE)로 다른 트랜잭션이 방금 커밋한 주문을 조회한다.
+     *   (REPEATABLE READ의 일반 조회는 트랜잭션 시작 시점 스냅샷을 읽으므로 그 주문이 보이지 않는다)
+     *   중복 키 오류가 난 INSERT는 이미 그 행에 공유(S) 잠금을 갖고 있으므로 같은 S 잠금은 바로 얻는다.
+     *   FOR UPDATE(배타 잠금)로 올리면 같은 키로 동시에 재시도한 요청들이 서로의 S 잠금을 기다리며 교착된다.
+     *   처음 확인할 때는 잠금 없이 조회한다.(없는 행을 잠그면 동시 요청끼리 갭 락 교착이 생길 수 있다)
+     */
+    private Long findOrderIdByIdempotencyKey(Long memberId, String idempotencyKey, boolean lockingRead) {
+        String sql = "SELECT order_id FROM orders WHERE user_id = ? AND idempotency_key = ?"
+                + (lockingRead ? " LOCK IN SHARE MODE" : "");
+        List<Long> orderIds = jdbcTemplate.queryForList(sql, Long.class, memberId, idempotencyKey);
+        return orderIds.isEmpty() ? null : orderIds.get(0);
+    }
+
+    /**
+     * 엔티티에 설정된 Hibernate ID 생성기로 다음 ID 발급
+     */
+    private Long nextId(Class<?> entityClass) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) persister.getGenerator();
+        return ((Number) generator.generate(session, null, null, EventType.INSERT)).longValue();
+    }
+}
@@ -0,0 +1,116 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.service.BlobStore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.thymeleaf.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 이미지 업로드 처리(ingestion) 서비스
+ * - 업로드된 파일을 byte[]로 읽지 않고 입력 스트림에서 파일 저장소(BlobStore)로 바로 복사한다.
+ *   (파일 크기와 관계없이 힙에는 복사용 버퍼만 사용)
+ * - 여러 파일은 imageIngestionExecutor(크기 제한 스레드 풀)에서 병렬로 저장한다.
+ * - DB 트랜잭션 밖에서 호출하도록 만들어져 있다. 파일을 모두 저장한 뒤 짧은 트랜잭션에서 메타데이터(ItemImg 등)만
+ *   저장하면 디스크 쓰기 동안 커넥션 풀의 커넥션을 잡고 있지 않는다.
+ * - 저장된 파일은 참조 수가 0이므로, 메타데이터 저장이 롤백되면 고아 파일 정리 작업(BlobOrphanSweeper)이 삭제한다.
+ */
+@Service
+public class ImageIngestionService {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final BlobStore blobStore;
+
+    public ImageIngestionService(@Qualifier("imageIngestionExecutor") ThreadPoolTaskExecutor executor,
+                                 BlobStore blobStore) {
+        this.executor = executor;
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * 저장된 이미지 파일 정보
+     * - 비어 있는 파일(선택하지 않은 파일)은 파일명, 경로가 빈 문자열이다.
+     */
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static class StoredImage {
+        private final String oriImgName;  // 원본 파일명
+        private final String imgName;     // 저장 파일명(파일 저장소 키)
+        private final String imgUrl;      // 조회 경로
+        private final Path path;          // 저장 위치(비어 있는 파일은 null)
+        private final boolean created;    // 새로 저장한 파일이면 true, 같은 내용의 파일이 이미 있었으면 false
+
+        public boolean isEmpty() {
+            return path == null;
+        }
+    }
+
+    /**
+     * 여러 이미지 파일을 병렬로 저장
+     * - 반환 목록의 순서는 전달받은 파일 순서와 같다.
+     * - 하나라도 실패하면 IOException을 던진다.(이미 저장된 파일은 참조가 없으므로 정리 작업이 삭제한다)
+     * @param files 업로드된 파일 목록
+     * @param urlPrefix 조회 경로 접두사(예: /images/item/)
+     */
+    public List<StoredImage> storeAll(List<MultipartFile> files, String urlPrefix) throws IOException {
+        List<CompletableFuture<StoredImage>> futures = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return store(file, urlPrefix);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+
+        List<StoredImage> storedImages = new ArrayList<>(files.size());
+        IOException failure = null;
+        for (CompletableFuture<StoredImage> future : futures) {
+            try {
+                storedImages.add(future.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (failure == null) {
+                    failure = cause instanceof UncheckedIOException unchecked
+                            ? unchecked.getCause() : new IOException("이미지 저장 실패", cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return storedImages;
+    }
+
+    /**
+     * 이미지 파일 하나 저장
+     * - 같은 내용의 파일이 이미 저장되어 있으면 디스크에 다시 쓰지 않고 기존 파일을 사용한다.
+     */
+    public StoredImage store(MultipartFile file, String urlPrefix) throws IOException {
+        String oriImgName = file.getOriginalFilename();
+        if (file.isEmpty() || StringUtils.isEmpty(oriImgName)) {
+            return new StoredImage(oriImgName == null ? "" : oriImgName, "", "", null, false);
+        }
+
+        BlobStore.StoredBlob blob;
+        try (InputStream inputStream = file.getInputStream()) {
+            blob = blobStore.put(inputStream, oriImgName);
+        }
+        return new StoredImage(oriImgName, blob.getKey(), urlPrefix + blob.getKey(), blob.getPath(), blob.isCreated());
+    }
+}
@@ -0,0 +1,197 @@
+package com.javalab.student.service.shop;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.dto.shop.ItemFormDto;
+import com.javalab.student.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 카탈로그 2단계 캐시 서비스
+ * - 1단계(로컬) : JVM 내부의 크기 제한 Caffeine 캐시, 조회 시 네트워크 왕복이 없다.
+ * - 2단계(원격) : RedisConfig의 CacheManager(Redis)에 저장되어 모든 서버가 공유한다.
+ * - 캐시 키 : 상품 상세는 상품 ID, 상품 목록은 판매 상태
+ * - 관리자가 상품을 등록/수정/판매상태 변경하면 트랜잭션 커밋 후 Redis Pub/Sub으로
+ *   무효화 메시지를 발행하고, 모든 서버가 자신의 로컬 캐시에서 해당 상품을 제거한다.
+ * - 주문/취소로 인한 재고 변경은 무효화하지 않는다.(주문이 몰리면 캐시가 계속 비워지므로)
+ *   캐시의 재고 수량은 유효시간(catalog.cache.*.ttl-seconds)만큼 늦게 반영되고, 실제 재고 판단은 주문 시 DB가 한다.
+ * - Redis 장애 시에도 로컬 캐시에 있는 데이터는 그대로 응답하고, 없으면 DB에서 조회한다.
+ */
+@Slf4j
+@Service
+public class ItemCatalogCacheService implements MessageListener {
+
+    // Redis 캐시 이름 (Redis 키 : itemDetail::{itemId}, itemList::{itemSellStatus})
+    public static final String ITEM_DETAIL_CACHE = "itemDetail";
+    public static final String ITEM_LIST_CACHE = "itemList";
+
+    // 캐시 무효화 메시지를 주고받는 Redis Pub/Sub 채널
+    public static final String INVALIDATION_CHANNEL = "catalog_invalidation";
+
+    private final CacheManager cacheManager;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    // 로컬 캐시(1단계)
+    private final com.github.benmanes.caffeine.cache.Cache<Long, ItemFormDto> localItemDetail;
+    private final com.github.benmanes.caffeine.cache.Cache<ItemSellStatus, List<ItemFormDto>> localItemList;
+
+    public ItemCatalogCacheService(CacheManager cacheManager,
+                                   @Qualifier("redisStringTemplate") RedisTemplate<String, String> redisTemplate,
+                                   @Value("${catalog.cache.local.max-size:10000}") long localMaxSize,
+                                   @Value("${catalog.cache.local.ttl-seconds:600}") long localTtlSeconds) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.localItemDetail = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .build();
+        this.localItemList = Caffeine.newBuilder()
+                .maximumSize(ItemSellStatus.values().length)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .build();
+    }
+
+    /**
+     * 상품 상세 조회 (로컬 → Redis → DB 순서)
+     * @param itemId 상품 ID
+     * @param loader 캐시에 없을 때 DB에서 조회하는 함수
+     */
+    public ItemFormDto getItemDetail(Long itemId, Supplier<ItemFormDto> loader) {
+        return localItemDetail.get(itemId, key -> loadThroughRemote(ITEM_DETAIL_CACHE, key, loader));
+    }
+
+    /**
+     * 판매 상태별 상품 목록 조회 (로컬 → Redis → DB 순서)
+     * @param itemSellStatus 판매 상태
+     * @param loader 캐시에 없을 때 DB에서 조회하는 함수
+     */
+    public List<ItemFormDto> getItemList(ItemSellStatus itemSellStatus, Supplier<List<ItemFormDto>> loader) {
+        return localItemList.get(itemSellStatus, key -> loadThroughRemote(ITEM_LIST_CACHE, key, loader));
+    }
+
+    /**
+     * 상품 변경 시 캐시 무효화
+     * - 상품 상세(해당 상품)와 상품 목록(전체 판매 상태)을 제거한다.
+     * - 변경 중에 다른 요청이 이전 값을 다시 캐싱하지 않도록 즉시 한 번, 커밋 후 한 번 더 제거하고
+     *   커밋 후에 다른 서버로 무효화 메시지를 발행한다.
+     * @param itemId 변경된 상품 ID
+     */
+    public void evictItem(Long itemId) {
+        evictItems(List.of(itemId));
+    }
+
+    /**
+     * 여러 상품의 캐시 무효화
+     * - 상품 목록은 한 번만 제거하고, 무효화 메시지도 한 번(콤마로 구분한 상품 ID)만 발행한다.
+     * @param itemIds 변경된 상품 ID 목록
+     */
+    public void evictItems(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        evictLocal(itemIds);
+        evictRemote(itemIds);
+
+        // 커밋 전에 이전 재고를 다시 캐시한 조회가 있을 수 있으므로 커밋 후 한 번 더 제거하고 다른 서버에 알린다.
+        TransactionUtil.afterCommit(() -> {
+            evictLocal(itemIds);
+            evictRemote(itemIds);
+            publishInvalidation(itemIds);
+        });
+    }
+
+    /**
+     * 다른 서버에서 발행한 무효화 메시지 수신
+     * - 메시지 본문은 변경된 상품 ID(여러 개면 콤마로 구분)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            List<Long> itemIds = new ArrayList<>();
+            for (String itemId : body.split(",")) {
+                itemIds.add(Long.valueOf(itemId.trim()));
+            }
+            evictLocal(itemIds);
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 카탈로그 캐시 무효화 메시지: {}", body);
+        }
+    }
+
+    /**
+     * Redis 캐시(2단계) 조회, 없으면 DB에서 조회 후 Redis에 저장
+     * - Redis 조회/저장 중 오류가 발생하면 DB 조회 결과를 그대로 반환한다.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T loadThroughRemote(String cacheName, Object key, Supplier<T> loader) {
+        Cache remoteCache = cacheManager.getCache(cacheName);
+        if (remoteCache != null) {
+            try {
+                Cache.ValueWrapper wrapper = remoteCache.get(key);
+                if (wrapper != null && wrapper.get() != null) {
+                    return (T) wrapper.get();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Redis 캐시 조회 실패, DB에서 조회합니다. cache={}, key={}, error={}", cacheName, key, e.getMessage());
+            }
+        }
+
+        T value = loader.get();
+
+        if (remoteCache != null && value != null) {
+            try {
+                remoteCache.put(key, value);
+            } catch (RuntimeException e) {
+                log.warn("Redis 캐시 저장 실패. cache={}, key={}, error={}", cacheName, key, e.getMessage());
+            }
+        }
+        return value;
+    }
+
+    private void evictLocal(Collection<Long> itemIds) {
+        localItemDetail.invalidateAll(itemIds);
+        localItemList.invalidateAll();
+    }
+
+    private void evictRemote(Collection<Long> itemIds) {
+        try {
+            Cache detailCache = cacheManager.getCache(ITEM_DETAIL_CACHE);
+            if (detailCache != null) {
+                itemIds.forEach(detailCache::evict);
+            }
+            Cache listCache = cacheManager.getCache(ITEM_LIST_CACHE);
+            if (listCache != null) {
+                for (ItemSellStatus status : ItemSellStatus.values()) {
+                    listCache.evict(status);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Redis 캐시 삭제 실패. itemIds={}, error={}", itemIds, e.getMessage());
+        }
+    }
+
+    private void publishInvalidation(Collection<Long> itemIds) {
+        String body = itemIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, body);
+        } catch (RuntimeException e) {
+            log.warn("카탈로그 캐시 무효화 메시지 발행 실패. itemIds={}, error={}", body, e.getMessage());
+        }
+    }
+}
@@ -2,86 +2,108 @@ package com.javalab.student.service.shop;
 
 import com.javalab.student.entity.shop.ItemImg;
 import com.javalab.student.repository.shop.ItemImgRepository;
+import com.javalab.student.service.BlobStore;
+import com.javalab.student.service.ImageVariantService;
+import com.javalab.student.service.shop.ImageIngestionService.StoredImage;
+import com.javalab.student.util.TransactionUtil;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.thymeleaf.util.StringUtils;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
 /**
  * 상품 이미지 서비스
  */
 @Service
 @Transactional
 @RequiredArgsConstructor
+@Slf4j
 public class ItemImgService {
 
     @Value("${itemImgLocation}")
     private String itemImgLocation;
 
     private final ItemImgRepository itemImgRepository;
-    private final FileService fileService;
+    private final ImageIngestionService imageIngestionService;
+    private final BlobStore blobStore;
+    private final ImageVariantService imageVariantService;
+
+    /**
+     * 상품 이미지 파일 저장
+     * - 이미지 파일을 파일 저장소(BlobStore)에 병렬로 저장한다.
+     * - 디스크에 쓰는 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 없이 실행한다.
+     *   저장된 파일 정보는 saveItemImg(), updateItemImg()로 트랜잭션 안에서 DB에 반영한다.
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public List<StoredImage> storeItemImgFiles(List<MultipartFile> itemImgFileList) throws IOException {
+        return imageIngestionService.storeAll(itemImgFileList, "/images/item/");
+    }
 
     /**
      * 상품 이미지 저장
      * - 상품 이미지 정보를 저장하는 메서드
-     * - 상품 이미지 파일(itemImgFile)을 업로드하고, 상품 이미지 정보(iTemImg)를 저장한다.
+     * - 파일 저장소에 저장된 이미지 파일 정보(storedImage)로 상품 이미지 정보(iTemImg)를 저장하고 파일 참조 수를 늘린다.
      */
-    public void saveItemImg(ItemImg iTemImg, MultipartFile itemImgFile) throws Exception{
-
-        String oriImgName = itemImgFile.getOriginalFilename(); //원본 파일명
-        String imgName = "";
-        String imgUrl = "";
-
-        //파일 업로드(StringUtils : Thymeleaf의 유틸리티 클래스)
-        if(!StringUtils.isEmpty(oriImgName)){
-            // FileService의 uploadFile 메소드를 호출하여 파일 업로드
-            // itemImgLocation : 업로드할 파일 경로
-            // oriImgName : 원본 파일명
-            // itemImgFile.getBytes() : 파일 데이터
-            imgName = fileService.uploadFile(itemImgLocation, oriImgName, itemImgFile.getBytes());
-            imgUrl = "/images/item/" + imgName;
-        }
-
+    public void saveItemImg(ItemImg iTemImg, StoredImage storedImage) {
         //상품 이미지 정보 저장
-        iTemImg.updateItemImg(oriImgName, imgName, imgUrl);
+        iTemImg.updateItemImg(storedImage.getOriImgName(), storedImage.getImgName(), storedImage.getImgUrl());
         itemImgRepository.save(iTemImg);
+        blobStore.retain(storedImage.getImgName());
+
+        // 크기별 변환본 생성(커밋 후 백그라운드)
+        imageVariantService.generateAfterCommit(storedImage.getPath());
     }
 
     /**
      * 상품 이미지 수정
      * - 상품 이미지 정보를 수정하는 메서드
-     * - 상품의 이미지 id와 이미지 파일 정보를 전달 받아서 이미지 정보를 수정한다.
+     * - 상품의 이미지 id와 파일 저장소에 저장된 새 이미지 파일 정보를 전달 받아서 이미지 정보를 수정한다.
+     * - 기존 이미지 파일은 참조 수만 줄이고, 참조가 없어지면 고아 파일 정리 작업이 삭제한다.
+     *   (파일 저장소 도입 전에 저장된 이미지 파일은 커밋 후 바로 삭제)
      */
-    public void updateItemImg(Long itemImgId, MultipartFile itemImgFile) throws Exception {
+    public void updateItemImg(Long itemImgId, StoredImage storedImage) {
 
         // 1. 상품 이미지 조회, 영속화 - 이미지 정보를 수정하기 위해 조회
         ItemImg itemImg = itemImgRepository.findById(itemImgId).orElseThrow(EntityNotFoundException::new);
 
-        // 2. 화면에서 받아온 파일이 존재할 경우 기존 파일 삭제
-        if(!itemImgFile.isEmpty()) {
-            // 2.1. 기존 파일 삭제, 여기서 기존이란? - 기존 이미지 파일을 삭제
-            fileService.deleteFile(itemImgLocation + "/" + itemImg.getImgName());
+        // 2. 새 이미지 파일이 저장된 경우 기존 파일 참조 해제
+        String replacedImgName = itemImg.getImgName();
+        if (!storedImage.isEmpty() && !StringUtils.isEmpty(replacedImgName)) {
+            if (blobStore.isKey(replacedImgName)) {
+                blobStore.release(replacedImgName);
+            } else {
+                deleteLegacyFileAfterCommit(Paths.get(itemImgLocation, replacedImgName));
+            }
         }
-        // 3. 화면에서 받아온 파일이 존재할 경우 새로운 파일 업로드하기 위해서 필요한 변수 선언
-        String oriImgName = itemImgFile.getOriginalFilename(); // 화면에서 받아온 파일명
-        String imgName = "";
-        String imgUrl = "";
 
-        // 4. 파일 업로드(화면에서 받아온 파일이 존재할 경우)
-        if(!StringUtils.isEmpty(oriImgName)){
-            // 4.1. 파일 업로드
-            imgName = fileService.uploadFile(itemImgLocation, oriImgName, itemImgFile.getBytes());
-            // 4.2. 이미지 URL, 이미지 URL은 상대경로로 저장, 이렇게 저장한 값이 DB에 저장됨
-            imgUrl = "/images/item/" + imgName;
-        }
+        // 3. 상품 이미지 정보 수정, 이렇게 수정하면 JPA가 변경감지하여 수정된 내용을 DB에 반영
+        itemImg.updateItemImg(storedImage.getOriImgName(), storedImage.getImgName(), storedImage.getImgUrl());
+        blobStore.retain(storedImage.getImgName());
+
+        // 4. 새 이미지의 크기별 변환본 생성(커밋 후 백그라운드)
+        imageVariantService.generateAfterCommit(storedImage.getPath());
+    }
 
-        // 5. 상품 이미지 정보 수정, 이렇게 수정하면 JPA가 변경감지하여 수정된 내용을 DB에 반영
-        // updateItemImg() 메서드는 ItemImg 엔티티의 메서드로 영속화 되어 있는 ItemImg 엔티티의 정보를 수정하게 되고
-        // JPA가 변경감지하여 수정된 내용을 DB에 반영.
-        itemImg.updateItemImg(oriImgName, imgName, imgUrl);
+    // 파일 저장소 도입 전 방식(itemImgLocation에 UUID 파일명)으로 저장된 이미지 파일과 변환본을 커밋 후 삭제
+    private void deleteLegacyFileAfterCommit(Path path) {
+        TransactionUtil.afterCommit(() -> {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("이미지 파일 삭제 실패: {}, error={}", path, e.getMessage());
+            }
+            imageVariantService.deleteVariants(path);
+        });
     }
 
 }
@@ -6,10 +6,14 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.dto.shop.ItemCatalogSearchDto;
+import com.javalab.student.dto.shop.ItemCatalogSliceDto;
 import com.javalab.student.dto.shop.ItemFormDto;
 import com.javalab.student.dto.shop.ItemImgDto;
 import com.javalab.student.entity.Substance;
@@ -20,6 +24,7 @@ import com.javalab.student.repository.shop.ItemImgRepository;
 import com.javalab.student.repository.shop.ItemRepository;
 import com.javalab.student.repository.shop.ItemSubstanceRepository;
 import com.javalab.student.repository.SubstanceRepository;
+import com.javalab.student.service.shop.ImageIngestionService.StoredImage;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -35,47 +40,61 @@ public class ItemService {
     private final ItemImgRepository itemImgRepository;
     private final ItemSubstanceRepository itemSubstanceRepository;
     private final SubstanceRepository substanceRepository;
+    private final ItemCatalogCacheService itemCatalogCacheService;
+    private final StockReservationService stockReservationService;
+    private final TransactionTemplate transactionTemplate;
 
-    // 상품 등록
-    @Transactional
+    /**
+     * 상품 등록
+     * - 이미지 파일은 트랜잭션 밖에서 병렬로 디스크에 먼저 저장하고,
+     *   짧은 트랜잭션에서 상품, 이미지 정보(메타데이터), 알러지 성분만 저장한다.
+     * - 트랜잭션이 롤백되면 먼저 저장한 이미지 파일은 참조가 없으므로 고아 파일 정리 작업이 삭제한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
 public Long saveItem(ItemFormDto itemFormDto, List<MultipartFile> itemImgFileList) throws Exception {
-    // 1. 상품 등록, 저장(영속화)
-    Item item = itemFormDto.crateItem();
-    itemRepository.save(item);
+    // 1. 이미지 파일 저장(트랜잭션 밖)
+    List<StoredImage> storedImages = itemImgService.storeItemImgFiles(
+            itemImgFileList != null ? itemImgFileList : List.of());
 
-// 2. 이미지 등록
-        if (!itemImgFileList.isEmpty()) {  // 리스트가 비어있지 않을 때만 실행
-            for (int i = 0; i < itemImgFileList.size(); i++) {
-                ItemImg itemImg = new ItemImg();
-                itemImg.setItem(item);
+    return transactionTemplate.execute(status -> {
+        // 2. 상품 등록, 저장(영속화)
+        Item item = itemFormDto.crateItem();
+        itemRepository.save(item);
 
-                // 첫 번째 이미지는 대표 이미지로 설정
-                itemImg.setRepimgYn(i == 0 ? "Y" : "N");
+        // 3. 이미지 정보 등록
+        for (int i = 0; i < storedImages.size(); i++) {
+            ItemImg itemImg = new ItemImg();
+            itemImg.setItem(item);
 
-                // 이미지 저장 서비스 호출
-                itemImgService.saveItemImg(itemImg, itemImgFileList.get(i));
-            }
+            // 첫 번째 이미지는 대표 이미지로 설정
+            itemImg.setRepimgYn(i == 0 ? "Y" : "N");
+
+            itemImgService.saveItemImg(itemImg, storedImages.get(i));
         }
 
-    // 3. 알러지 성분 저장 로직
-    if (itemFormDto.getSubstanceIds() != null && !itemFormDto.getSubstanceIds().isEmpty()) {
-        List<ItemSubstance> itemSubstances = itemFormDto.getSubstanceIds().stream()
-            .map(substanceId -> {
-                Substance substance = substanceRepository.findById(substanceId)
-                    .orElseThrow(() -> new EntityNotFoundException("Substance not found"));
-                
-                ItemSubstance itemSubstance = new ItemSubstance();
-                itemSubstance.setItem(item); // 엔티티 연관관계 설정
-                itemSubstance.setSubstance(substance);
-                
-                return itemSubstance;
-            })
-            .collect(Collectors.toList());
-        
-        itemSubstanceRepository.saveAll(itemSubstances);
-    }
+        // 4. 알러지 성분 저장 로직
+        if (itemFormDto.getSubstanceIds() != null && !itemFormDto.getSubstanceIds().isEmpty()) {
+            List<ItemSubstance> itemSubstances = itemFormDto.getSubstanceIds().stream()
+                .map(substanceId -> {
+                    Substance substance = substanceRepository.findById(substanceId)
+                        .orElseThrow(() -> new EntityNotFoundException("Substance not found"));
+
+                    ItemSubstance itemSubstance = new ItemSubstance();
+                    itemSubstance.setItem(item); // 엔티티 연관관계 설정
+                    itemSubstance.setSubstance(substance);
+
+                    return itemSubstance;
+                })
+                .collect(Collectors.toList());
+
+            itemSubstanceRepository.saveAll(itemSubstances);
+        }
 
-    return item.getId();
+        // 5. 상품 목록 캐시 무효화
+        itemCatalogCacheService.evictItem(item.getId());
+
+        return item.getId();
+    });
 }
 
 
@@ -170,33 +189,49 @@ itemFormDto.setSubstanceIds(substanceIds);
         }
         return item.getId();
     }*/
+    /**
+     * 상품 수정
+     * - 새 이미지 파일은 트랜잭션 밖에서 병렬로 디스크에 먼저 저장하고, 트랜잭션에서는 상품/이미지 정보만 수정한다.
+     * - 교체된 기존 이미지 파일은 참조 수만 줄이고, 참조가 없어진 파일은 고아 파일 정리 작업이 삭제한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long updateItem(ItemFormDto itemFormDto, List<MultipartFile> itemImgFileList) throws Exception {
-        // 1. 수정할 상품 조회 (영속화)
-        Item item = itemRepository.findById(itemFormDto.getId()).orElseThrow(EntityNotFoundException::new);
+        // 1. 새 이미지 파일 저장(트랜잭션 밖)
+        List<StoredImage> storedImages = itemImgService.storeItemImgFiles(itemImgFileList);
+
+        return transactionTemplate.execute(status -> {
+            // 2. 수정할 상품 조회 (영속화)
+            Item item = itemRepository.findById(itemFormDto.getId()).orElseThrow(EntityNotFoundException::new);
+
+            // 3. 영속화된 상품 정보 수정 (변경 감지)
+            item.updateItem(itemFormDto);
+
+            // 4. 기존 상품 이미지 리스트 조회 (DB에서 가져옴)
+            List<ItemImg> itemImgList = itemImgRepository.findByItemId(item.getId());
+
+            // 5. 새로운 이미지 리스트를 기존 이미지와 매칭하여 업데이트
+            for (int i = 0; i < storedImages.size(); i++) {
+                StoredImage storedImage = storedImages.get(i);
+
+                // 기존 이미지가 존재하면 업데이트
+                if (i < itemImgList.size()) {
+                    itemImgService.updateItemImg(itemImgList.get(i).getId(), storedImage);
+                } else {
+                    // 기존 이미지 개수를 초과하는 경우 새 이미지 추가
+                    ItemImg newItemImg = new ItemImg();
+                    newItemImg.setItem(item);
+                    itemImgService.saveItemImg(newItemImg, storedImage);
+                }
+            }
 
-        // 2. 영속화된 상품 정보 수정 (변경 감지)
-        item.updateItem(itemFormDto);
+            // 6. 상품 상세/목록 캐시 무효화
+            itemCatalogCacheService.evictItem(item.getId());
 
-        // 3. 기존 상품 이미지 리스트 조회 (DB에서 가져옴)
-        List<ItemImg> itemImgList = itemImgRepository.findByItemId(item.getId());
-
-        // 4. 새로운 이미지 리스트를 기존 이미지와 매칭하여 업데이트
-        for (int i = 0; i < itemImgFileList.size(); i++) {
-            MultipartFile newFile = itemImgFileList.get(i);
-
-            // 기존 이미지가 존재하면 업데이트
-            if (i < itemImgList.size()) {
-                ItemImg existingItemImg = itemImgList.get(i);
-                itemImgService.updateItemImg(existingItemImg.getId(), newFile);
-            } else {
-                // 기존 이미지 개수를 초과하는 경우 새 이미지 추가 가능 (필요하면 추가)
-                ItemImg newItemImg = new ItemImg();
-                newItemImg.setItem(item);
-                itemImgService.saveItemImg(newItemImg, newFile);
-            }
-        }
+            // 7. 핫 상품이면 변경된 재고로 Redis 재고 토큰 재발급
+            stockReservationService.refreshHotSkuTokens(item.getId());
 
-        return item.getId();
+            return item.getId();
+        });
     }
 
 
@@ -218,49 +253,24 @@ itemFormDto.setSubstanceIds(substanceIds);
     /**
      * 판매중인 상품 리스트
      * 대표 이미지만 반환
+     * - 상품마다 대표 이미지, 알러지 성분을 따로 조회하던 방식(2N+1 쿼리)을
+     *   querydsl 프로젝션 조회(고정 2회 쿼리)로 변경
      * @param itemSellStatus
      * @return
      */
     @Transactional(readOnly = true)
     public List<ItemFormDto> getItemListByItemSellStatus(ItemSellStatus itemSellStatus) {
-        // 1. 판매 상태에 따라 상품 목록 조회
-        List<Item> itemList = itemRepository.findByItemSellStatus(itemSellStatus);
-
-        // 2. 조회된 상품 목록을 ItemFormDto 리스트로 변환
-        List<ItemFormDto> itemFormDtoList = new ArrayList<>();
-
-        for (Item item : itemList) {
-            // 3. 해당 상품의 대표 이미지 조회 (repimgYn = 'Y'인 이미지만 가져오기)
-            ItemImg repItemImg = itemImgRepository.findByItemIdAndRepimgYn(item.getId(), "Y");
-
-            // 4. 대표 이미지가 있을 경우, ItemImgDto로 변환
-            ItemImgDto repItemImgDto = null;
-            if (repItemImg != null) {
-                repItemImgDto = ItemImgDto.entityToDto(repItemImg); // 대표 이미지 DTO 변환
-            }
-
-            // 5. 상품 정보를 ItemFormDto로 변환하고, 대표 이미지 정보 추가
-            ItemFormDto itemFormDto = ItemFormDto.of(item);
-            if (repItemImgDto != null) {
-                itemFormDto.setItemImgDtoList(List.of(repItemImgDto)); // 대표 이미지만 리스트에 추가
-            } else {
-                itemFormDto.setItemImgDtoList(new ArrayList<>()); // 대표 이미지가 없는 경우 빈 리스트
-            }
-
-
-            // 알러지 성분 ID 추가
-        List<Long> substanceIds = itemSubstanceRepository.findByItemId(item.getId()).stream()
-        .map(is -> is.getSubstance().getSubstanceId())
-        .collect(Collectors.toList());
-    
-        itemFormDto.setSubstanceIds(substanceIds);
-
-
-            // 6. 변환된 DTO를 리스트에 추가
-            itemFormDtoList.add(itemFormDto);
-        }
+        return itemRepository.findItemFormDtoListBySellStatus(itemSellStatus);
+    }
 
-        return itemFormDtoList;
+    /**
+     * 상품 카탈로그 페이지 조회(키셋 페이징)
+     * - 전체 상품을 한 번에 내려주지 않고 커서 이후 size건만 조회한다.
+     * @param searchDto 커서 및 검색 조건(가격 범위, 판매 상태, 제외할 알러지 성분)
+     */
+    @Transactional(readOnly = true)
+    public ItemCatalogSliceDto getItemCatalog(ItemCatalogSearchDto searchDto) {
+        return itemRepository.findCatalogSlice(searchDto);
     }
 
 
@@ -272,6 +282,9 @@ itemFormDto.setSubstanceIds(substanceIds);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new EntityNotFoundException("존재하지 않는 상품입니다."));
         item.setItemSellStatus(itemSellStatus); // JPA 변경 감지로 자동 업데이트
+
+        // 상품 상세/목록 캐시 무효화
+        itemCatalogCacheService.evictItem(itemId);
     }
 
 // 상품 등록 시 알러지 정보 저장 메서드
@@ -306,6 +319,9 @@ public void updateItemSubstances(Long itemId, List<Long> safeSubstanceIds) {
             itemSubstanceRepository.save(itemSubstance);
         });
     }
+
+    // 상품 상세/목록 캐시 무효화
+    itemCatalogCacheService.evictItem(itemId);
 }
 
 // 상품의 알러지 안전 정보 조회
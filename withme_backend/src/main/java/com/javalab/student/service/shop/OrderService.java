@@ -1,12 +1,12 @@
 package com.javalab.student.service.shop;
 
 
+import com.javalab.student.constant.OrderStatus;
 import com.javalab.student.dto.shop.OrderDto;
 import com.javalab.student.dto.shop.OrderHistDto;
 import com.javalab.student.dto.shop.OrderItemDto;
 import com.javalab.student.entity.Member;
 import com.javalab.student.entity.shop.Item;
-import com.javalab.student.entity.shop.ItemImg;
 import com.javalab.student.entity.shop.Order;
 import com.javalab.student.entity.shop.OrderItem;
 import com.javalab.student.repository.MemberRepository;
@@ -25,7 +25,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,6 +46,11 @@ public class OrderService {
     private final ItemRepository itemRepository;
     private final MemberRepository memberRepository;
     private final ItemImgRepository itemImgRepository;
+    private final StockReservationService stockReservationService;
+    private final SalesRollupService salesRollupService;
+
+    // 대표 이미지가 없는 상품의 기본 이미지
+    private static final String DEFAULT_IMG_URL = "/assets/images/noImg.jpg";
 
 
     // 주문 엔티티 생성 및 영속화
@@ -79,35 +90,70 @@ public class OrderService {
     @Transactional(readOnly = true)
     public Page<OrderHistDto> getOrderList(String email, Pageable pageable) {
 
-        // 1. 주문 목록 조회
-        List<Order> orders = orderRepository.findOrders(email, pageable);
+        // 1. 주문 번호 목록 조회(페이징), 컬렉션 fetch join은 페이징을 DB에서 할 수 없으므로 ID만 먼저 조회
+        List<Long> orderIds = orderRepository.findOrderIds(email, pageable);
         // 2. 주문 목록 총 개수 조회
         Long totalCount = orderRepository.countOrder(email);
-        // 3. 주문 목록 저장용 ArrayList 생성
+        if (orderIds.isEmpty()) {
+            return new PageImpl<OrderHistDto>(new ArrayList<>(), pageable, totalCount);
+        }
+        // 3. 주문 + 주문 상품 + 상품을 한 번의 쿼리로 조회 후 주문 번호로 매핑
+        Map<Long, Order> orderMap = new HashMap<>();
+        for (Order order : orderRepository.findWithItemsByIdIn(orderIds)) {
+            orderMap.put(order.getId(), order);
+        }
+        // 4. 페이지에 포함된 모든 상품의 대표 이미지를 한 번의 쿼리로 조회
+        Set<Long> itemIds = new HashSet<>();
+        for (Order order : orderMap.values()) {
+            for (OrderItem orderItem : order.getOrderItems()) {
+                itemIds.add(orderItem.getItem().getId());
+            }
+        }
+        Map<Long, String> repImgUrlMap = getRepImgUrlMap(itemIds);
+
+        // 5. 1번에서 조회한 순서(주문일 내림차순)대로 주문 DTO 조립
         List<OrderHistDto> orderHistDtos = new ArrayList<>();
-        // 3.1. 주문 목록을 순회하면서 주문 정보를 DTO로 변환
-        for (Order order : orders) {
-            // 3.1.1. 주문 한 건에 대한 주문 DTO 생성
+        for (Long orderId : orderIds) {
+            Order order = orderMap.get(orderId);
+            if (order == null) {
+                continue;
+            }
             OrderHistDto orderHistDto = new OrderHistDto(order);
-            // 3.1.2. 주문 정보에서 주문 상품 리스트 조회
-            List<OrderItem> orderItems = order.getOrderItems();
-            // 3.2. 하나의 주문에서 여러 상품을 주문할 수 있으므로 상품 리스트를 순회하면서 상품 정보를 DTO로 변환
-            for (OrderItem orderItem : orderItems) {
-                // 3.2.1 주문 상품 리스트에서 각 상품의 대표 이미지만 조회해서 ItemImg 객체 생성
-                ItemImg itemImg = itemImgRepository
-                        .findByItemIdAndRepimgYn(orderItem.getItem().getId(), "Y");
-                // 3.2.2. 주문 상품 DTO 생성
-                OrderItemDto orderItemDto = new OrderItemDto(orderItem, itemImg.getImgUrl());
-                // 3.2.3 주문 DTO에 주문 상품 추가
-                orderHistDto.addOrderItemDto(orderItemDto);
+            for (OrderItem orderItem : order.getOrderItems()) {
+                orderHistDto.addOrderItemDto(toOrderItemDto(orderItem, repImgUrlMap));
             }
-            // 3.3. 주문 목록에 주문 DTO 추가, 한 건의 주문 정보를 전체 주문 목록에 추가
             orderHistDtos.add(orderHistDto);
         }
-        // 4. 주문 목록 반환
+        // 6. 주문 목록 반환
         return new PageImpl<OrderHistDto>(orderHistDtos, pageable, totalCount);
     }
 
+    /**
+     * 상품 ID 목록의 대표 이미지 경로를 한 번에 조회
+     * - 주문 목록/주문 상세에서 주문 상품마다 이미지를 조회하지 않도록 IN 절 한 번으로 조회한다.
+     * @param itemIds 상품 ID 목록
+     * @return 상품 ID → 대표 이미지 경로
+     */
+    private Map<Long, String> getRepImgUrlMap(Collection<Long> itemIds) {
+        Map<Long, String> repImgUrlMap = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return repImgUrlMap;
+        }
+        for (Object[] row : itemImgRepository.findRepImgUrlsByItemIdIn(itemIds)) {
+            // 대표 이미지가 여러 개인 경우 먼저 등록된 이미지를 사용
+            repImgUrlMap.putIfAbsent((Long) row[0], (String) row[1]);
+        }
+        return repImgUrlMap;
+    }
+
+    /**
+     * 주문 상품 DTO 생성, 대표 이미지가 없으면 기본 이미지를 사용
+     */
+    private OrderItemDto toOrderItemDto(OrderItem orderItem, Map<Long, String> repImgUrlMap) {
+        String imgUrl = repImgUrlMap.getOrDefault(orderItem.getItem().getId(), DEFAULT_IMG_URL);
+        return new OrderItemDto(orderItem, imgUrl);
+    }
+
 
     /**
      * 주문 검증 : 주문 취소 권한 확인
@@ -139,12 +185,26 @@ public class OrderService {
      * - 주문 취소를 위해서는 주문 번호가 필요하다.
      * - 주문 번호로 주문을 조회한다.
      * - 주문 취소를 한다.
+     * - 상태 변경은 조건부 UPDATE(status <> CANCELED)로 처리하고, 실제로 1행이 바뀐 요청만 재고를 복원한다.
+     *   같은 주문에 취소 요청이 동시에 들어와도 재고는 한 번만 복원된다.
      * @param orderId
      */
     public void cancelOrder(Long orderId){
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(EntityNotFoundException::new);
-        order.cancelOrder();
+        // 이미 취소된(또는 동시에 취소된) 주문은 재고를 다시 복원하지 않는다.
+        if (orderRepository.updateOrderStatusIfChanged(orderId, OrderStatus.CANCELED) != 1) {
+            return;
+        }
+        // 결제 완료로 매출 집계에 반영된 주문이면 집계에서 제외
+        salesRollupService.revertOrder(order);
+
+        // 주문 상품들의 재고를 한 번의 UPDATE로 복원
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            quantities.merge(orderItem.getItem().getId(), orderItem.getCount(), Integer::sum);
+        }
+        stockReservationService.release(quantities);
     }
 
 
@@ -161,21 +221,28 @@ public class OrderService {
     public Long orders(List<OrderItemDto> orderItemDtoList, String email){
         // 1. 주문자 조회
         Member member = memberRepository.findByEmail(email);
-        // 2. 주문 상품 리스트 저장을 위한 ArrayList 생성
+        // 2. 모든 주문 상품의 재고를 한 번에 차감(원자적 조건부 UPDATE, 재고 부족 시 OutOfStockException)
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemDto orderItemDto : orderItemDtoList) {
+            quantities.merge(orderItemDto.getItemId(), orderItemDto.getCount(), Integer::sum);
+        }
+        stockReservationService.reserve(quantities);
+
+        // 3. 주문 상품 리스트 저장을 위한 ArrayList 생성
         List<OrderItem> orderItemList = new ArrayList<>();
-        // 3. 장바구니에서 전달받은 dto를 순회하면서 주문 상품 엔티티 생성 후 리스트에 추가
+        // 4. 장바구니에서 전달받은 dto를 순회하면서 주문 상품 엔티티 생성 후 리스트에 추가
         for (OrderItemDto orderItemDto : orderItemDtoList) {
             Item item = itemRepository.findById(orderItemDto.getItemId())
                     .orElseThrow(EntityNotFoundException::new);
 
-            OrderItem orderItem = OrderItem.createOrderItem(item, orderItemDto.getCount());
+            OrderItem orderItem = OrderItem.createReservedOrderItem(item, orderItemDto.getCount());
             orderItemList.add(orderItem);
         }
-        // 4. 위에서 생성한 주문 상품 리스트와 주문자를 이용해서 주문 엔티티 생성
+        // 5. 위에서 생성한 주문 상품 리스트와 주문자를 이용해서 주문 엔티티 생성
         Order order = Order.createOrder(member, orderItemList);
-        // 5. 주문 저장(영속화)
+        // 6. 주문 저장(영속화)
         orderRepository.save(order);
-        // 6. 주문 번호 반환
+        // 7. 주문 번호 반환
         return order.getId();
     }
 
@@ -197,19 +264,16 @@ public class OrderService {
             throw new SecurityException("해당 주문에 접근할 권한이 없습니다.");
         }
 
-        // 기본 이미지 URL 설정
-        String defaultImageUrl = "/assets/images/noImg.jpg";
+        // 주문 아이템 + 상품 조회(fetch join) 후 대표 이미지를 한 번에 조회하여 DTO 변환
+        List<OrderItem> orderItems = orderItemRepository.findWithItemByOrderId(orderId);
+        Set<Long> itemIds = new HashSet<>();
+        for (OrderItem orderItem : orderItems) {
+            itemIds.add(orderItem.getItem().getId());
+        }
+        Map<Long, String> repImgUrlMap = getRepImgUrlMap(itemIds);
 
-        // 주문 아이템 조회 및 DTO 변환 (이미지 포함)
-        List<OrderItem> orderItems = orderItemRepository.findByOrderId(orderId);
         return orderItems.stream()
-                .map(orderItem -> {
-                    // 대표 이미지 조회 (Optional.ofNullable 사용)
-                    ItemImg itemImg = itemImgRepository.findByItemIdAndRepimgYn(orderItem.getItem().getId(), "Y");
-                    String imgUrl = (itemImg != null) ? itemImg.getImgUrl() : defaultImageUrl;
-
-                    return new OrderItemDto(orderItem, imgUrl);
-                })
+                .map(orderItem -> toOrderItemDto(orderItem, repImgUrlMap))
                 .collect(Collectors.toList());
     }
     }
@@ -33,6 +33,7 @@ public class PaymentService {
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
     private final CartService cartService;
+    private final SalesRollupService salesRollupService;
 
     @Transactional
     public Map<String, Object> processPayment(PaymentRequestDto requestDto, Long orderId) {
@@ -85,6 +86,9 @@ public class PaymentService {
         order.setOrderStatus(OrderStatus.PAYMENT_COMPLETED);
         orderRepository.save(order);
 
+        // 6.1. 매출 집계에 반영(같은 트랜잭션, 이미 반영된 주문은 무시)
+        salesRollupService.applyOrder(order);
+
         // 7. ✅ 결제 완료 후 장바구니 아이템 삭제
         List<Long> cartItemIds = requestDto.getCartItemId();
         if (cartItemIds != null && !cartItemIds.isEmpty()) {
@@ -0,0 +1,160 @@
+package com.javalab.student.service.shop;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * 주문 상품(매출) CSV 내보내기 서비스
+ * - 기간 내 주문 상품을 엔티티/리스트로 만들지 않고 JDBC 커서(fetch size 지정)로 한 행씩 읽어
+ *   바로 CSV로 출력 스트림에 쓴다. 영속성 컨텍스트를 거치지 않으므로 엔티티가 쌓이지 않는다.
+ * - 출력은 버퍼 단위로 내보내므로 내보내는 행 수(1천 건이든 1천만 건이든)와 관계없이 힙 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class SalesExportService {
+
+    // 한 번에 DB에서 가져오는 행 수(MariaDB 드라이버는 fetch size가 지정되면 결과를 스트리밍한다)
+    private static final int FETCH_SIZE = 1000;
+
+    // 이 행 수마다 응답으로 내보낸다.
+    private static final int FLUSH_ROWS = 5000;
+
+    // 스프레드시트가 수식으로 해석하는 첫 글자
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private static final String CSV_HEADER =
+            "주문번호,주문일,주문상태,주문자이메일,주문상품번호,상품번호,상품명,주문가격,수량,금액";
+
+    private static final String EXPORT_SQL =
+            "SELECT o.order_id, o.order_date, o.order_status, m.email, " +
+            "oi.order_item_id, oi.item_id, i.item_nm, oi.order_price, oi.count " +
+            "FROM orders o " +
+            "JOIN order_item oi ON oi.order_id = o.order_id " +
+            "LEFT JOIN item i ON i.item_id = oi.item_id " +
+            "LEFT JOIN member m ON m.user_id = o.user_id " +
+            "WHERE o.order_date >= ? AND o.order_date < ? " +
+            "ORDER BY o.order_date, o.order_id, oi.order_item_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 기간 내 주문 상품을 CSV로 출력(시작일, 종료일 포함)
+     * - 엑셀에서 한글이 깨지지 않도록 UTF-8 BOM을 먼저 쓴다.
+     * @param startDate 시작일
+     * @param endDate 종료일
+     * @param outputStream 출력 스트림(HTTP 응답)
+     * @return 출력한 행 수(헤더 제외)
+     */
+    public long writeOrderItemsCsv(LocalDate startDate, LocalDate endDate, OutputStream outputStream) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write('\uFEFF');
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        CsvRowWriter rowWriter = new CsvRowWriter(writer);
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setDate(1, Date.valueOf(startDate));
+                ps.setDate(2, Date.valueOf(endDate.plusDays(1)));
+                return ps;
+            }, rowWriter);
+        } catch (UncheckedIOException e) {
+            // 클라이언트가 다운로드를 중단한 경우 등
+            throw e.getCause();
+        }
+        writer.flush();
+
+        log.info("주문 상품 CSV 내보내기 완료: {} ~ {}, {}행, 소요 {}ms",
+                startDate, endDate, rowWriter.rowCount, System.currentTimeMillis() - startedAt);
+        return rowWriter.rowCount;
+    }
+
+    /**
+     * 커서의 현재 행을 CSV 한 줄로 쓰는 콜백
+     */
+    private static class CsvRowWriter implements RowCallbackHandler {
+
+        private final Writer writer;
+        private long rowCount;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long orderPrice = rs.getLong("order_price");
+            int count = rs.getInt("count");
+            Timestamp orderDate = rs.getTimestamp("order_date");
+            try {
+                writer.write(String.valueOf(rs.getLong("order_id")));
+                writer.write(',');
+                writer.write(orderDate != null ? orderDate.toLocalDateTime().toLocalDate().toString() : "");
+                writer.write(',');
+                writeText(rs.getString("order_status"));
+                writer.write(',');
+                writeText(rs.getString("email"));
+                writer.write(',');
+                writer.write(String.valueOf(rs.getLong("order_item_id")));
+                writer.write(',');
+                writer.write(String.valueOf(rs.getLong("item_id")));
+                writer.write(',');
+                writeText(rs.getString("item_nm"));
+                writer.write(',');
+                writer.write(String.valueOf(orderPrice));
+                writer.write(',');
+                writer.write(String.valueOf(count));
+                writer.write(',');
+                writer.write(String.valueOf(orderPrice * count));
+                writer.write('\n');
+
+                if (++rowCount % FLUSH_ROWS == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // 쉼표, 따옴표, 줄바꿈이 포함된 값은 따옴표로 감싸고 따옴표는 두 번 쓴다.
+        // 엑셀이 수식으로 실행하지 않도록 =, +, -, @, 탭, CR로 시작하는 값은 앞에 '를 붙인다.(CSV 수식 삽입 방지)
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
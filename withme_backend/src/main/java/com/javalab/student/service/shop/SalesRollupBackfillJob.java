@@ -0,0 +1,100 @@
+package com.javalab.student.service.shop;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 매출 집계 백필 작업
+ * - 애플리케이션 시작 시 매출 집계가 비어 있으면(집계 테이블 최초 생성) 기존 주문으로 집계를 만든다.
+ * - 매일 정해진 시각(sales.rollup.backfill-cron)에 집계를 다시 계산하여 증분 집계와의 차이를 보정한다.
+ * - 재계산은 집계 테이블을 비우고 다시 채우므로 모든 서버에서 동시에 실행되면 안 된다.
+ *   Redis 잠금(SET NX PX)을 얻은 서버 한 대만 실행하고, 나머지 서버는 건너뛴다.
+ * - 성공하면 잠금을 유효시간까지 남겨 두어 시계가 조금 늦은 서버가 같은 작업을 다시 실행하지 않게 하고,
+ *   실패하면 바로 해제한다.
+ */
+@Component
+@Log4j2
+public class SalesRollupBackfillJob {
+
+    private static final String LOCK_KEY = "sales:rollup:rebuild-lock";
+
+    // 잠금 값이 자신의 것일 때만 삭제(유효시간이 지나 다른 서버가 얻은 잠금은 삭제하지 않음)
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0",
+            Long.class);
+
+    private final SalesRollupService salesRollupService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Duration lockTtl;
+
+    public SalesRollupBackfillJob(SalesRollupService salesRollupService,
+                                  @Qualifier("redisStringTemplate") RedisTemplate<String, String> redisTemplate,
+                                  @Value("${sales.rollup.rebuild-lock-ttl-ms:1800000}") long lockTtlMillis) {
+        this.salesRollupService = salesRollupService;
+        this.redisTemplate = redisTemplate;
+        this.lockTtl = Duration.ofMillis(lockTtlMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (salesRollupService.needsBackfill()) {
+                runLocked("백필", salesRollupService::rebuild);
+            }
+        } catch (RuntimeException e) {
+            log.error("매출 집계 백필 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${sales.rollup.backfill-cron:0 30 3 * * *}")
+    public void rebuildNightly() {
+        try {
+            runLocked("정기 재계산", salesRollupService::rebuild);
+        } catch (RuntimeException e) {
+            log.error("매출 집계 정기 재계산 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void runLocked(String name, Runnable task) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired;
+        try {
+            acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, lockTtl);
+        } catch (RuntimeException e) {
+            log.warn("매출 집계 {} 생략: 잠금 획득 실패, error={}", name, e.getMessage());
+            return;
+        }
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.info("매출 집계 {} 생략: 다른 서버에서 실행 중이거나 최근에 실행됨", name);
+            return;
+        }
+
+        log.info("매출 집계 {}을 실행합니다.", name);
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            release(token);
+            throw e;
+        }
+    }
+
+    private void release(String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(LOCK_KEY), token);
+        } catch (RuntimeException e) {
+            log.warn("매출 집계 잠금 해제 실패, 유효시간이 지나면 해제됩니다. error={}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.constant.OrderStatus;
+import com.javalab.student.entity.shop.Order;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 매출 집계(rollup) 갱신 서비스
+ * - 결제 완료된 주문을 일별(sales_daily), 일별 상품별(sales_daily_item) 집계 테이블에 반영한다.
+ * - 결제 완료 시 applyOrder()로 더하고, 주문 취소 시 revertOrder()로 뺀다.
+ *   호출한 트랜잭션(결제/취소)과 같은 트랜잭션에서 실행되므로 주문 상태와 집계가 함께 커밋/롤백된다.
+ * - 집계에 반영된 주문은 sales_rollup_order에 기록하여 같은 주문이 두 번 반영되거나
+ *   반영되지 않은 주문(미결제 주문)이 취소로 빠지지 않도록 한다.
+ * - 매출 금액은 주문 당시 가격(order_item.order_price) * 수량으로 계산한다.
+ * - rebuild()는 주문 테이블로부터 집계 테이블 전체를 다시 계산한다.(백필/정합성 보정용)
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class SalesRollupService {
+
+    /**
+     * 매출로 집계하는 주문 상태(결제 완료 이후 취소되지 않은 주문)
+     */
+    public static final Set<OrderStatus> SALES_ORDER_STATUSES = EnumSet.of(
+            OrderStatus.PAYMENT_COMPLETED,
+            OrderStatus.PREPARING_SHIPMENT,
+            OrderStatus.IN_TRANSIT,
+            OrderStatus.DELIVERED,
+            OrderStatus.RETURN_REQUESTED,
+            OrderStatus.ORDER_COMPLETED);
+
+    // 주문 한 건의 상품별 수량/금액을 일별 상품별 집계에 더한다.(sign : 1 더하기, -1 빼기)
+    private static final String UPSERT_DAILY_ITEM_SQL =
+            "INSERT INTO sales_daily_item (sales_date, item_id, quantity, amount) " +
+            "SELECT ?, oi.item_id, ? * SUM(oi.count), ? * SUM(oi.order_price * oi.count) " +
+            "FROM order_item oi WHERE oi.order_id = ? GROUP BY oi.item_id " +
+            "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), amount = amount + VALUES(amount)";
+
+    // 주문 한 건의 주문 수/수량/금액을 일별 집계에 더한다.(sign : 1 더하기, -1 빼기)
+    private static final String UPSERT_DAILY_SQL =
+            "INSERT INTO sales_daily (sales_date, order_count, quantity, amount) " +
+            "SELECT ?, ?, ? * COALESCE(SUM(oi.count), 0), ? * COALESCE(SUM(oi.order_price * oi.count), 0) " +
+            "FROM order_item oi WHERE oi.order_id = ? " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), " +
+            "quantity = quantity + VALUES(quantity), amount = amount + VALUES(amount)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 결제 완료된 주문을 매출 집계에 반영
+     * - 이미 반영된 주문이면 아무것도 하지 않는다.
+     * - 주문 상품은 DB에 저장(flush)된 상태여야 한다.
+     * @param order 결제 완료된 주문
+     */
+    @Transactional
+    public void applyOrder(Order order) {
+        LocalDate salesDate = order.getOrderDate().toLocalDate();
+
+        int inserted = jdbcTemplate.update(
+                "INSERT IGNORE INTO sales_rollup_order (order_id, sales_date, applied_at) VALUES (?, ?, ?)",
+                order.getId(), Date.valueOf(salesDate), LocalDateTime.now());
+        if (inserted == 0) {
+            log.info("이미 매출 집계에 반영된 주문입니다. 주문 ID={}", order.getId());
+            return;
+        }
+
+        addToRollup(order.getId(), salesDate, 1);
+        log.info("매출 집계 반영: 주문 ID={}, 매출 일자={}", order.getId(), salesDate);
+    }
+
+    /**
+     * 취소된 주문을 매출 집계에서 제외
+     * - 매출 집계에 반영되지 않은 주문(결제 전 취소)이면 아무것도 하지 않는다.
+     * @param order 취소된 주문
+     */
+    @Transactional
+    public void revertOrder(Order order) {
+        int deleted = jdbcTemplate.update("DELETE FROM sales_rollup_order WHERE order_id = ?", order.getId());
+        if (deleted == 0) {
+            return;
+        }
+
+        LocalDate salesDate = order.getOrderDate().toLocalDate();
+        addToRollup(order.getId(), salesDate, -1);
+        log.info("매출 집계 취소: 주문 ID={}, 매출 일자={}", order.getId(), salesDate);
+    }
+
+    /**
+     * 매출 집계 전체 재계산(백필)
+     * - 집계 테이블을 비우고 매출 집계 대상 주문으로부터 다시 계산한다.
+     * - 집계 테이블을 처음 만들었을 때, 또는 정기적으로 증분 집계와의 차이를 보정할 때 사용한다.
+     * @return 집계에 반영된 주문 수
+     */
+    @Transactional
+    public int rebuild() {
+        long startedAt = System.currentTimeMillis();
+        String statuses = SALES_ORDER_STATUSES.stream()
+                .map(status -> "'" + status.name() + "'")
+                .collect(Collectors.joining(", "));
+
+        jdbcTemplate.update("DELETE FROM sales_daily_item");
+        jdbcTemplate.update("DELETE FROM sales_daily");
+        jdbcTemplate.update("DELETE FROM sales_rollup_order");
+
+        int orderCount = jdbcTemplate.update(
+                "INSERT INTO sales_rollup_order (order_id, sales_date, applied_at) " +
+                "SELECT o.order_id, DATE(o.order_date), NOW() FROM orders o " +
+                "WHERE o.order_status IN (" + statuses + ")");
+
+        jdbcTemplate.update(
+                "INSERT INTO sales_daily_item (sales_date, item_id, quantity, amount) " +
+                "SELECT r.sales_date, oi.item_id, SUM(oi.count), SUM(oi.order_price * oi.count) " +
+                "FROM sales_rollup_order r JOIN order_item oi ON oi.order_id = r.order_id " +
+                "GROUP BY r.sales_date, oi.item_id");
+
+        jdbcTemplate.update(
+                "INSERT INTO sales_daily (sales_date, order_count, quantity, amount) " +
+                "SELECT r.sales_date, COUNT(DISTINCT r.order_id), " +
+                "COALESCE(SUM(oi.count), 0), COALESCE(SUM(oi.order_price * oi.count), 0) " +
+                "FROM sales_rollup_order r LEFT JOIN order_item oi ON oi.order_id = r.order_id " +
+                "GROUP BY r.sales_date");
+
+        log.info("매출 집계 재계산 완료: 주문 {}건, 소요 {}ms", orderCount, System.currentTimeMillis() - startedAt);
+        return orderCount;
+    }
+
+    /**
+     * 매출 집계가 한 번도 만들어지지 않았는지 확인
+     * - 집계 반영 기록이 하나도 없으면 백필이 필요하다.
+     */
+    @Transactional(readOnly = true)
+    public boolean needsBackfill() {
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT 1 FROM sales_rollup_order LIMIT 1) t", Integer.class);
+        return applied == null || applied == 0;
+    }
+
+    private void addToRollup(Long orderId, LocalDate salesDate, int sign) {
+        Date date = Date.valueOf(salesDate);
+        jdbcTemplate.update(UPSERT_DAILY_ITEM_SQL, date, sign, sign, orderId);
+        jdbcTemplate.update(UPSERT_DAILY_SQL, date, sign, sign, sign, orderId);
+    }
+}
@@ -1,97 +1,58 @@
 package com.javalab.student.service.shop;
 
 import com.javalab.student.dto.shop.TopSellingProductDTO;
-import com.javalab.student.entity.shop.Item;
-import com.javalab.student.entity.shop.OrderItem;
-import com.javalab.student.repository.shop.ItemRepository;
-import com.javalab.student.repository.shop.OrderItemRepository;
-import jakarta.transaction.Transactional;
+import com.javalab.student.repository.shop.SalesDailyItemRepository;
+import com.javalab.student.repository.shop.SalesDailyRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * 매출 통계 조회 서비스
+ * - 주문/주문 상품 테이블을 직접 집계하지 않고 SalesRollupService가 관리하는
+ *   매출 집계 테이블(sales_daily, sales_daily_item)을 조회한다.
+ * - 조회 비용은 전체 주문 수가 아닌 조회 기간의 일 수(또는 상품 수)에 비례한다.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
 @Log4j2
 public class SalesService {
-    private final OrderItemRepository orderItemRepository;
-    private final ItemRepository itemRepository;
+    private final SalesDailyRepository salesDailyRepository;
+    private final SalesDailyItemRepository salesDailyItemRepository;
 
 
-    /*상품 판매량 */
-    public Map<Long, Integer> getSalesCount(List<Long> completedOrderIds) {
-        log.info("주어진 주문 ID 목록으로 판매량 집계 중...");
-
-        Map<Long, Integer> salesCount = orderItemRepository.findByOrderIdIn(completedOrderIds)
-                .stream()
-                .filter(orderItem -> orderItem.getItem() != null) // Null 체크 추가
-                .collect(Collectors.groupingBy(
-                        orderItem -> orderItem.getItem().getId(),
-                        Collectors.summingInt(OrderItem::getCount)
-                ));
-
-        log.info("판매량 집계 완료: {}개의 상품에 대한 판매량 집계", salesCount.size());
-        return salesCount;
-    }
-
     /* 판매량 상위 5개 상품 */
-    public List<TopSellingProductDTO> getTopSellingProducts(Map<Long, Integer> salesCount) {
+    public List<TopSellingProductDTO> getTopSellingProducts() {
         log.info("판매량 상위 5개 상품 추출 중...");
 
-        List<TopSellingProductDTO> topSellingProducts = salesCount.entrySet().stream()
-                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-                .limit(5)
-                .map(entry -> {
-                    Item item = itemRepository.findById(entry.getKey()).orElse(null);
-                    return new TopSellingProductDTO(item.getItemNm(), entry.getValue());
-                })
-                .collect(Collectors.toList());
+        List<TopSellingProductDTO> topSellingProducts =
+                salesDailyItemRepository.findTopSellingProducts(PageRequest.of(0, 5));
 
         log.info("상위 5개 판매 상품 추출 완료: {}", topSellingProducts.size());
         return topSellingProducts;
     }
 
     // 일 매출 금액 계산
-    public double getDailySalesAmount(List<Long> completedOrderIds, LocalDate date) {
+    public double getDailySalesAmount(LocalDate date) {
         log.info("{} 일 매출 금액 계산 중...", date);
 
-
-
-
-
-        double dailySalesAmount = orderItemRepository.findByOrderIdIn(completedOrderIds)
-                .stream()
-                .filter(orderItem -> orderItem.getItem() != null &&
-                        orderItem.getOrder().getOrderDate().toLocalDate().isEqual(date)) // 날짜만 비교
-                .mapToDouble(orderItem -> orderItem.getItem().getPrice() * orderItem.getCount()) // 가격 * 수량
-                .sum();
+        double dailySalesAmount = salesDailyRepository.sumAmountBetween(date, date);
 
         log.info("{} 일 매출 금액: {}", date, dailySalesAmount);
         return dailySalesAmount;
     }
 
-    // 월 매출 금액 계산
-    public double getMonthlySalesAmount(List<Long> completedOrderIds, LocalDate startDate, LocalDate endDate) {
+    // 월 매출 금액 계산(시작일, 종료일 포함)
+    public double getMonthlySalesAmount(LocalDate startDate, LocalDate endDate) {
         log.info("월 매출 금액 계산 중... 시작일: {}, 종료일: {}", startDate, endDate);
 
-        // LocalDate -> LocalDateTime으로 변환
-        LocalDateTime startDateTime = startDate.atStartOfDay(); // 시작일의 00:00:00 시각을 생성
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59); // 끝날짜의 23:59:59 시각을 생성
-
-        double monthlySalesAmount = orderItemRepository.findByOrderIdIn(completedOrderIds)
-                .stream()
-                .filter(orderItem -> orderItem.getItem() != null &&
-                        orderItem.getOrder().getOrderDate().isAfter(startDateTime) &&
-                        orderItem.getOrder().getOrderDate().isBefore(endDateTime))
-                .mapToDouble(orderItem -> orderItem.getItem().getPrice() * orderItem.getCount()) // 가격 * 수량
-                .sum();
+        double monthlySalesAmount = salesDailyRepository.sumAmountBetween(startDate, endDate);
 
         log.info("계산된 월 매출 금액: {}", monthlySalesAmount);
         return monthlySalesAmount;
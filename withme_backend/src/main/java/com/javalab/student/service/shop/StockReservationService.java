@@ -0,0 +1,326 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.exception.OutOfStockException;
+import com.javalab.student.util.TransactionUtil;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 재고 예약(차감/복원) 서비스
+ * - Item 엔티티의 재고를 읽고 수정하는 방식(read-modify-write)은 동시에 주문이 들어오면
+ *   두 트랜잭션이 같은 재고를 읽고 모두 성공하는 문제(초과 판매)가 있다.
+ * - 이 서비스는 DB에서 조건부 UPDATE(stock_number >= 주문수량)로 재고를 원자적으로 차감한다.
+ * - 여러 상품을 주문해도 하나의 UPDATE 문(한 번의 DB 왕복)으로 모든 상품의 재고를 차감하고,
+ *   하나라도 재고가 부족하면 예외를 발생시켜 트랜잭션 전체를 롤백한다.
+ * - 핫 상품(플래시 세일 등) 모드 : 상품 재고만큼 Redis에 재고 토큰을 미리 발급해 두고
+ *   토큰이 부족하면 DB에 접근하지 않고 바로 품절 처리한다. 토큰을 얻은 주문만 DB 조건부 UPDATE를 수행하므로
+ *   인기 상품 행(row)의 락 경합이 줄어든다. 최종 재고 판단은 항상 DB가 한다.
+ * - 주문/취소마다 상품 카탈로그 캐시를 무효화하지 않는다. 캐시의 재고 수량은 캐시 유효시간만큼 늦게 반영된다.
+ */
+@Service
+@Log4j2
+public class StockReservationService {
+
+    // Redis 재고 토큰 키 (stock:token:{itemId})
+    private static final String STOCK_TOKEN_KEY_PREFIX = "stock:token:";
+
+    /**
+     * 여러 상품의 재고 토큰을 한 번에 차감하는 Lua 스크립트(원자적 실행)
+     * - 반환값 1 : 모든 상품 토큰 차감 성공
+     * - 반환값 0 : 토큰 부족(품절)
+     * - 반환값 -1 : 토큰이 발급되지 않은 상품 존재(DB 방식으로 처리)
+     */
+    private static final DefaultRedisScript<Long> TAKE_TOKENS_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS do " +
+            "  local v = redis.call('GET', KEYS[i]) " +
+            "  if not v then return -1 end " +
+            "  if tonumber(v) < tonumber(ARGV[i]) then return 0 end " +
+            "end " +
+            "for i = 1, #KEYS do redis.call('DECRBY', KEYS[i], ARGV[i]) end " +
+            "return 1",
+            Long.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    // 핫 상품 모드가 적용된 상품 ID
+    private final Set<Long> hotItemIds = ConcurrentHashMap.newKeySet();
+
+    public StockReservationService(JdbcTemplate jdbcTemplate,
+                                   @Qualifier("redisStringTemplate") RedisTemplate<String, String> redisTemplate,
+                                   @Value("${stock.hot-sku.item-ids:}") List<Long> hotItemIds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.hotItemIds.addAll(hotItemIds);
+    }
+
+    /**
+     * 설정 파일(stock.hot-sku.item-ids)에 등록된 핫 상품의 재고 토큰 발급
+     * - 애플리케이션이 완전히 초기화된 후 실행된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initHotSkuTokens() {
+        hotItemIds.forEach(this::refreshTokens);
+    }
+
+    /**
+     * 재고 차감(예약)
+     * - 같은 상품이 여러 번 전달되면 수량을 합산한다.
+     * - 재고가 부족한 상품이 하나라도 있으면 OutOfStockException 발생, 호출한 트랜잭션이 롤백된다.
+     * @param quantities 상품 ID별 주문 수량
+     */
+    @Transactional
+    public void reserve(Map<Long, Integer> quantities) {
+        SortedMap<Long, Integer> lines = normalize(quantities);
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        // 1. 핫 상품은 Redis 재고 토큰 먼저 차감 (토큰 부족 시 DB 접근 없이 품절 처리)
+        takeHotSkuTokens(lines);
+
+        // 2. DB 조건부 UPDATE로 모든 상품 재고를 한 번에 차감
+        int updated = jdbcTemplate.update(buildDecrementSql(lines.size()), decrementParams(lines));
+        if (updated != lines.size()) {
+            throw new OutOfStockException(buildOutOfStockMessage(lines));
+        }
+    }
+
+    /**
+     * 재고 복원(주문 취소)
+     * - 한 번의 UPDATE 문으로 모든 상품의 재고를 증가시킨다.
+     * - 핫 상품은 커밋 후 Redis 재고 토큰도 반납한다.
+     * @param quantities 상품 ID별 복원 수량
+     */
+    @Transactional
+    public void release(Map<Long, Integer> quantities) {
+        SortedMap<Long, Integer> lines = normalize(quantities);
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.update(buildIncrementSql(lines.size()), incrementParams(lines));
+
+        SortedMap<Long, Integer> hotLines = hotLines(lines);
+        if (!hotLines.isEmpty()) {
+            TransactionUtil.afterCommit(() -> returnTokens(hotLines));
+        }
+    }
+
+    /**
+     * 핫 상품 모드 적용
+     * - 현재 DB 재고 수량만큼 Redis 재고 토큰을 발급한다.
+     * @param itemId 상품 ID
+     */
+    public void enableHotSku(Long itemId) {
+        hotItemIds.add(itemId);
+        refreshTokens(itemId);
+    }
+
+    /**
+     * 핫 상품 모드 해제 (Redis 재고 토큰 삭제)
+     * @param itemId 상품 ID
+     */
+    public void disableHotSku(Long itemId) {
+        hotItemIds.remove(itemId);
+        try {
+            redisTemplate.delete(STOCK_TOKEN_KEY_PREFIX + itemId);
+        } catch (RuntimeException e) {
+            log.warn("재고 토큰 삭제 실패. itemId={}, error={}", itemId, e.getMessage());
+        }
+    }
+
+    public boolean isHotSku(Long itemId) {
+        return hotItemIds.contains(itemId);
+    }
+
+    /**
+     * 관리자가 재고 수량을 직접 수정한 경우 핫 상품의 재고 토큰을 DB 재고와 다시 맞춘다.
+     * - 트랜잭션 안에서 호출되면 커밋 후에 실행된다.
+     * @param itemId 상품 ID
+     */
+    public void refreshHotSkuTokens(Long itemId) {
+        if (isHotSku(itemId)) {
+            TransactionUtil.afterCommit(() -> refreshTokens(itemId));
+        }
+    }
+
+    /**
+     * 핫 상품의 재고 토큰 차감
+     * - 토큰 부족 : OutOfStockException (DB 접근 없음)
+     * - 토큰 미발급 또는 Redis 장애 : 토큰 없이 DB 조건부 UPDATE로만 처리
+     * - 토큰 차감 후 트랜잭션이 롤백되면 토큰을 반납한다.
+     */
+    private void takeHotSkuTokens(SortedMap<Long, Integer> lines) {
+        SortedMap<Long, Integer> hotLines = hotLines(lines);
+        if (hotLines.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        hotLines.forEach((itemId, count) -> {
+            keys.add(STOCK_TOKEN_KEY_PREFIX + itemId);
+            args.add(String.valueOf(count));
+        });
+
+        Long result;
+        try {
+            result = redisTemplate.execute(TAKE_TOKENS_SCRIPT, keys, args.toArray());
+        } catch (RuntimeException e) {
+            log.warn("재고 토큰 차감 실패, DB 재고로만 처리합니다. error={}", e.getMessage());
+            return;
+        }
+
+        if (result == null || result < 0) {
+            return;
+        }
+        if (result == 0) {
+            throw new OutOfStockException("상품의 재고가 부족 합니다. (상품 ID: " + hotLines.keySet() + ")");
+        }
+
+        TransactionUtil.afterRollback(() -> returnTokens(hotLines));
+    }
+
+    private void returnTokens(Map<Long, Integer> hotLines) {
+        hotLines.forEach((itemId, count) -> {
+            try {
+                redisTemplate.opsForValue().increment(STOCK_TOKEN_KEY_PREFIX + itemId, count);
+            } catch (RuntimeException e) {
+                log.warn("재고 토큰 반납 실패. itemId={}, count={}, error={}", itemId, count, e.getMessage());
+            }
+        });
+    }
+
+    private void refreshTokens(Long itemId) {
+        try {
+            Integer stock = jdbcTemplate.queryForObject(
+                    "SELECT stock_number FROM item WHERE item_id = ?", Integer.class, itemId);
+            redisTemplate.opsForValue().set(STOCK_TOKEN_KEY_PREFIX + itemId, String.valueOf(stock));
+        } catch (RuntimeException e) {
+            log.warn("재고 토큰 발급 실패. itemId={}, error={}", itemId, e.getMessage());
+        }
+    }
+
+    private SortedMap<Long, Integer> hotLines(SortedMap<Long, Integer> lines) {
+        SortedMap<Long, Integer> hotLines = new TreeMap<>();
+        lines.forEach((itemId, count) -> {
+            if (hotItemIds.contains(itemId)) {
+                hotLines.put(itemId, count);
+            }
+        });
+        return hotLines;
+    }
+
+    /**
+     * 상품 ID 오름차순 정렬 + 같은 상품 수량 합산
+     * - 항상 같은 순서로 행을 잠그므로 여러 상품 주문끼리 교착상태(deadlock)가 생기지 않는다.
+     */
+    private SortedMap<Long, Integer> normalize(Map<Long, Integer> quantities) {
+        if (quantities == null || quantities.isEmpty()) {
+            return Collections.emptySortedMap();
+        }
+        SortedMap<Long, Integer> lines = new TreeMap<>();
+        quantities.forEach((itemId, count) -> {
+            if (itemId == null || count == null || count <= 0) {
+                throw new IllegalArgumentException("주문 수량이 올바르지 않습니다. (상품 ID: " + itemId + ", 수량: " + count + ")");
+            }
+            lines.merge(itemId, count, Integer::sum);
+        });
+        return lines;
+    }
+
+    /**
+     * 재고 차감 SQL
+     * UPDATE item SET stock_number = stock_number - CASE item_id WHEN ? THEN ? ... END
+     * WHERE item_id IN (?, ...) AND stock_number >= CASE item_id WHEN ? THEN ? ... END
+     */
+    private String buildDecrementSql(int size) {
+        String caseExpr = buildCaseExpr(size);
+        return "UPDATE item SET stock_number = stock_number - " + caseExpr +
+                " WHERE item_id IN (" + placeholders(size) + ") AND stock_number >= " + caseExpr;
+    }
+
+    /**
+     * 재고 복원 SQL
+     * UPDATE item SET stock_number = stock_number + CASE item_id WHEN ? THEN ? ... END WHERE item_id IN (?, ...)
+     */
+    private String buildIncrementSql(int size) {
+        return "UPDATE item SET stock_number = stock_number + " + buildCaseExpr(size) +
+                " WHERE item_id IN (" + placeholders(size) + ")";
+    }
+
+    private String buildCaseExpr(int size) {
+        StringBuilder sb = new StringBuilder("CASE item_id");
+        for (int i = 0; i < size; i++) {
+            sb.append(" WHEN ? THEN ?");
+        }
+        return sb.append(" END").toString();
+    }
+
+    private String placeholders(int size) {
+        return String.join(", ", Collections.nCopies(size, "?"));
+    }
+
+    private Object[] decrementParams(SortedMap<Long, Integer> lines) {
+        List<Object> params = new ArrayList<>();
+        addCaseParams(params, lines);
+        params.addAll(lines.keySet());
+        addCaseParams(params, lines);
+        return params.toArray();
+    }
+
+    private Object[] incrementParams(SortedMap<Long, Integer> lines) {
+        List<Object> params = new ArrayList<>();
+        addCaseParams(params, lines);
+        params.addAll(lines.keySet());
+        return params.toArray();
+    }
+
+    private void addCaseParams(List<Object> params, SortedMap<Long, Integer> lines) {
+        lines.forEach((itemId, count) -> {
+            params.add(itemId);
+            params.add(count);
+        });
+    }
+
+    /**
+     * 재고 부족 메시지 생성 (실패한 경우에만 현재 재고를 조회)
+     */
+    private String buildOutOfStockMessage(SortedMap<Long, Integer> lines) {
+        Map<Long, Integer> stocks = new TreeMap<>();
+        jdbcTemplate.query("SELECT item_id, stock_number FROM item WHERE item_id IN (" + placeholders(lines.size()) + ")",
+                rs -> {
+                    stocks.put(rs.getLong("item_id"), rs.getInt("stock_number"));
+                },
+                lines.keySet().toArray());
+
+        for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+            Integer stock = stocks.get(line.getKey());
+            if (stock == null) {
+                return "존재하지 않는 상품입니다. (상품 ID: " + line.getKey() + ")";
+            }
+            if (stock < line.getValue()) {
+                return "상품의 재고가 부족 합니다. (상품 ID: " + line.getKey() + ", 현재 재고 수량: " + stock + ")";
+            }
+        }
+        return "상품의 재고가 부족 합니다.";
+    }
+}
@@ -0,0 +1,35 @@
+package com.javalab.student.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 커서 기반 페이지 조회(seek pagination) 커서
+ * - 마지막으로 받은 행의 (등록 시간, ID)를 "등록시간|ID" 문자열로 만들어 Base64(URL-safe)로 인코딩한다.
+ * - 클라이언트는 커서 내용을 해석하지 않고 다음 페이지 요청에 그대로 전달한다.
+ * - 게시글 피드, 댓글/대댓글 페이지 조회에서 사용
+ */
+public record SeekCursor(LocalDateTime regTime, long id) {
+
+    public static String encode(LocalDateTime regTime, Long id) {
+        String value = regTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 해석
+     * @throws IllegalArgumentException 잘못된 커서인 경우
+     */
+    public static SeekCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            return new SeekCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.javalab.student.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 완료 후 작업 실행 유틸리티
+ * - 캐시, 검색 색인, Redis, 파일처럼 DB 밖의 변경을 트랜잭션 결과에 맞춰 반영할 때 사용
+ * - 트랜잭션(동기화)이 없으면 afterCommit()은 바로 실행하고, afterRollback()은 실행하지 않는다.
+ */
+public class TransactionUtil {
+
+    private TransactionUtil() {
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 후 실행(트랜잭션이 없으면 바로 실행)
+     */
+    public static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되지 않고 끝나면(롤백) 실행(트랜잭션이 없으면 실행하지 않음)
+     */
+    public static void afterRollback(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    task.run();
+                }
+            }
+        });
+    }
+}
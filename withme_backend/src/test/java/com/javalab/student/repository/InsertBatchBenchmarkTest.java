@@ -0,0 +1,150 @@
+package com.javalab.student.repository;
+
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.constant.Role;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.entity.shop.Order;
+import com.javalab.student.entity.shop.OrderItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * INSERT batch 처리 벤치마크
+ * - 상품 10,000건(data_item.sql 규모의 초기 데이터) 저장과 주문 상품 50건짜리 주문 저장의
+ *   초당 INSERT 수, 실행된 PreparedStatement 수를 콘솔에 출력한다.
+ * - 두 실행 모두 실제 엔티티(Item, Order, OrderItem)를 저장하고 ID 매핑과 batch 설정만 다르다.
+ * - BatchDisabled : 변경 전(시퀀스에서 INSERT마다 ID를 하나씩 받는 allocationSize 1, batch 미사용)
+ *   ID 매핑은 테스트 리소스의 benchmark/pre-batch-id-mapping.xml로 이 테스트 컨텍스트에서만 덮어쓴다.
+ *   DB 시퀀스의 증가값(50)과 allocationSize(1)가 달라도 시작되도록 불일치 검사를 끈다.
+ * - BatchEnabled : 변경 후(시퀀스 pooled ID allocationSize 50 + hibernate.jdbc.batch_size, order_inserts)
+ * - 테스트 데이터는 트랜잭션 롤백으로 삭제된다.
+ */
+class InsertBatchBenchmarkTest {
+
+    private static final int SEED_ITEMS = 10_000;
+    private static final int ORDER_LINES = 50;
+    private static final int FLUSH_SIZE = 1_000;
+
+    @SpringBootTest(properties = {
+            "spring.jpa.properties.hibernate.generate_statistics=true",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=1",
+            "spring.jpa.properties.hibernate.order_inserts=false",
+            "spring.jpa.mapping-resources=benchmark/pre-batch-id-mapping.xml",
+            "spring.jpa.properties.hibernate.id.sequence.increment_size_mismatch_strategy=none"
+    })
+    @Transactional
+    static class BatchDisabled extends Benchmark {
+        @Override
+        String label() {
+            return "batch 미사용(allocationSize 1)";
+        }
+    }
+
+    @SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+    @Transactional
+    static class BatchEnabled extends Benchmark {
+        @Override
+        String label() {
+            return "batch 사용(allocationSize 50)";
+        }
+    }
+
+    abstract static class Benchmark {
+
+        @Autowired
+        private MemberRepository memberRepository;
+
+        @Autowired
+        private EntityManager em;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        abstract String label();
+
+        private Item newItem(int i) {
+            return Item.builder()
+                    .itemNm("벤치마크상품" + i)
+                    .price(1000L + i)
+                    .stockNumber(100)
+                    .itemDetail("벤치마크 상품 상세" + i)
+                    .itemSellStatus(ItemSellStatus.SELL)
+                    .build();
+        }
+
+        private Statistics statistics() {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            return statistics;
+        }
+
+        private void report(String name, int rows, long startedAt, Statistics statistics) {
+            double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+            System.out.printf("[%s] %s : INSERT %d건, PreparedStatement %d개, 소요 %.3f초, %.1f건/초%n",
+                    label(), name, rows, statistics.getPrepareStatementCount(), seconds, rows / seconds);
+        }
+
+        @Test
+        @DisplayName("상품 10,000건 저장")
+        void seedItemsBenchmark() {
+            Statistics statistics = statistics();
+            long startedAt = System.nanoTime();
+
+            for (int i = 0; i < SEED_ITEMS; i++) {
+                em.persist(newItem(i));
+                if ((i + 1) % FLUSH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.flush();
+            em.clear();
+
+            report("상품 " + SEED_ITEMS + "건", SEED_ITEMS, startedAt, statistics);
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(SEED_ITEMS);
+        }
+
+        @Test
+        @DisplayName("주문 상품 50건 주문 저장")
+        void orderWithFiftyLinesBenchmark() {
+            Member member = new Member();
+            member.setName("벤치마크회원");
+            member.setEmail("insert-benchmark@withme.com");
+            member.setPassword("1234");
+            member.setRole(Role.USER);
+            member.setSocial(false);
+            memberRepository.save(member);
+
+            List<OrderItem> orderItems = new ArrayList<>();
+            for (int i = 0; i < ORDER_LINES; i++) {
+                Item item = newItem(i);
+                em.persist(item);
+                orderItems.add(OrderItem.createReservedOrderItem(item, 1));
+            }
+            em.flush();
+
+            Statistics statistics = statistics();
+            long startedAt = System.nanoTime();
+
+            // 주문 상품은 cascade로 함께 저장된다.
+            em.persist(Order.createOrder(member, orderItems));
+            em.flush();
+
+            report("주문 1건 + 주문 상품 " + ORDER_LINES + "건", ORDER_LINES + 1, startedAt, statistics);
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(ORDER_LINES + 1);
+        }
+    }
+}
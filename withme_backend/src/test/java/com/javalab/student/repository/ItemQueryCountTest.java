@@ -0,0 +1,123 @@
+package com.javalab.student.repository;
+
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.dto.shop.ItemFormDto;
+import com.javalab.student.entity.Substance;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.entity.shop.ItemImg;
+import com.javalab.student.entity.shop.ItemSubstance;
+import com.javalab.student.repository.shop.ItemImgRepository;
+import com.javalab.student.repository.shop.ItemRepository;
+import com.javalab.student.repository.shop.ItemSubstanceRepository;
+import com.javalab.student.service.shop.ItemService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 판매중인 상품 목록 조회 쿼리 수 회귀 테스트
+ * - 상품 수가 늘어나도 getItemListByItemSellStatus의 쿼리 수가 고정(2회)인지 확인한다.
+ * - hibernate.generate_statistics 옵션으로 실행된 쿼리 수를 집계한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ItemQueryCountTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemImgRepository itemImgRepository;
+
+    @Autowired
+    private ItemSubstanceRepository itemSubstanceRepository;
+
+    @Autowired
+    private SubstanceRepository substanceRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * 테스트용 상품 생성(대표 이미지 1개, 추가 이미지 1개, 알러지 성분 2개)
+     */
+    private Item createItem(int i, Substance substance1, Substance substance2) {
+        Item item = Item.builder()
+                .itemNm("쿼리수테스트상품" + i)
+                .price(1000L + i)
+                .stockNumber(100)
+                .itemDetail("쿼리수테스트 상품 상세" + i)
+                .itemSellStatus(ItemSellStatus.SELL)
+                .build();
+        itemRepository.save(item);
+
+        for (int j = 0; j < 2; j++) {
+            ItemImg itemImg = new ItemImg();
+            itemImg.setItem(item);
+            itemImg.setRepimgYn(j == 0 ? "Y" : "N");
+            itemImg.setImgName("img" + i + "_" + j + ".jpg");
+            itemImg.setOriImgName("ori" + i + "_" + j + ".jpg");
+            itemImg.setImgUrl("/images/item/img" + i + "_" + j + ".jpg");
+            itemImgRepository.save(itemImg);
+        }
+
+        itemSubstanceRepository.save(new ItemSubstance(null, item, substance1));
+        itemSubstanceRepository.save(new ItemSubstance(null, item, substance2));
+        return item;
+    }
+
+    private Substance createSubstance(Long id, String name) {
+        Substance substance = new Substance();
+        substance.setSubstanceId(id);
+        substance.setName(name);
+        return substanceRepository.save(substance);
+    }
+
+    @Test
+    @DisplayName("판매중인 상품 목록 조회는 상품 수와 관계없이 2번의 쿼리로 처리된다")
+    void getItemListByItemSellStatusQueryCountTest() {
+        // given
+        Substance substance1 = createSubstance(990001L, "쿼리수테스트성분1");
+        Substance substance2 = createSubstance(990002L, "쿼리수테스트성분2");
+        for (int i = 0; i < 30; i++) {
+            createItem(i, substance1, substance2);
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        List<ItemFormDto> itemList = itemService.getItemListByItemSellStatus(ItemSellStatus.SELL);
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        List<ItemFormDto> testItems = itemList.stream()
+                .filter(dto -> dto.getItemNm().startsWith("쿼리수테스트상품"))
+                .toList();
+        assertThat(testItems).hasSize(30);
+        assertThat(testItems).allSatisfy(dto -> {
+            assertThat(dto.getItemImgDtoList()).hasSize(1);
+            assertThat(dto.getItemImgDtoList().get(0).getRepImgYn()).isEqualTo("Y");
+            assertThat(dto.getSubstanceIds()).containsExactly(990001L, 990002L);
+        });
+    }
+}
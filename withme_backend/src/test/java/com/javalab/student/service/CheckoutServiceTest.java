@@ -0,0 +1,231 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.dto.shop.CartOrderItemDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.shop.Cart;
+import com.javalab.student.entity.shop.CartItem;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.exception.OutOfStockException;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.shop.CartItemRepository;
+import com.javalab.student.repository.shop.CartRepository;
+import com.javalab.student.repository.shop.ItemRepository;
+import com.javalab.student.service.shop.CheckoutService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 장바구니 주문(체크아웃) 테스트
+ * - 같은 멱등성 키로 다시 요청하면 같은 주문 번호가 반환되고 주문/재고 차감이 한 번만 일어나는지 확인한다.
+ * - 동시성 테스트는 요청마다 자신의 트랜잭션에서 커밋되어야 하므로 트랜잭션 없이 실행하고, 테스트 후 데이터를 삭제한다.
+ */
+@SpringBootTest
+@Transactional
+class CheckoutServiceTest {
+
+    private static final String EMAIL = "checkout-test@withme.com";
+    private static final String CONCURRENT_EMAIL = "checkout-concurrent-test@withme.com";
+    private static final int THREADS = 16;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    private Item createItem(String itemNm, long price, int stockNumber) {
+        return itemRepository.save(Item.builder()
+                .itemNm(itemNm)
+                .price(price)
+                .stockNumber(stockNumber)
+                .itemDetail("체크아웃 테스트 상품")
+                .itemSellStatus(ItemSellStatus.SELL)
+                .build());
+    }
+
+    /**
+     * 동시 체크아웃 결과
+     * - orderIds : 성공한 요청이 반환한 주문 번호(요청마다 하나, 같은 번호가 여러 번 있을 수 있음)
+     * - outOfStock : 재고 부족으로 실패한 요청 수
+     * - failures : 그 밖의 예외로 실패한 요청의 예외(교착, 잠금 대기 시간 초과 등)
+     */
+    private record CheckoutResults(List<Long> orderIds, int outOfStock, List<Throwable> failures) {
+    }
+
+    /**
+     * THREADS개의 스레드로 동시에 체크아웃하고 모든 요청의 결과(주문 번호 또는 예외)를 모은다.
+     * @param sameKey true면 모든 요청이 같은 멱등성 키, false면 요청마다 다른 키
+     */
+    private CheckoutResults fireCheckouts(List<CartOrderItemDto> cartOrderItems, boolean sameKey) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            String key = sameKey ? "checkout-concurrent-key" : "checkout-concurrent-key-" + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return checkoutService.checkout(cartOrderItems, CONCURRENT_EMAIL, key);
+            }));
+        }
+        start.countDown();
+
+        List<Long> orderIds = new ArrayList<>();
+        int outOfStock = 0;
+        List<Throwable> failures = new ArrayList<>();
+        try {
+            for (Future<Long> future : futures) {
+                try {
+                    orderIds.add(future.get(60, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof OutOfStockException) {
+                        outOfStock++;
+                    } else {
+                        failures.add(e.getCause());
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new CheckoutResults(orderIds, outOfStock, failures);
+    }
+
+    private void cleanUp(Member member, Item item) {
+        jdbcTemplate.update("DELETE oi FROM order_item oi JOIN orders o ON o.order_id = oi.order_id WHERE o.user_id = ?",
+                member.getId());
+        jdbcTemplate.update("DELETE FROM orders WHERE user_id = ?", member.getId());
+        jdbcTemplate.update("DELETE ci FROM cart_item ci JOIN cart c ON c.cart_id = ci.cart_id WHERE c.user_id = ?",
+                member.getId());
+        jdbcTemplate.update("DELETE FROM cart WHERE user_id = ?", member.getId());
+        jdbcTemplate.update("DELETE FROM member WHERE user_id = ?", member.getId());
+        jdbcTemplate.update("DELETE FROM item WHERE item_id = ?", item.getId());
+    }
+
+    private CartOrderItemDto cartOrderItem(CartItem cartItem, int count) {
+        CartOrderItemDto dto = new CartOrderItemDto();
+        dto.setCartItemId(cartItem.getId());
+        dto.setCount(count);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("같은 멱등성 키로 재요청하면 같은 주문 번호를 반환하고 주문은 한 번만 생성된다")
+    void checkoutIdempotencyTest() {
+        // given
+        Member member = MemberFixture.save(memberRepository, "체크아웃테스트", EMAIL);
+        Cart cart = cartRepository.save(Cart.createCart(member));
+
+        Item itemA = createItem("체크아웃테스트-A", 1000L, 10);
+        Item itemB = createItem("체크아웃테스트-B", 2500L, 10);
+        CartItem cartItemA = cartItemRepository.save(CartItem.createCartItem(cart, itemA, 2));
+        CartItem cartItemB = cartItemRepository.save(CartItem.createCartItem(cart, itemB, 1));
+        em.flush();
+        em.clear();
+
+        List<CartOrderItemDto> cartOrderItems = List.of(cartOrderItem(cartItemA, 2), cartOrderItem(cartItemB, 1));
+
+        // when
+        Long orderId = checkoutService.checkout(cartOrderItems, EMAIL, "checkout-test-key");
+        Long retriedOrderId = checkoutService.checkout(cartOrderItems, EMAIL, "checkout-test-key");
+
+        // then
+        assertThat(retriedOrderId).isEqualTo(orderId);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT order_amount FROM orders WHERE order_id = ?", Long.class, orderId)).isEqualTo(4500L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_item WHERE order_id = ?", Integer.class, orderId)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT stock_number FROM item WHERE item_id = ?", Integer.class, itemA.getId())).isEqualTo(8);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT stock_number FROM item WHERE item_id = ?", Integer.class, itemB.getId())).isEqualTo(9);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("같은 멱등성 키로 동시에 요청해도 주문은 하나만 생성되고 재고는 한 번만 차감된다")
+    void concurrentCheckoutSameKeyTest() throws Exception {
+        // given
+        Member member = MemberFixture.save(memberRepository, "체크아웃동시성테스트", CONCURRENT_EMAIL);
+        Item item = createItem("체크아웃동시성테스트-A", 1000L, 10);
+        try {
+            Cart cart = cartRepository.save(Cart.createCart(member));
+            CartItem cartItem = cartItemRepository.save(CartItem.createCartItem(cart, item, 1));
+
+            // when
+            CheckoutResults results = fireCheckouts(List.of(cartOrderItem(cartItem, 1)), true);
+
+            // then : 모든 요청이 실패 없이 같은 주문 번호를 반환
+            assertThat(results.failures()).isEmpty();
+            assertThat(results.outOfStock()).isZero();
+            assertThat(results.orderIds()).hasSize(THREADS);
+            assertThat(results.orderIds()).containsOnly(results.orderIds().get(0));
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM orders WHERE user_id = ?", Integer.class, member.getId())).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT stock_number FROM item WHERE item_id = ?", Integer.class, item.getId())).isEqualTo(9);
+        } finally {
+            cleanUp(member, item);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("다른 멱등성 키로 동시에 요청하면 재고만큼만 주문이 생성되고 초과 판매가 없다")
+    void concurrentCheckoutOversellTest() throws Exception {
+        // given
+        Member member = MemberFixture.save(memberRepository, "체크아웃동시성테스트", CONCURRENT_EMAIL);
+        Item item = createItem("체크아웃동시성테스트-B", 1000L, 5);
+        try {
+            Cart cart = cartRepository.save(Cart.createCart(member));
+            CartItem cartItem = cartItemRepository.save(CartItem.createCartItem(cart, item, 1));
+
+            // when
+            CheckoutResults results = fireCheckouts(List.of(cartOrderItem(cartItem, 1)), false);
+
+            // then : 재고 부족 외의 실패 없이 재고만큼만 서로 다른 주문 생성
+            assertThat(results.failures()).isEmpty();
+            assertThat(results.orderIds()).hasSize(5).doesNotHaveDuplicates();
+            assertThat(results.outOfStock()).isEqualTo(THREADS - 5);
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM orders WHERE user_id = ?", Integer.class, member.getId())).isEqualTo(5);
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT stock_number FROM item WHERE item_id = ?", Integer.class, item.getId())).isZero();
+        } finally {
+            cleanUp(member, item);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.CommentDto;
+import com.javalab.student.dto.CommentPageDto;
+import com.javalab.student.entity.Comment;
+import com.javalab.student.entity.Post;
+import com.javalab.student.repository.CommentRepository;
+import com.javalab.student.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 게시글 댓글 페이지 조회(커서 기반) 테스트
+ * - 최상위 댓글이 커서로 빠짐없이 이어서 조회되고, 대댓글 미리보기 이후의 대댓글을 loadReplies()로 이어서 조회하는지 확인한다.
+ */
+@SpringBootTest
+@Transactional
+class CommentPageLoaderTest {
+
+    @Autowired
+    private CommentPageLoader commentPageLoader;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Comment createComment(Post post, Comment parent, String content) {
+        Comment comment = new Comment();
+        comment.setPost(post);
+        comment.setParentComment(parent);
+        comment.setUserId(1L);
+        comment.setUserName("댓글테스트");
+        comment.setContent(content);
+        commentRepository.save(comment);
+        if (parent != null) {
+            commentRepository.addReplyCount(parent.getId(), 1);
+        }
+        postRepository.addCommentCount(post.getId(), 1);
+        return comment;
+    }
+
+    @Test
+    @DisplayName("최상위 댓글을 커서로 나누어 조회하고, 대댓글은 미리보기 이후부터 이어서 조회한다")
+    void loadPageTest() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .userId(1L)
+                .title("댓글 페이지 테스트")
+                .content("본문")
+                .build());
+        Comment first = createComment(post, null, "댓글1");
+        Comment second = createComment(post, null, "댓글2");
+        Comment third = createComment(post, null, "댓글3");
+        createComment(post, first, "댓글1-답글1");
+        createComment(post, first, "댓글1-답글2");
+        createComment(post, first, "댓글1-답글3");
+        em.flush();
+        em.clear();
+
+        // when : 첫 페이지(최상위 댓글 2개, 대댓글 미리보기 2개)
+        CommentPageDto firstPage = commentPageLoader.loadPage(post.getId(), null, 2, 2);
+
+        // then
+        assertThat(firstPage.getComments()).extracting(CommentDto::getId)
+                .containsExactly(first.getId(), second.getId());
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(firstPage.getTotalCount()).isEqualTo(6L);
+
+        CommentDto firstDto = firstPage.getComments().get(0);
+        assertThat(firstDto.getReplyCount()).isEqualTo(3);
+        assertThat(firstDto.getReplies()).extracting(CommentDto::getContent)
+                .containsExactly("댓글1-답글1", "댓글1-답글2");
+        assertThat(firstDto.getNextReplyCursor()).isNotNull();
+        assertThat(firstPage.getComments().get(1).getReplies()).isEmpty();
+
+        // when : 다음 페이지
+        CommentPageDto secondPage = commentPageLoader.loadPage(post.getId(), firstPage.getNextCursor(), 2, 2);
+
+        // then
+        assertThat(secondPage.getComments()).extracting(CommentDto::getId).containsExactly(third.getId());
+        assertThat(secondPage.getNextCursor()).isNull();
+        assertThat(secondPage.getTotalCount()).isNull();
+
+        // when : 미리보기 이후의 대댓글
+        CommentPageDto replies = commentPageLoader.loadReplies(
+                post.getId(), first.getId(), firstDto.getNextReplyCursor(), 10);
+
+        // then
+        assertThat(replies.getComments()).extracting(CommentDto::getContent).containsExactly("댓글1-답글3");
+        assertThat(replies.getNextCursor()).isNull();
+    }
+}
@@ -0,0 +1,79 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.CommentDto;
+import com.javalab.student.entity.Comment;
+import com.javalab.student.entity.Post;
+import com.javalab.student.repository.CommentRepository;
+import com.javalab.student.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 게시글 댓글 트리 조회 테스트
+ * - 여러 단계의 대댓글이 부모 아래에 작성 순서대로 연결되는지 확인한다.
+ */
+@SpringBootTest
+@Transactional
+class CommentTreeLoaderTest {
+
+    @Autowired
+    private CommentTreeLoader commentTreeLoader;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Comment createComment(Post post, Comment parent, String content) {
+        Comment comment = new Comment();
+        comment.setPost(post);
+        comment.setParentComment(parent);
+        comment.setUserId(1L);
+        comment.setUserName("댓글테스트");
+        comment.setContent(content);
+        return commentRepository.save(comment);
+    }
+
+    @Test
+    @DisplayName("댓글 전체를 트리로 조회하고 대댓글은 작성 순서대로 연결된다")
+    void loadTreeTest() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .userId(1L)
+                .title("댓글 트리 테스트")
+                .content("본문")
+                .build());
+        Comment first = createComment(post, null, "댓글1");
+        Comment second = createComment(post, null, "댓글2");
+        Comment reply = createComment(post, first, "댓글1-답글1");
+        createComment(post, first, "댓글1-답글2");
+        createComment(post, reply, "댓글1-답글1-답글1");
+        em.flush();
+        em.clear();
+
+        // when
+        List<CommentDto> roots = commentTreeLoader.load(post.getId());
+
+        // then
+        assertThat(roots).extracting(CommentDto::getId).containsExactly(first.getId(), second.getId());
+        CommentDto firstDto = roots.get(0);
+        assertThat(firstDto.getReplies()).extracting(CommentDto::getContent)
+                .containsExactly("댓글1-답글1", "댓글1-답글2");
+        assertThat(firstDto.getReplies().get(0).getReplies()).extracting(CommentDto::getContent)
+                .containsExactly("댓글1-답글1-답글1");
+        assertThat(firstDto.getReplies().get(0).getParentCommentId()).isEqualTo(first.getId());
+        assertThat(roots.get(1).getReplies()).isEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.ConversationPageDto;
+import com.javalab.student.dto.MessageResponseDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.Message;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.MessageRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대화 메시지 페이지 조회(커서 기반) 테스트
+ * - 두 사용자가 주고받은 메시지가 한 대화 키로 함께 조회되고, 커서로 빠짐없이 이어서 조회되는지,
+ *   조회하는 사용자가 삭제한 메시지는 제외되는지 확인한다.
+ * - 메시지 ID는 노드마다 다른 범위에서 할당되므로, ID가 더 크지만 먼저 작성된 메시지도 작성 시각 순으로 조회되는지 확인한다.
+ */
+@SpringBootTest
+@Transactional
+class ConversationHistoryLoaderTest {
+
+    @Autowired
+    private ConversationHistoryLoader conversationHistoryLoader;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    private final LocalDateTime baseTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    // 메시지를 저장하고 작성 시각을 지정(기준 시각 + 밀리초)
+    private Message send(Member sender, Member receiver, String content, long offsetMillis) {
+        Message message = messageRepository.save(Message.builder()
+                .sender(sender)
+                .receiver(receiver)
+                .content(content)
+                .build());
+        em.flush();
+        jdbcTemplate.update("UPDATE message SET reg_time = ? WHERE msg_id = ?",
+                Timestamp.valueOf(baseTime.plus(Duration.ofMillis(offsetMillis))), message.getId());
+        return message;
+    }
+
+    @Test
+    @DisplayName("양방향 메시지를 작성 시각 순으로 커서를 따라 이어서 조회하고, 조회하는 사용자가 삭제한 메시지는 제외한다")
+    void loadPageTest() {
+        // given : 앨리스와 밥이 주고받은 메시지(m5는 다른 노드에서 ID를 받아 ID는 크지만 m1 다음에 작성됨)
+        Member alice = MemberFixture.save(memberRepository, "대화테스트", "history-alice@withme.com");
+        Member bob = MemberFixture.save(memberRepository, "대화테스트", "history-bob@withme.com");
+        Member carol = MemberFixture.save(memberRepository, "대화테스트", "history-carol@withme.com");
+        Message m1 = send(alice, bob, "m1", 1000);
+        Message m2 = send(bob, alice, "m2", 2000);
+        Message m3 = send(alice, bob, "m3", 3000);
+        Message m4 = send(bob, alice, "m4", 4000);
+        Message m5 = send(alice, bob, "m5", 1500);
+        send(alice, carol, "다른 대화", 5000);
+
+        // 밥이 받은 m3 삭제
+        jdbcTemplate.update("UPDATE message SET deleted_by_receiver = true WHERE msg_id = ?", m3.getId());
+        em.clear();
+
+        // then : 양방향 메시지가 한 대화 키
+        assertThat(Message.conversationKey(alice.getId(), bob.getId()))
+                .isEqualTo(Message.conversationKey(bob.getId(), alice.getId()));
+
+        // when : 앨리스가 조회(최근 메시지부터 2개씩)
+        ConversationPageDto first = conversationHistoryLoader.loadPage(alice.getId(), bob.getId(), null, 2);
+        ConversationPageDto second = conversationHistoryLoader.loadPage(alice.getId(), bob.getId(), first.getNextCursor(), 2);
+        ConversationPageDto third = conversationHistoryLoader.loadPage(alice.getId(), bob.getId(), second.getNextCursor(), 2);
+
+        // then : 페이지 안에서는 오래된 메시지부터, 커서는 페이지의 가장 오래된 메시지
+        assertThat(first.getMessages()).extracting(MessageResponseDto::getId).containsExactly(m3.getId(), m4.getId());
+        assertThat(first.getNextCursor()).isEqualTo(m3.getId());
+        assertThat(second.getMessages()).extracting(MessageResponseDto::getId).containsExactly(m5.getId(), m2.getId());
+        assertThat(second.getNextCursor()).isEqualTo(m5.getId());
+        assertThat(third.getMessages()).extracting(MessageResponseDto::getId).containsExactly(m1.getId());
+        assertThat(third.getNextCursor()).isNull();
+
+        // when : 밥이 조회(상대 순서를 바꿔도 같은 대화)
+        ConversationPageDto bobFirst = conversationHistoryLoader.loadPage(bob.getId(), alice.getId(), null, 2);
+        ConversationPageDto bobSecond = conversationHistoryLoader.loadPage(bob.getId(), alice.getId(), bobFirst.getNextCursor(), 2);
+
+        // then : 밥이 삭제한 m3은 제외
+        assertThat(bobFirst.getMessages()).extracting(MessageResponseDto::getId).containsExactly(m2.getId(), m4.getId());
+        assertThat(bobSecond.getMessages()).extracting(MessageResponseDto::getId).containsExactly(m1.getId(), m5.getId());
+        assertThat(bobSecond.getNextCursor()).isNull();
+    }
+}
@@ -0,0 +1,104 @@
+package com.javalab.student.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이미지 파일 응답 테스트
+ * - Range 요청(206), 조건부 요청(304), 변환본이 없을 때 원본 응답(짧은 캐시)을 확인한다.
+ * - 이전 방식으로 저장된 파일(파일 저장소 키가 아닌 파일명)을 임시 디렉토리에 만들어 사용한다.
+ */
+@SpringBootTest
+class ImageServingServiceTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @Autowired
+    private ImageServingService imageServingService;
+
+    @TempDir
+    Path root;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(root.resolve("photo.png"), CONTENT, StandardCharsets.UTF_8);
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request, Integer width) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        imageServingService.serve(root, "photo.png", width, request, response);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Range 요청에는 요청한 구간만 206으로 응답한다")
+    void rangeTest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/photo.png");
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+
+        MockHttpServletResponse response = serve(request, null);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 5-9/" + CONTENT.length());
+        assertThat(response.getContentAsString()).isEqualTo("56789");
+    }
+
+    @Test
+    @DisplayName("만족할 수 없는 Range 요청에는 416으로 응답한다")
+    void unsatisfiableRangeTest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/photo.png");
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-");
+
+        MockHttpServletResponse response = serve(request, null);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + CONTENT.length());
+    }
+
+    @Test
+    @DisplayName("ETag가 같은 조건부 요청에는 본문 없이 304로 응답한다")
+    void notModifiedTest() throws Exception {
+        MockHttpServletResponse first = serve(new MockHttpServletRequest("GET", "/images/photo.png"), null);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(etag).isNotBlank();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/photo.png");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = serve(request, null);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("요청한 너비의 변환본이 없으면 원본을 짧은 캐시로 응답하고, 변환본이 생기면 1년 캐시로 응답한다")
+    void variantFallbackTest() throws Exception {
+        MockHttpServletResponse fallback = serve(new MockHttpServletRequest("GET", "/images/photo.png"), 320);
+        assertThat(fallback.getStatus()).isEqualTo(200);
+        assertThat(fallback.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(fallback.getHeader(HttpHeaders.CACHE_CONTROL)).doesNotContain("immutable");
+
+        Files.writeString(root.resolve("photo_w320.png"), "variant", StandardCharsets.UTF_8);
+        MockHttpServletResponse variant = serve(new MockHttpServletRequest("GET", "/images/photo.png"), 320);
+        assertThat(variant.getContentAsString()).isEqualTo("variant");
+        assertThat(variant.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+
+        MockHttpServletResponse original = serve(new MockHttpServletRequest("GET", "/images/photo.png"), null);
+        assertThat(original.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+    }
+}
@@ -0,0 +1,86 @@
+package com.javalab.student.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 파일 저장소 테스트
+ * - 같은 내용의 파일은 한 번만 저장되고, 참조 수가 0인 파일만 정리되는지 확인한다.
+ */
+@SpringBootTest(properties = "blobLocation=${java.io.tmpdir}/withme-blob-test")
+class LocalFileBlobStoreTest {
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> keys = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        for (String key : keys) {
+            jdbcTemplate.update("DELETE FROM blob_file WHERE blob_key = ?", key);
+            Files.deleteIfExists(blobStore.resolve(key));
+        }
+    }
+
+    private BlobStore.StoredBlob put(String content, String fileName) throws Exception {
+        BlobStore.StoredBlob blob = blobStore.put(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), fileName);
+        keys.add(blob.getKey());
+        return blob;
+    }
+
+    private int refCount(String key) {
+        return jdbcTemplate.queryForObject("SELECT ref_count FROM blob_file WHERE blob_key = ?", Integer.class, key);
+    }
+
+    @Test
+    @DisplayName("같은 내용의 파일은 확장자가 달라도 같은 키로 한 번만 저장되고, Content-Type은 처음 업로드한 파일명으로 정한다")
+    void putDeduplicatesTest() throws Exception {
+        String content = "blob-store-test-" + System.nanoTime();
+
+        BlobStore.StoredBlob first = put(content, "a.JPG");
+        BlobStore.StoredBlob second = put(content, "b.png");
+
+        assertThat(second.getKey()).isEqualTo(first.getKey());
+        assertThat(first.isCreated()).isTrue();
+        assertThat(second.isCreated()).isFalse();
+        // 키는 해시만(확장자 없음), Content-Type은 저장 기록에 보관
+        assertThat(first.getKey()).hasSize(64).doesNotContain(".");
+        assertThat(blobStore.getContentType(first.getKey())).isEqualTo("image/jpeg");
+        // 해시 앞 4자리로 2단계 하위 디렉토리에 저장
+        assertThat(first.getPath().getParent().getFileName().toString()).isEqualTo(first.getKey().substring(2, 4));
+        assertThat(Files.readString(first.getPath())).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("참조 중인 파일은 정리되지 않고, 참조가 없어진 파일만 정리된다")
+    void sweepOnlyUnreferencedTest() throws Exception {
+        BlobStore.StoredBlob blob = put("blob-store-sweep-" + System.nanoTime(), "c.png");
+
+        blobStore.retain(blob.getKey());
+        assertThat(refCount(blob.getKey())).isEqualTo(1);
+        assertThat(blobStore.deleteIfOrphan(blob.getKey(), LocalDateTime.now().plusMinutes(1))).isFalse();
+
+        blobStore.release(blob.getKey());
+        assertThat(refCount(blob.getKey())).isZero();
+        assertThat(blobStore.deleteIfOrphan(blob.getKey(), LocalDateTime.now().plusMinutes(1))).isTrue();
+        assertThat(Files.exists(blob.getPath())).isFalse();
+    }
+}
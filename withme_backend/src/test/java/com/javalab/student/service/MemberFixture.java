@@ -0,0 +1,26 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.Role;
+import com.javalab.student.entity.Member;
+import com.javalab.student.repository.MemberRepository;
+
+/**
+ * 서비스 테스트에서 사용하는 일반 회원(USER) 생성
+ * - 이메일은 member 테이블에서 유일해야 하므로 테스트마다 다른 이메일을 전달한다.
+ */
+class MemberFixture {
+
+    private MemberFixture() {
+    }
+
+    // 일반 회원을 저장하고 반환
+    static Member save(MemberRepository memberRepository, String name, String email) {
+        Member member = new Member();
+        member.setName(name);
+        member.setEmail(email);
+        member.setPassword("1234");
+        member.setRole(Role.USER);
+        member.setSocial(false);
+        return memberRepository.save(member);
+    }
+}
@@ -0,0 +1,158 @@
+package com.javalab.student.service;
+
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.Message;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.MessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 읽지 않은 메시지 수 캐시/전달 테스트
+ * - 커밋 후에 Redis 캐시(chat:unread:{사용자 ID})가 DB의 수로 바뀌고, 바뀐 수가 전달(publishUnreadCounts)되는지 확인한다.
+ * - 커밋 후 처리가 실행되어야 하므로 @Transactional을 사용하지 않고, 테스트 후 데이터와 캐시를 삭제한다.
+ * - 전달은 WebSocket 대신 mock MessagePublisherService로 확인한다.
+ */
+@SpringBootTest
+class MessageInboxCacheTest {
+
+    @Autowired
+    private MessageInboxService messageInboxService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("redisStringTemplate")
+    private RedisTemplate<String, String> redisTemplate;
+
+    @MockitoBean
+    private MessagePublisherService messagePublisherService;
+
+    private final List<Long> memberIds = new ArrayList<>();
+
+    private Member createMember(String email) {
+        Member saved = MemberFixture.save(memberRepository, "캐시테스트", email);
+        memberIds.add(saved.getId());
+        return saved;
+    }
+
+    // 기록 스레드처럼 메시지 저장과 메시지함 집계 반영을 한 트랜잭션으로 처리
+    private Message send(Member sender, Member receiver, String content) {
+        return transactionTemplate.execute(status -> {
+            Message message = messageRepository.saveAndFlush(Message.builder()
+                    .sender(sender)
+                    .receiver(receiver)
+                    .content(content)
+                    .build());
+            messageInboxService.applyNewMessages(List.of(new ChatIngestionService.PendingMessage(
+                    message.getId(), sender.getId(), receiver.getId(), content, message.getRegTime(), "")));
+            return message;
+        });
+    }
+
+    private String cached(Long userId) {
+        return redisTemplate.opsForValue().get("chat:unread:" + userId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (Long memberId : memberIds) {
+            jdbcTemplate.update("DELETE FROM message WHERE sender_id = ? OR receiver_id = ?", memberId, memberId);
+            jdbcTemplate.update("DELETE FROM message_conversation_summary WHERE user_id = ?", memberId);
+            jdbcTemplate.update("DELETE FROM message_unread_counter WHERE user_id = ?", memberId);
+            redisTemplate.delete("chat:unread:" + memberId);
+        }
+        memberRepository.deleteAllById(memberIds);
+        memberIds.clear();
+    }
+
+    @Test
+    @DisplayName("커밋 후 읽지 않은 수 캐시가 DB 값으로 바뀌고 바뀐 수가 전달된다")
+    void cacheAndPushAfterCommitTest() {
+        // given : 캐시에 틀린 값(커밋 전에 DB를 읽은 조회가 남긴 값)
+        Member alice = createMember("cache-alice@withme.com");
+        Member bob = createMember("cache-bob@withme.com");
+        redisTemplate.opsForValue().set("chat:unread:" + bob.getId(), "9");
+
+        // when : 메시지 두 건 저장
+        send(alice, bob, "첫 번째");
+        Message second = send(alice, bob, "두 번째");
+
+        // then : 커밋 후 DB의 수(2)로 캐시되고 저장할 때마다 전달
+        assertThat(cached(bob.getId())).startsWith("2:");
+        assertThat(redisTemplate.getExpire("chat:unread:" + bob.getId())).isPositive();
+        assertThat(messageInboxService.getUnreadCount(bob.getId())).isEqualTo(2);
+        InOrder pushes = inOrder(messagePublisherService);
+        pushes.verify(messagePublisherService).publishUnreadCounts(Map.of(bob.getId(), 1L));
+        pushes.verify(messagePublisherService).publishUnreadCounts(Map.of(bob.getId(), 2L));
+
+        // when : 읽음 처리
+        assertThat(messageInboxService.markRead(second.getId())).isTrue();
+
+        // then
+        assertThat(cached(bob.getId())).startsWith("1:");
+        assertThat(messageInboxService.getUnreadCount(bob.getId())).isEqualTo(1);
+        pushes.verify(messagePublisherService).publishUnreadCounts(Map.of(bob.getId(), 1L));
+    }
+
+    @Test
+    @DisplayName("롤백되면 캐시와 전달에 반영하지 않고, 캐시가 없으면 조회할 때 DB 값으로 채운다")
+    void rollbackAndLoadTest() {
+        // given
+        Member alice = createMember("cache-carol@withme.com");
+        Member bob = createMember("cache-dave@withme.com");
+        send(alice, bob, "첫 번째");
+        redisTemplate.delete("chat:unread:" + bob.getId());
+        clearInvocations(messagePublisherService);
+
+        // when : 집계 반영 후 롤백
+        transactionTemplate.executeWithoutResult(status -> {
+            Message message = messageRepository.saveAndFlush(Message.builder()
+                    .sender(alice)
+                    .receiver(bob)
+                    .content("롤백")
+                    .build());
+            messageInboxService.applyNewMessages(List.of(new ChatIngestionService.PendingMessage(
+                    message.getId(), alice.getId(), bob.getId(), "롤백", message.getRegTime(), "")));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(cached(bob.getId())).isNull();
+        verify(messagePublisherService, never()).publishUnreadCounts(anyMap());
+
+        // when : 캐시가 없으면 DB에서 읽어 캐시
+        assertThat(messageInboxService.getUnreadCount(bob.getId())).isEqualTo(1);
+        assertThat(cached(bob.getId())).startsWith("1:");
+    }
+}
@@ -0,0 +1,109 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.ConversationSummaryDto;
+import com.javalab.student.dto.InboxPageDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.Message;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.MessageRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메시지함 집계 테스트
+ * - 메시지 저장/읽음/삭제 시 대화 요약(마지막 메시지, 읽지 않은 수)과 사용자별 읽지 않은 수가 함께 바뀌는지 확인한다.
+ */
+@SpringBootTest
+@Transactional
+class MessageInboxServiceTest {
+
+    @Autowired
+    private MessageInboxService messageInboxService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    // 메시지를 저장하고 기록 스레드처럼 메시지함 집계에 반영
+    private Message send(Member sender, Member receiver, String content) {
+        Message message = messageRepository.save(Message.builder()
+                .sender(sender)
+                .receiver(receiver)
+                .content(content)
+                .build());
+        em.flush();
+        messageInboxService.applyNewMessages(List.of(new ChatIngestionService.PendingMessage(
+                message.getId(), sender.getId(), receiver.getId(), content, message.getRegTime(), "")));
+        return message;
+    }
+
+    private long unreadCounter(Long userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT unread_count FROM message_unread_counter WHERE user_id = ?", Long.class, userId);
+    }
+
+    private ConversationSummaryDto onlyConversation(Long userId) {
+        InboxPageDto inbox = messageInboxService.getInbox(userId, null, 20);
+        assertThat(inbox.getConversations()).hasSize(1);
+        return inbox.getConversations().get(0);
+    }
+
+    @Test
+    @DisplayName("메시지 저장/읽음/삭제 시 대화 요약과 읽지 않은 메시지 수가 갱신된다")
+    void inboxTest() {
+        // given
+        Member alice = MemberFixture.save(memberRepository, "메시지함테스트", "inbox-alice@withme.com");
+        Member bob = MemberFixture.save(memberRepository, "메시지함테스트", "inbox-bob@withme.com");
+        Message first = send(alice, bob, "첫 번째");
+        Message second = send(alice, bob, "두 번째");
+        Message reply = send(bob, alice, "답장");
+
+        // then : 받은 메시지 2건이 읽지 않음, 마지막 메시지는 밥이 보낸 답장
+        ConversationSummaryDto bobView = onlyConversation(bob.getId());
+        assertThat(bobView.getPeerId()).isEqualTo(alice.getId());
+        assertThat(bobView.getLastMessageId()).isEqualTo(reply.getId());
+        assertThat(bobView.getUnreadCount()).isEqualTo(2);
+        assertThat(unreadCounter(bob.getId())).isEqualTo(2);
+        assertThat(onlyConversation(alice.getId()).getUnreadCount()).isEqualTo(1);
+
+        // when : 읽음 처리(두 번 호출해도 한 번만 줄어든다)
+        assertThat(messageInboxService.markRead(first.getId())).isTrue();
+        assertThat(messageInboxService.markRead(first.getId())).isFalse();
+
+        // then
+        assertThat(onlyConversation(bob.getId()).getUnreadCount()).isEqualTo(1);
+        assertThat(unreadCounter(bob.getId())).isEqualTo(1);
+
+        // when : 밥이 보낸 답장 삭제, 읽지 않은 두 번째 메시지 삭제
+        assertThat(messageInboxService.deleteMessage(reply.getId(), bob.getId(), true)).isTrue();
+        ConversationSummaryDto afterReplyDeleted = onlyConversation(bob.getId());
+        assertThat(messageInboxService.deleteMessage(second.getId(), bob.getId(), false)).isTrue();
+
+        // then : 마지막 메시지가 이전의 보이는 메시지로 바뀌고 읽지 않은 수는 0
+        assertThat(afterReplyDeleted.getLastMessageId()).isEqualTo(second.getId());
+        ConversationSummaryDto bobAfterDelete = onlyConversation(bob.getId());
+        assertThat(bobAfterDelete.getLastMessageId()).isEqualTo(first.getId());
+        assertThat(bobAfterDelete.getUnreadCount()).isZero();
+        assertThat(unreadCounter(bob.getId())).isZero();
+
+        // 앨리스의 메시지함은 그대로(답장은 앨리스에게 여전히 보인다)
+        assertThat(onlyConversation(alice.getId()).getLastMessageId()).isEqualTo(reply.getId());
+    }
+}
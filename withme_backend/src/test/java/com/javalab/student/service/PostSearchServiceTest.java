@@ -0,0 +1,79 @@
+package com.javalab.student.service;
+
+import com.javalab.student.entity.Post;
+import com.javalab.student.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 게시글 검색 색인 재생성 테스트
+ * - 색인을 재생성하는 동안에도 검색이 실패하지 않고 기존 색인으로 결과를 돌려주는지,
+ *   재생성 중에 삭제된 게시글이 새 색인에 다시 나타나지 않는지 확인한다.
+ * - 재생성은 별도 스레드에서 게시글 테이블을 읽으므로 @Transactional을 사용하지 않고, 테스트 후 게시글을 삭제한다.
+ */
+@SpringBootTest(properties = "postIndexLocation=${java.io.tmpdir}/withme-post-index-test")
+class PostSearchServiceTest {
+
+    private static final int POSTS = 300;
+    private static final String KEYWORD = "zqxrebuildtest";
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private final List<Long> postIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        postRepository.deleteAllById(postIds);
+        postIds.forEach(postSearchService::deleteAfterCommit);
+        postIds.clear();
+    }
+
+    @Test
+    @DisplayName("색인을 재생성하는 동안에도 검색되고, 재생성 중에 삭제된 게시글은 새 색인에 남지 않는다")
+    void searchDuringRebuildTest() throws Exception {
+        // given
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            posts.add(Post.builder()
+                    .userId(1L)
+                    .title(KEYWORD + " 색인 재생성 테스트 " + i)
+                    .content("<p>본문 " + i + "</p>")
+                    .build());
+        }
+        postRepository.saveAll(posts).forEach(post -> postIds.add(post.getId()));
+        postSearchService.rebuild();
+        assertThat(postSearchService.search(KEYWORD, 0, 10).getTotalElements()).isEqualTo(POSTS);
+
+        // when : 재생성하는 동안 검색하고 게시글 하나를 삭제
+        CompletableFuture<Integer> rebuild = CompletableFuture.supplyAsync(postSearchService::rebuild);
+        Long deletedId = postIds.get(0);
+        postRepository.deleteById(deletedId);
+        postSearchService.deleteAfterCommit(deletedId);
+
+        int searches = 0;
+        do {
+            long total = postSearchService.search(KEYWORD, 0, 10).getTotalElements();
+            assertThat(total).isBetween((long) POSTS - 1, (long) POSTS);
+            searches++;
+        } while (!rebuild.isDone());
+        rebuild.get(60, TimeUnit.SECONDS);
+
+        // then
+        assertThat(searches).isPositive();
+        assertThat(postSearchService.search(KEYWORD, 0, 10).getTotalElements()).isEqualTo(POSTS - 1);
+    }
+}
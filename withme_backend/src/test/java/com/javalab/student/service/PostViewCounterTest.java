@@ -0,0 +1,96 @@
+package com.javalab.student.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 게시글 조회수 카운터 테스트
+ * - DB 반영(batch UPDATE)은 mock JdbcTemplate으로 대신하고, 반영 중/실패 시 조회수가 유실되거나 줄어 보이지 않는지 확인한다.
+ */
+class PostViewCounterTest {
+
+    private static final Long POST_ID = 1L;
+
+    private JdbcTemplate jdbcTemplate;
+    private PostViewCounter postViewCounter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        postViewCounter = new PostViewCounter(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    @DisplayName("반영 중인 증가분과 반영 중에 들어온 조회가 모두 조회수에 합산되고, 반영 후에는 새 조회만 남는다")
+    void flushMergeTest() {
+        for (int i = 0; i < 3; i++) {
+            postViewCounter.increment(POST_ID);
+        }
+
+        List<Long> viewsDuringFlush = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            // DB 커밋 전 : 꺼낸 증가분(3)은 반영 중으로 합산
+            viewsDuringFlush.add(postViewCounter.pendingViews(POST_ID));
+            // 반영하는 사이에 들어온 조회는 다음 반영 대기로 쌓인다.
+            postViewCounter.increment(POST_ID);
+            viewsDuringFlush.add(postViewCounter.pendingViews(POST_ID));
+            return new int[]{1};
+        });
+
+        postViewCounter.flush();
+
+        assertThat(viewsDuringFlush).containsExactly(3L, 4L);
+        assertThat(postViewCounter.pendingViews(POST_ID)).isEqualTo(1L);
+        assertThat(postViewCounter.currentViews(POST_ID, 10)).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("반영에 실패한 증가분은 다시 반영 대기에 더해지고 다음 반영 때 함께 기록된다")
+    void flushFailureTest() {
+        postViewCounter.increment(POST_ID);
+        postViewCounter.increment(POST_ID);
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        postViewCounter.flush();
+        assertThat(postViewCounter.pendingViews(POST_ID)).isEqualTo(2L);
+
+        postViewCounter.increment(POST_ID);
+        List<Object[]> written = new ArrayList<>();
+        doAnswer(invocation -> {
+            written.addAll(invocation.getArgument(1));
+            return new int[]{1};
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        postViewCounter.flush();
+
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0)).containsExactly(3L, POST_ID);
+        assertThat(postViewCounter.pendingViews(POST_ID)).isZero();
+    }
+
+    @Test
+    @DisplayName("증가분이 없으면 DB에 반영하지 않는다")
+    void flushWithoutPendingTest() {
+        postViewCounter.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,144 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.exception.OutOfStockException;
+import com.javalab.student.repository.shop.ItemRepository;
+import com.javalab.student.service.shop.StockReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고 예약 동시성 스트레스 테스트
+ * - 하나의 상품에 수천 건의 주문을 동시에 요청하고 초과 판매(oversell)가 없는지 확인한다.
+ * - 각 요청은 자신의 트랜잭션에서 커밋되어야 하므로 @Transactional을 사용하지 않고, 테스트 후 상품을 삭제한다.
+ * - 처리량(건/초)을 콘솔에 출력한다.
+ */
+@SpringBootTest
+class StockReservationStressTest {
+
+    private static final int THREADS = 32;
+    private static final int ORDERS = 3000;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private final List<Long> createdItemIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        createdItemIds.forEach(stockReservationService::disableHotSku);
+        itemRepository.deleteAllById(createdItemIds);
+        createdItemIds.clear();
+    }
+
+    private Item createItem(String itemNm, int stockNumber) {
+        Item item = Item.builder()
+                .itemNm(itemNm)
+                .price(1000L)
+                .stockNumber(stockNumber)
+                .itemDetail("재고 스트레스 테스트 상품")
+                .itemSellStatus(ItemSellStatus.SELL)
+                .build();
+        itemRepository.save(item);
+        createdItemIds.add(item.getId());
+        return item;
+    }
+
+    /**
+     * ORDERS건의 주문을 THREADS개의 스레드로 동시에 실행하고 성공 건수를 반환한다.
+     */
+    private int fireOrders(String label, Map<Long, Integer> quantities) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(ORDERS);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger outOfStock = new AtomicInteger();
+
+        for (int i = 0; i < ORDERS; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    stockReservationService.reserve(quantities);
+                    success.incrementAndGet();
+                } catch (OutOfStockException e) {
+                    outOfStock.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("[%s] 주문 %d건, 성공 %d건, 품절 %d건, 소요 %.3f초, 처리량 %.1f건/초%n",
+                label, ORDERS, success.get(), outOfStock.get(), seconds, ORDERS / seconds);
+
+        assertThat(success.get() + outOfStock.get()).isEqualTo(ORDERS);
+        return success.get();
+    }
+
+    private int stockOf(Long itemId) {
+        return itemRepository.findById(itemId).orElseThrow().getStockNumber();
+    }
+
+    @Test
+    @DisplayName("단일 상품 동시 주문 - 초과 판매 없음")
+    void singleSkuNoOversellTest() throws InterruptedException {
+        Item item = createItem("재고테스트-단일", 100);
+
+        int success = fireOrders("DB 조건부 UPDATE", Map.of(item.getId(), 1));
+
+        assertThat(success).isEqualTo(100);
+        assertThat(stockOf(item.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("여러 상품 동시 주문 - 모든 상품이 한 번에 차감되거나 전부 실패")
+    void multiSkuAllOrNothingTest() throws InterruptedException {
+        Item itemA = createItem("재고테스트-A", 50);
+        Item itemB = createItem("재고테스트-B", 30);
+
+        int success = fireOrders("다중 상품", Map.of(itemA.getId(), 1, itemB.getId(), 1));
+
+        assertThat(success).isEqualTo(30);
+        assertThat(stockOf(itemA.getId())).isEqualTo(20);
+        assertThat(stockOf(itemB.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("핫 상품(Redis 재고 토큰) 동시 주문 - 초과 판매 없음")
+    void hotSkuNoOversellTest() throws InterruptedException {
+        Item item = createItem("재고테스트-핫상품", 100);
+        stockReservationService.enableHotSku(item.getId());
+
+        int success = fireOrders("핫 상품 재고 토큰", Map.of(item.getId(), 1));
+
+        assertThat(success).isEqualTo(100);
+        assertThat(stockOf(item.getId())).isZero();
+    }
+}
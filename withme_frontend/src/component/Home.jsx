@@ -144,7 +144,7 @@ const [cart, setCart] = useState([]); // useState로 장바구니 관리
         {item.itemImgDtoList?.length > 0 ? (
             <div className="image-container">
                 <img
-                    src={`${SERVER_URL2}${item.itemImgDtoList[0].imgUrl}`}
+                    src={`${SERVER_URL2}${item.itemImgDtoList[0].imgUrl}?w=320`}
                     alt={item.itemNm}
                     className="item-image"
                     style={{ boxShadow: "none" }}
@@ -100,7 +100,7 @@ const MyPage = () => {
       <Box sx={{ display: "flex", gap: 2, alignItems: "center" }}>
         <Box className="pet_image_container">
           <img
-            src={getImageUrl(pet.imageUrl)}
+            src={getImageUrl(pet.imageUrl, 320)}
             alt={pet.name}
             onError={(e) => {
               e.target.src = "/assets/images/default-pet-image.png";
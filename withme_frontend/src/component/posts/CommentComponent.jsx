@@ -21,8 +21,13 @@ const CommentComponent = ({
   setReplyContent,
   editContent,
   setEditContent,
+  loadMoreReplies,
   postId
 }) => {
+  // 아직 불러오지 않은 대댓글 수
+  const remainingReplies =
+    (comment.replyCount || 0) - (comment.replies ? comment.replies.length : 0);
+
   return (
     <div className="comment_warp">
       <div
@@ -162,12 +167,22 @@ const CommentComponent = ({
                   setReplyContent={setReplyContent}
                   editContent={editContent}
                   setEditContent={setEditContent}
+                  loadMoreReplies={loadMoreReplies}
                   postId={postId}
                 />
               </li>
             ))}
           </ul>
         )}
+        {remainingReplies > 0 && (
+          <button
+            type="button"
+            className="more_replies_button"
+            style={{ "--depth": depth + 1 }}
+            onClick={() => loadMoreReplies(comment)}>
+            답글 {remainingReplies}개 더보기
+          </button>
+        )}
       </div>
     </div>
   );
@@ -181,7 +196,9 @@ CommentComponent.propTypes = {
     updateTime: PropTypes.string,
     regTime: PropTypes.string.isRequired,
     userId: PropTypes.number.isRequired,
-    replies: PropTypes.array
+    replies: PropTypes.array,
+    replyCount: PropTypes.number,
+    nextReplyCursor: PropTypes.string
   }).isRequired,
   depth: PropTypes.number,
   user: PropTypes.shape({
@@ -203,6 +220,7 @@ CommentComponent.propTypes = {
   setReplyContent: PropTypes.func.isRequired,
   editContent: PropTypes.string,
   setEditContent: PropTypes.func.isRequired,
+  loadMoreReplies: PropTypes.func.isRequired,
   postId: PropTypes.string.isRequired
 };
 
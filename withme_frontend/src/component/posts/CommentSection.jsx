@@ -16,78 +16,73 @@ const CommentSection = ({ postId, user = null, isLoggedIn, views = 0 }) => {
   const [showReplyForm, setShowReplyForm] = useState(null);
   const [replyContent, setReplyContent] = useState("");
 
-  // 댓글을 계층 구조로 구성하는 함수
-  const structureComments = (flatComments) => {
-    const commentMap = {};
-    const rootComments = [];
-
-    // 날짜순으로 정렬
-    const sortedComments = [...flatComments].sort(
-      (a, b) => new Date(a.regTime) - new Date(b.regTime)
-    );
-
-    // 먼저 모든 댓글을 map으로 구성
-    sortedComments.forEach((comment) => {
-      commentMap[comment.id] = {
-        ...comment,
-        replies: comment.replies || []
-      };
-    });
-
-    // 댓글들을 순회하면서 부모-자식 관계 구성
-    sortedComments.forEach((comment) => {
-      if (comment.parentCommentId && comment.parentCommentId !== 0) {
-        const parentComment = commentMap[comment.parentCommentId];
-        if (parentComment) {
-          if (!parentComment.replies) {
-            parentComment.replies = [];
-          }
-          parentComment.replies.push(commentMap[comment.id]);
-        } else {
-          rootComments.push(commentMap[comment.id]);
-        }
-      } else {
-        rootComments.push(commentMap[comment.id]);
-      }
-    });
-
-    return rootComments;
-  };
-
-  // 전체 댓글 수 계산
-  const countTotalComments = (commentsArray) => {
-    const countReplies = (comments) => {
-      return comments.reduce((total, comment) => {
-        // 현재 댓글 카운트
-        let count = 1;
-
-        // 대댓글이 있다면 재귀적으로 카운트
-        if (comment.replies && comment.replies.length > 0) {
-          count += countReplies(comment.replies);
-        }
+  const [nextCursor, setNextCursor] = useState(null);
 
-        return total + count;
-      }, 0);
-    };
+  // 댓글 페이지 크기, 댓글마다 함께 불러오는 대댓글 수
+  const PAGE_SIZE = 20;
+  const REPLY_PREVIEW_SIZE = 3;
 
-    return countReplies(commentsArray || []);
+  // 댓글 불러오기(cursor가 없으면 첫 페이지부터 다시 불러온다)
+  const fetchComments = async (cursor = null) => {
+    try {
+      const params = new URLSearchParams({
+        size: PAGE_SIZE,
+        replies: REPLY_PREVIEW_SIZE
+      });
+      if (cursor) {
+        params.append("cursor", cursor);
+      }
+      const response = await fetchWithAuth(
+        `${API_URL}posts/${postId}/comments/page?${params}`
+      );
+      if (!response.ok) {
+        throw new Error(`HTTP error! Status: ${response.status}`);
+      }
+      const data = await response.json();
+      const pageComments = data.comments || [];
+      setComments((prev) => (cursor ? [...prev, ...pageComments] : pageComments));
+      setNextCursor(data.nextCursor || null);
+      if (data.totalCount != null) {
+        setTotalComments(data.totalCount);
+      }
+    } catch (error) {
+      console.error("댓글 가져오기 실패:", error);
+      alert("댓글을 불러오는 중 오류가 발생했습니다.");
+    }
   };
 
-  // 댓글 불러오기
-  const fetchComments = async () => {
+  // 대댓글 더 불러오기
+  const loadMoreReplies = async (comment) => {
     try {
+      const params = new URLSearchParams({ size: PAGE_SIZE });
+      if (comment.nextReplyCursor) {
+        params.append("cursor", comment.nextReplyCursor);
+      }
       const response = await fetchWithAuth(
-        `${API_URL}posts/${postId}/comments`
+        `${API_URL}posts/${postId}/comments/${comment.id}/replies?${params}`
       );
       if (!response.ok) {
         throw new Error(`HTTP error! Status: ${response.status}`);
       }
       const data = await response.json();
-      const structuredComments = structureComments(data || []);
-      setComments(structuredComments);
-      setTotalComments(countTotalComments(data || []));
+
+      // 트리에서 해당 댓글을 찾아 대댓글을 이어 붙인다.
+      const appendReplies = (list) =>
+        list.map((item) => {
+          if (item.id === comment.id) {
+            return {
+              ...item,
+              replies: [...(item.replies || []), ...(data.comments || [])],
+              nextReplyCursor: data.nextCursor || null
+            };
+          }
+          return item.replies && item.replies.length > 0
+            ? { ...item, replies: appendReplies(item.replies) }
+            : item;
+        });
+      setComments((prev) => appendReplies(prev));
     } catch (error) {
-      console.error("댓글 가져오기 실패:", error);
+      console.error("대댓글 가져오기 실패:", error);
       alert("댓글을 불러오는 중 오류가 발생했습니다.");
     }
   };
@@ -330,12 +325,22 @@ const CommentSection = ({ postId, user = null, isLoggedIn, views = 0 }) => {
             setReplyContent={setReplyContent}
             editContent={editContent}
             setEditContent={setEditContent}
+            loadMoreReplies={loadMoreReplies}
             postId={postId}
           />
         ))
       ) : (
         <p className="no_comment">댓글이 없습니다.</p>
       )}
+
+      {nextCursor && (
+        <button
+          type="button"
+          className="more_comments_button"
+          onClick={() => fetchComments(nextCursor)}>
+          댓글 더보기
+        </button>
+      )}
     </div>
   );
 };
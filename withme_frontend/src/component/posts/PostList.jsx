@@ -1,4 +1,4 @@
-import React, { useEffect, useState } from "react";
+import React, { useEffect, useRef, useState } from "react";
 import { useSelector } from "react-redux";
 import { API_URL } from "../../constant";
 import { Link, useNavigate, useLocation } from "react-router-dom";
@@ -20,71 +20,120 @@ const categories = [
 const PostList = () => {
   const { isLoggedIn } = useSelector((state) => state.auth); // Redux에서 로그인 여부 가져오기
   const [posts, setPosts] = useState([]);
-  const [filteredPosts, setFilteredPosts] = useState([]);
   const [activeCategoryIndex, setActiveCategoryIndex] = useState(0);
   const [totalRows, setTotalRows] = useState(0);
   const [paginationModel, setPaginationModel] = useState({
     page: 1,
     pageSize: 10 //페이지당 게시물 수
   });
+  const [keyword, setKeyword] = useState(""); // 검색어 입력값
+  const [searchQuery, setSearchQuery] = useState(""); // 검색 중인 검색어
+  const [nextCursor, setNextCursor] = useState(null); // 피드 다음 페이지 커서
+  const [feedLoading, setFeedLoading] = useState(false);
+  const feedEndRef = useRef(null);
+  const [hotPosts, setHotPosts] = useState([]); // 인기 게시글
 
   const navigate = useNavigate();
 
-  // 게시글 목록 가져오기
-  const fetchPosts = async () => {
-    try {
-      const response = await fetch(
-        `${API_URL}posts?page=${paginationModel.page - 1}&size=${
-          paginationModel.pageSize
-        }`,
-        {
-          method: "GET",
-          headers: {
-            "Content-Type": "application/json"
-          }
-        }
+  const fetchJson = async (url) => {
+    const response = await fetch(url, {
+      method: "GET",
+      headers: {
+        "Content-Type": "application/json"
+      }
+    });
+    if (!response.ok) {
+      const errorText = await response.text();
+      throw new Error(
+        `HTTP error! Status: ${response.status}, Body: ${errorText}`
       );
+    }
+    return response.json();
+  };
 
-      if (!response.ok) {
-        const errorText = await response.text();
-        throw new Error(
-          `HTTP error! Status: ${response.status}, Body: ${errorText}`
-        );
+  // 게시글 피드 가져오기(최신순, 커서가 있으면 다음 페이지를 이어 붙인다)
+  const fetchFeed = async (cursor = null) => {
+    setFeedLoading(true);
+    try {
+      const params = new URLSearchParams({ size: paginationModel.pageSize });
+      if (cursor) {
+        params.append("cursor", cursor);
       }
+      const data = await fetchJson(`${API_URL}posts/feed?${params}`);
+      const feedPosts = data.posts || [];
+      setPosts((prev) => (cursor ? [...prev, ...feedPosts] : feedPosts));
+      setNextCursor(data.hasNext ? data.nextCursor : null);
+    } catch (error) {
+      console.error("게시글 목록 가져오기 실패:", error.message);
+      alert("게시글 목록을 불러오는 중 오류가 발생했습니다.");
+    } finally {
+      setFeedLoading(false);
+    }
+  };
 
-      const data = await response.json();
-
-      // API 응답 데이터 확인 (디버깅용)
-      console.log("API 응답 데이터:", data);
-      console.log("posts:", data.posts);
-
-      // dtoList 대신 posts 사용
+  // 게시글 검색 결과 가져오기(점수 순, 페이지 번호 방식)
+  const fetchSearchResults = async () => {
+    try {
+      const data = await fetchJson(
+        `${API_URL}posts/search?q=${encodeURIComponent(searchQuery)}&page=${
+          paginationModel.page - 1
+        }&size=${paginationModel.pageSize}`
+      );
       setPosts(data.posts || []);
-      setFilteredPosts(data.posts || []);
       setTotalRows(data.total || 0);
     } catch (error) {
-      console.error("게시글 목록 가져오기 실패:", error.message);
+      console.error("게시글 검색 실패:", error.message);
       alert("게시글 목록을 불러오는 중 오류가 발생했습니다.");
     }
   };
 
+  // 인기 게시글 가져오기
+  useEffect(() => {
+    fetchJson(`${API_URL}posts/hot?size=5`)
+      .then((data) => setHotPosts(data || []))
+      .catch((error) => console.error("인기 게시글 가져오기 실패:", error.message));
+  }, []);
+
+  useEffect(() => {
+    if (searchQuery) {
+      fetchSearchResults();
+    } else {
+      fetchFeed();
+    }
+  }, [paginationModel, searchQuery]);
+
+  // 목록 끝이 화면에 보이면 다음 피드 불러오기(무한 스크롤)
   useEffect(() => {
-    fetchPosts();
-  }, [paginationModel]);
+    if (searchQuery || !nextCursor || feedLoading || !feedEndRef.current) {
+      return undefined;
+    }
+    const observer = new IntersectionObserver((entries) => {
+      if (entries[0].isIntersecting) {
+        fetchFeed(nextCursor);
+      }
+    });
+    observer.observe(feedEndRef.current);
+    return () => observer.disconnect();
+  }, [nextCursor, feedLoading, searchQuery]);
+
+  // 검색 실행(첫 페이지부터)
+  const handleSearchSubmit = (e) => {
+    e.preventDefault();
+    setSearchQuery(keyword.trim());
+    setPaginationModel((prev) => ({ ...prev, page: 1 }));
+  };
 
   // 카테고리 변경 처리
   const handleCategoryChange = (event, newValue) => {
     setActiveCategoryIndex(newValue);
-    const selectedCategory = categories[newValue];
-    if (selectedCategory === "전체") {
-      setFilteredPosts(posts);
-    } else {
-      setFilteredPosts(
-        posts.filter((post) => post.postCategory === selectedCategory)
-      );
-    }
   };
 
+  const selectedCategory = categories[activeCategoryIndex];
+  const filteredPosts =
+    selectedCategory === "전체"
+      ? posts
+      : posts.filter((post) => post.postCategory === selectedCategory);
+
   // 페이지네이션 처리
   const handlePageChange = (event, newPage) => {
     setPaginationModel((prev) => ({ ...prev, page: newPage }));
@@ -138,6 +187,31 @@ const PostList = () => {
     <div className="post_warp">
       <h4>커뮤니티</h4>
 
+      {hotPosts.length > 0 && (
+        <div className="hot_post_box">
+          <p className="hot_post_title">인기글</p>
+          <ol>
+            {hotPosts.map((post) => (
+              <li key={post.id} onClick={() => handlePostClick(post.id)}>
+                <span className="hot_post_category">{post.postCategory}</span>
+                <span className="hot_post_name">{post.title}</span>
+                <span className="hot_post_views">{post.views}</span>
+              </li>
+            ))}
+          </ol>
+        </div>
+      )}
+
+      <form className="post_search_form" onSubmit={handleSearchSubmit}>
+        <input
+          type="search"
+          value={keyword}
+          onChange={(e) => setKeyword(e.target.value)}
+          placeholder="제목, 내용, 카테고리 검색"
+        />
+        <button type="submit">검색</button>
+      </form>
+
       <AntTabs
         value={activeCategoryIndex}
         variant="fullWidth"
@@ -164,7 +238,9 @@ const PostList = () => {
                     <div className="list_thumbnail_box">
                       <img
                         src={`${API_URL.replace(/\/api\/$/, "")}${
-                          post.thumbnailUrl
+                          post.thumbnailUrl.includes("?")
+                            ? post.thumbnailUrl
+                            : `${post.thumbnailUrl}?w=320`
                         }`}
                         alt="게시물 썸네일"
                         className="thumbnail_img"
@@ -175,8 +251,15 @@ const PostList = () => {
                   <span className="list_title_box">
                     <p
                       dangerouslySetInnerHTML={{
-                        __html: post.title || "내용 없음"
+                        __html: post.titleHighlight || post.title || "내용 없음"
                       }}></p>
+                    {post.contentHighlight && (
+                      <p
+                        className="list_search_snippet"
+                        dangerouslySetInnerHTML={{
+                          __html: post.contentHighlight
+                        }}></p>
+                    )}
                   </span>
                 </div>
 
@@ -231,7 +314,11 @@ const PostList = () => {
         </PrimaryButton>
       </div>
 
-      {/* 페이지네이션 - Router Integration */}
+      {/* 피드 끝(무한 스크롤 감지) */}
+      {!searchQuery && <div ref={feedEndRef} className="feed_end" />}
+
+      {/* 페이지네이션 - 검색 결과 */}
+      {searchQuery && (
       <div className="pagination-container">
         <Pagination
           page={paginationModel.page}
@@ -248,6 +335,7 @@ const PostList = () => {
           )}
         />
       </div>
+      )}
     </div>
   );
 };
@@ -1,6 +1,6 @@
 import { useEffect, useRef, useState } from "react";
 import { useDispatch } from "react-redux";
-import { addMessage } from "../redux/messageSlice";
+import { addMessage, setUnreadCount } from "../redux/messageSlice";
 import { showSnackbar } from "../redux/snackbarSlice";
 import { Client } from "@stomp/stompjs";
 import SockJS from "sockjs-client";
@@ -23,9 +23,7 @@ const useWebSocket = (user) => {
       webSocketFactory: () => socket,
       debug: (msg) => console.log(`🔍 WebSocket Debug: ${msg}`),
       reconnectDelay: 5000,
-      connectHeaders: {
-        userId: user.id.toString()
-      },
+      // 사용자는 핸드셰이크 때 액세스 토큰 쿠키로 서버가 인증한다.(userId 헤더를 보내지 않음)
 
       onConnect: () => {
         console.log(`✅ WebSocket 연결 성공 - 사용자ID: ${user.id}`);
@@ -57,6 +55,16 @@ const useWebSocket = (user) => {
             console.error('🚨 [클라이언트]: 메시지 파싱 실패:', error);
           }
         });
+
+        // ✅ 읽지 않은 메시지 개수 변경 알림(배지 갱신, 주기적으로 조회하지 않음)
+        stompRef.current.subscribe(`/topic/unread/${user.id}`, (message) => {
+          try {
+            const { unreadCount } = JSON.parse(message.body);
+            dispatch(setUnreadCount(unreadCount));
+          } catch (error) {
+            console.error('🚨 [클라이언트]: 읽지 않은 메시지 개수 파싱 실패:', error);
+          }
+        });
       },
 
       onStompError: (frame) => {
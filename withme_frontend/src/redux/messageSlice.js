@@ -54,6 +54,11 @@ const messageSlice = createSlice({
       }
     },
 
+    // ✅ 읽지 않은 메시지 개수 설정(서버 집계 값 : 로그인 시 조회, WebSocket /topic/unread 로 변경 시 수신)
+    setUnreadCount: (state, action) => {
+      state.unreadCount = action.payload;
+    },
+
     // ✅ 메시지를 읽음으로 표시
     markMessageAsRead: (state, action) => {
       const messageId = action.payload;
@@ -66,5 +71,5 @@ const messageSlice = createSlice({
   }
 });
 
-export const { setMessages, addMessage, markMessageAsRead } = messageSlice.actions;
+export const { setMessages, addMessage, setUnreadCount, markMessageAsRead } = messageSlice.actions;
 export default messageSlice.reducer;
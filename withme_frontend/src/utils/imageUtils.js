@@ -1,6 +1,7 @@
 import { API_URL } from "../constant";
 
-export const getImageUrl = (imageUrl) => {
+// width: 표시 너비(px), 서버에서 가장 가까운 크기의 이미지로 응답
+export const getImageUrl = (imageUrl, width) => {
   //console.log("Original imageUrl:", imageUrl); // 입력받은 원본 URL
 
   if (!imageUrl) {
@@ -18,7 +19,7 @@ export const getImageUrl = (imageUrl) => {
     ? imageUrl.split("/api/pets/image/").pop()
     : imageUrl;
 
-  const fullUrl = `${API_URL}pets/image/${filename}`;
+  const fullUrl = `${API_URL}pets/image/${filename}${width ? `?w=${width}` : ""}`;
   //console.log("Constructed URL:", fullUrl);
   return fullUrl;
 };